@@ -15,6 +15,11 @@
  */
 package org.onosproject.cluster;
 
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
 /**
  * Interface for administratively manipulating leadership assignments.
  */
@@ -29,6 +34,16 @@ public interface LeadershipAdminService {
      */
     boolean transferLeadership(String topic, NodeId nodeId);
 
+    /**
+     * Attempts to assign leadership for a set of topics to the specified nodes.
+     * @param transfers mapping from leadership topic to identifier of the node to be made leader
+     * @return mapping from topic to {@code true} if its transfer was successfully executed,
+     * as defined by {@link #transferLeadership(String, NodeId)}
+     */
+    default Map<String, Boolean> transferLeadership(Map<String, NodeId> transfers) {
+        return ImmutableMap.copyOf(Maps.transformEntries(transfers, this::transferLeadership));
+    }
+
     /**
      * Make a node to be the next leader by promoting it to top of candidate list.
      * @param topic leadership topic
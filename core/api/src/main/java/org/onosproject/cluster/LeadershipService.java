@@ -85,6 +85,25 @@ public interface LeadershipService
      */
     void withdraw(String topic);
 
+    /**
+     * Enters the leadership contests for a set of topics.
+     *
+     * @param topics leadership topics
+     * @return mapping from topic to its current {@code Leadership}
+     */
+    default Map<String, Leadership> runForLeadership(Set<String> topics) {
+        return Maps.toMap(topics, this::runForLeadership);
+    }
+
+    /**
+     * Withdraws from the leadership contests for a set of topics.
+     *
+     * @param topics leadership topics
+     */
+    default void withdraw(Set<String> topics) {
+        topics.forEach(this::withdraw);
+    }
+
     /**
      * Returns the current leader board.
      *
@@ -16,8 +16,13 @@
 package org.onosproject.cluster;
 
 import java.util.Map;
+import java.util.Set;
+
 import org.onosproject.store.Store;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+
 /**
  * Store interface for managing {@link LeadershipService} state.
  */
@@ -31,6 +36,16 @@ public interface LeadershipStore extends Store<LeadershipEvent, LeadershipStoreD
      */
     Leadership addRegistration(String topic);
 
+    /**
+     * Adds registrations for the local instance to be part of the leadership contests for topics.
+     *
+     * @param topics leadership topics
+     * @return Updated leadership of each topic after the operation is completed
+     */
+    default Map<String, Leadership> addRegistrations(Set<String> topics) {
+        return Maps.toMap(topics, this::addRegistration);
+    }
+
     /**
      * Unregisters the local instance from leadership contest for topic.
      *
@@ -38,6 +53,15 @@ public interface LeadershipStore extends Store<LeadershipEvent, LeadershipStoreD
      */
     void removeRegistration(String topic);
 
+    /**
+     * Unregisters the local instance from leadership contests for topics.
+     *
+     * @param topics leadership topics
+     */
+    default void removeRegistrations(Set<String> topics) {
+        topics.forEach(this::removeRegistration);
+    }
+
     /**
      * Unregisters an instance from all leadership contests.
      *
@@ -55,6 +79,16 @@ public interface LeadershipStore extends Store<LeadershipEvent, LeadershipStoreD
      */
     boolean moveLeadership(String topic, NodeId toNodeId);
 
+    /**
+     * Updates state so that the given nodes are leaders for a set of topics.
+     *
+     * @param moves mapping from leadership topic to identifier of the desired leader
+     * @return mapping from topic to {@code true} if its transfer succeeded
+     */
+    default Map<String, Boolean> moveLeaderships(Map<String, NodeId> moves) {
+        return ImmutableMap.copyOf(Maps.transformEntries(moves, this::moveLeadership));
+    }
+
     /**
      * Attempts to make a node the top candidate.
      *
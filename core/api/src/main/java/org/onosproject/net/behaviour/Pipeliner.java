@@ -22,6 +22,7 @@ import org.onosproject.net.driver.HandlerBehaviour;
 import org.onosproject.net.flowobjective.FilteringObjective;
 import org.onosproject.net.flowobjective.ForwardingObjective;
 import org.onosproject.net.flowobjective.NextObjective;
+import org.onosproject.net.flowobjective.Objective;
 
 /**
  * Behaviour for handling various pipelines.
@@ -57,6 +58,28 @@ public interface Pipeliner extends HandlerBehaviour {
      */
     void next(NextObjective nextObjective);
 
+    /**
+     * Installs a batch of objectives onto the device. Drivers may override
+     * this to translate the whole batch into fewer flow rule and group
+     * operations; by default the objectives are installed one at a time,
+     * in order.
+     *
+     * @param objectives filtering, forwarding and next objectives
+     */
+    default void apply(List<Objective> objectives) {
+        for (Objective objective : objectives) {
+            if (objective instanceof ForwardingObjective) {
+                forward((ForwardingObjective) objective);
+            } else if (objective instanceof NextObjective) {
+                next((NextObjective) objective);
+            } else if (objective instanceof FilteringObjective) {
+                filter((FilteringObjective) objective);
+            } else {
+                throw new UnsupportedOperationException("Unsupported objective of type " + objective.getClass());
+            }
+        }
+    }
+
     /**
      *  Retrieves a mapping of the nextObjective to the groups in the dataplane,
      *  and returns it in a form that can be displayed on the CLI. Typically
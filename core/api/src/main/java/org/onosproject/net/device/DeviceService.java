@@ -23,6 +23,7 @@ import org.onosproject.net.MastershipRole;
 import org.onosproject.net.Port;
 import org.onosproject.net.PortNumber;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -113,6 +114,21 @@ public interface DeviceService
      */
     List<PortStatistics> getPortDeltaStatistics(DeviceId deviceId);
 
+    /**
+     * Returns the list of port statistics associated with the device,
+     * accumulated over the given time window ending at the latest sample.
+     * The duration of each returned entry is the time actually covered, so
+     * rates can be derived from it. Implementations that do not keep a history
+     * of samples return the delta statistics of the last sampling interval.
+     *
+     * @param deviceId device identifier
+     * @param window time window
+     * @return list of port statistics
+     */
+    default List<PortStatistics> getPortDeltaStatistics(DeviceId deviceId, Duration window) {
+        return getPortDeltaStatistics(deviceId);
+    }
+
     /**
      * Returns the port specific port statistics associated with the device and port.
      *
@@ -22,6 +22,7 @@ import org.onosproject.net.PortNumber;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.store.Store;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Stream;
@@ -170,6 +171,18 @@ public interface DeviceStore extends Store<DeviceEvent, DeviceStoreDelegate> {
      */
     List<PortStatistics> getPortDeltaStatistics(DeviceId deviceId);
 
+    /**
+     * Returns the list of port statistics of the specified device accumulated
+     * over the given time window ending at the latest sample.
+     *
+     * @param deviceId device identifier
+     * @param window time window
+     * @return list of port statistics of all ports of the device
+     */
+    default List<PortStatistics> getPortDeltaStatistics(DeviceId deviceId, Duration window) {
+        return getPortDeltaStatistics(deviceId);
+    }
+
     /**
      * Returns the port delta statistics of the specified device and port.
      *
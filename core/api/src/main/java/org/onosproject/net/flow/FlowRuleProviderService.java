@@ -60,6 +60,20 @@ public interface FlowRuleProviderService extends ProviderService<FlowRuleProvide
      */
     void pushTableStatistics(DeviceId deviceId, List<TableStatisticsEntry> tableStatsEntries);
 
+    /**
+     * Checks the flow entries stored for the given device against the number
+     * of active entries in each of its tables. The counts are only trusted
+     * when none of the stored entries is pending installation or removal.
+     *
+     * @param deviceId device identifier
+     * @param tableStatsEntries collection of flow table statistics entries
+     * @return true if the counts match and a full audit of the device flow
+     * entries may be skipped
+     */
+    default boolean checkFlowCounts(DeviceId deviceId, List<TableStatisticsEntry> tableStatsEntries) {
+        return false;
+    }
+
     /**
      * Indicates to the core that the requested batch operation has
      * been completed.
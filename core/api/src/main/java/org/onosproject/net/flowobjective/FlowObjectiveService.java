@@ -17,6 +17,7 @@ package org.onosproject.net.flowobjective;
 
 import com.google.common.annotations.Beta;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.onosproject.net.DeviceId;
@@ -86,6 +87,19 @@ public interface FlowObjectiveService {
         }
     }
 
+    /**
+     * Installs a batch of objectives onto the specified device. Implementations
+     * may hand the whole batch to the device driver at once, letting it
+     * coalesce the resulting flow rule and group operations; by default the
+     * objectives are applied one at a time, in order.
+     *
+     * @param deviceId   device identifier
+     * @param objectives the objectives
+     */
+    default void apply(DeviceId deviceId, Collection<? extends Objective> objectives) {
+        objectives.forEach(objective -> apply(deviceId, objective));
+    }
+
     /**
      * Retrieve all nextObjective to group mappings known to this onos instance,
      * in a format meant for display on the CLI, to help with debugging. Applications
@@ -64,14 +64,44 @@ public class DefaultLoad implements Load {
      * @param interval poll interval for this load
      */
     public DefaultLoad(long current, long previous, long interval) {
+        this(current, previous, interval, System.currentTimeMillis());
+    }
+
+    /**
+     * Creates a load value observed at the given time.
+     *
+     * @param current  the current value
+     * @param previous the previous value
+     * @param interval poll interval for this load
+     * @param time     time of the observation in milliseconds since the epoch
+     */
+    public DefaultLoad(long current, long previous, long interval, long time) {
         checkArgument(interval > 0, "Interval must be greater than 0");
         this.current = current;
         this.previous = previous;
-        this.time = System.currentTimeMillis();
+        this.time = time;
         this.isValid = true;
         this.interval = interval;
     }
 
+    /**
+     * Returns the poll interval in seconds over which the rate is computed.
+     *
+     * @return poll interval in seconds
+     */
+    public long interval() {
+        return interval;
+    }
+
+    /**
+     * Returns the previous value.
+     *
+     * @return previous value
+     */
+    public long previous() {
+        return previous;
+    }
+
     /**
      * Sets the poll interval in seconds. Used solely for the purpose of
      * computing the load.
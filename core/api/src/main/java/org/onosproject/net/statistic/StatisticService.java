@@ -22,6 +22,7 @@ import org.onosproject.net.Link;
 import org.onosproject.net.Path;
 import org.onosproject.net.flow.FlowRule;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -47,6 +48,14 @@ public interface StatisticService {
      */
     Load load(ConnectPoint connectPoint);
 
+    /**
+     * Obtain the recent loads of the given port, one per statistics poll.
+     *
+     * @param connectPoint the port to query
+     * @return recent loads, oldest first
+     */
+    List<Load> loadHistory(ConnectPoint connectPoint);
+
     /**
      * Find the most loaded link along a path.
      *
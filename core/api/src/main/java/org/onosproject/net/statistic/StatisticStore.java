@@ -19,6 +19,7 @@ import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.flow.FlowEntry;
 import org.onosproject.net.flow.FlowRule;
 
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -62,4 +63,21 @@ public interface StatisticStore {
      * @return set of current values
      */
     Set<FlowEntry> getPreviousStatistic(ConnectPoint connectPoint);
+
+    /**
+     * Fetches the load of the port, aggregated from the current and previous
+     * observed stats values.
+     *
+     * @param connectPoint the port to fetch information for
+     * @return load of the port; invalid if either observation is missing
+     */
+    Load getLoad(ConnectPoint connectPoint);
+
+    /**
+     * Fetches the recent loads of the port, one per observation.
+     *
+     * @param connectPoint the port to fetch information for
+     * @return recent loads, oldest first
+     */
+    List<Load> getLoadHistory(ConnectPoint connectPoint);
 }
@@ -15,6 +15,7 @@
  */
 package org.onosproject.store.cluster.messaging;
 
+import java.time.Duration;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
@@ -111,6 +112,28 @@ public interface ClusterCommunicationService {
                                                Function<byte[], R> decoder,
                                                NodeId toNodeId);
 
+    /**
+     * Sends a message and expects a reply within the given timeout.
+     *
+     * @param message message to send
+     * @param subject message subject
+     * @param encoder function for encoding request to byte[]
+     * @param decoder function for decoding response from byte[]
+     * @param toNodeId recipient node identifier
+     * @param timeout time to wait for the reply before failing the future with a timeout exception
+     * @param <M> request type
+     * @param <R> reply type
+     * @return reply future
+     */
+    default <M, R> CompletableFuture<R> sendAndReceive(M message,
+                                                       MessageSubject subject,
+                                                       Function<M, byte[]> encoder,
+                                                       Function<byte[], R> decoder,
+                                                       NodeId toNodeId,
+                                                       Duration timeout) {
+        return sendAndReceive(message, subject, encoder, decoder, toNodeId);
+    }
+
     /**
      * Adds a new subscriber for the specified message subject.
      *
@@ -15,6 +15,7 @@
  */
 package org.onosproject.store.cluster.messaging;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
@@ -54,6 +55,32 @@ public interface MessagingService {
      */
     CompletableFuture<byte[]> sendAndReceive(Endpoint ep, String type, byte[] payload, Executor executor);
 
+    /**
+     * Sends a message asynchronously and expects a response within the given timeout.
+     * @param ep end point to send the message to.
+     * @param type type of message.
+     * @param payload message payload.
+     * @param timeout time to wait for the response before failing the future with a timeout exception.
+     * @return a response future
+     */
+    default CompletableFuture<byte[]> sendAndReceive(Endpoint ep, String type, byte[] payload, Duration timeout) {
+        return sendAndReceive(ep, type, payload);
+    }
+
+    /**
+     * Sends a message asynchronously and expects a response within the given timeout.
+     * @param ep end point to send the message to.
+     * @param type type of message.
+     * @param payload message payload.
+     * @param timeout time to wait for the response before failing the future with a timeout exception.
+     * @param executor executor over which any follow up actions after completion will be executed.
+     * @return a response future
+     */
+    default CompletableFuture<byte[]> sendAndReceive(Endpoint ep, String type, byte[] payload,
+                                                     Duration timeout, Executor executor) {
+        return sendAndReceive(ep, type, payload, executor);
+    }
+
     /**
      * Registers a new message handler for message type.
      * @param type message type.
@@ -17,6 +17,7 @@ package org.onosproject.store.primitives;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -55,6 +56,21 @@ public class DefaultLeaderElector extends Synchronous<AsyncLeaderElector> implem
         complete(asyncElector.withdraw(topic));
     }
 
+    @Override
+    public Map<String, Leadership> runAll(Set<String> topics, NodeId nodeId) {
+        return complete(asyncElector.runAll(topics, nodeId));
+    }
+
+    @Override
+    public void withdrawAll(Set<String> topics) {
+        complete(asyncElector.withdrawAll(topics));
+    }
+
+    @Override
+    public Map<String, Boolean> anointAll(Map<String, NodeId> transfers) {
+        return complete(asyncElector.anointAll(transfers));
+    }
+
     @Override
     public boolean anoint(String topic, NodeId nodeId) {
         return complete(asyncElector.anoint(topic, nodeId));
@@ -17,6 +17,7 @@ package org.onosproject.store.primitives;
 
 import org.onosproject.core.ApplicationId;
 import org.onosproject.store.service.DistributedPrimitive;
+import org.onosproject.store.service.ReadConsistency;
 import org.onosproject.store.service.Serializer;
 
 /**
@@ -35,6 +36,7 @@ public abstract class DistributedPrimitiveBuilder<B extends DistributedPrimitive
     private boolean meteringDisabled = false;
     private boolean readOnly = false;
     private boolean relaxedReadConsistency = false;
+    private ReadConsistency readConsistency;
 
     public DistributedPrimitiveBuilder(DistributedPrimitive.Type type) {
         this.type = type;
@@ -102,6 +104,21 @@ public abstract class DistributedPrimitiveBuilder<B extends DistributedPrimitive
         return (B) this;
     }
 
+    /**
+     * Sets the consistency of read operations.
+     * <p>
+     * Sequential reads may be served by any replica of the primitive, which spreads
+     * read load across the cluster instead of concentrating it on partition leaders.
+     * When not set, the default consistency of the primitive applies.
+     *
+     * @param readConsistency read consistency
+     * @return this builder
+     */
+    public B withReadConsistency(ReadConsistency readConsistency) {
+        this.readConsistency = readConsistency;
+        return (B) this;
+    }
+
     /**
      * Returns if metering is enabled.
      *
@@ -138,6 +155,15 @@ public abstract class DistributedPrimitiveBuilder<B extends DistributedPrimitive
         return relaxedReadConsistency;
     }
 
+    /**
+     * Returns the consistency of read operations.
+     *
+     * @return read consistency; {@code null} if the default of the primitive applies
+     */
+    public final ReadConsistency readConsistency() {
+        return readConsistency;
+    }
+
     /**
      * Returns the serializer.
      *
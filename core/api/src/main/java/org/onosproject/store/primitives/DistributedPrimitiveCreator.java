@@ -24,6 +24,7 @@ import org.onosproject.store.service.AsyncConsistentTreeMap;
 import org.onosproject.store.service.AsyncDistributedSet;
 import org.onosproject.store.service.AsyncDocumentTree;
 import org.onosproject.store.service.AsyncLeaderElector;
+import org.onosproject.store.service.ReadConsistency;
 import org.onosproject.store.service.Serializer;
 import org.onosproject.store.service.WorkQueue;
 
@@ -45,6 +46,22 @@ public interface DistributedPrimitiveCreator {
      */
     <K, V> AsyncConsistentMap<K, V> newAsyncConsistentMap(String name, Serializer serializer);
 
+    /**
+     * Creates a new {@code AsyncConsistentMap} with the given read consistency.
+     *
+     * @param name map name
+     * @param serializer serializer to use for serializing/deserializing map entries
+     * @param readConsistency consistency of read operations; {@code null} for the default of the primitive
+     * @param <K> key type
+     * @param <V> value type
+     * @return map
+     */
+    default <K, V> AsyncConsistentMap<K, V> newAsyncConsistentMap(String name,
+                                                                  Serializer serializer,
+                                                                  ReadConsistency readConsistency) {
+        return newAsyncConsistentMap(name, serializer);
+    }
+
     /**
      * Creates a new {@code AsyncConsistentTreeMap}.
      *
@@ -56,6 +73,21 @@ public interface DistributedPrimitiveCreator {
     <V> AsyncConsistentTreeMap<V> newAsyncConsistentTreeMap(
             String name, Serializer serializer);
 
+    /**
+     * Creates a new {@code AsyncConsistentTreeMap} with the given read consistency.
+     *
+     * @param name tree name
+     * @param serializer serializer to use for serializing/deserializing map entries
+     * @param readConsistency consistency of read operations; {@code null} for the default of the primitive
+     * @param <V> value type
+     * @return distributedTreeMap
+     */
+    default <V> AsyncConsistentTreeMap<V> newAsyncConsistentTreeMap(String name,
+                                                                    Serializer serializer,
+                                                                    ReadConsistency readConsistency) {
+        return newAsyncConsistentTreeMap(name, serializer);
+    }
+
     /**
      * Creates a new set backed {@code AsyncConsistentMultimap}.
      *
@@ -135,6 +167,21 @@ public interface DistributedPrimitiveCreator {
      */
     <V> AsyncDocumentTree<V> newAsyncDocumentTree(String name, Serializer serializer);
 
+    /**
+     * Creates a new {@code AsyncDocumentTree} with the given read consistency.
+     *
+     * @param <V> document tree node value type
+     * @param name tree name
+     * @param serializer serializer
+     * @param readConsistency consistency of read operations; {@code null} for the default of the primitive
+     * @return document tree
+     */
+    default <V> AsyncDocumentTree<V> newAsyncDocumentTree(String name,
+                                                          Serializer serializer,
+                                                          ReadConsistency readConsistency) {
+        return newAsyncDocumentTree(name, serializer);
+    }
+
     /**
      * Returns the names of all created {@code AsyncConsistentMap} instances.
      * @return set of {@code AsyncConsistentMap} names
@@ -17,6 +17,7 @@
 package org.onosproject.store.service;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -29,6 +30,7 @@ import java.util.function.Predicate;
 import org.onosproject.store.primitives.DefaultConsistentMap;
 import org.onosproject.store.primitives.TransactionId;
 
+import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.MoreExecutors;
 
 /**
@@ -109,6 +111,28 @@ public interface AsyncConsistentMap<K, V> extends DistributedPrimitive {
      */
     CompletableFuture<Versioned<V>> get(K key);
 
+    /**
+     * Returns the values (and versions) to which the specified keys are mapped.
+     * <p>
+     * Keys that are not mapped to a value are omitted from the returned map.
+     * Implementations backed by a partitioned store should fetch all keys that
+     * reside in the same partition in a single operation.
+     *
+     * @param keys the keys whose associated values (and versions) are to be returned
+     * @return a future map of keys to the values (and versions) to which they are mapped
+     */
+    default CompletableFuture<Map<K, Versioned<V>>> getAll(Collection<K> keys) {
+        Map<K, Versioned<V>> result = Maps.newConcurrentMap();
+        return CompletableFuture.allOf(keys.stream()
+                .map(key -> get(key).thenAccept(value -> {
+                    if (value != null) {
+                        result.put(key, value);
+                    }
+                }))
+                .toArray(CompletableFuture[]::new))
+                .thenApply(v -> result);
+    }
+
     /**
      * If the specified key is not already associated with a value (or is mapped to null),
      * attempts to compute its value using the given mapping function and enters it into
@@ -193,6 +217,24 @@ public interface AsyncConsistentMap<K, V> extends DistributedPrimitive {
      */
     CompletableFuture<Versioned<V>> putAndGet(K key, V value);
 
+    /**
+     * Copies all of the mappings from the specified map to this map (optional operation).
+     * <p>
+     * Implementations backed by a partitioned store should apply all mappings that
+     * reside in the same partition in a single operation. If a mapping cannot be
+     * applied because a conflicting transaction holds a lock on one of its keys, the
+     * returned future will be completed exceptionally with
+     * ConsistentMapException.ConcurrentModification.
+     *
+     * @param entries mappings to be stored in this map
+     * @return future that will be completed when the operation finishes
+     */
+    default CompletableFuture<Void> putAll(Map<K, V> entries) {
+        return CompletableFuture.allOf(entries.entrySet().stream()
+                .map(e -> put(e.getKey(), e.getValue()))
+                .toArray(CompletableFuture[]::new));
+    }
+
     /**
      * Removes the mapping for a key from this map if it is present (optional operation).
      *
@@ -16,6 +16,7 @@
 package org.onosproject.store.service;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
@@ -24,6 +25,8 @@ import org.onosproject.cluster.NodeId;
 import org.onosproject.event.Change;
 import org.onosproject.store.primitives.DefaultLeaderElector;
 
+import com.google.common.collect.Maps;
+
 /**
  * Distributed mutual exclusion primitive.
  * <p>
@@ -65,6 +68,57 @@ public interface AsyncLeaderElector extends DistributedPrimitive {
      */
     CompletableFuture<Void> withdraw(String topic);
 
+    /**
+     * Attempts to become leader for a set of topics.
+     * <p>
+     * Implementations are encouraged to apply the registrations as a single operation; the default
+     * implementation registers for each topic individually.
+     * @param topics leadership topics
+     * @param nodeId instance identifier of the node
+     * @return CompletableFuture that is completed with the current Leadership state of each topic
+     */
+    default CompletableFuture<Map<String, Leadership>> runAll(Set<String> topics, NodeId nodeId) {
+        Map<String, Leadership> leaderships = Maps.newConcurrentMap();
+        return CompletableFuture.allOf(topics.stream()
+                                             .map(topic -> run(topic, nodeId)
+                                                     .thenAccept(l -> leaderships.put(topic, l)))
+                                             .toArray(CompletableFuture[]::new))
+                                .thenApply(v -> leaderships);
+    }
+
+    /**
+     * Withdraws from leadership race for a set of topics.
+     * <p>
+     * Implementations are encouraged to apply the withdrawals as a single operation; the default
+     * implementation withdraws from each topic individually.
+     * @param topics leadership topics
+     * @return CompletableFuture that is completed when all withdrawals are done
+     */
+    default CompletableFuture<Void> withdrawAll(Set<String> topics) {
+        return CompletableFuture.allOf(topics.stream()
+                                             .map(this::withdraw)
+                                             .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Attempts to promote nodes to leadership for a set of topics, displacing the current leaders.
+     * <p>
+     * Implementations are encouraged to apply the transfers as a single operation; the default
+     * implementation transfers each topic individually.
+     * @param transfers mapping from leadership topic to instance identifier of the new leader
+     * @return CompletableFuture that is completed with a mapping from topic to the outcome of its transfer,
+     * as defined by {@link #anoint(String, NodeId)}
+     */
+    default CompletableFuture<Map<String, Boolean>> anointAll(Map<String, NodeId> transfers) {
+        Map<String, Boolean> results = Maps.newConcurrentMap();
+        return CompletableFuture.allOf(transfers.entrySet()
+                                                .stream()
+                                                .map(e -> anoint(e.getKey(), e.getValue())
+                                                        .thenAccept(r -> results.put(e.getKey(), r)))
+                                                .toArray(CompletableFuture[]::new))
+                                .thenApply(v -> results);
+    }
+
     /**
      * Attempts to promote a node to leadership displacing the current leader.
      * @param topic leadership topic
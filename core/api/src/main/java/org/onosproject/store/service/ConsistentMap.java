@@ -17,6 +17,7 @@
 package org.onosproject.store.service;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -76,6 +77,24 @@ public interface ConsistentMap<K, V> extends DistributedPrimitive {
      */
     Versioned<V> get(K key);
 
+    /**
+     * Returns the values (and versions) to which the specified keys are mapped.
+     * Keys that are not mapped to a value are omitted from the returned map.
+     *
+     * @param keys the keys whose associated values (and versions) are to be returned
+     * @return map of keys to the values (and versions) to which they are mapped
+     */
+    default Map<K, Versioned<V>> getAll(Collection<K> keys) {
+        Map<K, Versioned<V>> result = new HashMap<>();
+        keys.forEach(key -> {
+            Versioned<V> value = get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        });
+        return result;
+    }
+
     /**
      * If the specified key is not already associated with a value (or is mapped to null),
      * attempts to compute its value using the given mapping function and enters it into
@@ -157,6 +176,17 @@ public interface ConsistentMap<K, V> extends DistributedPrimitive {
      */
     Versioned<V> putAndGet(K key, V value);
 
+    /**
+     * Copies all of the mappings from the specified map to this map (optional operation).
+     *
+     * @param entries mappings to be stored in this map
+     * @throws ConsistentMapException.ConcurrentModification if a conflicting
+     * transaction holds a lock on one of the keys
+     */
+    default void putAll(Map<K, V> entries) {
+        entries.forEach(this::put);
+    }
+
     /**
      * Removes the mapping for a key from this map if it is present (optional operation).
      *
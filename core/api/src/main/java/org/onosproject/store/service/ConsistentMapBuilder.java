@@ -15,8 +15,12 @@
  */
 package org.onosproject.store.service;
 
+import java.util.concurrent.TimeUnit;
+
 import org.onosproject.store.primitives.DistributedPrimitiveBuilder;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 /**
  * Builder for {@link ConsistentMap} instances.
  *
@@ -26,7 +30,11 @@ import org.onosproject.store.primitives.DistributedPrimitiveBuilder;
 public abstract class ConsistentMapBuilder<K, V>
     extends DistributedPrimitiveBuilder<ConsistentMapBuilder<K, V>, ConsistentMap<K, V>> {
 
+    private static final int DEFAULT_CACHE_SIZE = 10000;
+
     private boolean purgeOnUninstall = false;
+    private int cacheSize = DEFAULT_CACHE_SIZE;
+    private long cacheExpirationMillis = 0;
 
     public ConsistentMapBuilder() {
         super(DistributedPrimitive.Type.CONSISTENT_MAP);
@@ -42,6 +50,53 @@ public abstract class ConsistentMapBuilder<K, V>
         return this;
     }
 
+    /**
+     * Sets the maximum number of entries held by the local read cache.
+     * <p>
+     * The cache is only used when relaxed read consistency is enabled, which this
+     * method implies. Least recently used entries are evicted first.
+     *
+     * @param cacheSize maximum number of cached entries
+     * @return this builder
+     */
+    public ConsistentMapBuilder<K, V> withCacheSize(int cacheSize) {
+        checkArgument(cacheSize > 0, "cacheSize must be positive");
+        this.cacheSize = cacheSize;
+        return withRelaxedReadConsistency();
+    }
+
+    /**
+     * Sets the time after which an entry in the local read cache expires once written.
+     * <p>
+     * The cache is only used when relaxed read consistency is enabled, which this
+     * method implies. By default, cached entries do not expire.
+     *
+     * @param duration expiration duration
+     * @param unit expiration time unit
+     * @return this builder
+     */
+    public ConsistentMapBuilder<K, V> withCacheExpiration(long duration, TimeUnit unit) {
+        checkArgument(duration > 0, "duration must be positive");
+        this.cacheExpirationMillis = unit.toMillis(duration);
+        return withRelaxedReadConsistency();
+    }
+
+    /**
+     * Returns the maximum number of entries held by the local read cache.
+     * @return cache size
+     */
+    public int cacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Returns the time in milliseconds after which a cached entry expires once written.
+     * @return expiration in milliseconds; {@code 0} if cached entries do not expire
+     */
+    public long cacheExpirationMillis() {
+        return cacheExpirationMillis;
+    }
+
     /**
      * Returns if map entries need to be cleared when owning application is uninstalled.
      * @return {@code true} if yes; {@code false} otherwise.
@@ -190,6 +190,27 @@ public interface EventuallyConsistentMapBuilder<K, V> {
      */
     EventuallyConsistentMapBuilder<K, V> withPersistence();
 
+    /**
+     * Configure the map to checkpoint its entries to disk periodically instead
+     * of writing every update through, and to restore them from the latest
+     * checkpoint when the map is built. Updates made since the checkpoint are
+     * recovered from peers by anti-entropy.
+     * <p>
+     * Restored entries keep their original timestamps. An entry removed while
+     * this node was down is removed again by anti-entropy, as peers keep the
+     * tombstone of a removal until they exchanged it with every node; the map
+     * therefore must not be built with {@link #withTombstonesDisabled()}.
+     * </p>
+     * <p>
+     * Takes precedence over {@link #withPersistence()}.
+     * </p>
+     *
+     * @param period checkpoint period, at least one millisecond
+     * @param unit time unit for the period
+     * @return this EventuallyConsistentMapBuilder
+     */
+    EventuallyConsistentMapBuilder<K, V> withSnapshots(long period, TimeUnit unit);
+
     /**
      * Builds an eventually consistent map based on the configuration options
      * supplied to this builder.
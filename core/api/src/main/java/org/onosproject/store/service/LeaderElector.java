@@ -16,6 +16,7 @@
 package org.onosproject.store.service;
 
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.onosproject.cluster.Leadership;
@@ -47,6 +48,27 @@ public interface LeaderElector extends DistributedPrimitive {
      */
     void withdraw(String topic);
 
+    /**
+     * Attempts to become leader for a set of topics.
+     * @param topics leadership topics
+     * @param nodeId instance identifier of the node
+     * @return current Leadership state of each topic
+     */
+    Map<String, Leadership> runAll(Set<String> topics, NodeId nodeId);
+
+    /**
+     * Withdraws from leadership race for a set of topics.
+     * @param topics leadership topics
+     */
+    void withdrawAll(Set<String> topics);
+
+    /**
+     * Attempts to promote nodes to leadership for a set of topics, displacing the current leaders.
+     * @param transfers mapping from leadership topic to instance identifier of the new leader
+     * @return mapping from topic to {@code true} if its transfer was successfully executed
+     */
+    Map<String, Boolean> anointAll(Map<String, NodeId> transfers);
+
     /**
      * Attempts to promote a node to leadership displacing the current leader.
      * @param topic leadership topic
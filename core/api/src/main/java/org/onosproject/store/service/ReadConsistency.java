@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.service;
+
+/**
+ * Consistency guarantee of read operations on a distributed primitive.
+ */
+public enum ReadConsistency {
+    /**
+     * Indicates reads are served by the partition leader and always reflect the
+     * most recently committed state.
+     */
+    LINEARIZABLE,
+
+    /**
+     * Indicates reads may be served by any replica of the partition, including
+     * the local one. A client never observes state older than what it has already
+     * observed, but may not see the latest updates made by other clients.
+     */
+    SEQUENTIAL
+}
@@ -23,6 +23,7 @@ import org.onosproject.net.Link;
 import org.onosproject.net.Path;
 import org.onosproject.net.flow.FlowRule;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -39,6 +40,11 @@ public class StatisticServiceAdapter implements StatisticService {
         return null;
     }
 
+    @Override
+    public List<Load> loadHistory(ConnectPoint connectPoint) {
+        return null;
+    }
+
     @Override
     public Link max(Path path) {
         return null;
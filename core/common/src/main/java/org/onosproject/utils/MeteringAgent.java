@@ -16,6 +16,7 @@
 package org.onosproject.utils;
 
 import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.Timer;
 import com.google.common.collect.Maps;
 import org.onlab.metrics.MetricsComponent;
@@ -40,6 +41,7 @@ public class MeteringAgent {
     private MetricsFeature metricsFeature;
     private final Map<String, Timer> perObjOpTimers = Maps.newConcurrentMap();
     private final Map<String, Timer> perOpTimers = Maps.newConcurrentMap();
+    private final Map<String, Meter> perObjOpMeters = Maps.newConcurrentMap();
     private Timer perPrimitiveTimer;
     private Timer perObjTimer;
     private MetricsFeature wildcard;
@@ -89,6 +91,20 @@ public class MeteringAgent {
         return new Context(currTimer.time(), op);
     }
 
+    /**
+     * Marks a number of occurrences, such as transferred bytes, of a given operation.
+     *
+     * @param op Specific operation being metered
+     * @param count number of occurrences
+     */
+    public void mark(String op, long count) {
+        if (!activated) {
+            return;
+        }
+        perObjOpMeters.computeIfAbsent(op, meter ->
+                metricsService.createMeter(metricsComponent, metricsFeature, op)).mark(count);
+    }
+
     /**
      * Timer.Context with a specific operation.
      */
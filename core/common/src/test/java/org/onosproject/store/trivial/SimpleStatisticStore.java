@@ -15,6 +15,7 @@
  */
 package org.onosproject.store.trivial;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
@@ -26,11 +27,14 @@ import org.onosproject.net.flow.FlowEntry;
 import org.onosproject.net.flow.FlowRule;
 import org.onosproject.net.flow.instructions.Instruction;
 import org.onosproject.net.flow.instructions.Instructions;
+import org.onosproject.net.statistic.DefaultLoad;
+import org.onosproject.net.statistic.Load;
 import org.onosproject.net.statistic.StatisticStore;
 import org.slf4j.Logger;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -140,6 +144,22 @@ public class SimpleStatisticStore implements StatisticStore {
         return previous.get(connectPoint);
     }
 
+    @Override
+    public synchronized Load getLoad(ConnectPoint connectPoint) {
+        Set<FlowEntry> curr = current.get(connectPoint);
+        Set<FlowEntry> prev = previous.get(connectPoint);
+        if (curr == null || prev == null || curr.isEmpty() || prev.isEmpty()) {
+            return new DefaultLoad();
+        }
+        return new DefaultLoad(curr.stream().mapToLong(FlowEntry::bytes).sum(),
+                               prev.stream().mapToLong(FlowEntry::bytes).sum());
+    }
+
+    @Override
+    public List<Load> getLoadHistory(ConnectPoint connectPoint) {
+        return ImmutableList.of();
+    }
+
     private InternalStatisticRepresentation getOrCreateRepresentation(ConnectPoint cp) {
 
         if (representations.containsKey(cp)) {
@@ -18,6 +18,7 @@ package org.onosproject.cluster.impl;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
@@ -37,6 +38,7 @@ import org.onosproject.cluster.NodeId;
 import org.onosproject.event.AbstractListenerManager;
 import org.slf4j.Logger;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 
 /**
@@ -70,9 +72,9 @@ public class LeadershipManager
 
     @Deactivate
     public void deactivate() {
-        Maps.filterValues(store.getLeaderships(), v -> v.candidates().contains(localNodeId))
-            .keySet()
-            .forEach(this::withdraw);
+        withdraw(ImmutableSet.copyOf(Maps.filterValues(store.getLeaderships(),
+                                                       v -> v.candidates().contains(localNodeId))
+                                         .keySet()));
         store.unsetDelegate(delegate);
         eventDispatcher.removeSink(LeadershipEvent.class);
         log.info("Stopped");
@@ -88,11 +90,21 @@ public class LeadershipManager
         return store.addRegistration(topic);
     }
 
+    @Override
+    public Map<String, Leadership> runForLeadership(Set<String> topics) {
+        return store.addRegistrations(topics);
+    }
+
     @Override
     public void withdraw(String topic) {
         store.removeRegistration(topic);
     }
 
+    @Override
+    public void withdraw(Set<String> topics) {
+        store.removeRegistrations(topics);
+    }
+
     @Override
     public Map<String, Leadership> getLeaderBoard() {
         return store.getLeaderships();
@@ -103,6 +115,11 @@ public class LeadershipManager
         return store.moveLeadership(topic, to);
     }
 
+    @Override
+    public Map<String, Boolean> transferLeadership(Map<String, NodeId> transfers) {
+        return store.moveLeaderships(transfers);
+    }
+
     @Override
     public void unregister(NodeId nodeId) {
         store.removeRegistration(nodeId);
@@ -15,6 +15,7 @@
  */
 package org.onosproject.net.device.impl;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -254,6 +255,14 @@ public class DeviceManager
         return store.getPortDeltaStatistics(deviceId);
     }
 
+    @Override
+    public List<PortStatistics> getPortDeltaStatistics(DeviceId deviceId, Duration window) {
+        checkPermission(DEVICE_READ);
+        checkNotNull(deviceId, DEVICE_ID_NULL);
+        checkNotNull(window, "Window cannot be null");
+        return store.getPortDeltaStatistics(deviceId, window);
+    }
+
     @Override
     public PortStatistics getStatisticsForPort(DeviceId deviceId, PortNumber portNumber) {
         checkPermission(DEVICE_READ);
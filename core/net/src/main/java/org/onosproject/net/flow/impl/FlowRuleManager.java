@@ -561,6 +561,37 @@ public class FlowRuleManager
                                           List<TableStatisticsEntry> tableStats) {
             store.updateTableStatistics(deviceId, tableStats);
         }
+
+        @Override
+        public boolean checkFlowCounts(DeviceId deviceId,
+                                       List<TableStatisticsEntry> tableStats) {
+            checkValidity();
+            Map<Integer, Long> active = Maps.newHashMap();
+            for (TableStatisticsEntry entry : tableStats) {
+                if (entry.activeFlowEntries() > 0) {
+                    active.merge(entry.tableId(), entry.activeFlowEntries(), Long::sum);
+                }
+            }
+
+            // One pass over the stored entries of the device; still far cheaper
+            // than the flow stats dump it may save, which visits them all too.
+            Map<Integer, Long> stored = Maps.newHashMap();
+            for (FlowEntry entry : store.getFlowEntries(deviceId)) {
+                if (entry.state() != FlowEntry.FlowEntryState.ADDED) {
+                    // equal counts cannot tell a missing pending entry from an
+                    // unknown one on the device; only a full audit confirms it
+                    return false;
+                }
+                stored.merge(entry.tableId(), 1L, Long::sum);
+            }
+
+            if (!active.equals(stored)) {
+                log.debug("Flow counts of {} do not match: device {}, store {}",
+                          deviceId, active, stored);
+                return false;
+            }
+            return true;
+        }
     }
 
     // Store delegate to re-post events emitted from the store.
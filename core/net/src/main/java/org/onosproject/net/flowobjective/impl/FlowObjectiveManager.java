@@ -15,6 +15,9 @@
  */
 package org.onosproject.net.flowobjective.impl;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.apache.felix.scr.annotations.Activate;
@@ -23,10 +26,14 @@ import org.apache.felix.scr.annotations.Deactivate;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.osgi.DefaultServiceDirectory;
 import org.onlab.osgi.ServiceDirectory;
 import org.onlab.util.ItemNotFoundException;
 import org.onosproject.cluster.ClusterService;
+import org.onosproject.core.MetricsHelper;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.behaviour.NextGroup;
 import org.onosproject.net.behaviour.Pipeliner;
@@ -53,14 +60,22 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 import static org.onlab.util.Tools.groupedThreads;
 import static org.onosproject.security.AppGuard.checkPermission;
 import static org.onosproject.security.AppPermission.Type.FLOWRULE_WRITE;
@@ -70,11 +85,18 @@ import static org.onosproject.security.AppPermission.Type.FLOWRULE_WRITE;
  */
 @Component(immediate = true)
 @Service
-public class FlowObjectiveManager implements FlowObjectiveService {
+public class FlowObjectiveManager implements FlowObjectiveService, MetricsHelper {
 
     public static final int INSTALL_RETRY_ATTEMPTS = 5;
     public static final long INSTALL_RETRY_INTERVAL = 1000; // ms
 
+    // Objectives installed for one device before its queue yields the installer thread
+    private static final int MAX_OBJECTIVES_PER_RUN = 64;
+
+    private static final String METRICS_COMPONENT = "FlowObjective";
+    private static final String BACKLOG = "backlog";
+    private static final String INSTALL_LATENCY = "installLatency";
+
     private final Logger log = LoggerFactory.getLogger(getClass());
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
@@ -86,6 +108,9 @@ public class FlowObjectiveManager implements FlowObjectiveService {
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected ClusterService clusterService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected MetricsService metricsService;
+
     // Note: The following dependencies are added on behalf of the pipeline
     // driver behaviours to assure these services are available for their
     // initialization.
@@ -120,11 +145,16 @@ public class FlowObjectiveManager implements FlowObjectiveService {
     // for debugging purposes
     private Map<Integer, DeviceId> nextToDevice = Maps.newConcurrentMap();
 
+    // objectives waiting to be installed, queued per device to keep their submission order
+    private final Map<DeviceId, ObjectiveQueue> objectiveQueues = Maps.newConcurrentMap();
+
     private ExecutorService executorService;
+    private ScheduledExecutorService retryExecutor;
 
     @Activate
     protected void activate() {
         executorService = newFixedThreadPool(4, groupedThreads("onos/objective-installer", "%d", log));
+        retryExecutor = newSingleThreadScheduledExecutor(groupedThreads("onos/objective-installer", "retry", log));
         flowObjectiveStore.setDelegate(delegate);
         deviceService.addListener(deviceListener);
         log.info("Started");
@@ -134,41 +164,60 @@ public class FlowObjectiveManager implements FlowObjectiveService {
     protected void deactivate() {
         flowObjectiveStore.unsetDelegate(delegate);
         deviceService.removeListener(deviceListener);
+        retryExecutor.shutdownNow();
         executorService.shutdown();
+        objectiveQueues.values().forEach(ObjectiveQueue::removeMetrics);
+        objectiveQueues.clear();
         pipeliners.clear();
         driverHandlers.clear();
         nextToDevice.clear();
         log.info("Stopped");
     }
 
+    @Override
+    public MetricsService metricsService() {
+        return metricsService;
+    }
+
     /**
      * Task that passes the flow objective down to the driver. The task will
      * make a few attempts to find the appropriate driver, then eventually give
      * up and report an error if no suitable driver could be found.
      */
-    private class ObjectiveInstaller implements Runnable {
+    private class ObjectiveInstaller {
         private final DeviceId deviceId;
         private final Objective objective;
+        private final List<Objective> batch;
+        private final long submitted = System.nanoTime();
 
-        private final int numAttempts;
+        private int numAttempts = 1;
 
         public ObjectiveInstaller(DeviceId deviceId, Objective objective) {
-            this(deviceId, objective, 1);
+            this.deviceId = checkNotNull(deviceId);
+            this.objective = checkNotNull(objective);
+            this.batch = null;
         }
 
-        public ObjectiveInstaller(DeviceId deviceId, Objective objective, int attemps) {
+        public ObjectiveInstaller(DeviceId deviceId, List<Objective> batch) {
             this.deviceId = checkNotNull(deviceId);
-            this.objective = checkNotNull(objective);
-            this.numAttempts = checkNotNull(attemps);
+            this.objective = null;
+            this.batch = checkNotNull(batch);
         }
 
-        @Override
-        public void run() {
+        /**
+         * Passes the objective to the pipeliner of the device.
+         *
+         * @return false if no pipeliner is available yet and the objective
+         * should be installed again later
+         */
+        public boolean install() {
             try {
                 Pipeliner pipeliner = getDevicePipeliner(deviceId);
 
                 if (pipeliner != null) {
-                    if (objective instanceof NextObjective) {
+                    if (batch != null) {
+                        pipeliner.apply(batch);
+                    } else if (objective instanceof NextObjective) {
                         pipeliner.next((NextObjective) objective);
                     } else if (objective instanceof ForwardingObjective) {
                         pipeliner.forward((ForwardingObjective) objective);
@@ -177,25 +226,109 @@ public class FlowObjectiveManager implements FlowObjectiveService {
                     }
                     //Attempts to check if pipeliner is null for retry attempts
                 } else if (numAttempts < INSTALL_RETRY_ATTEMPTS) {
-                    Thread.sleep(INSTALL_RETRY_INTERVAL);
-                    executorService.execute(new ObjectiveInstaller(deviceId, objective, numAttempts + 1));
+                    numAttempts++;
+                    return false;
                 } else {
                     // Otherwise we've tried a few times and failed, report an
                     // error back to the user.
-                    objective.context().ifPresent(
-                            c -> c.onError(objective, ObjectiveError.NOPIPELINER));
+                    objectives().forEach(o -> o.context().ifPresent(
+                            c -> c.onError(o, ObjectiveError.NOPIPELINER)));
                 }
                 //Excpetion thrown
             } catch (Exception e) {
                 log.warn("Exception while installing flow objective", e);
             }
+            return true;
+        }
+
+        private List<Objective> objectives() {
+            return batch != null ? batch : ImmutableList.of(objective);
         }
     }
 
+    /**
+     * Objectives of a device, installed one at a time in the order they were
+     * submitted. While the device has no pipeliner, the objective at the head
+     * of the queue is retried later without holding an installer thread, and
+     * the objectives behind it wait for it.
+     */
+    private final class ObjectiveQueue implements Runnable {
+        private final DeviceId deviceId;
+        private final Queue<ObjectiveInstaller> installers = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger backlog = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final Timer installLatency;
+
+        private ObjectiveQueue(DeviceId deviceId) {
+            this.deviceId = deviceId;
+            this.installLatency = createTimer(METRICS_COMPONENT, deviceId.toString(), INSTALL_LATENCY);
+            if (metricsService != null) {
+                metricsService.registerMetric(metricsComponent(), metricsFeature(), BACKLOG,
+                                              (Gauge<Integer>) backlog::get);
+            }
+        }
+
+        private MetricsComponent metricsComponent() {
+            return metricsService.registerComponent(METRICS_COMPONENT);
+        }
+
+        private MetricsFeature metricsFeature() {
+            return metricsComponent().registerFeature(deviceId.toString());
+        }
+
+        private void removeMetrics() {
+            if (metricsService != null) {
+                metricsService.removeMetric(metricsComponent(), metricsFeature(), BACKLOG);
+            }
+        }
+
+        private void submit(ObjectiveInstaller installer, int size) {
+            installers.add(installer);
+            backlog.addAndGet(size);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                executorService.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < MAX_OBJECTIVES_PER_RUN; i++) {
+                ObjectiveInstaller installer = installers.peek();
+                if (installer == null) {
+                    break;
+                }
+                if (!installer.install()) {
+                    // keep the queue scheduled until the retry runs
+                    retryExecutor.schedule(() -> executorService.execute(this),
+                                           INSTALL_RETRY_INTERVAL, TimeUnit.MILLISECONDS);
+                    return;
+                }
+                installers.poll();
+                backlog.addAndGet(-installer.objectives().size());
+                if (installLatency != null) {
+                    installLatency.update(System.nanoTime() - installer.submitted, TimeUnit.NANOSECONDS);
+                }
+            }
+            scheduled.set(false);
+            if (!installers.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+
+    private void install(DeviceId deviceId, Objective objective) {
+        objectiveQueues.computeIfAbsent(deviceId, ObjectiveQueue::new)
+                .submit(new ObjectiveInstaller(deviceId, objective), 1);
+    }
+
     @Override
     public void filter(DeviceId deviceId, FilteringObjective filteringObjective) {
         checkPermission(FLOWRULE_WRITE);
-        executorService.execute(new ObjectiveInstaller(deviceId, filteringObjective));
+        install(deviceId, filteringObjective);
     }
 
     @Override
@@ -204,14 +337,37 @@ public class FlowObjectiveManager implements FlowObjectiveService {
         if (queueObjective(deviceId, forwardingObjective)) {
             return;
         }
-        executorService.execute(new ObjectiveInstaller(deviceId, forwardingObjective));
+        install(deviceId, forwardingObjective);
     }
 
     @Override
     public void next(DeviceId deviceId, NextObjective nextObjective) {
         checkPermission(FLOWRULE_WRITE);
         nextToDevice.put(nextObjective.id(), deviceId);
-        executorService.execute(new ObjectiveInstaller(deviceId, nextObjective));
+        install(deviceId, nextObjective);
+    }
+
+    @Override
+    public void apply(DeviceId deviceId, Collection<? extends Objective> objectives) {
+        checkPermission(FLOWRULE_WRITE);
+        List<Objective> batch = new ArrayList<>(objectives.size());
+        for (Objective objective : objectives) {
+            if (objective instanceof ForwardingObjective) {
+                // forwards waiting for their next are installed once it arrives
+                if (queueObjective(deviceId, (ForwardingObjective) objective)) {
+                    continue;
+                }
+            } else if (objective instanceof NextObjective) {
+                nextToDevice.put(objective.id(), deviceId);
+            } else if (!(objective instanceof FilteringObjective)) {
+                throw new UnsupportedOperationException("Unsupported objective of type " + objective.getClass());
+            }
+            batch.add(objective);
+        }
+        if (!batch.isEmpty()) {
+            objectiveQueues.computeIfAbsent(deviceId, ObjectiveQueue::new)
+                    .submit(new ObjectiveInstaller(deviceId, batch), batch.size());
+        }
     }
 
     @Override
@@ -428,8 +584,7 @@ public class FlowObjectiveManager implements FlowObjectiveService {
 
                 log.debug("Processing {} pending forwarding objectives for nextId {}",
                          pending.size(), event.subject());
-                pending.forEach(p -> getDevicePipeliner(p.deviceId())
-                                .forward(p.forwardingObjective()));
+                pending.forEach(p -> install(p.deviceId(), p.forwardingObjective()));
             }
         }
     }
@@ -43,6 +43,7 @@ import org.onosproject.net.statistic.StatisticStore;
 import org.slf4j.Logger;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -119,6 +120,13 @@ public class StatisticManager implements StatisticService {
         return loadInternal(connectPoint);
     }
 
+    @Override
+    public List<Load> loadHistory(ConnectPoint connectPoint) {
+        checkPermission(STATISTIC_READ);
+
+        return statisticStore.getLoadHistory(connectPoint);
+    }
+
     @Override
     public Link max(Path path) {
         checkPermission(STATISTIC_READ);
@@ -176,12 +184,8 @@ public class StatisticManager implements StatisticService {
     }
 
     private Load loadInternal(ConnectPoint connectPoint) {
-        Statistics stats = getStatistics(connectPoint);
-        if (!stats.isValid()) {
-            return new DefaultLoad();
-        }
-
-        return new DefaultLoad(aggregate(stats.current), aggregate(stats.previous));
+        // aggregated by the store as statistics are published
+        return statisticStore.getLoad(connectPoint);
     }
 
     /**
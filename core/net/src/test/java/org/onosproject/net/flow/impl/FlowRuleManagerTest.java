@@ -46,6 +46,7 @@ import org.onosproject.net.driver.impl.DriverManager;
 import org.onosproject.net.flow.CompletedBatchOperation;
 import org.onosproject.net.flow.DefaultFlowEntry;
 import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTableStatisticsEntry;
 import org.onosproject.net.flow.FlowEntry;
 import org.onosproject.net.flow.FlowEntry.FlowEntryState;
 import org.onosproject.net.flow.FlowRule;
@@ -58,6 +59,7 @@ import org.onosproject.net.flow.FlowRuleProviderRegistry;
 import org.onosproject.net.flow.FlowRuleProviderService;
 import org.onosproject.net.flow.FlowRuleService;
 import org.onosproject.net.flow.StoredFlowEntry;
+import org.onosproject.net.flow.TableStatisticsEntry;
 import org.onosproject.net.flow.TrafficSelector;
 import org.onosproject.net.flow.TrafficTreatment;
 import org.onosproject.net.flow.criteria.Criterion;
@@ -229,6 +231,58 @@ public class FlowRuleManagerTest {
         validateEvents(RULE_UPDATED, RULE_UPDATED);
     }
 
+    @Test
+    public void checkFlowCounts() {
+        FlowRule f1 = addFlowRule(1);
+        FlowRule f2 = addFlowRule(2);
+        validateEvents(RULE_ADD_REQUESTED, RULE_ADD_REQUESTED);
+
+        // pending entries are never trusted on counts alone
+        assertFalse("pending entries should not be trusted",
+                    providerService.checkFlowCounts(DID, tableStats(2)));
+        validateEvents();
+
+        providerService.pushFlowMetrics(DID, ImmutableList.of(new DefaultFlowEntry(f1),
+                                                              new DefaultFlowEntry(f2)));
+        validateEvents(RULE_ADDED, RULE_ADDED);
+
+        assertFalse("counts should not match",
+                    providerService.checkFlowCounts(DID, tableStats(1)));
+        assertTrue("counts should match",
+                   providerService.checkFlowCounts(DID, tableStats(2)));
+        validateEvents();
+
+        // pending removals need a full audit
+        mgr.removeFlowRules(f1);
+        validateEvents(RULE_REMOVE_REQUESTED);
+        assertFalse("counts should not be trusted",
+                    providerService.checkFlowCounts(DID, tableStats(2)));
+    }
+
+    @Test
+    public void checkFlowCountsMissingAndExtraEntry() {
+        FlowRule f1 = addFlowRule(1);
+        FlowRule f2 = addFlowRule(2);
+        validateEvents(RULE_ADD_REQUESTED, RULE_ADD_REQUESTED);
+        providerService.pushFlowMetrics(DID, ImmutableList.of(new DefaultFlowEntry(f1)));
+        validateEvents(RULE_ADDED);
+
+        // the device misses f2 but has an unknown entry instead
+        assertFalse("counts should not be trusted",
+                    providerService.checkFlowCounts(DID, tableStats(2)));
+        validateEvents();
+        assertTrue("f2 should still be pending.",
+                   validateState(ImmutableMap.of(
+                           f1, FlowEntryState.ADDED,
+                           f2, FlowEntryState.PENDING_ADD)));
+    }
+
+    private List<TableStatisticsEntry> tableStats(long activeEntries) {
+        return ImmutableList.of(
+                new DefaultTableStatisticsEntry(DID, 0, activeEntries, 0, 0),
+                new DefaultTableStatisticsEntry(DID, 1, 0, 0, 0));
+    }
+
     private boolean validateState(Map<FlowRule, FlowEntryState> expected) {
         Map<FlowRule, FlowEntryState> expectedToCheck = new HashMap<>(expected);
         Iterable<FlowEntry> rules = service.getFlowEntries(DID);
@@ -18,6 +18,7 @@ package org.onosproject.net.flowobjective.impl;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.google.common.collect.ImmutableList;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -61,6 +62,7 @@ import org.onosproject.net.flowobjective.ObjectiveEvent;
 import org.onosproject.net.intent.TestTools;
 
 import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.notNullValue;
@@ -88,6 +90,7 @@ public class FlowObjectiveManagerTest {
     List<String> filteringObjectives;
     List<String> forwardingObjectives;
     List<String> nextObjectives;
+    List<Integer> forwardingPriorities;
 
     private class TestDeviceService extends DeviceServiceAdapter {
 
@@ -167,6 +170,7 @@ public class FlowObjectiveManagerTest {
         @Override
         public void forward(ForwardingObjective forwardObjective) {
             forwardingObjectives.add(deviceId.toString());
+            forwardingPriorities.add(forwardObjective.priority());
         }
 
         @Override
@@ -194,6 +198,7 @@ public class FlowObjectiveManagerTest {
         filteringObjectives = new ArrayList<>();
         forwardingObjectives = new ArrayList<>();
         nextObjectives = new ArrayList<>();
+        forwardingPriorities = new ArrayList<>();
         manager.activate();
     }
 
@@ -204,6 +209,7 @@ public class FlowObjectiveManagerTest {
         filteringObjectives.clear();
         forwardingObjectives.clear();
         nextObjectives.clear();
+        forwardingPriorities.clear();
     }
 
     /**
@@ -232,6 +238,33 @@ public class FlowObjectiveManagerTest {
         assertThat(nextObjectives, hasSize(0));
     }
 
+    /**
+     * Tests that the objectives of a device are installed in submission order.
+     */
+    @Test
+    public void forwardingObjectiveOrder() {
+        TrafficSelector selector = DefaultTrafficSelector.emptySelector();
+        TrafficTreatment treatment = DefaultTrafficTreatment.emptyTreatment();
+        List<Integer> priorities = new ArrayList<>();
+        for (int priority = 1; priority <= 100; priority++) {
+            ForwardingObjective forward =
+                    DefaultForwardingObjective.builder()
+                            .fromApp(NetTestTools.APP_ID)
+                            .withFlag(ForwardingObjective.Flag.SPECIFIC)
+                            .withSelector(selector)
+                            .withTreatment(treatment)
+                            .withPriority(priority)
+                            .makePermanent()
+                            .add();
+            manager.forward(id1, forward);
+            priorities.add(priority);
+        }
+
+        TestTools.assertAfter(RETRY_MS, () ->
+                assertThat(forwardingObjectives, hasSize(100)));
+        assertThat(forwardingPriorities, is(priorities));
+    }
+
     /**
      * Tests adding a filtering objective.
      */
@@ -283,6 +316,46 @@ public class FlowObjectiveManagerTest {
         assertThat(nextObjectives, hasItem("of:d1"));
     }
 
+    /**
+     * Tests adding a batch of objectives.
+     */
+    @Test
+    public void objectiveBatch() {
+        TrafficSelector selector = DefaultTrafficSelector.emptySelector();
+        TrafficTreatment treatment = DefaultTrafficTreatment.emptyTreatment();
+        FilteringObjective filter =
+                DefaultFilteringObjective.builder()
+                        .fromApp(NetTestTools.APP_ID)
+                        .withMeta(treatment)
+                        .makePermanent()
+                        .deny()
+                        .addCondition(Criteria.matchEthType(12))
+                        .add();
+        NextObjective next =
+                DefaultNextObjective.builder()
+                        .withId(manager.allocateNextId())
+                        .addTreatment(treatment)
+                        .withType(NextObjective.Type.BROADCAST)
+                        .fromApp(NetTestTools.APP_ID)
+                        .makePermanent()
+                        .add();
+        ForwardingObjective forward =
+                DefaultForwardingObjective.builder()
+                        .fromApp(NetTestTools.APP_ID)
+                        .withFlag(ForwardingObjective.Flag.SPECIFIC)
+                        .withSelector(selector)
+                        .withTreatment(treatment)
+                        .makePermanent()
+                        .add();
+
+        manager.apply(id1, ImmutableList.of(filter, next, forward, forward));
+
+        TestTools.assertAfter(RETRY_MS, () ->
+                assertThat(forwardingObjectives, hasSize(2)));
+        assertThat(filteringObjectives, hasSize(1));
+        assertThat(nextObjectives, hasSize(1));
+    }
+
     /**
      * Tests adding a pending forwarding objective.
      *
@@ -20,10 +20,12 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Consumer;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
@@ -99,7 +101,7 @@ public class DistributedLeadershipStore
         // Notify mastership Service of disconnect and reconnect
         if (status == Status.ACTIVE) {
             // Service Restored
-            localLeaderCache.forEach((topic, leadership) -> leaderElector.run(topic, localNodeId));
+            leaderElector.runAll(ImmutableSet.copyOf(localLeaderCache.keySet()), localNodeId);
             leaderElector.getLeaderships().forEach((topic, leadership) ->
                     notifyDelegate(new LeadershipEvent(LeadershipEvent.Type.SERVICE_RESTORED, leadership)));
         } else if (status == Status.SUSPENDED) {
@@ -140,11 +142,21 @@ public class DistributedLeadershipStore
         return leaderElector.run(topic, localNodeId);
     }
 
+    @Override
+    public Map<String, Leadership> addRegistrations(Set<String> topics) {
+        return leaderElector.runAll(topics, localNodeId);
+    }
+
     @Override
     public void removeRegistration(String topic) {
         leaderElector.withdraw(topic);
     }
 
+    @Override
+    public void removeRegistrations(Set<String> topics) {
+        leaderElector.withdrawAll(topics);
+    }
+
     @Override
     public void removeRegistration(NodeId nodeId) {
         leaderElector.evict(nodeId);
@@ -155,6 +167,11 @@ public class DistributedLeadershipStore
         return leaderElector.anoint(topic, toNodeId);
     }
 
+    @Override
+    public Map<String, Boolean> moveLeaderships(Map<String, NodeId> moves) {
+        return leaderElector.anointAll(moves);
+    }
+
     @Override
     public boolean makeTopCandidate(String topic, NodeId nodeId) {
         return leaderElector.promote(topic, nodeId);
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.cluster.messaging.impl;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Compresses the payload of large messages whose type starts with one of a set of prefixes.
+ * <p>
+ * A compressed payload holds the length of the original payload followed by its deflated bytes.
+ */
+final class MessageCompressor {
+
+    /**
+     * Compressor that compresses no message.
+     */
+    static final MessageCompressor DISABLED = new MessageCompressor(ImmutableList.of(), Integer.MAX_VALUE);
+
+    private static final ThreadLocal<Deflater> DEFLATER =
+            ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private final List<String> subjects;
+    private final int threshold;
+
+    private final LongAdder uncompressedBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder compressionNanos = new LongAdder();
+    private final LongAdder decompressionNanos = new LongAdder();
+
+    /**
+     * Creates a compressor.
+     *
+     * @param subjects prefixes of the message types to compress
+     * @param threshold minimum payload size, in bytes, of a compressed message
+     */
+    MessageCompressor(List<String> subjects, int threshold) {
+        checkArgument(threshold >= 0, "threshold must not be negative");
+        this.subjects = ImmutableList.copyOf(subjects);
+        this.threshold = threshold;
+    }
+
+    /**
+     * Returns whether the payload of a message should be compressed.
+     *
+     * @param type message type
+     * @param length payload length
+     * @return true to compress the payload
+     */
+    boolean shouldCompress(String type, int length) {
+        return length >= threshold && subjects.stream().anyMatch(type::startsWith);
+    }
+
+    /**
+     * Compresses a payload.
+     *
+     * @param payload payload
+     * @return compressed payload
+     */
+    byte[] compress(byte[] payload) {
+        long start = System.nanoTime();
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        deflater.setInput(payload);
+        deflater.finish();
+        ByteBuffer out = ByteBuffer.allocate(Integer.BYTES + payload.length / 2 + 64);
+        out.putInt(payload.length);
+        while (!deflater.finished()) {
+            if (!out.hasRemaining()) {
+                ByteBuffer larger = ByteBuffer.allocate(out.capacity() * 2);
+                out.flip();
+                larger.put(out);
+                out = larger;
+            }
+            int written = deflater.deflate(out.array(), out.position(), out.remaining());
+            out.position(out.position() + written);
+        }
+        byte[] compressed = new byte[out.position()];
+        System.arraycopy(out.array(), 0, compressed, 0, compressed.length);
+
+        uncompressedBytes.add(payload.length);
+        compressedBytes.add(compressed.length);
+        compressionNanos.add(System.nanoTime() - start);
+        return compressed;
+    }
+
+    /**
+     * Restores a payload compressed by {@link #compress(byte[])}.
+     *
+     * @param compressed compressed payload
+     * @return original payload
+     * @throws DataFormatException if the compressed payload is corrupt
+     */
+    byte[] decompress(byte[] compressed) throws DataFormatException {
+        long start = System.nanoTime();
+        ByteBuffer in = ByteBuffer.wrap(compressed);
+        byte[] payload = new byte[in.getInt()];
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(compressed, Integer.BYTES, compressed.length - Integer.BYTES);
+        int length = 0;
+        while (length < payload.length) {
+            int read = inflater.inflate(payload, length, payload.length - length);
+            if (read == 0 && (inflater.finished() || inflater.needsInput())) {
+                throw new DataFormatException("Truncated payload");
+            }
+            length += read;
+        }
+        decompressionNanos.add(System.nanoTime() - start);
+        return payload;
+    }
+
+    /**
+     * Returns the ratio of the original size to the compressed size of all compressed payloads.
+     *
+     * @return compression ratio; 1 if nothing was compressed yet
+     */
+    double compressionRatio() {
+        long compressed = compressedBytes.sum();
+        return compressed == 0 ? 1 : (double) uncompressedBytes.sum() / compressed;
+    }
+
+    /**
+     * Returns the number of bytes saved by compression.
+     *
+     * @return saved bytes
+     */
+    long savedBytes() {
+        return uncompressedBytes.sum() - compressedBytes.sum();
+    }
+
+    /**
+     * Returns the total time spent compressing payloads.
+     *
+     * @return compression time in milliseconds
+     */
+    long compressionMillis() {
+        return compressionNanos.sum() / 1_000_000;
+    }
+
+    /**
+     * Returns the total time spent decompressing payloads.
+     *
+     * @return decompression time in milliseconds
+     */
+    long decompressionMillis() {
+        return decompressionNanos.sum() / 1_000_000;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("subjects", subjects)
+                .add("threshold", threshold)
+                .toString();
+    }
+}
@@ -50,10 +50,22 @@ public class MessageDecoder extends ReplayingDecoder<DecoderState> {
     private int messageTypeLength;
     private String messageType;
     private Status status;
+    private boolean compressed;
     private int contentLength;
+    private final MessageCompressor compressor;
 
     public MessageDecoder() {
+        this(MessageCompressor.DISABLED);
+    }
+
+    /**
+     * Creates a decoder restoring compressed payloads with the given compressor.
+     *
+     * @param compressor message compressor
+     */
+    MessageDecoder(MessageCompressor compressor) {
         super(DecoderState.READ_MESSAGE_PREAMBLE);
+        this.compressor = compressor;
     }
 
     @Override
@@ -96,7 +108,9 @@ public class MessageDecoder extends ReplayingDecoder<DecoderState> {
             messageType = new String(messageTypeBytes, Charsets.UTF_8);
             checkpoint(DecoderState.READ_MESSAGE_STATUS);
         case READ_MESSAGE_STATUS:
-            status = Status.forId(buffer.readInt());
+            int statusValue = buffer.readInt();
+            compressed = (statusValue & MessageEncoder.COMPRESSED) != 0;
+            status = Status.forId(statusValue & ~MessageEncoder.COMPRESSED);
             checkpoint(DecoderState.READ_CONTENT_LENGTH);
         case READ_CONTENT_LENGTH:
             contentLength = buffer.readInt();
@@ -107,6 +121,9 @@ public class MessageDecoder extends ReplayingDecoder<DecoderState> {
                 //TODO Perform a sanity check on the size before allocating
                 payload = new byte[contentLength];
                 buffer.readBytes(payload);
+                if (compressed) {
+                    payload = compressor.decompress(payload);
+                }
             } else {
                 payload = new byte[0];
             }
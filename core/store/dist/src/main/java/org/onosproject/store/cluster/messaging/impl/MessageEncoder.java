@@ -38,11 +38,28 @@ public class MessageEncoder extends MessageToByteEncoder<Object> {
 
     private final Logger log = LoggerFactory.getLogger(getClass());
 
+    /**
+     * Flag set in the status field of a message whose payload is compressed.
+     */
+    static final int COMPRESSED = 1 << 16;
+
     private final int preamble;
+    private final MessageCompressor compressor;
 
     public MessageEncoder(int preamble) {
+        this(preamble, MessageCompressor.DISABLED);
+    }
+
+    /**
+     * Creates an encoder compressing the payload of the messages selected by a compressor.
+     *
+     * @param preamble cluster preamble
+     * @param compressor message compressor
+     */
+    MessageEncoder(int preamble, MessageCompressor compressor) {
         super();
         this.preamble = preamble;
+        this.compressor = compressor;
     }
 
 
@@ -84,10 +101,14 @@ public class MessageEncoder extends MessageToByteEncoder<Object> {
         // write message type bytes
         out.writeBytes(messageTypeBytes);
 
-        // write message status value
-        out.writeInt(message.status().id());
-
         byte[] payload = message.payload();
+        boolean compress = compressor.shouldCompress(message.type(), payload.length);
+        if (compress) {
+            payload = compressor.compress(payload);
+        }
+
+        // write message status value
+        out.writeInt(compress ? message.status().id() | COMPRESSED : message.status().id());
 
         // write payload length
         out.writeInt(payload.length);
@@ -15,11 +15,9 @@
  */
 package org.onosproject.store.cluster.messaging.impl;
 
+import com.codahale.metrics.Gauge;
+import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalListener;
-import com.google.common.cache.RemovalNotification;
 import com.google.common.util.concurrent.MoreExecutors;
 
 import io.netty.bootstrap.Bootstrap;
@@ -41,6 +39,8 @@ import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
 import org.apache.commons.pool.KeyedPoolableObjectFactory;
 import org.apache.commons.pool.impl.GenericKeyedObjectPool;
 import org.apache.felix.scr.annotations.Activate;
@@ -49,6 +49,9 @@ import org.apache.felix.scr.annotations.Deactivate;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.Tools;
 import org.onosproject.cluster.ClusterMetadataService;
 import org.onosproject.cluster.ControllerNode;
@@ -68,6 +71,8 @@ import javax.net.ssl.TrustManagerFactory;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.security.KeyStore;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -94,12 +99,33 @@ import static org.onosproject.security.AppPermission.Type.CLUSTER_WRITE;
 public class NettyMessagingManager implements MessagingService {
 
     private static final int REPLY_TIME_OUT_MILLIS = 250;
+    private static final int TIMEOUT_TICK_MILLIS = 10;
     private static final short MIN_KS_LENGTH = 6;
 
     private final Logger log = LoggerFactory.getLogger(getClass());
 
     private static final String REPLY_MESSAGE_TYPE = "NETTY_MESSAGING_REQUEST_REPLY";
 
+    // Subjects starting with one of these prefixes are sent over the bulk connections
+    private static final String BULK_SUBJECTS_PROPERTY = "onos.messaging.bulkSubjects";
+    private static final String DEFAULT_BULK_SUBJECTS = "peer-flow-table-backup,ecm-";
+
+    // Payloads of subjects starting with one of these prefixes are compressed
+    private static final String COMPRESSED_SUBJECTS_PROPERTY = "onos.messaging.compressedSubjects";
+    private static final String COMPRESSION_THRESHOLD_PROPERTY = "onos.messaging.compressionThreshold";
+    private static final int DEFAULT_COMPRESSION_THRESHOLD = 64 * 1024;
+
+    private static final String METRICS_COMPONENT = "messaging";
+    private static final String METRICS_FEATURE = "compression";
+    private static final String COMPRESSION_RATIO = "compressionRatio";
+    private static final String SAVED_BYTES = "savedBytes";
+    private static final String COMPRESSION_MILLIS = "compressionMillis";
+    private static final String DECOMPRESSION_MILLIS = "decompressionMillis";
+    private static final String TIMEOUTS_FEATURE = "timeouts";
+
+    // Maximum number of messages written to a channel before it is flushed
+    private static final int MAX_BATCH_SIZE = 64;
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected HybridLogicalClockService clockService;
 
@@ -108,20 +134,18 @@ public class NettyMessagingManager implements MessagingService {
     private final AtomicBoolean started = new AtomicBoolean(false);
     private final Map<String, Consumer<InternalMessage>> handlers = new ConcurrentHashMap<>();
     private final AtomicLong messageIdGenerator = new AtomicLong(0);
-    private final Cache<Long, Callback> callbacks = CacheBuilder.newBuilder()
-            .expireAfterWrite(REPLY_TIME_OUT_MILLIS, TimeUnit.MILLISECONDS)
-            .removalListener(new RemovalListener<Long, Callback>() {
-                @Override
-                public void onRemoval(RemovalNotification<Long, Callback> entry) {
-                    if (entry.wasEvicted()) {
-                        entry.getValue().completeExceptionally(new TimeoutException("Timedout waiting for reply"));
-                    }
-                }
-            })
-            .build();
+    private final Map<Long, Callback> callbacks = new ConcurrentHashMap<>();
+    private HashedWheelTimer timeoutTimer;
 
     private final GenericKeyedObjectPool<Endpoint, Connection> channels
             = new GenericKeyedObjectPool<>(new OnosCommunicationChannelFactory());
+    private final GenericKeyedObjectPool<Endpoint, Connection> bulkChannels
+            = new GenericKeyedObjectPool<>(new OnosCommunicationChannelFactory());
+    private List<String> bulkSubjects;
+    private MessageCompressor compressor = MessageCompressor.DISABLED;
+    private MetricsComponent metricsComponent;
+    private MetricsFeature metricsFeature;
+    private MetricsFeature timeoutsFeature;
 
     private EventLoopGroup serverGroup;
     private EventLoopGroup clientGroup;
@@ -139,6 +163,9 @@ public class NettyMessagingManager implements MessagingService {
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected ClusterMetadataService clusterMetadataService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected MetricsService metricsService;
+
     @Activate
     public void activate() throws Exception {
         ControllerNode localNode = clusterMetadataService.getLocalNode();
@@ -150,15 +177,18 @@ public class NettyMessagingManager implements MessagingService {
         }
         this.preamble = clusterMetadataService.getClusterMetadata().getName().hashCode();
         this.localEp = new Endpoint(localNode.ip(), localNode.tcpPort());
-        channels.setLifo(true);
-        channels.setTestOnBorrow(true);
-        channels.setTestOnReturn(true);
-        channels.setMinEvictableIdleTimeMillis(60_000L);
-        channels.setTimeBetweenEvictionRunsMillis(30_000L);
+        this.bulkSubjects = Splitter.on(',').trimResults().omitEmptyStrings()
+                .splitToList(System.getProperty(BULK_SUBJECTS_PROPERTY, DEFAULT_BULK_SUBJECTS));
+        log.info("Sending subjects starting with {} over bulk connections", bulkSubjects);
+        initCompression();
+        timeoutsFeature = metricsComponent.registerFeature(TIMEOUTS_FEATURE);
+        timeoutTimer = new HashedWheelTimer(groupedThreads("NettyMessagingEvt", "timeout", log),
+                                            TIMEOUT_TICK_MILLIS, TimeUnit.MILLISECONDS);
+        configurePool(channels);
+        configurePool(bulkChannels);
         initEventLoopGroup();
         startAcceptingConnections();
         started.set(true);
-        serverGroup.scheduleWithFixedDelay(callbacks::cleanUp, 0, REPLY_TIME_OUT_MILLIS, TimeUnit.MILLISECONDS);
         log.info("Started");
     }
 
@@ -166,6 +196,9 @@ public class NettyMessagingManager implements MessagingService {
     public void deactivate() throws Exception {
         if (started.get()) {
             channels.close();
+            bulkChannels.close();
+            removeCompressionMetrics();
+            timeoutTimer.stop();
             serverGroup.shutdownGracefully();
             clientGroup.shutdownGracefully();
             started.set(false);
@@ -173,6 +206,60 @@ public class NettyMessagingManager implements MessagingService {
         log.info("Stopped");
     }
 
+    private void initCompression() {
+        List<String> subjects = Splitter.on(',').trimResults().omitEmptyStrings()
+                .splitToList(System.getProperty(COMPRESSED_SUBJECTS_PROPERTY, ""));
+        int threshold = DEFAULT_COMPRESSION_THRESHOLD;
+        String thresholdString = System.getProperty(COMPRESSION_THRESHOLD_PROPERTY);
+        if (!Strings.isNullOrEmpty(thresholdString)) {
+            try {
+                threshold = Integer.parseInt(thresholdString.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid compression threshold {}; using {}", thresholdString, threshold);
+            }
+        }
+        compressor = new MessageCompressor(subjects, threshold);
+        log.info("Compressing messages with {}", compressor);
+
+        metricsComponent = metricsService.registerComponent(METRICS_COMPONENT);
+        metricsFeature = metricsComponent.registerFeature(METRICS_FEATURE);
+        MessageCompressor current = compressor;
+        metricsService.registerMetric(metricsComponent, metricsFeature, COMPRESSION_RATIO,
+                                      (Gauge<Double>) current::compressionRatio);
+        metricsService.registerMetric(metricsComponent, metricsFeature, SAVED_BYTES,
+                                      (Gauge<Long>) current::savedBytes);
+        metricsService.registerMetric(metricsComponent, metricsFeature, COMPRESSION_MILLIS,
+                                      (Gauge<Long>) current::compressionMillis);
+        metricsService.registerMetric(metricsComponent, metricsFeature, DECOMPRESSION_MILLIS,
+                                      (Gauge<Long>) current::decompressionMillis);
+    }
+
+    private void removeCompressionMetrics() {
+        metricsService.removeMetric(metricsComponent, metricsFeature, COMPRESSION_RATIO);
+        metricsService.removeMetric(metricsComponent, metricsFeature, SAVED_BYTES);
+        metricsService.removeMetric(metricsComponent, metricsFeature, COMPRESSION_MILLIS);
+        metricsService.removeMetric(metricsComponent, metricsFeature, DECOMPRESSION_MILLIS);
+    }
+
+    private void configurePool(GenericKeyedObjectPool<Endpoint, Connection> pool) {
+        pool.setLifo(true);
+        pool.setTestOnBorrow(true);
+        pool.setTestOnReturn(true);
+        pool.setMinEvictableIdleTimeMillis(60_000L);
+        pool.setTimeBetweenEvictionRunsMillis(30_000L);
+    }
+
+    /**
+     * Returns whether messages of the given type are sent over the bulk connections,
+     * which keeps large transfers from delaying heartbeats and Raft traffic.
+     *
+     * @param type message type
+     * @return true if the type is bulk traffic
+     */
+    boolean isBulk(String type) {
+        return bulkSubjects.stream().anyMatch(type::startsWith);
+    }
+
     private void getTlsParameters() {
         String tempString = System.getProperty("enableNettyTLS");
         enableNettyTls = Strings.isNullOrEmpty(tempString) ? TLS_DISABLED : Boolean.parseBoolean(tempString);
@@ -231,6 +318,10 @@ public class NettyMessagingManager implements MessagingService {
     }
 
     protected CompletableFuture<Void> sendAsync(Endpoint ep, InternalMessage message) {
+        return sendAsync(ep, message, isBulk(message.type()));
+    }
+
+    private CompletableFuture<Void> sendAsync(Endpoint ep, InternalMessage message, boolean bulk) {
         checkPermission(CLUSTER_WRITE);
         if (ep.equals(localEp)) {
             try {
@@ -241,15 +332,16 @@ public class NettyMessagingManager implements MessagingService {
             return CompletableFuture.completedFuture(null);
         }
 
+        GenericKeyedObjectPool<Endpoint, Connection> pool = bulk ? bulkChannels : channels;
         CompletableFuture<Void> future = new CompletableFuture<>();
         try {
             Connection connection = null;
             try {
-                connection = channels.borrowObject(ep);
+                connection = pool.borrowObject(ep);
                 connection.send(message, future);
             } finally {
                 if (connection != null) {
-                    channels.returnObject(ep, connection);
+                    pool.returnObject(ep, connection);
                 }
             }
         } catch (Exception e) {
@@ -267,10 +359,25 @@ public class NettyMessagingManager implements MessagingService {
     @Override
     public CompletableFuture<byte[]> sendAndReceive(Endpoint ep, String type, byte[] payload, Executor executor) {
         checkPermission(CLUSTER_WRITE);
+        return sendAndReceive(ep, type, payload, Duration.ofMillis(REPLY_TIME_OUT_MILLIS), executor);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> sendAndReceive(Endpoint ep, String type, byte[] payload, Duration timeout) {
+        checkPermission(CLUSTER_WRITE);
+        return sendAndReceive(ep, type, payload, timeout, MoreExecutors.directExecutor());
+    }
+
+    @Override
+    public CompletableFuture<byte[]> sendAndReceive(Endpoint ep, String type, byte[] payload,
+                                                    Duration timeout, Executor executor) {
+        checkPermission(CLUSTER_WRITE);
         CompletableFuture<byte[]> response = new CompletableFuture<>();
-        Callback callback = new Callback(response, executor);
-        Long messageId = messageIdGenerator.incrementAndGet();
+        long messageId = messageIdGenerator.incrementAndGet();
+        Callback callback = new Callback(ep, type, response, executor);
         callbacks.put(messageId, callback);
+        callback.timeout = timeoutTimer.newTimeout(t -> timeoutCallback(messageId),
+                                                   timeout.toMillis(), TimeUnit.MILLISECONDS);
         InternalMessage message = new InternalMessage(preamble,
                                                       clockService.timeNow(),
                                                       messageId,
@@ -279,11 +386,29 @@ public class NettyMessagingManager implements MessagingService {
                                                       payload);
         return sendAsync(ep, message).whenComplete((r, e) -> {
             if (e != null) {
-                callbacks.invalidate(messageId);
+                removeCallback(messageId);
             }
         }).thenComposeAsync(v -> response, executor);
     }
 
+    private Callback removeCallback(long messageId) {
+        Callback callback = callbacks.remove(messageId);
+        if (callback != null && callback.timeout != null) {
+            callback.timeout.cancel();
+        }
+        return callback;
+    }
+
+    private void timeoutCallback(long messageId) {
+        Callback callback = callbacks.remove(messageId);
+        if (callback != null) {
+            metricsService.createCounter(metricsComponent, timeoutsFeature, callback.type).inc();
+            metricsService.createCounter(metricsComponent, timeoutsFeature,
+                                         callback.endpoint.host() + ":" + callback.endpoint.port()).inc();
+            callback.completeExceptionally(new TimeoutException("Timedout waiting for reply"));
+        }
+    }
+
     @Override
     public void registerHandler(String type, BiConsumer<Endpoint, byte[]> handler, Executor executor) {
         checkPermission(CLUSTER_WRITE);
@@ -411,7 +536,7 @@ public class NettyMessagingManager implements MessagingService {
     private class SslServerCommunicationChannelInitializer extends ChannelInitializer<SocketChannel> {
 
         private final ChannelHandler dispatcher = new InboundMessageDispatcher();
-        private final ChannelHandler encoder = new MessageEncoder(preamble);
+        private final ChannelHandler encoder = new MessageEncoder(preamble, compressor);
 
         @Override
         protected void initChannel(SocketChannel channel) throws Exception {
@@ -438,7 +563,7 @@ public class NettyMessagingManager implements MessagingService {
 
             channel.pipeline().addLast("ssl", new io.netty.handler.ssl.SslHandler(serverSslEngine))
                     .addLast("encoder", encoder)
-                    .addLast("decoder", new MessageDecoder())
+                    .addLast("decoder", new MessageDecoder(compressor))
                     .addLast("handler", dispatcher);
         }
     }
@@ -446,7 +571,7 @@ public class NettyMessagingManager implements MessagingService {
     private class SslClientCommunicationChannelInitializer extends ChannelInitializer<SocketChannel> {
 
         private final ChannelHandler dispatcher = new InboundMessageDispatcher();
-        private final ChannelHandler encoder = new MessageEncoder(preamble);
+        private final ChannelHandler encoder = new MessageEncoder(preamble, compressor);
 
         @Override
         protected void initChannel(SocketChannel channel) throws Exception {
@@ -472,7 +597,7 @@ public class NettyMessagingManager implements MessagingService {
 
             channel.pipeline().addLast("ssl", new io.netty.handler.ssl.SslHandler(clientSslEngine))
                     .addLast("encoder", encoder)
-                    .addLast("decoder", new MessageDecoder())
+                    .addLast("decoder", new MessageDecoder(compressor))
                     .addLast("handler", dispatcher);
         }
     }
@@ -480,13 +605,13 @@ public class NettyMessagingManager implements MessagingService {
     private class OnosCommunicationChannelInitializer extends ChannelInitializer<SocketChannel> {
 
         private final ChannelHandler dispatcher = new InboundMessageDispatcher();
-        private final ChannelHandler encoder = new MessageEncoder(preamble);
+        private final ChannelHandler encoder = new MessageEncoder(preamble, compressor);
 
         @Override
         protected void initChannel(SocketChannel channel) throws Exception {
             channel.pipeline()
                     .addLast("encoder", encoder)
-                    .addLast("decoder", new MessageDecoder())
+                    .addLast("decoder", new MessageDecoder(compressor))
                     .addLast("handler", dispatcher);
         }
     }
@@ -534,26 +659,21 @@ public class NettyMessagingManager implements MessagingService {
         clockService.recordEventTime(message.time());
         String type = message.type();
         if (REPLY_MESSAGE_TYPE.equals(type)) {
-            try {
-                Callback callback =
-                        callbacks.getIfPresent(message.id());
-                if (callback != null) {
-                    if (message.status() == Status.OK) {
-                        callback.complete(message.payload());
-                    } else if (message.status() == Status.ERROR_NO_HANDLER) {
-                        callback.completeExceptionally(new MessagingException.NoRemoteHandler());
-                    } else if (message.status() == Status.ERROR_HANDLER_EXCEPTION) {
-                        callback.completeExceptionally(new MessagingException.RemoteHandlerFailure());
-                    } else if (message.status() == Status.PROTOCOL_EXCEPTION) {
-                        callback.completeExceptionally(new MessagingException.ProtocolException());
-                    }
-                } else {
-                    log.debug("Received a reply for message id:[{}]. "
-                                     + " from {}. But was unable to locate the"
-                                     + " request handle", message.id(), message.sender());
+            Callback callback = removeCallback(message.id());
+            if (callback != null) {
+                if (message.status() == Status.OK) {
+                    callback.complete(message.payload());
+                } else if (message.status() == Status.ERROR_NO_HANDLER) {
+                    callback.completeExceptionally(new MessagingException.NoRemoteHandler());
+                } else if (message.status() == Status.ERROR_HANDLER_EXCEPTION) {
+                    callback.completeExceptionally(new MessagingException.RemoteHandlerFailure());
+                } else if (message.status() == Status.PROTOCOL_EXCEPTION) {
+                    callback.completeExceptionally(new MessagingException.ProtocolException());
                 }
-            } finally {
-                callbacks.invalidate(message.id());
+            } else {
+                log.debug("Received a reply for message id:[{}]. "
+                                 + " from {}. But was unable to locate the"
+                                 + " request handle", message.id(), message.sender());
             }
             return;
         }
@@ -574,7 +694,8 @@ public class NettyMessagingManager implements MessagingService {
                 REPLY_MESSAGE_TYPE,
                 responsePayload.orElse(new byte[0]),
                 status);
-        sendAsync(message.sender(), response).whenComplete((result, error) -> {
+        // replies travel over the same kind of connection as the request
+        sendAsync(message.sender(), response, isBulk(message.type())).whenComplete((result, error) -> {
             if (error != null) {
                 log.debug("Failed to respond", error);
             }
@@ -582,10 +703,15 @@ public class NettyMessagingManager implements MessagingService {
     }
 
     private final class Callback {
+        private final Endpoint endpoint;
+        private final String type;
         private final CompletableFuture<byte[]> future;
         private final Executor executor;
+        private volatile Timeout timeout;
 
-        public Callback(CompletableFuture<byte[]> future, Executor executor) {
+        public Callback(Endpoint endpoint, String type, CompletableFuture<byte[]> future, Executor executor) {
+            this.endpoint = endpoint;
+            this.type = type;
             this.future = future;
             this.executor = executor;
         }
@@ -600,6 +726,9 @@ public class NettyMessagingManager implements MessagingService {
     }
     private final class Connection {
         private final CompletableFuture<Channel> internalFuture;
+        // accessed only from the event loop of the channel
+        private boolean flushPending;
+        private int unflushedMessages;
 
         public Connection(CompletableFuture<Channel> internalFuture) {
             this.internalFuture = internalFuture;
@@ -608,6 +737,10 @@ public class NettyMessagingManager implements MessagingService {
         /**
          * Sends a message out on its channel and associated the message with a
          * completable future used for signaling.
+         * <p>
+         * Messages sent while a flush of the channel is pending are written
+         * behind the ones already queued and go out with the same flush.
+         *
          * @param message the message to be sent
          * @param future a future that is completed normally or exceptionally if
          *               message sending succeeds or fails respectively
@@ -615,19 +748,43 @@ public class NettyMessagingManager implements MessagingService {
         public void send(Object message, CompletableFuture<Void> future) {
             internalFuture.whenComplete((channel, throwable) -> {
                 if (throwable == null) {
-                    channel.writeAndFlush(message).addListener(channelFuture -> {
-                        if (!channelFuture.isSuccess()) {
-                            future.completeExceptionally(channelFuture.cause());
-                        } else {
-                            future.complete(null);
-                        }
-                    });
+                    if (channel.eventLoop().inEventLoop()) {
+                        write(channel, message, future);
+                    } else {
+                        channel.eventLoop().execute(() -> write(channel, message, future));
+                    }
                 } else {
                     future.completeExceptionally(throwable);
                 }
             });
         }
 
+        private void write(Channel channel, Object message, CompletableFuture<Void> future) {
+            channel.write(message).addListener(channelFuture -> {
+                if (!channelFuture.isSuccess()) {
+                    future.completeExceptionally(channelFuture.cause());
+                } else {
+                    future.complete(null);
+                }
+            });
+            if (++unflushedMessages >= MAX_BATCH_SIZE) {
+                flush(channel);
+            } else if (!flushPending) {
+                flushPending = true;
+                channel.eventLoop().execute(() -> {
+                    flushPending = false;
+                    if (unflushedMessages > 0) {
+                        flush(channel);
+                    }
+                });
+            }
+        }
+
+        private void flush(Channel channel) {
+            unflushedMessages = 0;
+            channel.flush();
+        }
+
         /**
          * Destroys a channel by closing its channel (if it exists) and
          * cancelling its future.
@@ -23,12 +23,14 @@ import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Futures;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Deactivate;
+import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
 import org.onlab.packet.ChassisId;
 import org.onlab.util.KryoNamespace;
 import org.onlab.util.SharedExecutors;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.mastership.MastershipService;
@@ -67,6 +69,7 @@ import org.onosproject.store.serializers.StoreSerializer;
 import org.onosproject.store.serializers.custom.DistributedStoreSerializers;
 import org.onosproject.store.service.DistributedSet;
 import org.onosproject.store.service.EventuallyConsistentMap;
+import org.onosproject.store.service.EventuallyConsistentMapBuilder;
 import org.onosproject.store.service.EventuallyConsistentMapEvent;
 import org.onosproject.store.service.EventuallyConsistentMapListener;
 import org.onosproject.store.service.Serializer;
@@ -74,6 +77,7 @@ import org.onosproject.store.service.SetEvent;
 import org.onosproject.store.service.SetEventListener;
 import org.onosproject.store.service.StorageService;
 import org.onosproject.store.service.WallClockTimestamp;
+import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 
 import java.util.Collection;
@@ -91,6 +95,7 @@ import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Verify.verify;
+import static org.onlab.util.Tools.getIntegerProperty;
 import static org.onosproject.net.DefaultAnnotations.merge;
 import static org.onosproject.net.device.DeviceEvent.Type.DEVICE_ADDED;
 import static org.onosproject.net.device.DeviceEvent.Type.DEVICE_AVAILABILITY_CHANGED;
@@ -119,6 +124,8 @@ public class ECDeviceStore
 
     private static final String DEVICE_NOT_FOUND = "Device with ID %s not found";
 
+    private static final int DEFAULT_SNAPSHOT_PERIOD = 0;
+
     private final Map<DeviceId, Device> devices = Maps.newConcurrentMap();
     private final Map<DeviceId, Map<PortNumber, Port>> devicePorts = Maps.newConcurrentMap();
     Set<DeviceId> pendingAvailableChangeUpdates = Sets.newConcurrentHashSet();
@@ -148,6 +155,14 @@ public class ECDeviceStore
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected ClusterService clusterService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected ComponentConfigService cfgService;
+
+    @Property(name = "snapshotPeriod", intValue = DEFAULT_SNAPSHOT_PERIOD,
+            label = "Delay in seconds between snapshots of the device and port descriptions to local disk, " +
+                    "which are reloaded on restart; 0 to disable. Takes effect on restart")
+    private int snapshotPeriod = DEFAULT_SNAPSHOT_PERIOD;
+
     private NodeId localNodeId;
     private EventuallyConsistentMapListener<DeviceKey, DeviceDescription> deviceUpdateListener =
             new InternalDeviceChangeEventListener();
@@ -175,10 +190,15 @@ public class ECDeviceStore
             .register(MastershipBasedTimestamp.class);
 
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
+        cfgService.registerProperties(getClass());
+        if (context != null) {
+            snapshotPeriod = getIntegerProperty(context.getProperties(), "snapshotPeriod", DEFAULT_SNAPSHOT_PERIOD);
+        }
         localNodeId = clusterService.getLocalNode().id();
 
-        deviceDescriptions = storageService.<DeviceKey, DeviceDescription>eventuallyConsistentMapBuilder()
+        EventuallyConsistentMapBuilder<DeviceKey, DeviceDescription> deviceDescriptionsBuilder =
+                storageService.<DeviceKey, DeviceDescription>eventuallyConsistentMapBuilder()
                 .withName("onos-device-descriptions")
                 .withSerializer(SERIALIZER_BUILDER)
                 .withTimestampProvider((k, v) -> {
@@ -187,9 +207,10 @@ public class ECDeviceStore
                     } catch (IllegalStateException e) {
                         return null;
                     }
-                }).build();
+                });
 
-        portDescriptions = storageService.<PortKey, PortDescription>eventuallyConsistentMapBuilder()
+        EventuallyConsistentMapBuilder<PortKey, PortDescription> portDescriptionsBuilder =
+                storageService.<PortKey, PortDescription>eventuallyConsistentMapBuilder()
                 .withName("onos-port-descriptions")
                 .withSerializer(SERIALIZER_BUILDER)
                 .withTimestampProvider((k, v) -> {
@@ -198,7 +219,14 @@ public class ECDeviceStore
                     } catch (IllegalStateException e) {
                         return null;
                     }
-                }).build();
+                });
+
+        if (snapshotPeriod > 0) {
+            deviceDescriptionsBuilder.withSnapshots(snapshotPeriod, TimeUnit.SECONDS);
+            portDescriptionsBuilder.withSnapshots(snapshotPeriod, TimeUnit.SECONDS);
+        }
+        deviceDescriptions = deviceDescriptionsBuilder.build();
+        portDescriptions = portDescriptionsBuilder.build();
 
         devicePortStats = storageService.<DeviceId, Map<PortNumber, PortStatistics>>eventuallyConsistentMapBuilder()
                 .withName("onos-port-stats")
@@ -240,6 +268,13 @@ public class ECDeviceStore
         portDescriptions.addListener(portUpdateListener);
         devicePortStats.addListener(portStatsListener);
         availableDevices.addListener(deviceStatusTracker);
+
+        // rebuild the device and port caches from descriptions restored from the local snapshot
+        deviceDescriptions.keySet().forEach(key -> refreshDeviceCache(key.providerId(), key.deviceId()));
+        portDescriptions.keySet().stream()
+                .filter(key -> devices.containsKey(key.deviceId()))
+                .forEach(key -> refreshDevicePortCache(key.providerId(), key.deviceId(),
+                                                       Optional.of(key.portNumber())));
         log.info("Started");
     }
 
@@ -257,6 +292,7 @@ public class ECDeviceStore
         devicePorts.clear();
         clusterCommunicator.removeSubscriber(DEVICE_INJECTED);
         clusterCommunicator.removeSubscriber(PORT_INJECTED);
+        cfgService.unregisterProperties(getClass(), false);
         log.info("Stopped");
     }
 
@@ -15,19 +15,26 @@
  */
 package org.onosproject.store.device.impl;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
+import org.apache.felix.scr.annotations.Modified;
+import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
 import org.onlab.packet.ChassisId;
 import org.onlab.util.KryoNamespace;
+import org.onlab.util.Tools;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.NodeId;
@@ -76,12 +83,15 @@ import org.onosproject.store.service.EventuallyConsistentMapListener;
 import org.onosproject.store.service.MultiValuedTimestamp;
 import org.onosproject.store.service.StorageService;
 import org.onosproject.store.service.WallClockTimestamp;
+import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -90,20 +100,25 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Predicates.notNull;
+import static com.google.common.base.Strings.isNullOrEmpty;
 import static com.google.common.base.Verify.verify;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static org.onlab.util.Tools.get;
 import static org.onlab.util.Tools.groupedThreads;
 import static org.onlab.util.Tools.minPriority;
 import static org.onosproject.cluster.ControllerNodeToNodeId.toNodeId;
@@ -120,6 +135,7 @@ import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.DEVICE_REMOVE_REQ;
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.DEVICE_UPDATE;
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.PORT_INJECTED;
+import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.PORT_STATS_REQUEST;
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.PORT_STATUS_UPDATE;
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.PORT_UPDATE;
 import static org.onosproject.store.service.EventuallyConsistentMapEvent.Type.PUT;
@@ -140,6 +156,27 @@ public class GossipDeviceStore
     private static final String DEVICE_NOT_FOUND = "Device with ID %s not found";
     // Timeout in milliseconds to process device or ports on remote master node
     private static final int REMOTE_MASTER_TIMEOUT = 1000;
+    // how long port statistics fetched from a remote master are reused
+    private static final long REMOTE_PORT_STATS_TTL_MILLIS = 1000;
+
+    private static final boolean DEFAULT_LOCAL_PORT_STATS_ENABLED = false;
+    private static final int DEFAULT_PORT_STATS_HISTORY_SIZE = 12;
+
+    @Property(name = "localPortStatsEnabled", boolValue = DEFAULT_LOCAL_PORT_STATS_ENABLED,
+            label = "Keep port statistics on the device master instead of replicating them; " +
+                    "must be the same on all nodes")
+    private volatile boolean localPortStatsEnabled = DEFAULT_LOCAL_PORT_STATS_ENABLED;
+
+    // port statistics fetched from remote masters, shared by the reads of the
+    // individual ports of a device
+    private final Cache<PortStatisticsRequest, List<PortStatistics>> remotePortStats =
+            CacheBuilder.newBuilder()
+                    .expireAfterWrite(REMOTE_PORT_STATS_TTL_MILLIS, TimeUnit.MILLISECONDS)
+                    .build();
+
+    @Property(name = "portStatsHistorySize", intValue = DEFAULT_PORT_STATS_HISTORY_SIZE,
+            label = "Number of port statistics samples kept per port when local port statistics are enabled")
+    private int portStatsHistorySize = DEFAULT_PORT_STATS_HISTORY_SIZE;
 
     // innerMap is used to lock a Device, thus instance should never be replaced.
     // collection of Description given from various providers
@@ -154,6 +191,9 @@ public class GossipDeviceStore
     private EventuallyConsistentMap<DeviceId, Map<PortNumber, PortStatistics>> devicePortDeltaStats;
     private final EventuallyConsistentMapListener<DeviceId, Map<PortNumber, PortStatistics>>
             portStatsListener = new InternalPortStatsListener();
+    // used instead of the maps above when local port statistics are enabled
+    private volatile PortStatisticsHistory portStatsHistory =
+            new PortStatisticsHistory(DEFAULT_PORT_STATS_HISTORY_SIZE);
 
     // to be updated under Device lock
     private final Map<DeviceId, Timestamp> offline = Maps.newHashMap();
@@ -180,6 +220,9 @@ public class GossipDeviceStore
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected MastershipTermService termService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected ComponentConfigService cfgService;
+
 
     protected static final StoreSerializer SERIALIZER = StoreSerializer.using(KryoNamespace.newBuilder()
                     .register(DistributedStoreSerializers.STORE_COMMON)
@@ -194,6 +237,7 @@ public class GossipDeviceStore
                     .register(PortFragmentId.class)
                     .register(DeviceInjectedEvent.class)
                     .register(PortInjectedEvent.class)
+                    .register(PortStatisticsRequest.class)
                     .build("GossipDevice"));
 
     private ExecutorService executor;
@@ -205,7 +249,9 @@ public class GossipDeviceStore
     private long periodSec = 5;
 
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
+        cfgService.registerProperties(getClass());
+        modified(context);
         executor = newCachedThreadPool(groupedThreads("onos/device", "fg-%d", log));
 
         backgroundExecutor =
@@ -220,6 +266,8 @@ public class GossipDeviceStore
         addSubscriber(DEVICE_ADVERTISE, this::handleDeviceAdvertisement);
         addSubscriber(DEVICE_INJECTED, this::handleDeviceInjectedEvent);
         addSubscriber(PORT_INJECTED, this::handlePortInjectedEvent);
+        clusterCommunicator.addSubscriber(PORT_STATS_REQUEST, SERIALIZER::decode,
+                                          this::readPortStatistics, SERIALIZER::encode, executor);
 
         // start anti-entropy thread
         backgroundExecutor.scheduleAtFixedRate(new SendAdvertisementTask(),
@@ -256,6 +304,7 @@ public class GossipDeviceStore
 
     @Deactivate
     public void deactivate() {
+        cfgService.unregisterProperties(getClass(), false);
         devicePortStats.removeListener(portStatsListener);
         devicePortStats.destroy();
         devicePortDeltaStats.destroy();
@@ -283,9 +332,44 @@ public class GossipDeviceStore
         clusterCommunicator.removeSubscriber(DEVICE_ADVERTISE);
         clusterCommunicator.removeSubscriber(DEVICE_INJECTED);
         clusterCommunicator.removeSubscriber(PORT_INJECTED);
+        clusterCommunicator.removeSubscriber(PORT_STATS_REQUEST);
+        portStatsHistory.clear();
         log.info("Stopped");
     }
 
+    @Modified
+    public void modified(ComponentContext context) {
+        Dictionary<?, ?> properties = context != null ? context.getProperties() : new Properties();
+
+        boolean newLocalPortStatsEnabled;
+        int newPortStatsHistorySize;
+        try {
+            String s = get(properties, "localPortStatsEnabled");
+            newLocalPortStatsEnabled = isNullOrEmpty(s) ? localPortStatsEnabled : Boolean.parseBoolean(s.trim());
+
+            s = get(properties, "portStatsHistorySize");
+            newPortStatsHistorySize = isNullOrEmpty(s) ? portStatsHistorySize : Integer.parseInt(s.trim());
+        } catch (NumberFormatException | ClassCastException e) {
+            newLocalPortStatsEnabled = DEFAULT_LOCAL_PORT_STATS_ENABLED;
+            newPortStatsHistorySize = DEFAULT_PORT_STATS_HISTORY_SIZE;
+        }
+        if (newPortStatsHistorySize < 2) {
+            log.warn("portStatsHistorySize must be at least 2; keeping {}", portStatsHistorySize);
+            newPortStatsHistorySize = portStatsHistorySize;
+        }
+
+        if (newPortStatsHistorySize != portStatsHistorySize) {
+            portStatsHistorySize = newPortStatsHistorySize;
+            portStatsHistory = new PortStatisticsHistory(portStatsHistorySize);
+        }
+        if (newLocalPortStatsEnabled != localPortStatsEnabled) {
+            localPortStatsEnabled = newLocalPortStatsEnabled;
+            portStatsHistory.clear();
+        }
+        log.info("Settings: localPortStatsEnabled={}, portStatsHistorySize={}",
+                 localPortStatsEnabled, portStatsHistorySize);
+    }
+
     @Override
     public int getDeviceCount() {
         return devices.size();
@@ -922,6 +1006,12 @@ public class GossipDeviceStore
     public DeviceEvent updatePortStatistics(ProviderId providerId, DeviceId deviceId,
                                             Collection<PortStatistics> newStatsCollection) {
 
+        if (localPortStatsEnabled) {
+            portStatsHistory.record(deviceId, newStatsCollection, System.currentTimeMillis());
+            Device device = devices.get(deviceId);
+            return device == null ? null : new DeviceEvent(PORT_STATS_UPDATED, device);
+        }
+
         Map<PortNumber, PortStatistics> prvStatsMap = devicePortStats.get(deviceId);
         Map<PortNumber, PortStatistics> newStatsMap = Maps.newHashMap();
         Map<PortNumber, PortStatistics> deltaStatsMap = Maps.newHashMap();
@@ -987,6 +1077,9 @@ public class GossipDeviceStore
 
     @Override
     public List<PortStatistics> getPortStatistics(DeviceId deviceId) {
+        if (localPortStatsEnabled) {
+            return getLocalPortStatistics(new PortStatisticsRequest(deviceId, false, 0));
+        }
         Map<PortNumber, PortStatistics> portStats = devicePortStats.get(deviceId);
         if (portStats == null) {
             return Collections.emptyList();
@@ -996,6 +1089,9 @@ public class GossipDeviceStore
 
     @Override
     public PortStatistics getStatisticsForPort(DeviceId deviceId, PortNumber portNumber) {
+        if (localPortStatsEnabled) {
+            return forPort(getPortStatistics(deviceId), portNumber);
+        }
         Map<PortNumber, PortStatistics> portStatsMap = devicePortStats.get(deviceId);
         if (portStatsMap == null) {
             return null;
@@ -1006,6 +1102,9 @@ public class GossipDeviceStore
 
     @Override
     public List<PortStatistics> getPortDeltaStatistics(DeviceId deviceId) {
+        if (localPortStatsEnabled) {
+            return getLocalPortStatistics(new PortStatisticsRequest(deviceId, true, 0));
+        }
         Map<PortNumber, PortStatistics> portStats = devicePortDeltaStats.get(deviceId);
         if (portStats == null) {
             return Collections.emptyList();
@@ -1015,6 +1114,9 @@ public class GossipDeviceStore
 
     @Override
     public PortStatistics getDeltaStatisticsForPort(DeviceId deviceId, PortNumber portNumber) {
+        if (localPortStatsEnabled) {
+            return forPort(getPortDeltaStatistics(deviceId), portNumber);
+        }
         Map<PortNumber, PortStatistics> portStatsMap = devicePortDeltaStats.get(deviceId);
         if (portStatsMap == null) {
             return null;
@@ -1023,6 +1125,66 @@ public class GossipDeviceStore
         return portStats;
     }
 
+    @Override
+    public List<PortStatistics> getPortDeltaStatistics(DeviceId deviceId, Duration window) {
+        if (localPortStatsEnabled) {
+            return getLocalPortStatistics(new PortStatisticsRequest(deviceId, true, window.toMillis()));
+        }
+        return getPortDeltaStatistics(deviceId);
+    }
+
+    /**
+     * Returns port statistics kept on the master of the device, reading them
+     * locally if this node is the master.
+     *
+     * @param request port statistics request
+     * @return list of port statistics
+     */
+    private List<PortStatistics> getLocalPortStatistics(PortStatisticsRequest request) {
+        NodeId master = mastershipService.getMasterFor(request.deviceId());
+        if (master == null || master.equals(clusterService.getLocalNode().id())) {
+            return readPortStatistics(request);
+        }
+        try {
+            // concurrent reads of the same device wait for a single request
+            return remotePortStats.get(request, () -> fetchPortStatistics(request, master));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            log.debug("Unable to fetch port statistics of {} from {}", request.deviceId(), master, e);
+            return Collections.emptyList();
+        }
+    }
+
+    private List<PortStatistics> fetchPortStatistics(PortStatisticsRequest request, NodeId master)
+            throws TimeoutException {
+        List<PortStatistics> statistics =
+                Tools.futureGetOrElse(clusterCommunicator.sendAndReceive(request,
+                                                                         PORT_STATS_REQUEST,
+                                                                         SERIALIZER::encode,
+                                                                         SERIALIZER::decode,
+                                                                         master),
+                                      REMOTE_MASTER_TIMEOUT, TimeUnit.MILLISECONDS,
+                                      null);
+        if (statistics == null) {
+            // failures are not cached
+            throw new TimeoutException("No port statistics from " + master);
+        }
+        return statistics;
+    }
+
+    private List<PortStatistics> readPortStatistics(PortStatisticsRequest request) {
+        if (!request.delta()) {
+            return portStatsHistory.latest(request.deviceId());
+        }
+        return portStatsHistory.delta(request.deviceId(), request.window());
+    }
+
+    private PortStatistics forPort(List<PortStatistics> statistics, PortNumber portNumber) {
+        return statistics.stream()
+                .filter(stats -> stats.port() == portNumber.toLong())
+                .findFirst()
+                .orElse(null);
+    }
+
     @Override
     public Port getPort(DeviceId deviceId, PortNumber portNumber) {
         Map<PortNumber, Port> ports = devicePorts.get(deviceId);
@@ -1126,6 +1288,7 @@ public class GossipDeviceStore
             removalRequest.put(deviceId, timestamp);
 
             Device device = devices.remove(deviceId);
+            portStatsHistory.remove(deviceId);
             // should DEVICE_REMOVED carry removed ports?
             Map<PortNumber, Port> ports = devicePorts.get(deviceId);
             if (ports != null) {
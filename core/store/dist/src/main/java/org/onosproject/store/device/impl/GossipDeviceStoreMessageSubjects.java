@@ -35,6 +35,9 @@ public final class GossipDeviceStoreMessageSubjects {
     // to be used with 3-way anti-entropy process
     public static final MessageSubject DEVICE_REQUEST = new MessageSubject("peer-device-request");
 
+    // port statistics kept locally on the device master
+    public static final MessageSubject PORT_STATS_REQUEST = new MessageSubject("peer-port-stats-request");
+
     // Network elements injected (not discovered) by ConfigProvider
     /**
      * Remnant of ConfigProvider.
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.device.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.device.DefaultPortStatistics;
+import org.onosproject.net.device.PortStatistics;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Local, bounded history of the port statistics of devices.
+ * <p>
+ * For every port the most recent samples are kept in a ring buffer of primitive
+ * counters, from which the statistics accumulated between the latest sample and
+ * an earlier one can be derived without keeping the reported objects around.
+ */
+final class PortStatisticsHistory {
+
+    // counters stored for each sample, in ring buffer order
+    private static final int TIMESTAMP = 0;
+    private static final int PACKETS_RX = 1;
+    private static final int PACKETS_TX = 2;
+    private static final int BYTES_RX = 3;
+    private static final int BYTES_TX = 4;
+    private static final int PACKETS_RX_DROPPED = 5;
+    private static final int PACKETS_TX_DROPPED = 6;
+    private static final int PACKETS_RX_ERRORS = 7;
+    private static final int PACKETS_TX_ERRORS = 8;
+    private static final int DURATION_SEC = 9;
+    private static final int DURATION_NANO = 10;
+    private static final int FIELDS = 11;
+
+    private final int capacity;
+    private final ConcurrentMap<DeviceId, ConcurrentMap<PortNumber, PortSeries>> devices =
+            Maps.newConcurrentMap();
+
+    /**
+     * Creates a new port statistics history.
+     *
+     * @param capacity number of samples to keep for each port; at least two
+     */
+    PortStatisticsHistory(int capacity) {
+        checkArgument(capacity >= 2, "At least two samples are required");
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records a sample of the statistics of ports of a device.
+     *
+     * @param deviceId device identifier
+     * @param statistics port statistics reported by the device
+     * @param timestamp local time of the sample in milliseconds
+     */
+    void record(DeviceId deviceId, Collection<PortStatistics> statistics, long timestamp) {
+        Map<PortNumber, PortSeries> ports = devices.computeIfAbsent(deviceId, d -> Maps.newConcurrentMap());
+        for (PortStatistics stats : statistics) {
+            ports.computeIfAbsent(PortNumber.portNumber(stats.port()), p -> new PortSeries(capacity))
+                 .add(stats, timestamp);
+        }
+    }
+
+    /**
+     * Drops the history of a device.
+     *
+     * @param deviceId device identifier
+     */
+    void remove(DeviceId deviceId) {
+        devices.remove(deviceId);
+    }
+
+    /**
+     * Drops the history of all devices.
+     */
+    void clear() {
+        devices.clear();
+    }
+
+    /**
+     * Returns the latest statistics of all ports of a device.
+     *
+     * @param deviceId device identifier
+     * @return list of port statistics
+     */
+    List<PortStatistics> latest(DeviceId deviceId) {
+        Map<PortNumber, PortSeries> ports = devices.get(deviceId);
+        if (ports == null) {
+            return Collections.emptyList();
+        }
+        return ports.values().stream()
+                .map(PortSeries::latest)
+                .filter(Objects::nonNull)
+                .collect(Collectors.collectingAndThen(Collectors.toList(), ImmutableList::copyOf));
+    }
+
+    /**
+     * Returns the statistics of all ports of a device accumulated over a window
+     * ending at the latest sample. The window starts at the oldest sample it
+     * covers, or at the previous sample if it covers none; a window of 0 thus
+     * yields the statistics accumulated since the previous sample.
+     *
+     * @param deviceId device identifier
+     * @param window window length in milliseconds
+     * @return list of port delta statistics
+     */
+    List<PortStatistics> delta(DeviceId deviceId, long window) {
+        Map<PortNumber, PortSeries> ports = devices.get(deviceId);
+        if (ports == null) {
+            return Collections.emptyList();
+        }
+        return ports.values().stream()
+                .map(series -> series.delta(deviceId, window))
+                .filter(Objects::nonNull)
+                .collect(Collectors.collectingAndThen(Collectors.toList(), ImmutableList::copyOf));
+    }
+
+    /**
+     * Samples of a single port.
+     */
+    private static final class PortSeries {
+        private final long[] samples;
+        private final int capacity;
+        private int port;
+        private int next;
+        private int size;
+        private PortStatistics latest;
+
+        private PortSeries(int capacity) {
+            this.capacity = capacity;
+            this.samples = new long[capacity * FIELDS];
+        }
+
+        private synchronized void add(PortStatistics stats, long timestamp) {
+            int base = next * FIELDS;
+            samples[base + TIMESTAMP] = timestamp;
+            samples[base + PACKETS_RX] = stats.packetsReceived();
+            samples[base + PACKETS_TX] = stats.packetsSent();
+            samples[base + BYTES_RX] = stats.bytesReceived();
+            samples[base + BYTES_TX] = stats.bytesSent();
+            samples[base + PACKETS_RX_DROPPED] = stats.packetsRxDropped();
+            samples[base + PACKETS_TX_DROPPED] = stats.packetsTxDropped();
+            samples[base + PACKETS_RX_ERRORS] = stats.packetsRxErrors();
+            samples[base + PACKETS_TX_ERRORS] = stats.packetsTxErrors();
+            samples[base + DURATION_SEC] = stats.durationSec();
+            samples[base + DURATION_NANO] = stats.durationNano();
+            next = (next + 1) % capacity;
+            size = Math.min(size + 1, capacity);
+            port = stats.port();
+            latest = stats;
+        }
+
+        private synchronized PortStatistics latest() {
+            return latest;
+        }
+
+        private synchronized PortStatistics delta(DeviceId deviceId, long window) {
+            if (size < 2) {
+                return null;
+            }
+            int newest = index(0);
+            long start = samples[newest + TIMESTAMP] - window;
+            int oldest = index(1);
+            for (int age = 2; age < size; age++) {
+                int candidate = index(age);
+                if (samples[candidate + TIMESTAMP] < start) {
+                    break;
+                }
+                oldest = candidate;
+            }
+            return delta(deviceId, oldest, newest);
+        }
+
+        // offset of the sample recorded the given number of samples before the latest one
+        private int index(int age) {
+            return ((next - 1 - age + capacity) % capacity) * FIELDS;
+        }
+
+        private PortStatistics delta(DeviceId deviceId, int from, int to) {
+            long sec = samples[to + DURATION_SEC] - samples[from + DURATION_SEC];
+            long nano = samples[to + DURATION_NANO] - samples[from + DURATION_NANO];
+            if (nano < 0) {
+                nano += TimeUnit.SECONDS.toNanos(1);
+                sec--;
+            }
+            return DefaultPortStatistics.builder()
+                    .setDeviceId(deviceId)
+                    .setPort(port)
+                    .setPacketsReceived(samples[to + PACKETS_RX] - samples[from + PACKETS_RX])
+                    .setPacketsSent(samples[to + PACKETS_TX] - samples[from + PACKETS_TX])
+                    .setBytesReceived(samples[to + BYTES_RX] - samples[from + BYTES_RX])
+                    .setBytesSent(samples[to + BYTES_TX] - samples[from + BYTES_TX])
+                    .setPacketsRxDropped(samples[to + PACKETS_RX_DROPPED] - samples[from + PACKETS_RX_DROPPED])
+                    .setPacketsTxDropped(samples[to + PACKETS_TX_DROPPED] - samples[from + PACKETS_TX_DROPPED])
+                    .setPacketsRxErrors(samples[to + PACKETS_RX_ERRORS] - samples[from + PACKETS_RX_ERRORS])
+                    .setPacketsTxErrors(samples[to + PACKETS_TX_ERRORS] - samples[from + PACKETS_TX_ERRORS])
+                    .setDurationSec(sec)
+                    .setDurationNano(nano)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.device.impl;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Objects;
+
+import org.onosproject.net.DeviceId;
+
+/**
+ * Message to request the port statistics of a device from its master.
+ */
+public class PortStatisticsRequest {
+
+    private final DeviceId deviceId;
+    private final boolean delta;
+    private final long window;
+
+    /**
+     * Creates a port statistics request.
+     *
+     * @param deviceId device identifier
+     * @param delta true to request delta statistics, false for the latest counters
+     * @param window window in milliseconds delta statistics are accumulated over;
+     *               0 for the last sampling interval
+     */
+    public PortStatisticsRequest(DeviceId deviceId, boolean delta, long window) {
+        this.deviceId = checkNotNull(deviceId);
+        this.delta = delta;
+        this.window = window;
+    }
+
+    public DeviceId deviceId() {
+        return deviceId;
+    }
+
+    public boolean delta() {
+        return delta;
+    }
+
+    public long window() {
+        return window;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(deviceId, delta, window);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PortStatisticsRequest)) {
+            return false;
+        }
+        PortStatisticsRequest that = (PortStatisticsRequest) obj;
+        return Objects.equals(deviceId, that.deviceId)
+                && delta == that.delta
+                && window == that.window;
+    }
+
+    // For serializer
+    @SuppressWarnings("unused")
+    private PortStatisticsRequest() {
+        this.deviceId = null;
+        this.delta = false;
+        this.window = 0;
+    }
+}
@@ -15,9 +15,11 @@
  */
 package org.onosproject.store.flow.impl;
 
+ import java.time.Duration;
  import java.util.Collections;
  import java.util.Dictionary;
  import java.util.HashSet;
+ import java.util.Iterator;
  import java.util.List;
  import java.util.Map;
  import java.util.Objects;
@@ -47,6 +49,8 @@ package org.onosproject.store.flow.impl;
  import org.onosproject.core.CoreService;
  import org.onosproject.core.IdGenerator;
  import org.onosproject.mastership.MastershipService;
+ import org.onosproject.mastership.MastershipTerm;
+ import org.onosproject.mastership.MastershipTermService;
  import org.onosproject.net.DeviceId;
  import org.onosproject.net.device.DeviceService;
  import org.onosproject.net.flow.CompletedBatchOperation;
@@ -121,6 +125,7 @@ public class DistributedFlowRuleStore
     private static final int DEFAULT_MAX_BACKUP_COUNT = 2;
     private static final boolean DEFAULT_PERSISTENCE_ENABLED = false;
     private static final int DEFAULT_BACKUP_PERIOD_MILLIS = 2000;
+    private static final int DEFAULT_SNAPSHOT_PERIOD = 0;
     private static final long FLOW_RULE_STORE_TIMEOUT_MILLIS = 5000;
     // number of devices whose flow entries will be backed up in one communication round
     private static final int FLOW_TABLE_BACKUP_BATCH_SIZE = 1;
@@ -140,6 +145,11 @@ public class DistributedFlowRuleStore
             label = "Indicates whether or not changes in the flow table should be persisted to disk.")
     private boolean persistenceEnabled = DEFAULT_PERSISTENCE_ENABLED;
 
+    @Property(name = "snapshotPeriod", intValue = DEFAULT_SNAPSHOT_PERIOD,
+            label = "Delay in seconds between snapshots of the flow tables to local disk, " +
+                    "which are reloaded on restart; 0 to disable. Takes effect on restart")
+    private int snapshotPeriod = DEFAULT_SNAPSHOT_PERIOD;
+
     @Property(name = "backupCount", intValue = DEFAULT_MAX_BACKUP_COUNT,
             label = "Max number of backup copies for each device")
     private volatile int backupCount = DEFAULT_MAX_BACKUP_COUNT;
@@ -167,6 +177,9 @@ public class DistributedFlowRuleStore
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected MastershipService mastershipService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected MastershipTermService mastershipTermService;
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected PersistenceService persistenceService;
 
@@ -175,6 +188,7 @@ public class DistributedFlowRuleStore
     private ExecutorService eventHandler;
 
     private ScheduledFuture<?> backupTask;
+    private ScheduledFuture<?> snapshotTask;
     private final ScheduledExecutorService backupSenderExecutor =
             Executors.newSingleThreadScheduledExecutor(groupedThreads("onos/flow", "backup-sender", log));
 
@@ -210,8 +224,23 @@ public class DistributedFlowRuleStore
 
         registerMessageHandlers(messageHandlingExecutor);
 
-        if (backupEnabled) {
+        if (context != null) {
+            snapshotPeriod = Tools.getIntegerProperty(context.getProperties(), "snapshotPeriod",
+                                                      DEFAULT_SNAPSHOT_PERIOD);
+        }
+        if (backupEnabled || snapshotPeriod > 0) {
             replicaInfoManager.addListener(flowTable);
+        }
+        if (snapshotPeriod > 0) {
+            flowTable.restore(this.<DeviceId, Long>persistentMap("FlowTableSnapshotTerms"));
+            snapshotTask = backupSenderExecutor.scheduleWithFixedDelay(
+                    flowTable::writeSnapshot,
+                    snapshotPeriod,
+                    snapshotPeriod,
+                    TimeUnit.SECONDS);
+        }
+
+        if (backupEnabled) {
             backupTask = backupSenderExecutor.scheduleWithFixedDelay(
                     flowTable::backup,
                     0,
@@ -233,10 +262,16 @@ public class DistributedFlowRuleStore
 
     @Deactivate
     public void deactivate(ComponentContext context) {
-        if (backupEnabled) {
+        if (backupEnabled || snapshotTask != null) {
             replicaInfoManager.removeListener(flowTable);
+        }
+        if (backupEnabled) {
             backupTask.cancel(true);
         }
+        if (snapshotTask != null) {
+            snapshotTask.cancel(false);
+            flowTable.writeSnapshot();
+        }
         configService.unregisterProperties(getClass(), false);
         unregisterMessageHandlers();
         deviceTableStats.removeListener(tableStatsListener);
@@ -284,7 +319,9 @@ public class DistributedFlowRuleStore
         if (newBackupEnabled != backupEnabled) {
             backupEnabled = newBackupEnabled;
             if (!backupEnabled) {
-                replicaInfoManager.removeListener(flowTable);
+                if (snapshotTask == null) {
+                    replicaInfoManager.removeListener(flowTable);
+                }
                 if (backupTask != null) {
                     backupTask.cancel(false);
                     backupTask = null;
@@ -352,8 +389,16 @@ public class DistributedFlowRuleStore
     }
 
     private void logConfig(String prefix) {
-        log.info("{} with msgHandlerPoolSize = {}; backupEnabled = {}, backupPeriod = {}, backupCount = {}",
-                 prefix, msgHandlerPoolSize, backupEnabled, backupPeriod, backupCount);
+        log.info("{} with msgHandlerPoolSize = {}; backupEnabled = {}, backupPeriod = {}, backupCount = {}, " +
+                 "snapshotPeriod = {}",
+                 prefix, msgHandlerPoolSize, backupEnabled, backupPeriod, backupCount, snapshotPeriod);
+    }
+
+    private <K, V> Map<K, V> persistentMap(String name) {
+        return persistenceService.<K, V>persistentMapBuilder()
+                .withName(name)
+                .withSerializer(serializer)
+                .build();
     }
 
     // This is not a efficient operation on a distributed sharded
@@ -386,7 +431,8 @@ public class DistributedFlowRuleStore
                                     FlowStoreMessageSubjects.GET_FLOW_ENTRY,
                                     serializer::encode,
                                     serializer::decode,
-                                    master),
+                                    master,
+                                    Duration.ofMillis(FLOW_RULE_STORE_TIMEOUT_MILLIS)),
                                FLOW_RULE_STORE_TIMEOUT_MILLIS,
                                TimeUnit.MILLISECONDS,
                                null);
@@ -412,7 +458,8 @@ public class DistributedFlowRuleStore
                                     FlowStoreMessageSubjects.GET_DEVICE_FLOW_ENTRIES,
                                     serializer::encode,
                                     serializer::decode,
-                                    master),
+                                    master,
+                                    Duration.ofMillis(FLOW_RULE_STORE_TIMEOUT_MILLIS)),
                                FLOW_RULE_STORE_TIMEOUT_MILLIS,
                                TimeUnit.MILLISECONDS,
                                Collections.emptyList());
@@ -705,6 +752,17 @@ public class DistributedFlowRuleStore
         private final Map<BackupOperation, Long> lastBackupTimes = Maps.newConcurrentMap();
         private final Map<DeviceId, Long> lastUpdateTimes = Maps.newConcurrentMap();
 
+        // local snapshot of the flow tables: the mastership term each table was written in,
+        // and the table of each device, written one flow id at a time
+        private volatile Map<DeviceId, Long> snapshotTerms;
+        private final Map<DeviceId, Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>>
+                snapshotTables = Maps.newConcurrentMap();
+        // devices whose tables have to be rewritten, and flow ids changed since the snapshot was written
+        private final Set<DeviceId> unsavedDevices = Sets.newConcurrentHashSet();
+        private final Map<DeviceId, Set<FlowId>> unsavedFlows = Maps.newConcurrentMap();
+        // devices whose snapshot tables have not been restored or superseded yet
+        private final Set<DeviceId> restorable = Sets.newConcurrentHashSet();
+
         @Override
         public void event(ReplicaInfoEvent event) {
             eventHandler.execute(() -> handleEvent(event));
@@ -712,7 +770,15 @@ public class DistributedFlowRuleStore
 
         private void handleEvent(ReplicaInfoEvent event) {
             DeviceId deviceId = event.subject();
-            if (!backupEnabled || !mastershipService.isLocalMaster(deviceId)) {
+            if (!mastershipService.isLocalMaster(deviceId)) {
+                return;
+            }
+            if (event.type() == MASTER_CHANGED && snapshotTerms != null) {
+                restoreIfMastered(deviceId);
+                // records the new term with the table once it is written
+                unsavedFlows.computeIfAbsent(deviceId, id -> Sets.newHashSet());
+            }
+            if (!backupEnabled) {
                 return;
             }
             if (event.type() == MASTER_CHANGED) {
@@ -844,6 +910,7 @@ public class DistributedFlowRuleStore
                         return (StoredFlowEntry) rule;
                     });
             lastUpdateTimes.put(rule.deviceId(), System.currentTimeMillis());
+            markUnsaved(rule.deviceId(), rule.id());
         }
 
         public FlowEntry remove(DeviceId deviceId, FlowEntry rule) {
@@ -868,6 +935,7 @@ public class DistributedFlowRuleStore
 
             if (removedRule.get() != null) {
                 lastUpdateTimes.put(deviceId, System.currentTimeMillis());
+                markUnsaved(deviceId, rule.id());
                 return removedRule.get();
             } else {
                 return null;
@@ -876,12 +944,139 @@ public class DistributedFlowRuleStore
 
         public void purgeFlowRule(DeviceId deviceId) {
             flowEntries.remove(deviceId);
+            markUnsaved(deviceId);
         }
 
         public void purgeFlowRules() {
+            flowEntries.keySet().forEach(this::markUnsaved);
             flowEntries.clear();
         }
 
+        private void markUnsaved(DeviceId deviceId) {
+            if (snapshotTerms != null) {
+                unsavedDevices.add(deviceId);
+            }
+        }
+
+        private void markUnsaved(DeviceId deviceId, FlowId flowId) {
+            if (snapshotTerms != null) {
+                // the set is only changed within compute, so that a set taken out of the map stays unchanged
+                unsavedFlows.compute(deviceId, (id, flowIds) -> {
+                    Set<FlowId> unsaved = flowIds != null ? flowIds : Sets.newHashSet();
+                    unsaved.add(flowId);
+                    return unsaved;
+                });
+            }
+        }
+
+        private Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> getSnapshotTable(DeviceId deviceId) {
+            return snapshotTables.computeIfAbsent(deviceId, id -> persistentMap("FlowTableSnapshot:" + id));
+        }
+
+        /**
+         * Loads the local snapshot of the flow tables, which is kept up to date from then on.
+         * The table of a device is restored once this node masters the device.
+         *
+         * @param snapshotTerms persistent mastership terms of the tables in the snapshot
+         */
+        private void restore(Map<DeviceId, Long> snapshotTerms) {
+            this.snapshotTerms = snapshotTerms;
+            restorable.addAll(snapshotTerms.keySet());
+            log.info("Loaded local snapshot of the flow tables of {} devices", restorable.size());
+            ImmutableList.copyOf(restorable).forEach(this::restoreIfMastered);
+        }
+
+        /**
+         * Restores the flow table of a device from the local snapshot if this node masters the device,
+         * and no other node mastered it since the table was written: the snapshot then holds the latest
+         * flow entries of the device, as only its master changes them. A table already rebuilt from a
+         * backup or from new flow rules is left alone. The restored entries are pending until the next
+         * flow statistics of the device confirm them.
+         *
+         * @param deviceId device identifier
+         */
+        private void restoreIfMastered(DeviceId deviceId) {
+            MastershipTerm term = mastershipTermService.getMastershipTerm(deviceId);
+            if (term == null || !Objects.equals(local, term.master()) || !restorable.remove(deviceId)) {
+                return;
+            }
+            Long savedTerm = snapshotTerms.get(deviceId);
+            if (savedTerm == null || savedTerm + 1 != term.termNumber()) {
+                log.info("Not restoring flow table of {}: written in term {}, mastered in term {}",
+                         deviceId, savedTerm, term.termNumber());
+                return;
+            }
+            Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowTable = getFlowTable(deviceId);
+            if (flowTable.values().stream().anyMatch(entries -> !entries.isEmpty())) {
+                return;
+            }
+            getSnapshotTable(deviceId).forEach((flowId, entries) -> {
+                Map<StoredFlowEntry, StoredFlowEntry> restored = Maps.newConcurrentMap();
+                entries.values().forEach(entry -> {
+                    entry.setState(FlowEntryState.PENDING_ADD);
+                    restored.put(entry, entry);
+                });
+                flowTable.put(flowId, restored);
+            });
+            lastUpdateTimes.put(deviceId, System.currentTimeMillis());
+            log.info("Restored flow table of {} from local snapshot", deviceId);
+        }
+
+        /**
+         * Writes the flow entries changed since the previous snapshot to disk, and the current
+         * mastership term of their devices.
+         */
+        private void writeSnapshot() {
+            try {
+                Iterator<DeviceId> devices = unsavedDevices.iterator();
+                while (devices.hasNext()) {
+                    DeviceId deviceId = devices.next();
+                    devices.remove();
+                    Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> table = getSnapshotTable(deviceId);
+                    table.clear();
+                    Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowTable = flowEntries.get(deviceId);
+                    if (flowTable != null) {
+                        flowTable.forEach((flowId, entries) -> writeSnapshot(table, flowId, entries));
+                    }
+                    writeSnapshotTerm(deviceId, table);
+                }
+                for (DeviceId deviceId : unsavedFlows.keySet()) {
+                    Set<FlowId> flowIds = unsavedFlows.remove(deviceId);
+                    if (flowIds == null) {
+                        continue;
+                    }
+                    Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> table = getSnapshotTable(deviceId);
+                    Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowTable = flowEntries.get(deviceId);
+                    flowIds.forEach(flowId ->
+                            writeSnapshot(table, flowId, flowTable != null ? flowTable.get(flowId) : null));
+                    writeSnapshotTerm(deviceId, table);
+                }
+            } catch (Exception e) {
+                log.error("Snapshot failed.", e);
+            }
+        }
+
+        private void writeSnapshot(Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> table,
+                                   FlowId flowId, Map<StoredFlowEntry, StoredFlowEntry> entries) {
+            if (entries == null || entries.isEmpty()) {
+                table.remove(flowId);
+            } else {
+                table.put(flowId, Maps.newHashMap(entries));
+            }
+        }
+
+        private void writeSnapshotTerm(DeviceId deviceId, Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> table) {
+            if (table.isEmpty()) {
+                snapshotTerms.remove(deviceId);
+                return;
+            }
+            // the term of a device without a master is unknown, and the table kept as written
+            MastershipTerm term = mastershipTermService.getMastershipTerm(deviceId);
+            if (term != null) {
+                snapshotTerms.put(deviceId, term.termNumber());
+            }
+        }
+
         private List<NodeId> getBackupNodes(DeviceId deviceId) {
             // The returned backup node list is in the order of preference i.e. next likely master first.
             List<NodeId> allPossibleBackupNodes = replicaInfoManager.getReplicaInfoFor(deviceId).backups();
@@ -926,6 +1121,9 @@ public class DistributedFlowRuleStore
                         backupFlowTable.clear();
                         backupFlowTable.putAll(deviceFlowTable);
                         backedupDevices.add(deviceId);
+                        // the backup supersedes the table of the local snapshot
+                        restorable.remove(deviceId);
+                        markUnsaved(deviceId);
                     }
                 });
             } catch (Exception e) {
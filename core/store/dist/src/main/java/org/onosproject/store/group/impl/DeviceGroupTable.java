@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.group.impl;
+
+import com.google.common.collect.ImmutableMap;
+import org.onosproject.core.GroupId;
+import org.onosproject.net.group.GroupKey;
+import org.onosproject.net.group.StoredGroupEntry;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Local view of the group entries of one device, indexed both by group
+ * identifier and by group key.
+ * <p>
+ * The group identifier index is authoritative: an entry is reachable by the
+ * key it was last stored with, and storing an entry under an existing
+ * identifier replaces the previous entry in both indexes.
+ */
+final class DeviceGroupTable {
+
+    private final Map<GroupId, StoredGroupEntry> byId = new HashMap<>();
+    private final Map<GroupKey, StoredGroupEntry> byKey = new HashMap<>();
+
+    /**
+     * Stores a group entry, replacing any entry with the same identifier.
+     *
+     * @param group group entry
+     */
+    synchronized void put(StoredGroupEntry group) {
+        StoredGroupEntry previous = byId.put(group.id(), group);
+        if (previous != null) {
+            byKey.remove(previous.appCookie(), previous);
+        }
+        StoredGroupEntry sameKey = byKey.put(group.appCookie(), group);
+        if (sameKey != null && !sameKey.id().equals(group.id())) {
+            // the key moved to another group identifier
+            byId.remove(sameKey.id(), sameKey);
+        }
+    }
+
+    /**
+     * Removes a group entry if it is the one stored under its identifier.
+     *
+     * @param group group entry
+     * @return true if the entry was removed
+     */
+    synchronized boolean remove(StoredGroupEntry group) {
+        StoredGroupEntry current = byId.get(group.id());
+        if (current == null || !current.equals(group)) {
+            return false;
+        }
+        byId.remove(group.id());
+        // group entries are equal regardless of their key
+        byKey.remove(current.appCookie(), current);
+        return true;
+    }
+
+    /**
+     * Returns the group entry with the given identifier.
+     *
+     * @param groupId group identifier
+     * @return group entry, or null if there is none
+     */
+    synchronized StoredGroupEntry get(GroupId groupId) {
+        return byId.get(groupId);
+    }
+
+    /**
+     * Returns the group entry with the given key.
+     *
+     * @param appCookie group key
+     * @return group entry, or null if there is none
+     */
+    synchronized StoredGroupEntry get(GroupKey appCookie) {
+        return byKey.get(appCookie);
+    }
+
+    /**
+     * Returns whether there is a group entry with the given identifier.
+     *
+     * @param groupId group identifier
+     * @return true if an entry uses the identifier
+     */
+    synchronized boolean contains(GroupId groupId) {
+        return byId.containsKey(groupId);
+    }
+
+    /**
+     * Returns a snapshot of the group entries, by identifier.
+     *
+     * @return group entries
+     */
+    synchronized Map<GroupId, StoredGroupEntry> snapshot() {
+        return ImmutableMap.copyOf(byId);
+    }
+
+    /**
+     * Returns a snapshot of the group entries.
+     *
+     * @return group entries
+     */
+    synchronized Collection<StoredGroupEntry> values() {
+        return byId.isEmpty() ? Collections.emptyList() : snapshot().values();
+    }
+
+    /**
+     * Returns the number of group entries.
+     *
+     * @return number of entries
+     */
+    synchronized int size() {
+        return byId.size();
+    }
+}
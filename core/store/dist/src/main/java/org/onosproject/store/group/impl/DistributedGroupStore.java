@@ -18,7 +18,6 @@ package org.onosproject.store.group.impl;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Sets;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
@@ -73,7 +72,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Dictionary;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -135,9 +133,9 @@ public class DistributedGroupStore
     // Per device group table with (device id + app cookie) as key
     private ConsistentMap<GroupStoreKeyMapKey,
             StoredGroupEntry> groupStoreEntriesByKey = null;
-    // Per device group table with (device id + group id) as key
-    private final ConcurrentMap<DeviceId, ConcurrentMap<GroupId, StoredGroupEntry>>
-            groupEntriesById = new ConcurrentHashMap<>();
+    // Per device group table indexed by group id and app cookie
+    private final ConcurrentMap<DeviceId, DeviceGroupTable>
+            groupEntriesByDevice = new ConcurrentHashMap<>();
     private ConsistentMap<GroupStoreKeyMapKey,
             StoredGroupEntry> auditPendingReqQueue = null;
     private MapEventListener<GroupStoreKeyMapKey, StoredGroupEntry>
@@ -268,12 +266,11 @@ public class DistributedGroupStore
     }
 
     /**
-     * Updating values of groupEntriesById.
+     * Updating values of groupEntriesByDevice.
      */
     private void matchGroupEntries() {
         for (Entry<GroupStoreKeyMapKey, StoredGroupEntry> entry : groupStoreEntriesByKey.asJavaMap().entrySet()) {
-            StoredGroupEntry group = entry.getValue();
-            getGroupIdTable(entry.getKey().deviceId()).put(group.id(), group);
+            getGroupTable(entry.getKey().deviceId()).put(entry.getValue());
         }
     }
 
@@ -288,13 +285,36 @@ public class DistributedGroupStore
     }
 
     /**
-     * Returns the group id table for specified device.
+     * Returns the local group table for specified device.
      *
      * @param deviceId identifier of the device
-     * @return Map representing group key table of given device.
+     * @return group table of given device, indexed by group id and key
+     */
+    private DeviceGroupTable getGroupTable(DeviceId deviceId) {
+        return groupEntriesByDevice.computeIfAbsent(deviceId, k -> new DeviceGroupTable());
+    }
+
+    /**
+     * Stores a group entry in the group key map and in the local group table
+     * of its device, so that reads by group identifier see it right away
+     * rather than once the map update event has been received.
+     *
+     * @param group group entry
+     */
+    private void putGroupEntry(StoredGroupEntry group) {
+        getGroupStoreKeyMap().put(new GroupStoreKeyMapKey(group.deviceId(), group.appCookie()), group);
+        getGroupTable(group.deviceId()).put(group);
+    }
+
+    /**
+     * Removes a group entry from the group key map and from the local group
+     * table of its device.
+     *
+     * @param group group entry
      */
-    private ConcurrentMap<GroupId, StoredGroupEntry> getGroupIdTable(DeviceId deviceId) {
-        return groupEntriesById.computeIfAbsent(deviceId, k -> new ConcurrentHashMap<>());
+    private void removeStoredGroupEntry(StoredGroupEntry group) {
+        getGroupStoreKeyMap().remove(new GroupStoreKeyMapKey(group.deviceId(), group.appCookie()));
+        getGroupTable(group.deviceId()).remove(group);
     }
 
     /**
@@ -325,8 +345,7 @@ public class DistributedGroupStore
      */
     @Override
     public int getGroupCount(DeviceId deviceId) {
-        return (getGroups(deviceId) != null) ?
-                Iterables.size(getGroups(deviceId)) : 0;
+        return Iterables.size(getStoredGroups(deviceId));
     }
 
     /**
@@ -348,11 +367,7 @@ public class DistributedGroupStore
             return Collections.emptySet();
         }
 
-        Set<StoredGroupEntry> storedGroups = getGroupStoreKeyMap().values()
-                .stream()
-                .filter(input -> input.deviceId().equals(deviceId))
-                .collect(Collectors.toSet());
-        return ImmutableSet.copyOf(storedGroups);
+        return getGroupTable(deviceId).values();
     }
 
     /**
@@ -380,7 +395,7 @@ public class DistributedGroupStore
 
     private StoredGroupEntry getStoredGroupEntry(DeviceId deviceId,
                                                  GroupId groupId) {
-        return getGroupIdTable(deviceId).get(groupId);
+        return getGroupTable(deviceId).get(groupId);
     }
 
     private int getFreeGroupIdValue(DeviceId deviceId) {
@@ -530,13 +545,7 @@ public class DistributedGroupStore
                     StoredGroupEntry group = new DefaultGroup(
                             matchingExtraneousGroup.id(), groupDesc);
                     // Insert the newly created group entry into key and id maps
-                    getGroupStoreKeyMap().
-                            put(new GroupStoreKeyMapKey(groupDesc.deviceId(),
-                                                        groupDesc.appCookie()), group);
-                    // Ensure it also inserted into group id based table to
-                    // avoid any chances of duplication in group id generation
-                    getGroupIdTable(groupDesc.deviceId()).
-                            put(matchingExtraneousGroup.id(), group);
+                    putGroupEntry(group);
                     addOrUpdateGroupEntry(matchingExtraneousGroup);
                     removeExtraneousGroupEntry(matchingExtraneousGroup);
                     return;
@@ -550,13 +559,7 @@ public class DistributedGroupStore
                     StoredGroupEntry modifiedGroup = new DefaultGroup(
                             matchingExtraneousGroup.id(), groupDesc);
                     modifiedGroup.setState(GroupState.PENDING_UPDATE);
-                    getGroupStoreKeyMap().
-                            put(new GroupStoreKeyMapKey(groupDesc.deviceId(),
-                                                        groupDesc.appCookie()), modifiedGroup);
-                    // Ensure it also inserted into group id based table to
-                    // avoid any chances of duplication in group id generation
-                    getGroupIdTable(groupDesc.deviceId()).
-                            put(matchingExtraneousGroup.id(), modifiedGroup);
+                    putGroupEntry(modifiedGroup);
                     removeExtraneousGroupEntry(matchingExtraneousGroup);
                     log.debug("storeGroupDescriptionInternal: Triggering Group "
                                       + "UPDATE request for {} in device {}",
@@ -579,13 +582,7 @@ public class DistributedGroupStore
                 StoredGroupEntry group = new DefaultGroup(
                         matchingExtraneousGroup.id(), groupDesc);
                 // Insert the newly created group entry into key and id maps
-                getGroupStoreKeyMap().
-                        put(new GroupStoreKeyMapKey(groupDesc.deviceId(),
-                                                    groupDesc.appCookie()), group);
-                // Ensure it also inserted into group id based table to
-                // avoid any chances of duplication in group id generation
-                getGroupIdTable(groupDesc.deviceId()).
-                        put(matchingExtraneousGroup.id(), group);
+                putGroupEntry(group);
                 addOrUpdateGroupEntry(matchingExtraneousGroup);
                 removeExtraneousGroupEntry(matchingExtraneousGroup);
                 return;
@@ -619,13 +616,7 @@ public class DistributedGroupStore
         // Create a group entry object
         StoredGroupEntry group = new DefaultGroup(id, groupDesc);
         // Insert the newly created group entry into key and id maps
-        getGroupStoreKeyMap().
-                put(new GroupStoreKeyMapKey(groupDesc.deviceId(),
-                                            groupDesc.appCookie()), group);
-        // Ensure it also inserted into group id based table to
-        // avoid any chances of duplication in group id generation
-        getGroupIdTable(groupDesc.deviceId()).
-                put(id, group);
+        putGroupEntry(group);
         log.debug("storeGroupDescriptionInternal: Processing Group ADD request for Id {} in device {}",
                   id,
                   groupDesc.deviceId());
@@ -727,14 +718,9 @@ public class DistributedGroupStore
             newGroup.setLife(oldGroup.life());
             newGroup.setPackets(oldGroup.packets());
             newGroup.setBytes(oldGroup.bytes());
-            //Update the group entry in groupkey based map.
-            //Update to groupid based map will happen in the
-            //groupkey based map update listener
             log.debug("updateGroupDescriptionInternal with type {}: Group updated with buckets",
                       type);
-            getGroupStoreKeyMap().
-                    put(new GroupStoreKeyMapKey(newGroup.deviceId(),
-                                                newGroup.appCookie()), newGroup);
+            putGroupEntry(newGroup);
             notifyDelegate(new GroupEvent(Type.GROUP_UPDATE_REQUESTED, newGroup));
         } else {
             log.warn("updateGroupDescriptionInternal with type {}: No "
@@ -855,9 +841,7 @@ public class DistributedGroupStore
                   existing.state());
         synchronized (existing) {
             existing.setState(GroupState.PENDING_DELETE);
-            getGroupStoreKeyMap().
-                    put(new GroupStoreKeyMapKey(existing.deviceId(), existing.appCookie()),
-                        existing);
+            putGroupEntry(existing);
         }
         log.debug("deleteGroupDescriptionInternal: in device {} issuing GROUP_REMOVE_REQUESTED",
                   deviceId);
@@ -920,9 +904,7 @@ public class DistributedGroupStore
                     event = new GroupEvent(Type.GROUP_UPDATED, existing);
                 }
                 //Re-PUT map entries to trigger map update events
-                getGroupStoreKeyMap().
-                        put(new GroupStoreKeyMapKey(existing.deviceId(),
-                                                    existing.appCookie()), existing);
+                putGroupEntry(existing);
             }
         } else {
             log.warn("addOrUpdateGroupEntry: Group update "
@@ -948,10 +930,7 @@ public class DistributedGroupStore
             log.debug("removeGroupEntry: removing group entry {} in device {}",
                       group.id(),
                       group.deviceId());
-            //Removal from groupid based map will happen in the
-            //map update listener
-            getGroupStoreKeyMap().remove(new GroupStoreKeyMapKey(existing.deviceId(),
-                                                                 existing.appCookie()));
+            removeStoredGroupEntry(existing);
             notifyDelegate(new GroupEvent(Type.GROUP_REMOVED, existing));
         } else {
             log.warn("removeGroupEntry for {} in device{} is "
@@ -962,21 +941,12 @@ public class DistributedGroupStore
     }
 
     private void purgeGroupEntries(Set<Entry<GroupStoreKeyMapKey, StoredGroupEntry>> entries) {
-        entries.forEach(entry -> {
-            groupStoreEntriesByKey.remove(entry.getKey());
-        });
+        entries.forEach(entry -> removeStoredGroupEntry(entry.getValue()));
     }
 
     @Override
     public void purgeGroupEntry(DeviceId deviceId) {
-        Set<Entry<GroupStoreKeyMapKey, StoredGroupEntry>> entriesPendingRemove =
-                new HashSet<>();
-
-        getGroupStoreKeyMap().entrySet().stream()
-                .filter(entry -> entry.getKey().deviceId().equals(deviceId))
-                .forEach(entriesPendingRemove::add);
-
-        purgeGroupEntries(entriesPendingRemove);
+        getGroupTable(deviceId).values().forEach(this::removeStoredGroupEntry);
     }
 
     @Override
@@ -1074,10 +1044,7 @@ public class DistributedGroupStore
                                      + "group {} from store in device {}....",
                              existing.id(),
                              existing.deviceId());
-                    //Removal from groupid based map will happen in the
-                    //map update listener
-                    getGroupStoreKeyMap().remove(new GroupStoreKeyMapKey(existing.deviceId(),
-                                                                         existing.appCookie()));
+                    removeStoredGroupEntry(existing);
                 }
                 break;
             case MODIFY:
@@ -1131,15 +1098,16 @@ public class DistributedGroupStore
             GroupEvent groupEvent = null;
             GroupStoreKeyMapKey key = mapEvent.key();
             StoredGroupEntry group = Versioned.valueOrNull(mapEvent.newValue());
+            if (group == null) {
+                // the local group table may already have dropped a removed entry
+                group = Versioned.valueOrNull(mapEvent.oldValue());
+            }
             if ((key == null) && (group == null)) {
                 log.error("GroupStoreKeyMapListener: Received "
                                   + "event {} with null entry", mapEvent.type());
                 return;
             } else if (group == null) {
-                group = getGroupIdTable(key.deviceId()).values()
-                        .stream()
-                        .filter((storedGroup) -> (storedGroup.appCookie().equals(key.appCookie)))
-                        .findFirst().orElse(null);
+                group = getGroupTable(key.deviceId()).get(key.appCookie);
                 if (group == null) {
                     log.error("GroupStoreKeyMapListener: Received "
                                       + "event {} with null entry... can not process", mapEvent.type());
@@ -1152,7 +1120,7 @@ public class DistributedGroupStore
                       (key != null ? key.deviceId() : null));
             if (mapEvent.type() == MapEvent.Type.INSERT || mapEvent.type() == MapEvent.Type.UPDATE) {
                 // Update the group ID table
-                getGroupIdTable(group.deviceId()).put(group.id(), group);
+                getGroupTable(group.deviceId()).put(group);
                 StoredGroupEntry value = Versioned.valueOrNull(mapEvent.newValue());
                 if (value.state() == Group.GroupState.ADDED) {
                     if (value.isGroupStateAddedFirstTime()) {
@@ -1170,7 +1138,7 @@ public class DistributedGroupStore
             } else if (mapEvent.type() == MapEvent.Type.REMOVE) {
                 groupEvent = new GroupEvent(Type.GROUP_REMOVED, group);
                 // Remove the entry from the group ID table
-                getGroupIdTable(group.deviceId()).remove(group.id(), group);
+                getGroupTable(group.deviceId()).remove(group);
             }
 
             if (groupEvent != null) {
@@ -1181,11 +1149,10 @@ public class DistributedGroupStore
 
     private void processGroupMessage(GroupStoreMessage message) {
         if (message.type() == GroupStoreMessage.Type.FAILOVER) {
-            // FIXME: groupStoreEntriesByKey inaccessible here
-            getGroupIdTable(message.deviceId()).values()
-                    .stream()
-                    .filter((storedGroup) -> (storedGroup.appCookie().equals(message.appCookie())))
-                    .findFirst().ifPresent(group -> notifyDelegate(new GroupEvent(Type.GROUP_BUCKET_FAILOVER, group)));
+            StoredGroupEntry group = getGroupTable(message.deviceId()).get(message.appCookie());
+            if (group != null) {
+                notifyDelegate(new GroupEvent(Type.GROUP_BUCKET_FAILOVER, group));
+            }
         }
     }
 
@@ -1316,68 +1283,61 @@ public class DistributedGroupStore
                                  Collection<Group> groupEntries) {
         boolean deviceInitialAuditStatus =
                 deviceInitialAuditStatus(deviceId);
-        Set<Group> southboundGroupEntries =
-                Sets.newHashSet(groupEntries);
-        Set<StoredGroupEntry> storedGroupEntries =
-                Sets.newHashSet(getStoredGroups(deviceId));
-        Set<Group> extraneousStoredEntries =
-                Sets.newHashSet(getExtraneousGroups(deviceId));
+        // Index both planes by group id so that the audit is a single pass
+        // over the groups reported by the device
+        Map<GroupId, Group> southboundGroupEntries = new HashMap<>();
+        groupEntries.forEach(group -> southboundGroupEntries.put(group.id(), group));
+        Map<GroupId, StoredGroupEntry> storedGroupEntries = new HashMap<>();
+        getStoredGroups(deviceId).forEach(group -> storedGroupEntries.put(group.id(), group));
+        Map<GroupId, Group> extraneousStoredEntries =
+                new HashMap<>(getExtraneousGroupIdTable(deviceId));
 
         if (log.isTraceEnabled()) {
             log.trace("pushGroupMetrics: Displaying all ({}) southboundGroupEntries for device {}",
                     southboundGroupEntries.size(),
                     deviceId);
-            for (Group group : southboundGroupEntries) {
+            for (Group group : southboundGroupEntries.values()) {
                 log.trace("Group {} in device {}", group, deviceId);
             }
 
             log.trace("Displaying all ({}) stored group entries for device {}",
                     storedGroupEntries.size(),
                     deviceId);
-            for (StoredGroupEntry group : storedGroupEntries) {
+            for (StoredGroupEntry group : storedGroupEntries.values()) {
                 log.trace("Stored Group {} for device {}", group, deviceId);
             }
         }
 
         garbageCollect(deviceId, southboundGroupEntries, storedGroupEntries);
 
-        for (Iterator<Group> it2 = southboundGroupEntries.iterator(); it2.hasNext();) {
-            Group group = it2.next();
-            if (storedGroupEntries.remove(group)) {
+        for (Group group : southboundGroupEntries.values()) {
+            StoredGroupEntry stored = storedGroupEntries.remove(group.id());
+            if (stored == null) {
+                // there are groups in the switch that aren't in the store
+                log.debug("Group AUDIT: extraneous group {} exists in data plane for device {}",
+                          group.id(), deviceId);
+                extraneousStoredEntries.remove(group.id());
+                extraneousGroup(group);
+            } else if (stored.equals(group)) {
                 // we both have the group, let's update some info then.
                 log.trace("Group AUDIT: group {} exists in both planes for device {}",
                           group.id(), deviceId);
-
                 groupAdded(group);
-                it2.remove();
-            }
-        }
-        for (Group group : southboundGroupEntries) {
-            if (getGroup(group.deviceId(), group.id()) != null) {
+            } else {
                 // There is a group existing with the same id
                 // It is possible that group update is
                 // in progress while we got a stale info from switch
-                if (!storedGroupEntries.remove(getGroup(
-                        group.deviceId(), group.id()))) {
-                    log.warn("Group AUDIT: Inconsistent state:"
-                                     + "Group exists in ID based table while "
-                                     + "not present in key based table");
-                }
-            } else {
-                // there are groups in the switch that aren't in the store
-                log.debug("Group AUDIT: extraneous group {} exists in data plane for device {}",
+                log.trace("Group AUDIT: group {} differs between planes for device {}",
                           group.id(), deviceId);
-                extraneousStoredEntries.remove(group);
-                extraneousGroup(group);
             }
         }
-        for (Group group : storedGroupEntries) {
+        for (Group group : storedGroupEntries.values()) {
             // there are groups in the store that aren't in the switch
             log.debug("Group AUDIT: group {} missing in data plane for device {}",
                       group.id(), deviceId);
             groupMissing(group);
         }
-        for (Group group : extraneousStoredEntries) {
+        for (Group group : extraneousStoredEntries.values()) {
             // there are groups in the extraneous store that
             // aren't in the switch
             log.debug("Group AUDIT: clearing extraneous group {} from store for device {}",
@@ -1403,19 +1363,19 @@ public class DistributedGroupStore
     }
 
     private void garbageCollect(DeviceId deviceId,
-                                Set<Group> southboundGroupEntries,
-                                Set<StoredGroupEntry> storedGroupEntries) {
+                                Map<GroupId, Group> southboundGroupEntries,
+                                Map<GroupId, StoredGroupEntry> storedGroupEntries) {
         if (!garbageCollect) {
             return;
         }
 
-        Iterator<StoredGroupEntry> it = storedGroupEntries.iterator();
+        Iterator<StoredGroupEntry> it = storedGroupEntries.values().iterator();
         while (it.hasNext()) {
             StoredGroupEntry group = it.next();
             if (group.state() != GroupState.PENDING_DELETE && checkGroupRefCount(group)) {
                 log.debug("Garbage collecting group {} on {}", group, deviceId);
                 deleteGroupDescription(deviceId, group.appCookie());
-                southboundGroupEntries.remove(group);
+                southboundGroupEntries.remove(group.id(), group);
                 it.remove();
             }
         }
@@ -1446,9 +1406,7 @@ public class DistributedGroupStore
                           existing.state());
                 existing.setState(Group.GroupState.PENDING_ADD_RETRY);
                 //Re-PUT map entries to trigger map update events
-                getGroupStoreKeyMap().
-                        put(new GroupStoreKeyMapKey(existing.deviceId(),
-                                                    existing.appCookie()), existing);
+                putGroupEntry(existing);
                 notifyDelegate(new GroupEvent(GroupEvent.Type.GROUP_ADD_REQUESTED,
                                               group));
                 break;
@@ -41,6 +41,7 @@ import org.onosproject.net.intent.IntentStoreDelegate;
 import org.onosproject.net.intent.Key;
 import org.onosproject.net.intent.WorkPartitionService;
 import org.onosproject.store.AbstractStore;
+import org.onosproject.store.serializers.IntentDataSerializer;
 import org.onosproject.store.serializers.KryoNamespaces;
 import org.onosproject.store.service.EventuallyConsistentMap;
 import org.onosproject.store.service.EventuallyConsistentMapBuilder;
@@ -57,12 +58,14 @@ import java.util.Dictionary;
 import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static org.onlab.util.Tools.get;
+import static org.onlab.util.Tools.getIntegerProperty;
 import static org.onosproject.net.intent.IntentState.PURGE_REQ;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -82,6 +85,8 @@ public class GossipIntentStore
 
     private static final boolean PERSIST = false;
 
+    private static final int DEFAULT_SNAPSHOT_PERIOD = 0;
+
     // Map of intent key => current intent state
     private EventuallyConsistentMap<Key, IntentData> currentMap;
 
@@ -119,6 +124,10 @@ public class GossipIntentStore
             label = "EXPERIMENTAL: Enable intent persistence")
     private boolean persistenceEnabled;
 
+    @Property(name = "snapshotPeriod", intValue = DEFAULT_SNAPSHOT_PERIOD,
+            label = "Delay in seconds between snapshots of the intents to local disk, " +
+                    "which are reloaded on restart; 0 to disable. Takes effect on restart")
+    private int snapshotPeriod = DEFAULT_SNAPSHOT_PERIOD;
 
     @Activate
     public void activate(ComponentContext context) {
@@ -133,7 +142,10 @@ public class GossipIntentStore
                 .register(IntentData.class)
                 .register(VirtualNetworkIntent.class)
                 .register(NetworkId.class)
-                .register(MultiValuedTimestamp.class);
+                .register(MultiValuedTimestamp.class)
+                // registered again after the default registration above, so
+                // that intent data written by earlier versions stays readable
+                .register(new IntentDataSerializer(), IntentData.class);
 
         EventuallyConsistentMapBuilder currentECMapBuilder =
                 storageService.<Key, IntentData>eventuallyConsistentMapBuilder()
@@ -161,7 +173,10 @@ public class GossipIntentStore
                          */
                         new MultiValuedTimestamp<>(new WallClockTimestamp(), System.nanoTime()))
                 .withPeerUpdateFunction((key, intentData) -> getPeerNodes(key, intentData));
-        if (initiallyPersistent) {
+        if (snapshotPeriod > 0) {
+            currentECMapBuilder = currentECMapBuilder.withSnapshots(snapshotPeriod, TimeUnit.SECONDS);
+            pendingECMapBuilder = pendingECMapBuilder.withSnapshots(snapshotPeriod, TimeUnit.SECONDS);
+        } else if (initiallyPersistent) {
             currentECMapBuilder = currentECMapBuilder.withPersistence();
             pendingECMapBuilder = pendingECMapBuilder.withPersistence();
         }
@@ -206,6 +221,7 @@ public class GossipIntentStore
                               "session will not be persisted to disk",
                       initiallyPersistent);
         }
+        snapshotPeriod = getIntegerProperty(properties, "snapshotPeriod", DEFAULT_SNAPSHOT_PERIOD);
         if (persistenceEnabled) {
             //FIXME persistence is an experimental feature, warnings can be removed
             //when the feature is completed
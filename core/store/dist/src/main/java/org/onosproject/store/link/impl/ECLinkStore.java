@@ -19,6 +19,7 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -26,11 +27,13 @@ import java.util.stream.Collectors;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
+import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
 import org.onlab.util.KryoNamespace;
 import org.onlab.util.SharedExecutors;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.core.ApplicationId;
@@ -64,9 +67,11 @@ import org.onosproject.store.serializers.KryoNamespaces;
 import org.onosproject.store.serializers.StoreSerializer;
 import org.onosproject.store.serializers.custom.DistributedStoreSerializers;
 import org.onosproject.store.service.EventuallyConsistentMap;
+import org.onosproject.store.service.EventuallyConsistentMapBuilder;
 import org.onosproject.store.service.EventuallyConsistentMapEvent;
 import org.onosproject.store.service.EventuallyConsistentMapListener;
 import org.onosproject.store.service.StorageService;
+import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 
 import com.google.common.collect.Iterables;
@@ -74,6 +79,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Futures;
 
+import static org.onlab.util.Tools.getIntegerProperty;
 import static org.onosproject.net.DefaultAnnotations.merge;
 import static org.onosproject.net.DefaultAnnotations.union;
 import static org.onosproject.net.Link.State.ACTIVE;
@@ -116,6 +122,8 @@ public class ECLinkStore
 
     private final Logger log = getLogger(getClass());
 
+    private static final int DEFAULT_SNAPSHOT_PERIOD = 0;
+
     private final Map<LinkKey, Link> links = Maps.newConcurrentMap();
     private final Map<LinkKey, Set<ProviderId>> linkProviders = Maps.newConcurrentMap();
     private EventuallyConsistentMap<Provided<LinkKey>, LinkDescription> linkDescriptions;
@@ -146,6 +154,14 @@ public class ECLinkStore
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected CoreService coreService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected ComponentConfigService cfgService;
+
+    @Property(name = "snapshotPeriod", intValue = DEFAULT_SNAPSHOT_PERIOD,
+            label = "Delay in seconds between snapshots of the link descriptions to local disk, " +
+                    "which are reloaded on restart; 0 to disable. Takes effect on restart")
+    private int snapshotPeriod = DEFAULT_SNAPSHOT_PERIOD;
+
     private EventuallyConsistentMapListener<Provided<LinkKey>, LinkDescription> linkTracker =
             new InternalLinkTracker();
 
@@ -162,7 +178,11 @@ public class ECLinkStore
                     .build("ECLink"));
 
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
+        cfgService.registerProperties(getClass());
+        if (context != null) {
+            snapshotPeriod = getIntegerProperty(context.getProperties(), "snapshotPeriod", DEFAULT_SNAPSHOT_PERIOD);
+        }
         appId = coreService.registerApplication("org.onosproject.core");
         netCfgService.registerConfigFactory(factory);
         netCfgService.addListener(cfgListener);
@@ -174,7 +194,8 @@ public class ECLinkStore
                 .register(MastershipBasedTimestamp.class)
                 .register(Provided.class);
 
-        linkDescriptions = storageService.<Provided<LinkKey>, LinkDescription>eventuallyConsistentMapBuilder()
+        EventuallyConsistentMapBuilder<Provided<LinkKey>, LinkDescription> linkDescriptionsBuilder =
+                storageService.<Provided<LinkKey>, LinkDescription>eventuallyConsistentMapBuilder()
                 .withName("onos-link-descriptions")
                 .withSerializer(serializer)
                 .withTimestampProvider((k, v) -> {
@@ -183,7 +204,11 @@ public class ECLinkStore
                     } catch (IllegalStateException e) {
                         return null;
                     }
-                }).build();
+                });
+        if (snapshotPeriod > 0) {
+            linkDescriptionsBuilder.withSnapshots(snapshotPeriod, TimeUnit.SECONDS);
+        }
+        linkDescriptions = linkDescriptionsBuilder.build();
 
         clusterCommunicator.addSubscriber(LINK_INJECT_MESSAGE,
                                           SERIALIZER::decode,
@@ -193,6 +218,12 @@ public class ECLinkStore
 
         linkDescriptions.addListener(linkTracker);
 
+        // rebuild the link cache from descriptions restored from the local snapshot
+        linkDescriptions.keySet().forEach(key -> {
+            linkProviders.compute(key.key(), (k, v) -> createOrUpdateLinkProviders(v, key.providerId()));
+            refreshLinkCache(key.key());
+        });
+
         log.info("Started");
     }
 
@@ -205,6 +236,7 @@ public class ECLinkStore
         clusterCommunicator.removeSubscriber(LINK_INJECT_MESSAGE);
         netCfgService.removeListener(cfgListener);
         netCfgService.unregisterConfigFactory(factory);
+        cfgService.unregisterProperties(getClass(), false);
 
         log.info("Stopped");
     }
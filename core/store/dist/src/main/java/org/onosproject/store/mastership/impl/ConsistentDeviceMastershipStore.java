@@ -15,6 +15,8 @@
  */
 package org.onosproject.store.mastership.impl;
 
+import static com.google.common.base.Strings.isNullOrEmpty;
+import static org.onlab.util.Tools.get;
 import static org.onlab.util.Tools.groupedThreads;
 import static org.onosproject.mastership.MastershipEvent.Type.BACKUPS_CHANGED;
 import static org.onosproject.mastership.MastershipEvent.Type.MASTER_CHANGED;
@@ -22,6 +24,7 @@ import static org.onosproject.mastership.MastershipEvent.Type.SUSPENDED;
 import static org.slf4j.LoggerFactory.getLogger;
 import static com.google.common.base.Preconditions.checkArgument;
 
+import java.util.Dictionary;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -37,10 +40,13 @@ import java.util.stream.Collectors;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
+import org.apache.felix.scr.annotations.Modified;
+import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
 import org.onlab.util.KryoNamespace;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.Leadership;
 import org.onosproject.cluster.LeadershipAdminService;
@@ -60,15 +66,40 @@ import org.onosproject.store.cluster.messaging.ClusterCommunicationService;
 import org.onosproject.store.cluster.messaging.MessageSubject;
 import org.onosproject.store.serializers.KryoNamespaces;
 import org.onosproject.store.serializers.StoreSerializer;
+import org.onosproject.store.service.ConsistentMap;
+import org.onosproject.store.service.MapEvent;
+import org.onosproject.store.service.MapEventListener;
+import org.onosproject.store.service.Serializer;
+import org.onosproject.store.service.StorageService;
+import org.onosproject.store.service.Versioned;
+import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 
 import com.google.common.base.Objects;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 /**
  * Implementation of the MastershipStore on top of Leadership Service.
+ * <p>
+ * By default every device has a leadership topic of its own. When mastership
+ * buckets are enabled, devices are instead consistent-hashed into a fixed number
+ * of buckets and the leader of a bucket is the master of all devices in it. This
+ * bounds the number of elections regardless of the number of devices, at the
+ * cost of moving mastership a whole bucket at a time; it assumes that every
+ * instance is connected to every device. The devices of each bucket are tracked
+ * in a replicated map along with the nodes that registered them, so every
+ * instance knows the devices registered by its peers, and a device leaves its
+ * bucket once the last of these nodes relinquishes it.
+ * <p>
+ * Setting the master of a device in a bucket moves the mastership of every
+ * device of the bucket. Role balancing therefore moves whole buckets as well,
+ * and only evens out the number of devices per instance to within the size of
+ * a bucket.
+ * </p>
  */
 @Component(immediate = true)
 @Service
@@ -90,7 +121,33 @@ public class ConsistentDeviceMastershipStore
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected ClusterCommunicationService clusterCommunicator;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected ComponentConfigService configService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected StorageService storageService;
+
+    private static final boolean DEFAULT_USE_MASTERSHIP_BUCKETS = false;
+    private static final int DEFAULT_MASTERSHIP_BUCKET_COUNT = 64;
+
+    @Property(name = "useMastershipBuckets", boolValue = DEFAULT_USE_MASTERSHIP_BUCKETS,
+            label = "Derive device mastership from a fixed number of bucket elections " +
+                    "instead of one election per device; mastership changes move whole buckets")
+    private volatile boolean useMastershipBuckets = DEFAULT_USE_MASTERSHIP_BUCKETS;
+
+    @Property(name = "mastershipBucketCount", intValue = DEFAULT_MASTERSHIP_BUCKET_COUNT,
+            label = "Number of buckets devices are hashed into when mastership buckets are used")
+    private int mastershipBucketCount = DEFAULT_MASTERSHIP_BUCKET_COUNT;
+
     private NodeId localNodeId;
+    private volatile MastershipBuckets buckets = new MastershipBuckets(DEFAULT_MASTERSHIP_BUCKET_COUNT);
+    // nodes that registered each device for mastership; source of the bucket membership
+    private ConsistentMap<DeviceId, Set<NodeId>> bucketDevices;
+    private final MapEventListener<DeviceId, Set<NodeId>> bucketDeviceListener = new InternalBucketDeviceListener();
+    // devices for which the local node has run for mastership
+    private final Set<DeviceId> localDevices = Sets.newConcurrentHashSet();
+    // topic to target node of leadership transfers that are scheduled but not yet executed
+    private final Map<String, NodeId> pendingTransfers = Maps.newConcurrentMap();
 
     private static final MessageSubject ROLE_RELINQUISH_SUBJECT =
             new MessageSubject("mastership-store-device-role-relinquish");
@@ -117,7 +174,9 @@ public class ConsistentDeviceMastershipStore
                     .build("MastershipStore"));
 
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
+        configService.registerProperties(getClass());
+        readComponentConfiguration(context);
 
         eventHandler = Executors.newSingleThreadExecutor(
                         groupedThreads("onos/store/device/mastership", "event-handler", log));
@@ -134,6 +193,13 @@ public class ConsistentDeviceMastershipStore
                 SERIALIZER::encode,
                 messageHandlingExecutor);
         localNodeId = clusterService.getLocalNode().id();
+        bucketDevices = storageService.<DeviceId, Set<NodeId>>consistentMapBuilder()
+                .withName("onos-mastership-bucket-devices")
+                .withSerializer(Serializer.using(KryoNamespaces.API))
+                .withRelaxedReadConsistency()
+                .build();
+        bucketDevices.addListener(bucketDeviceListener);
+        bucketDevices.keySet().forEach(buckets::addDevice);
         leadershipService.addListener(leadershipEventListener);
 
         log.info("Started");
@@ -141,20 +207,81 @@ public class ConsistentDeviceMastershipStore
 
     @Deactivate
     public void deactivate() {
+        configService.unregisterProperties(getClass(), false);
         clusterCommunicator.removeSubscriber(ROLE_RELINQUISH_SUBJECT);
         leadershipService.removeListener(leadershipEventListener);
+        bucketDevices.removeListener(bucketDeviceListener);
         messageHandlingExecutor.shutdown();
         transferExecutor.shutdown();
         eventHandler.shutdown();
         log.info("Stopped");
     }
 
+    @Modified
+    public void modified(ComponentContext context) {
+        boolean oldUseBuckets = useMastershipBuckets;
+        int oldBucketCount = mastershipBucketCount;
+        MastershipBuckets oldBuckets = buckets;
+        readComponentConfiguration(context);
+        if (oldUseBuckets == useMastershipBuckets
+                && (!useMastershipBuckets || oldBucketCount == mastershipBucketCount)) {
+            return;
+        }
+
+        // Re-register local candidacies under the new topics before leaving the old ones
+        // so that devices are never left without a candidate.
+        Set<String> oldTopics = localDevices.stream()
+                .map(deviceId -> oldUseBuckets ?
+                        oldBuckets.topicOf(deviceId) : createDeviceMastershipTopic(deviceId))
+                .collect(Collectors.toSet());
+        Set<String> newTopics = localDevices.stream()
+                .map(this::topicOf)
+                .collect(Collectors.toSet());
+        leadershipService.runForLeadership(newTopics);
+        leadershipService.withdraw(Sets.difference(oldTopics, newTopics).immutableCopy());
+        log.info("Switched to {} mastership for {} local devices",
+                useMastershipBuckets ? mastershipBucketCount + " bucket" : "per-device", localDevices.size());
+    }
+
+    /**
+     * Extracts properties from the component configuration context.
+     *
+     * @param context the component context
+     */
+    private void readComponentConfiguration(ComponentContext context) {
+        if (context == null) {
+            return;
+        }
+        Dictionary<?, ?> properties = context.getProperties();
+        try {
+            String s = get(properties, "useMastershipBuckets");
+            useMastershipBuckets = isNullOrEmpty(s) ? useMastershipBuckets : Boolean.parseBoolean(s.trim());
+
+            s = get(properties, "mastershipBucketCount");
+            int newBucketCount = isNullOrEmpty(s) ? mastershipBucketCount : Integer.parseInt(s.trim());
+            if (newBucketCount > 0) {
+                mastershipBucketCount = newBucketCount;
+            } else {
+                log.warn("Ignoring invalid mastershipBucketCount {}", newBucketCount);
+            }
+        } catch (NumberFormatException | ClassCastException e) {
+            log.warn("Failed to read mastership configuration", e);
+        }
+        if (buckets.bucketCount() != mastershipBucketCount) {
+            MastershipBuckets newBuckets = new MastershipBuckets(mastershipBucketCount);
+            if (bucketDevices != null) {
+                bucketDevices.keySet().forEach(newBuckets::addDevice);
+            }
+            buckets = newBuckets;
+        }
+    }
+
     @Override
     public CompletableFuture<MastershipRole> requestRole(DeviceId deviceId) {
         checkArgument(deviceId != null, DEVICE_ID_NULL);
 
-        String leadershipTopic = createDeviceMastershipTopic(deviceId);
-        Leadership leadership = leadershipService.runForLeadership(leadershipTopic);
+        localDevices.add(deviceId);
+        Leadership leadership = registerLocalCandidacy(deviceId);
         return CompletableFuture.completedFuture(localNodeId.equals(leadership.leaderNodeId())
                 ? MastershipRole.MASTER : MastershipRole.STANDBY);
     }
@@ -164,7 +291,7 @@ public class ConsistentDeviceMastershipStore
         checkArgument(nodeId != null, NODE_ID_NULL);
         checkArgument(deviceId != null, DEVICE_ID_NULL);
 
-        String leadershipTopic = createDeviceMastershipTopic(deviceId);
+        String leadershipTopic = topicOf(deviceId);
         Leadership leadership = leadershipService.getLeadership(leadershipTopic);
         NodeId leader = leadership == null ? null : leadership.leaderNodeId();
         List<NodeId> candidates = leadership == null ?
@@ -177,7 +304,7 @@ public class ConsistentDeviceMastershipStore
     public NodeId getMaster(DeviceId deviceId) {
         checkArgument(deviceId != null, DEVICE_ID_NULL);
 
-        return leadershipService.getLeader(createDeviceMastershipTopic(deviceId));
+        return leadershipService.getLeader(topicOf(deviceId));
     }
 
     @Override
@@ -191,7 +318,7 @@ public class ConsistentDeviceMastershipStore
         NodeId master = null;
         final List<NodeId> standbys = Lists.newLinkedList();
 
-        List<NodeId> candidates = leadershipService.getCandidates(createDeviceMastershipTopic(deviceId));
+        List<NodeId> candidates = leadershipService.getCandidates(topicOf(deviceId));
 
         for (Map.Entry<NodeId, MastershipRole> entry : roles.entrySet()) {
             if (entry.getValue() == MastershipRole.MASTER) {
@@ -214,6 +341,15 @@ public class ConsistentDeviceMastershipStore
         // MastershipService cannot listen to DeviceEvent to GC removed topic,
         // since DeviceManager depend on it.
         // Reference count, etc. at LeadershipService layer?
+        if (useMastershipBuckets) {
+            MastershipBuckets current = buckets;
+            return leadershipService
+                    .ownedTopics(nodeId)
+                    .stream()
+                    .filter(current::isBucketTopic)
+                    .flatMap(topic -> current.devicesOf(topic).stream())
+                    .collect(Collectors.toSet());
+        }
         return leadershipService
                 .ownedTopics(nodeId)
                 .stream()
@@ -227,10 +363,22 @@ public class ConsistentDeviceMastershipStore
         checkArgument(nodeId != null, NODE_ID_NULL);
         checkArgument(deviceId != null, DEVICE_ID_NULL);
 
-        String leadershipTopic = createDeviceMastershipTopic(deviceId);
+        String leadershipTopic = topicOf(deviceId);
+        // With mastership buckets several devices map onto the same topic;
+        // only one handoff per topic and target node needs to be scheduled.
+        if (nodeId.equals(pendingTransfers.get(leadershipTopic))) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (useMastershipBuckets) {
+            log.info("Moving mastership of {} devices in {} along with {} to {}",
+                     buckets.devicesOf(leadershipTopic).size(), leadershipTopic, deviceId, nodeId);
+        }
         if (leadershipAdminService.promoteToTopOfCandidateList(leadershipTopic, nodeId)) {
-            transferExecutor.schedule(() -> leadershipAdminService.transferLeadership(leadershipTopic, nodeId),
-                    WAIT_BEFORE_MASTERSHIP_HANDOFF_MILLIS, TimeUnit.MILLISECONDS);
+            pendingTransfers.put(leadershipTopic, nodeId);
+            transferExecutor.schedule(() -> {
+                        pendingTransfers.remove(leadershipTopic, nodeId);
+                        leadershipAdminService.transferLeadership(leadershipTopic, nodeId);
+                    }, WAIT_BEFORE_MASTERSHIP_HANDOFF_MILLIS, TimeUnit.MILLISECONDS);
         }
         return CompletableFuture.completedFuture(null);
     }
@@ -239,7 +387,7 @@ public class ConsistentDeviceMastershipStore
     public MastershipTerm getTermFor(DeviceId deviceId) {
         checkArgument(deviceId != null, DEVICE_ID_NULL);
 
-        String leadershipTopic = createDeviceMastershipTopic(deviceId);
+        String leadershipTopic = topicOf(deviceId);
         Leadership leadership = leadershipService.getLeadership(leadershipTopic);
         return leadership != null && leadership.leaderNodeId() != null ?
             MastershipTerm.of(leadership.leaderNodeId(), leadership.leader().term()) : null;
@@ -255,7 +403,7 @@ public class ConsistentDeviceMastershipStore
             return CompletableFuture.completedFuture(null);
         }
 
-        String leadershipTopic = createDeviceMastershipTopic(deviceId);
+        String leadershipTopic = topicOf(deviceId);
         List<NodeId> candidates = leadershipService.getCandidates(leadershipTopic);
 
         NodeId newMaster = candidates.stream()
@@ -293,10 +441,24 @@ public class ConsistentDeviceMastershipStore
     private CompletableFuture<MastershipEvent> relinquishLocalRole(DeviceId deviceId) {
         checkArgument(deviceId != null, DEVICE_ID_NULL);
 
-        String leadershipTopic = createDeviceMastershipTopic(deviceId);
+        localDevices.remove(deviceId);
+        if (useMastershipBuckets) {
+            unregisterLocalDevice(deviceId);
+        }
+        String leadershipTopic = topicOf(deviceId);
         if (!leadershipService.getCandidates(leadershipTopic).contains(localNodeId)) {
             return CompletableFuture.completedFuture(null);
         }
+        if (useMastershipBuckets) {
+            MastershipBuckets current = buckets;
+            int bucket = current.bucketOf(deviceId);
+            boolean bucketStillInUse = localDevices.stream()
+                    .anyMatch(other -> current.bucketOf(other) == bucket);
+            if (bucketStillInUse) {
+                // other local devices share the bucket; the candidacy must be retained
+                return CompletableFuture.completedFuture(null);
+            }
+        }
         MastershipEvent.Type eventType = localNodeId.equals(leadershipService.getLeader(leadershipTopic)) ?
                 MastershipEvent.Type.MASTER_CHANGED : MastershipEvent.Type.BACKUPS_CHANGED;
         leadershipService.withdraw(leadershipTopic);
@@ -313,7 +475,7 @@ public class ConsistentDeviceMastershipStore
         @Override
         public boolean isRelevant(LeadershipEvent event) {
             Leadership leadership = event.subject();
-            return isDeviceMastershipTopic(leadership.topic());
+            return isDeviceMastershipTopic(leadership.topic()) || buckets.isBucketTopic(leadership.topic());
         }
 
         @Override
@@ -322,8 +484,13 @@ public class ConsistentDeviceMastershipStore
         }
 
         private void handleEvent(LeadershipEvent event) {
-            Leadership leadership = event.subject();
-            DeviceId deviceId = extractDeviceIdFromTopic(leadership.topic());
+            String topic = event.subject().topic();
+            Set<DeviceId> deviceIds = isDeviceMastershipTopic(topic) ?
+                    ImmutableSet.of(extractDeviceIdFromTopic(topic)) : buckets.devicesOf(topic);
+            deviceIds.forEach(deviceId -> handleEvent(event, deviceId));
+        }
+
+        private void handleEvent(LeadershipEvent event, DeviceId deviceId) {
             RoleInfo roleInfo = event.type() != LeadershipEvent.Type.SERVICE_DISRUPTED ?
                     getNodes(deviceId) : new RoleInfo();
             switch (event.type()) {
@@ -349,6 +516,66 @@ public class ConsistentDeviceMastershipStore
         }
     }
 
+    private class InternalBucketDeviceListener implements MapEventListener<DeviceId, Set<NodeId>> {
+
+        @Override
+        public void event(MapEvent<DeviceId, Set<NodeId>> event) {
+            if (event.type() == MapEvent.Type.INSERT) {
+                buckets.addDevice(event.key());
+            } else if (event.type() == MapEvent.Type.REMOVE) {
+                buckets.removeDevice(event.key());
+            }
+        }
+    }
+
+    /**
+     * Runs for the leadership topic that decides mastership of a device, unless
+     * the local node already is a candidate for it.
+     *
+     * @param deviceId device identifier
+     * @return current leadership for the device topic
+     */
+    private Leadership registerLocalCandidacy(DeviceId deviceId) {
+        if (!useMastershipBuckets) {
+            return leadershipService.runForLeadership(createDeviceMastershipTopic(deviceId));
+        }
+        MastershipBuckets current = buckets;
+        bucketDevices.computeIf(deviceId,
+                nodes -> nodes == null || !nodes.contains(localNodeId),
+                (id, nodes) -> nodes == null ? ImmutableSet.of(localNodeId) :
+                        ImmutableSet.<NodeId>builder().addAll(nodes).add(localNodeId).build());
+        current.addDevice(deviceId);
+        String topic = current.topicOf(deviceId);
+        Leadership leadership = leadershipService.getLeadership(topic);
+        if (leadership != null && leadership.candidates().contains(localNodeId)) {
+            return leadership;
+        }
+        return leadershipService.runForLeadership(topic);
+    }
+
+    /**
+     * Withdraws the local registration of a device, and removes the device from
+     * its bucket if no other node registered it.
+     *
+     * @param deviceId device identifier
+     */
+    private void unregisterLocalDevice(DeviceId deviceId) {
+        Versioned<Set<NodeId>> nodes = bucketDevices.computeIf(deviceId,
+                registered -> registered != null && registered.contains(localNodeId),
+                (id, registered) -> Sets.difference(registered, ImmutableSet.of(localNodeId)).immutableCopy());
+        if (nodes != null && nodes.value().isEmpty()) {
+            // fails if a node registered the device meanwhile
+            bucketDevices.remove(deviceId, nodes.version());
+        }
+    }
+
+    private String topicOf(DeviceId deviceId) {
+        if (useMastershipBuckets) {
+            return buckets.topicOf(deviceId);
+        }
+        return createDeviceMastershipTopic(deviceId);
+    }
+
     private String createDeviceMastershipTopic(DeviceId deviceId) {
         return String.format("device:%s", deviceId.toString());
     }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.mastership.impl;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.onosproject.net.DeviceId;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Consistent-hash assignment of devices to a fixed number of mastership buckets.
+ * <p>
+ * Each bucket is backed by a single leadership topic; the leader of the bucket
+ * is the master of every device hashed into it. The mapping only depends on the
+ * device identifier and the number of buckets, so all instances agree on it
+ * without coordination. Bucket membership is only an index; the store feeds it
+ * from the replicated set of devices registered for mastership.
+ */
+final class MastershipBuckets {
+
+    private static final String BUCKET_TOPIC_FORMAT = "device-bucket:%d";
+    private static final Pattern BUCKET_TOPIC_PATTERN = Pattern.compile("device-bucket:(\\d+)");
+
+    private final int bucketCount;
+    private final Map<Integer, Set<DeviceId>> bucketDevices = Maps.newConcurrentMap();
+
+    /**
+     * Creates a new set of mastership buckets.
+     *
+     * @param bucketCount number of buckets
+     */
+    MastershipBuckets(int bucketCount) {
+        checkArgument(bucketCount > 0, "Bucket count must be positive");
+        this.bucketCount = bucketCount;
+    }
+
+    /**
+     * Returns the number of buckets.
+     *
+     * @return bucket count
+     */
+    int bucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Returns the bucket a device belongs to.
+     *
+     * @param deviceId device identifier
+     * @return bucket index
+     */
+    int bucketOf(DeviceId deviceId) {
+        return Hashing.consistentHash(Hashing.murmur3_32().hashString(deviceId.toString(), UTF_8), bucketCount);
+    }
+
+    /**
+     * Returns the leadership topic of the bucket a device belongs to.
+     *
+     * @param deviceId device identifier
+     * @return bucket leadership topic
+     */
+    String topicOf(DeviceId deviceId) {
+        return topicOf(bucketOf(deviceId));
+    }
+
+    /**
+     * Returns the leadership topic of a bucket.
+     *
+     * @param bucket bucket index
+     * @return bucket leadership topic
+     */
+    String topicOf(int bucket) {
+        return String.format(BUCKET_TOPIC_FORMAT, bucket);
+    }
+
+    /**
+     * Returns whether a leadership topic is a bucket topic.
+     *
+     * @param topic leadership topic
+     * @return true if the topic names a mastership bucket
+     */
+    boolean isBucketTopic(String topic) {
+        return BUCKET_TOPIC_PATTERN.matcher(topic).matches();
+    }
+
+    /**
+     * Returns the bucket named by a leadership topic.
+     *
+     * @param topic bucket leadership topic
+     * @return bucket index
+     */
+    int bucketOfTopic(String topic) {
+        Matcher m = BUCKET_TOPIC_PATTERN.matcher(topic);
+        if (m.matches()) {
+            return Integer.parseInt(m.group(1));
+        } else {
+            throw new IllegalArgumentException("Invalid mastership bucket topic: " + topic);
+        }
+    }
+
+    /**
+     * Records a device as a member of its bucket.
+     *
+     * @param deviceId device identifier
+     * @return bucket index of the device
+     */
+    int addDevice(DeviceId deviceId) {
+        int bucket = bucketOf(deviceId);
+        bucketDevices.computeIfAbsent(bucket, b -> Sets.newConcurrentHashSet()).add(deviceId);
+        return bucket;
+    }
+
+    /**
+     * Removes a device from its bucket.
+     *
+     * @param deviceId device identifier
+     */
+    void removeDevice(DeviceId deviceId) {
+        Set<DeviceId> devices = bucketDevices.get(bucketOf(deviceId));
+        if (devices != null) {
+            devices.remove(deviceId);
+        }
+    }
+
+    /**
+     * Returns whether a device is recorded as a member of its bucket.
+     *
+     * @param deviceId device identifier
+     * @return true if the device is a known member
+     */
+    boolean contains(DeviceId deviceId) {
+        Set<DeviceId> devices = bucketDevices.get(bucketOf(deviceId));
+        return devices != null && devices.contains(deviceId);
+    }
+
+    /**
+     * Returns the devices known to be members of a bucket.
+     *
+     * @param bucket bucket index
+     * @return set of device identifiers
+     */
+    Set<DeviceId> devicesOf(int bucket) {
+        Set<DeviceId> devices = bucketDevices.get(bucket);
+        return devices == null ? ImmutableSet.of() : ImmutableSet.copyOf(devices);
+    }
+
+    /**
+     * Returns the devices known to be members of the bucket named by a topic.
+     *
+     * @param topic bucket leadership topic
+     * @return set of device identifiers
+     */
+    Set<DeviceId> devicesOf(String topic) {
+        return devicesOf(bucketOfTopic(topic));
+    }
+}
@@ -23,7 +23,10 @@ import org.onosproject.net.resource.Resource;
 import org.onosproject.net.resource.ResourceAllocation;
 import org.onosproject.net.resource.ResourceConsumerId;
 import org.onosproject.net.resource.Resources;
+import org.onosproject.store.service.AsyncConsistentMap;
 import org.onosproject.store.service.ConsistentMap;
+import org.onosproject.store.service.MapEvent;
+import org.onosproject.store.service.MapEventListener;
 import org.onosproject.store.service.StorageService;
 import org.onosproject.store.service.TransactionContext;
 import org.onosproject.store.service.Versioned;
@@ -31,25 +34,36 @@ import org.onosproject.store.service.Versioned;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.onosproject.store.resource.impl.ConsistentResourceStore.SERIALIZER;
 
 class ConsistentDiscreteResourceSubStore {
+    private AsyncConsistentMap<DiscreteResourceId, ResourceConsumerId> asyncConsumers;
     private ConsistentMap<DiscreteResourceId, ResourceConsumerId> consumers;
     private ConsistentMap<DiscreteResourceId, DiscreteResources> childMap;
+    // allocated (and leased) children by parent, following the consumer map
+    private final ConcurrentMap<DiscreteResourceId, DiscreteResources> allocatedChildren = new ConcurrentHashMap<>();
 
     ConsistentDiscreteResourceSubStore(StorageService service) {
-        this.consumers = service.<DiscreteResourceId, ResourceConsumerId>consistentMapBuilder()
+        this.asyncConsumers = service.<DiscreteResourceId, ResourceConsumerId>consistentMapBuilder()
                 .withName(MapNames.DISCRETE_CONSUMER_MAP)
                 .withSerializer(SERIALIZER)
-                .build();
+                .buildAsyncMap();
+        this.consumers = asyncConsumers.asConsistentMap();
         this.childMap = service.<DiscreteResourceId, DiscreteResources>consistentMapBuilder()
                 .withName(MapNames.DISCRETE_CHILD_MAP)
                 .withSerializer(SERIALIZER)
                 .build();
 
         childMap.put(Resource.ROOT.id(), DiscreteResources.empty());
+
+        asyncConsumers.addListener(new InternalConsumerListener());
+        consumers.keySet().forEach(this::addAllocated);
     }
 
     TransactionalDiscreteResourceSubStore transactional(TransactionContext tx) {
@@ -96,9 +110,38 @@ class ConsistentDiscreteResourceSubStore {
             return Stream.of();
         }
 
-        return children.stream()
+        List<DiscreteResourceId> ids = children.stream()
                 .filter(x -> x.isTypeOf(cls))
-                .filter(x -> consumers.containsKey(x.id()));
+                .map(DiscreteResource::id)
+                .collect(Collectors.toList());
+        Set<DiscreteResourceId> allocated = consumers.getAll(ids).keySet();
+        return children.stream()
+                .filter(x -> allocated.contains(x.id()));
+    }
+
+    // the allocated children are subtracted from the registered ones with their bitmaps,
+    // and the free values are decoded lazily, as the stream is consumed.
+    // The allocated children are followed through map events, so the result may lag
+    // behind allocations made an instant ago; allocating a resource checks it again.
+    <T> Stream<DiscreteResource> getUnallocatedResources(DiscreteResourceId parent, Class<T> cls) {
+        Versioned<DiscreteResources> children = childMap.get(parent);
+
+        if (children == null) {
+            return Stream.of();
+        }
+
+        return children.value().valuesExcept(cls, allocatedChildren.getOrDefault(parent, DiscreteResources.empty()));
+    }
+
+    // moves an allocation from one consumer to another without a transaction
+    CompletableFuture<Boolean> reallocate(DiscreteResource resource,
+                                          ResourceConsumerId oldConsumerId, ResourceConsumerId newConsumerId) {
+        return asyncConsumers.replace(resource.id(), oldConsumerId, newConsumerId);
+    }
+
+    // releases an allocation without a transaction
+    CompletableFuture<Boolean> release(DiscreteResource resource, ResourceConsumerId consumerId) {
+        return asyncConsumers.remove(resource.id(), consumerId);
     }
 
     Stream<DiscreteResource> getResources(ResourceConsumerId consumerId) {
@@ -107,4 +150,35 @@ class ConsistentDiscreteResourceSubStore {
                 .map(Map.Entry::getKey)
                 .map(x -> Resources.discrete(x).resource());
     }
+
+    private void addAllocated(DiscreteResourceId id) {
+        id.parent().ifPresent(parent -> allocatedChildren.merge(
+                parent, DiscreteResources.of(ImmutableSet.of(Resources.discrete(id).resource())),
+                DiscreteResources::add));
+    }
+
+    private void removeAllocated(DiscreteResourceId id) {
+        id.parent().ifPresent(parent -> allocatedChildren.computeIfPresent(parent, (k, allocated) -> {
+            DiscreteResources remaining =
+                    allocated.difference(DiscreteResources.of(ImmutableSet.of(Resources.discrete(id).resource())));
+            return remaining.isEmpty() ? null : remaining;
+        }));
+    }
+
+    private class InternalConsumerListener implements MapEventListener<DiscreteResourceId, ResourceConsumerId> {
+        @Override
+        public void event(MapEvent<DiscreteResourceId, ResourceConsumerId> event) {
+            switch (event.type()) {
+                case INSERT:
+                    addAllocated(event.key());
+                    break;
+                case REMOVE:
+                    removeAllocated(event.key());
+                    break;
+                default:
+                    // a reallocation keeps the resource allocated
+                    break;
+            }
+        }
+    }
 }
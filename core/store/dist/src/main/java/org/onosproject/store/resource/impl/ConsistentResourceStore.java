@@ -15,15 +15,28 @@
  */
 package org.onosproject.store.resource.impl;
 
+import com.codahale.metrics.Timer;
 import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
+import org.apache.felix.scr.annotations.Deactivate;
+import org.apache.felix.scr.annotations.Modified;
+import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
+import org.onlab.metrics.MetricsService;
+import org.onlab.packet.MplsLabel;
+import org.onlab.packet.VlanId;
 import org.onlab.util.KryoNamespace;
 import org.onlab.util.Tools;
+import org.onosproject.cfg.ComponentConfigService;
+import org.onosproject.cluster.ClusterService;
+import org.onosproject.core.MetricsHelper;
 import org.onosproject.net.resource.ContinuousResource;
 import org.onosproject.net.resource.ContinuousResourceId;
 import org.onosproject.net.resource.DiscreteResource;
@@ -43,35 +56,60 @@ import org.onosproject.store.service.CommitStatus;
 import org.onosproject.store.service.Serializer;
 import org.onosproject.store.service.StorageService;
 import org.onosproject.store.service.TransactionContext;
+import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Dictionary;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.onlab.metrics.MetricsUtil.startTimer;
+import static org.onlab.metrics.MetricsUtil.stopTimer;
+import static org.onlab.util.Tools.groupedThreads;
 import static org.onosproject.net.resource.ResourceEvent.Type.RESOURCE_ADDED;
 import static org.onosproject.net.resource.ResourceEvent.Type.RESOURCE_REMOVED;
 
 /**
  * Implementation of ResourceStore using TransactionalMap.
+ * <p>
+ * Optionally, each node leases blocks of free VLAN IDs and MPLS labels per
+ * port and allocates them to consumers with a compare-and-set on each leased
+ * resource rather than a distributed transaction. All other resources are
+ * allocated transactionally.
  */
 @Component(immediate = true)
 @Service
 @Beta
 public class ConsistentResourceStore extends AbstractStore<ResourceEvent, ResourceStoreDelegate>
-        implements ResourceStore {
+        implements ResourceStore, MetricsHelper {
     private static final Logger log = LoggerFactory.getLogger(ConsistentResourceStore.class);
 
+    private static final int DEFAULT_DISCRETE_LEASE_SIZE = 0;
+
+    // types of the discrete resources handed out from leases
+    private static final Set<Class<?>> LEASED_TYPES = ImmutableSet.of(VlanId.class, MplsLabel.class);
+
+    private static final String METRICS_COMPONENT = "ResourceStore";
+    private static final String ALLOCATE = "allocate";
+    private static final String RELEASE = "release";
+    private static final String LEASED = "leased";
+    private static final String TRANSACTIONAL = "transactional";
+
     static final Serializer SERIALIZER = Serializer.using(KryoNamespace.newBuilder()
             .register(KryoNamespaces.API)
             .register(UnifiedDiscreteResources.class)
@@ -85,20 +123,93 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
             .register(MplsLabelCodec.class)
             .build());
 
+    @Property(name = "discreteLeaseSize", intValue = DEFAULT_DISCRETE_LEASE_SIZE,
+            label = "Number of free VLAN IDs and MPLS labels of a port leased by each node " +
+                    "for allocation without a transaction; 0 disables leasing")
+    private int discreteLeaseSize = DEFAULT_DISCRETE_LEASE_SIZE;
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected StorageService service;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected ClusterService clusterService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected ComponentConfigService configService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected MetricsService metricsService;
+
     private ConsistentDiscreteResourceSubStore discreteStore;
     private ConsistentContinuousResourceSubStore continuousStore;
 
+    private DiscreteResourceLeases leases;
+    private ExecutorService leaseExecutor;
+    // parent and type of the resources being leased
+    private final Set<Map.Entry<DiscreteResourceId, Class<?>>> pendingLeases = Sets.newConcurrentHashSet();
+
+    private Timer leasedAllocateTimer;
+    private Timer transactionalAllocateTimer;
+    private Timer leasedReleaseTimer;
+    private Timer transactionalReleaseTimer;
+
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
         discreteStore = new ConsistentDiscreteResourceSubStore(service);
         continuousStore = new ConsistentContinuousResourceSubStore(service);
 
+        leases = new DiscreteResourceLeases(DiscreteResourceLeases.holderOf(clusterService.getLocalNode().id()));
+        leaseExecutor = newSingleThreadExecutor(groupedThreads("onos/store/resource", "lease", log));
+        // leases taken before a restart are not tracked anymore
+        leaseExecutor.execute(() -> discreteStore.getResources(leases.holder())
+                .forEach(x -> discreteStore.release(x, leases.holder())));
+
+        leasedAllocateTimer = createTimer(METRICS_COMPONENT, ALLOCATE, LEASED);
+        transactionalAllocateTimer = createTimer(METRICS_COMPONENT, ALLOCATE, TRANSACTIONAL);
+        leasedReleaseTimer = createTimer(METRICS_COMPONENT, RELEASE, LEASED);
+        transactionalReleaseTimer = createTimer(METRICS_COMPONENT, RELEASE, TRANSACTIONAL);
+
+        configService.registerProperties(getClass());
+        modified(context);
+
         log.info("Started");
     }
 
+    @Deactivate
+    public void deactivate() {
+        configService.unregisterProperties(getClass(), false);
+        leaseExecutor.shutdownNow();
+        returnLeases();
+
+        log.info("Stopped");
+    }
+
+    @Modified
+    public void modified(ComponentContext context) {
+        if (context == null) {
+            return;
+        }
+
+        Dictionary<?, ?> properties = context.getProperties();
+        int newLeaseSize = Tools.getIntegerProperty(properties, "discreteLeaseSize", discreteLeaseSize);
+        if (newLeaseSize < 0) {
+            log.warn("Invalid discreteLeaseSize {}; leaving it at {}", newLeaseSize, discreteLeaseSize);
+            return;
+        }
+        if (newLeaseSize != discreteLeaseSize) {
+            discreteLeaseSize = newLeaseSize;
+            if (discreteLeaseSize == 0) {
+                returnLeases();
+            }
+            log.info("Configured. Discrete resource lease size is {}", discreteLeaseSize);
+        }
+    }
+
+    @Override
+    public MetricsService metricsService() {
+        return metricsService;
+    }
+
     // Computational complexity: O(1) if the resource is discrete type.
     // O(n) if the resource is continuous type where n is the number of the existing allocations for the resource
     @Override
@@ -107,6 +218,9 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
         checkArgument(id instanceof DiscreteResourceId || id instanceof ContinuousResourceId);
 
         if (id instanceof DiscreteResourceId) {
+            if (leases.isFree(Resources.discrete((DiscreteResourceId) id).resource())) {
+                return ImmutableList.of();
+            }
             return discreteStore.getResourceAllocations((DiscreteResourceId) id);
         } else {
             return continuousStore.getResourceAllocations((ContinuousResourceId) id);
@@ -215,6 +329,40 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
         checkNotNull(resources);
         checkNotNull(consumer);
 
+        List<DiscreteResource> leased = new ArrayList<>();
+        List<Resource> others = new ArrayList<>();
+        for (Resource resource : resources) {
+            if (resource instanceof DiscreteResource && leases.isFree((DiscreteResource) resource)) {
+                leased.add((DiscreteResource) resource);
+            } else {
+                others.add(resource);
+            }
+        }
+        if (!leases.assign(leased, consumer.consumerId())) {
+            // some of them have just been assigned to another consumer
+            return false;
+        }
+
+        Timer.Context timer = startTimer(others.isEmpty() ? leasedAllocateTimer : transactionalAllocateTimer);
+        try {
+            if (!allocateLeased(leased, consumer.consumerId())) {
+                return false;
+            }
+            if (!others.isEmpty() && !allocateTransactionally(others, consumer)) {
+                releaseLeased(leased.stream()
+                        .map(x -> new ResourceAllocation(x, consumer))
+                        .collect(Collectors.toList()));
+                return false;
+            }
+        } finally {
+            stopTimer(timer);
+        }
+
+        requestLeases(resources);
+        return true;
+    }
+
+    private boolean allocateTransactionally(List<Resource> resources, ResourceConsumer consumer) {
         TransactionContext tx = service.transactionContextBuilder().build();
         tx.begin();
 
@@ -239,6 +387,30 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
     public boolean release(List<ResourceAllocation> allocations) {
         checkNotNull(allocations);
 
+        List<ResourceAllocation> leased = new ArrayList<>();
+        List<ResourceAllocation> others = new ArrayList<>();
+        for (ResourceAllocation allocation : allocations) {
+            Resource resource = allocation.resource();
+            if (resource instanceof DiscreteResource &&
+                    leases.isAssigned((DiscreteResource) resource, allocation.consumerId())) {
+                leased.add(allocation);
+            } else {
+                others.add(allocation);
+            }
+        }
+
+        Timer.Context timer = startTimer(others.isEmpty() ? leasedReleaseTimer : transactionalReleaseTimer);
+        try {
+            if (!others.isEmpty() && !releaseTransactionally(others)) {
+                return false;
+            }
+            return releaseLeased(leased);
+        } finally {
+            stopTimer(timer);
+        }
+    }
+
+    private boolean releaseTransactionally(List<ResourceAllocation> allocations) {
         TransactionContext tx = service.transactionContextBuilder().build();
         tx.begin();
 
@@ -262,6 +434,144 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
         return tx.commit().join() == CommitStatus.SUCCESS;
     }
 
+    /**
+     * Records the consumer of leased resources already assigned to it, in
+     * place of the lease holder. If one of the resources is not held by the
+     * lease holder anymore, the allocation is undone.
+     *
+     * @param resources  leased resources
+     * @param consumerId consumer of the resources
+     * @return true if the operation succeeds, false otherwise
+     */
+    private boolean allocateLeased(List<DiscreteResource> resources, ResourceConsumerId consumerId) {
+        List<CompletableFuture<Boolean>> futures = resources.stream()
+                .map(x -> discreteStore.reallocate(x, leases.holder(), consumerId))
+                .collect(Collectors.toList());
+        List<DiscreteResource> lost = new ArrayList<>();
+        List<ResourceAllocation> succeeded = new ArrayList<>();
+        for (int i = 0; i < resources.size(); i++) {
+            if (succeeded(futures.get(i))) {
+                succeeded.add(new ResourceAllocation(resources.get(i), consumerId));
+            } else {
+                lost.add(resources.get(i));
+            }
+        }
+        if (lost.isEmpty()) {
+            return true;
+        }
+
+        log.debug("Lost the lease of {}", lost);
+        leases.remove(lost);
+        releaseLeased(succeeded);
+        return false;
+    }
+
+    /**
+     * Returns leased resources from their consumers to the lease holder.
+     *
+     * @param allocations allocations of leased resources
+     * @return true if the operation succeeds, false otherwise
+     */
+    private boolean releaseLeased(List<ResourceAllocation> allocations) {
+        List<CompletableFuture<Boolean>> futures = allocations.stream()
+                .map(x -> discreteStore.reallocate((DiscreteResource) x.resource(), x.consumerId(), leases.holder()))
+                .collect(Collectors.toList());
+        List<DiscreteResource> released = new ArrayList<>();
+        List<DiscreteResource> lost = new ArrayList<>();
+        for (int i = 0; i < allocations.size(); i++) {
+            DiscreteResource resource = (DiscreteResource) allocations.get(i).resource();
+            if (succeeded(futures.get(i))) {
+                released.add(resource);
+            } else {
+                lost.add(resource);
+            }
+        }
+        leases.unassign(released);
+        leases.remove(lost);
+        return lost.isEmpty();
+    }
+
+    private static boolean succeeded(CompletableFuture<Boolean> future) {
+        return future.exceptionally(error -> {
+            log.warn("Failed to update a leased resource", error);
+            return false;
+        }).join();
+    }
+
+    /**
+     * Leases more resources of the types handed out from leases, under the
+     * parents of the given resources, if few of them are left.
+     *
+     * @param resources resources just allocated
+     */
+    private void requestLeases(List<? extends Resource> resources) {
+        int leaseSize = discreteLeaseSize;
+        if (leaseSize == 0) {
+            return;
+        }
+
+        for (Resource resource : resources) {
+            if (!(resource instanceof DiscreteResource) || !resource.parent().isPresent()) {
+                continue;
+            }
+            DiscreteResourceId parent = resource.parent().get().id();
+            LEASED_TYPES.stream()
+                    .filter(resource::isTypeOf)
+                    .filter(type -> leases.freeCount(parent, type) * 2 < leaseSize)
+                    .map(type -> Maps.<DiscreteResourceId, Class<?>>immutableEntry(parent, type))
+                    .filter(pendingLeases::add)
+                    .forEach(key -> leaseExecutor.execute(() -> {
+                        try {
+                            lease(key.getKey(), key.getValue());
+                        } finally {
+                            pendingLeases.remove(key);
+                        }
+                    }));
+        }
+    }
+
+    private void lease(DiscreteResourceId parent, Class<?> type) {
+        int wanted = discreteLeaseSize - leases.freeCount(parent, type);
+        if (wanted <= 0) {
+            return;
+        }
+
+        List<DiscreteResource> candidates = discreteStore.getUnallocatedResources(parent, type)
+                .limit(wanted)
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        TransactionContext tx = service.transactionContextBuilder().build();
+        tx.begin();
+
+        TransactionalDiscreteResourceSubStore discreteTxStore = discreteStore.transactional(tx);
+        for (DiscreteResource candidate : candidates) {
+            if (!discreteTxStore.allocate(leases.holder(), candidate)) {
+                abortTransaction(tx);
+                return;
+            }
+        }
+
+        try {
+            if (tx.commit().join() == CommitStatus.SUCCESS) {
+                leases.add(candidates);
+                log.debug("Leased {} {} resources under {}", candidates.size(), type.getSimpleName(), parent);
+            } else {
+                // some candidates have been allocated meanwhile; the next allocation tries again
+                log.debug("Failed to lease {} resources under {}", type.getSimpleName(), parent);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to lease {} resources under {}", type.getSimpleName(), parent, e);
+        }
+    }
+
+    // the store entries of the leases are also removed on the next activation if this fails
+    private void returnLeases() {
+        leases.removeFree().forEach(x -> discreteStore.release(x, leases.holder()));
+    }
+
     // computational complexity: O(1) if the resource is discrete type.
     // O(n) if the resource is continuous type where n is the number of the children of
     // the specified resource's parent
@@ -271,8 +581,9 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
         checkArgument(resource instanceof DiscreteResource || resource instanceof ContinuousResource);
 
         if (resource instanceof DiscreteResource) {
-            // check if already consumed
-            return discreteStore.isAvailable((DiscreteResource) resource);
+            // check if already consumed, or leased but still free
+            return leases.isFree((DiscreteResource) resource)
+                    || discreteStore.isAvailable((DiscreteResource) resource);
         } else {
             return continuousStore.isAvailable((ContinuousResource) resource);
         }
@@ -320,7 +631,8 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
         checkNotNull(parent);
         checkNotNull(cls);
 
-        Stream<DiscreteResource> discrete = discreteStore.getAllocatedResources(parent, cls);
+        Stream<DiscreteResource> discrete = discreteStore.getAllocatedResources(parent, cls)
+                .filter(x -> !leases.isFree(x));
         Stream<ContinuousResource> continuous = continuousStore.getAllocatedResources(parent, cls);
 
         return Stream.concat(discrete, continuous).collect(Collectors.toList());
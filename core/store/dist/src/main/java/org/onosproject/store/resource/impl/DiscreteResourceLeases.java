@@ -0,0 +1,196 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.resource.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.net.resource.DiscreteResource;
+import org.onosproject.net.resource.DiscreteResourceId;
+import org.onosproject.net.resource.ResourceConsumer;
+import org.onosproject.net.resource.ResourceConsumerId;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Discrete resources leased by the local node.
+ * <p>
+ * A leased resource is allocated to the lease holder of the node in the
+ * consistent store, so other nodes regard it as unavailable, while the local
+ * node hands it out to its consumers without a distributed transaction.
+ */
+final class DiscreteResourceLeases {
+
+    private final ResourceConsumerId holder;
+
+    // leased resources not assigned to a consumer, by parent
+    private final Map<DiscreteResourceId, Set<DiscreteResource>> free = new HashMap<>();
+    private final Map<DiscreteResourceId, ResourceConsumerId> assigned = new HashMap<>();
+
+    /**
+     * Creates an empty set of leases.
+     *
+     * @param holder consumer holding the leased resources in the store
+     */
+    DiscreteResourceLeases(ResourceConsumerId holder) {
+        this.holder = checkNotNull(holder);
+    }
+
+    /**
+     * Returns the consumer holding the leases of a node.
+     *
+     * @param nodeId node identifier
+     * @return lease holder
+     */
+    static ResourceConsumerId holderOf(NodeId nodeId) {
+        long value = Hashing.sipHash24().hashString(nodeId.id(), UTF_8).asLong();
+        return ResourceConsumerId.of(value, LeaseHolder.class);
+    }
+
+    /**
+     * Returns the consumer holding the leased resources in the store.
+     *
+     * @return lease holder
+     */
+    ResourceConsumerId holder() {
+        return holder;
+    }
+
+    /**
+     * Adds newly leased resources.
+     *
+     * @param resources resources allocated to the lease holder
+     */
+    synchronized void add(Collection<DiscreteResource> resources) {
+        resources.forEach(x -> free.computeIfAbsent(x.id().parent().get(), k -> new LinkedHashSet<>()).add(x));
+    }
+
+    /**
+     * Returns whether a resource is leased and not assigned to any consumer.
+     *
+     * @param resource resource
+     * @return true if the resource can be assigned
+     */
+    synchronized boolean isFree(DiscreteResource resource) {
+        return resource.id().parent()
+                .map(free::get)
+                .map(siblings -> siblings.contains(resource))
+                .orElse(false);
+    }
+
+    /**
+     * Returns whether a resource is leased and assigned to the given consumer.
+     *
+     * @param resource resource
+     * @param consumer consumer
+     * @return true if the resource is assigned to the consumer
+     */
+    synchronized boolean isAssigned(DiscreteResource resource, ResourceConsumerId consumer) {
+        return consumer.equals(assigned.get(resource.id()));
+    }
+
+    /**
+     * Returns the number of leased resources of a type under a parent that
+     * are not assigned to any consumer.
+     *
+     * @param parent parent of the resources
+     * @param type type of the resources
+     * @return number of free resources
+     */
+    synchronized int freeCount(DiscreteResourceId parent, Class<?> type) {
+        Set<DiscreteResource> siblings = free.get(parent);
+        return siblings == null ? 0 : (int) siblings.stream().filter(x -> x.isTypeOf(type)).count();
+    }
+
+    /**
+     * Assigns free leased resources to a consumer. Either all or none of the
+     * resources are assigned.
+     *
+     * @param resources resources
+     * @param consumer consumer
+     * @return false if one of the resources is not free
+     */
+    synchronized boolean assign(List<DiscreteResource> resources, ResourceConsumerId consumer) {
+        if (!resources.stream().allMatch(this::isFree)) {
+            return false;
+        }
+        for (DiscreteResource resource : resources) {
+            removeFree(resource);
+            assigned.put(resource.id(), consumer);
+        }
+        return true;
+    }
+
+    /**
+     * Returns assigned resources to the free leased resources.
+     *
+     * @param resources resources
+     */
+    synchronized void unassign(List<DiscreteResource> resources) {
+        for (DiscreteResource resource : resources) {
+            if (assigned.remove(resource.id()) != null) {
+                free.computeIfAbsent(resource.id().parent().get(), k -> new LinkedHashSet<>()).add(resource);
+            }
+        }
+    }
+
+    /**
+     * Removes resources from the leases, whether assigned or not.
+     *
+     * @param resources resources
+     */
+    synchronized void remove(Collection<DiscreteResource> resources) {
+        for (DiscreteResource resource : resources) {
+            removeFree(resource);
+            assigned.remove(resource.id());
+        }
+    }
+
+    /**
+     * Removes and returns all the free leased resources. Assigned resources
+     * stay leased until they are released by their consumer.
+     *
+     * @return resources that were free
+     */
+    synchronized List<DiscreteResource> removeFree() {
+        ImmutableList.Builder<DiscreteResource> removed = ImmutableList.builder();
+        free.values().forEach(removed::addAll);
+        free.clear();
+        return removed.build();
+    }
+
+    private void removeFree(DiscreteResource resource) {
+        DiscreteResourceId parent = resource.id().parent().get();
+        Set<DiscreteResource> siblings = free.get(parent);
+        if (siblings != null && siblings.remove(resource) && siblings.isEmpty()) {
+            free.remove(parent);
+        }
+    }
+
+    /**
+     * Consumer type of the lease holders; never instantiated.
+     */
+    abstract static class LeaseHolder implements ResourceConsumer {
+    }
+}
@@ -20,6 +20,7 @@ import org.onosproject.net.resource.DiscreteResourceId;
 
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * A common API for a set of discrete resources.
@@ -100,4 +101,19 @@ interface DiscreteResources {
      * @return all of resources this instance holds and filtered by the specified type
      */
     <T> Set<DiscreteResource> valuesOf(Class<T> cls);
+
+    /**
+     * Returns the resources this instance holds, filtered by the specified type,
+     * that are not included in the given instance. The resources are looked up
+     * lazily, as the stream is consumed.
+     *
+     * @param cls class instance of the resource value
+     * @param excluded resources to leave out
+     * @param <T> type of the resource value
+     * @return resources of the specified type not included in the given instance
+     */
+    default <T> Stream<DiscreteResource> valuesExcept(Class<T> cls, DiscreteResources excluded) {
+        return valuesOf(cls).stream()
+                .filter(x -> !excluded.lookup(x.id()).isPresent());
+    }
 }
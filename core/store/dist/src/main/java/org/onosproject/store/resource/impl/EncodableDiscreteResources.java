@@ -173,6 +173,21 @@ final class EncodableDiscreteResources implements DiscreteResources {
                 .orElse(ImmutableSet.of());
     }
 
+    @Override
+    public <T> Stream<DiscreteResource> valuesExcept(Class<T> cls, DiscreteResources excluded) {
+        EncodedDiscreteResources values = map.get(cls);
+        if (values == null) {
+            return Stream.empty();
+        }
+        // the bitmaps of the same type are subtracted rather than looking up each resource
+        if (excluded instanceof EncodableDiscreteResources) {
+            return values.valuesExcept(parent.id(), ((EncodableDiscreteResources) excluded).map.get(cls));
+        } else if (excluded instanceof EmptyDiscreteResources) {
+            return values.valuesExcept(parent.id(), null);
+        }
+        return DiscreteResources.super.valuesExcept(cls, excluded);
+    }
+
     DiscreteResource parent() {
         return parent;
     }
@@ -16,10 +16,6 @@
 package org.onosproject.store.resource.impl;
 
 import com.google.common.base.MoreObjects;
-import com.google.common.collect.DiscreteDomain;
-import com.google.common.collect.Range;
-import com.google.common.collect.RangeSet;
-import com.google.common.collect.TreeRangeSet;
 import org.onlab.util.Tools;
 import org.onosproject.net.resource.DiscreteResource;
 import org.onosproject.net.resource.DiscreteResourceCodec;
@@ -30,7 +26,7 @@ import java.util.LinkedHashSet;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 
@@ -38,29 +34,27 @@ import static com.google.common.base.Preconditions.checkArgument;
  * Represents discrete resources encoded by a codec.
  */
 final class EncodedDiscreteResources {
-    private final RangeSet<Integer> rangeSet;
+    private final IntBitmap bitmap;
     private final DiscreteResourceCodec codec;
 
-    EncodedDiscreteResources(RangeSet<Integer> rangeSet, DiscreteResourceCodec codec) {
-        this.rangeSet = rangeSet;
+    EncodedDiscreteResources(IntBitmap bitmap, DiscreteResourceCodec codec) {
+        this.bitmap = bitmap;
         this.codec = codec;
     }
 
+    @SuppressWarnings("unchecked")
     static EncodedDiscreteResources of(Set<DiscreteResource> resources, DiscreteResourceCodec codec) {
-        RangeSet<Integer> rangeSet = TreeRangeSet.create();
-        resources.stream()
+        IntBitmap bitmap = IntBitmap.of(resources.stream()
                 .map(x -> x.valueAs(Object.class))
                 .flatMap(Tools::stream)
-                .map(x -> codec.encode(x))
-                .map(Range::singleton)
-                .map(x -> x.canonical(DiscreteDomain.integers()))
-                .forEach(rangeSet::add);
+                .mapToInt(x -> codec.encode(x))
+                .toArray());
 
-        return new EncodedDiscreteResources(rangeSet, codec);
+        return new EncodedDiscreteResources(bitmap, codec);
     }
 
-    RangeSet<Integer> rangeSet() {
-        return rangeSet;
+    IntBitmap bitmap() {
+        return bitmap;
     }
 
     DiscreteResourceCodec codec() {
@@ -68,52 +62,69 @@ final class EncodedDiscreteResources {
     }
 
     Set<DiscreteResource> values(DiscreteResourceId parent) {
-        return rangeSet.asRanges().stream()
-                .flatMapToInt(x1 -> IntStream.range(x1.lowerEndpoint(), x1.upperEndpoint()))
-                .boxed()
-                .map(x -> codec.decode(x))
+        return bitmap.stream()
+                .mapToObj(x -> codec.decode(x))
                 .map(x -> Resources.discrete(parent, x).resource())
                 .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
+    /**
+     * Returns the resources not included in the given resources, in ascending
+     * order of their encoded values. The bitmap of the given resources is
+     * removed from this one, and the remaining values are decoded lazily.
+     *
+     * @param parent parent of the resources
+     * @param excluded resources to leave out; null to leave out none
+     * @return resources not in the excluded resources
+     */
+    Stream<DiscreteResource> valuesExcept(DiscreteResourceId parent, EncodedDiscreteResources excluded) {
+        IntBitmap values = bitmap;
+        if (excluded != null) {
+            checkArgument(this.codec.getClass() == excluded.codec.getClass());
+            values = IntBitmap.copyOf(bitmap);
+            values.andNot(excluded.bitmap);
+        }
+        return values.stream()
+                .mapToObj(x -> codec.decode(x))
+                .map(x -> Resources.discrete(parent, x).resource());
+    }
+
     Class<?> encodedClass() {
-        Range<Integer> firstRange = rangeSet.asRanges().iterator().next();
-        return codec.decode(firstRange.lowerEndpoint()).getClass();
+        return codec.decode(bitmap.first()).getClass();
     }
 
     @SuppressWarnings("unchecked")
     boolean contains(DiscreteResource resource) {
         return resource.valueAs(Object.class)
-                .map(x -> codec.encode(x))
-                .map(rangeSet::contains)
+                .map(x -> bitmap.contains(codec.encode(x)))
                 .orElse(false);
     }
 
     EncodedDiscreteResources difference(EncodedDiscreteResources other) {
         checkArgument(this.codec.getClass() == other.codec.getClass());
 
-        RangeSet<Integer> newRangeSet = TreeRangeSet.create(this.rangeSet);
-        newRangeSet.removeAll(other.rangeSet);
+        IntBitmap newBitmap = IntBitmap.copyOf(this.bitmap);
+        newBitmap.andNot(other.bitmap);
 
-        return new EncodedDiscreteResources(newRangeSet, this.codec);
+        return new EncodedDiscreteResources(newBitmap, this.codec);
     }
 
     EncodedDiscreteResources add(EncodedDiscreteResources other) {
         checkArgument(this.codec.getClass() == other.codec.getClass());
 
-        RangeSet<Integer> newRangeSet = TreeRangeSet.create(this.rangeSet);
-        newRangeSet.addAll(other.rangeSet);
+        IntBitmap newBitmap = IntBitmap.copyOf(this.bitmap);
+        newBitmap.or(other.bitmap);
 
-        return new EncodedDiscreteResources(newRangeSet, this.codec);
+        return new EncodedDiscreteResources(newBitmap, this.codec);
     }
 
     boolean isEmpty() {
-        return rangeSet.isEmpty();
+        return bitmap.isEmpty();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(rangeSet, codec);
+        return Objects.hash(bitmap, codec);
     }
 
     @Override
@@ -125,14 +136,14 @@ final class EncodedDiscreteResources {
             return false;
         }
         final EncodedDiscreteResources other = (EncodedDiscreteResources) obj;
-        return Objects.equals(this.rangeSet, other.rangeSet)
+        return Objects.equals(this.bitmap, other.bitmap)
                 && Objects.equals(this.codec, other.codec);
     }
 
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
-                .add("rangeSet", rangeSet)
+                .add("bitmap", bitmap)
                 .add("codec", codec)
                 .toString();
     }
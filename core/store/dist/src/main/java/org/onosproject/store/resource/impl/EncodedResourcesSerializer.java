@@ -19,25 +19,22 @@ import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
-import com.google.common.collect.Range;
-import com.google.common.collect.RangeSet;
-import com.google.common.collect.TreeRangeSet;
 import org.onlab.util.ClosedOpenRange;
 import org.onosproject.net.resource.DiscreteResourceCodec;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Kryo Serializer for {@link EncodedDiscreteResources}.
+ * <p>
+ * The values are written as ranges of consecutive values, which keeps
+ * typical label and port sets to a few bytes.
  */
 final class EncodedResourcesSerializer extends Serializer<EncodedDiscreteResources> {
     @Override
     public void write(Kryo kryo, Output output, EncodedDiscreteResources object) {
-        List<ClosedOpenRange> ranges = object.rangeSet().asRanges().stream()
-                .map(ClosedOpenRange::of)
-                .collect(Collectors.toList());
+        List<ClosedOpenRange> ranges = object.bitmap().ranges();
         kryo.writeObject(output, ranges);
         kryo.writeClassAndObject(output, object.codec());
     }
@@ -48,10 +45,8 @@ final class EncodedResourcesSerializer extends Serializer<EncodedDiscreteResourc
         List<ClosedOpenRange> ranges = kryo.readObject(input, ArrayList.class);
         DiscreteResourceCodec codec = (DiscreteResourceCodec) kryo.readClassAndObject(input);
 
-        RangeSet<Integer> rangeSet = TreeRangeSet.create();
-        ranges.stream()
-                .map(x -> Range.closedOpen(x.lowerBound(), x.upperBound()))
-                .forEach(rangeSet::add);
-        return new EncodedDiscreteResources(rangeSet, codec);
+        IntBitmap bitmap = new IntBitmap();
+        ranges.forEach(x -> bitmap.add(x.lowerBound(), x.upperBound()));
+        return new EncodedDiscreteResources(bitmap, codec);
     }
 }
@@ -0,0 +1,515 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.resource.impl;
+
+import com.google.common.base.MoreObjects;
+import org.onlab.util.ClosedOpenRange;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Set of integers held in chunks of 2^16 values, keyed by the upper 16 bits
+ * of the values, so that sparse sets over the whole int range stay small while
+ * membership tests stay cheap.
+ * <p>
+ * A chunk holds its values as runs of consecutive values, so that contiguous
+ * blocks such as a whole label space take a few bytes, and switches to a
+ * bitmap once runs would take more room than one. Chunks are immutable and
+ * shared between copies, so that copying a bitmap and combining it with
+ * another only allocates the chunks that change.
+ * <p>
+ * Values are ordered as signed integers. Instances must not be modified once
+ * they are shared.
+ */
+final class IntBitmap {
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int LOW_MASK = CHUNK_SIZE - 1;
+
+    // chunks are never empty
+    private final TreeMap<Integer, Chunk> chunks = new TreeMap<>();
+
+    /**
+     * Returns a copy of a bitmap.
+     *
+     * @param other bitmap to copy
+     * @return new bitmap holding the same values
+     */
+    static IntBitmap copyOf(IntBitmap other) {
+        IntBitmap copy = new IntBitmap();
+        copy.chunks.putAll(other.chunks);
+        return copy;
+    }
+
+    /**
+     * Returns a bitmap holding the given values. Building a bitmap at once is
+     * cheaper than adding many values one at a time.
+     *
+     * @param values values, in any order
+     * @return new bitmap holding the values
+     */
+    static IntBitmap of(int... values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        IntBitmap bitmap = new IntBitmap();
+        int i = 0;
+        while (i < sorted.length) {
+            int high = high(sorted[i]);
+            Runs runs = new Runs();
+            for (; i < sorted.length && high(sorted[i]) == high; i++) {
+                runs.append(low(sorted[i]), low(sorted[i]) + 1);
+            }
+            bitmap.chunks.put(high, runs.build());
+        }
+        return bitmap;
+    }
+
+    private static int high(long value) {
+        return (int) (value >> CHUNK_BITS);
+    }
+
+    private static int low(long value) {
+        return (int) (value & LOW_MASK);
+    }
+
+    private static long valueOf(int high, int low) {
+        return ((long) high << CHUNK_BITS) + low;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value value
+     */
+    void add(int value) {
+        chunks.merge(high(value), Chunk.range(low(value), low(value) + 1), Chunk::or);
+    }
+
+    /**
+     * Adds the values of a range.
+     *
+     * @param from first value of the range
+     * @param to value following the last value of the range
+     */
+    void add(int from, int to) {
+        long start = from;
+        while (start < to) {
+            int high = high(start);
+            long end = Math.min(to, valueOf(high + 1, 0));
+            chunks.merge(high, Chunk.range(low(start), (int) (end - valueOf(high, 0))), Chunk::or);
+            start = end;
+        }
+    }
+
+    /**
+     * Returns whether a value is in the bitmap.
+     *
+     * @param value value
+     * @return true if the bitmap contains the value
+     */
+    boolean contains(int value) {
+        Chunk chunk = chunks.get(high(value));
+        return chunk != null && chunk.contains(low(value));
+    }
+
+    /**
+     * Adds all the values of another bitmap.
+     *
+     * @param other bitmap
+     */
+    void or(IntBitmap other) {
+        other.chunks.forEach((high, chunk) -> chunks.merge(high, chunk, Chunk::or));
+    }
+
+    /**
+     * Removes all the values of another bitmap.
+     *
+     * @param other bitmap
+     */
+    void andNot(IntBitmap other) {
+        Iterator<Map.Entry<Integer, Chunk>> it = chunks.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, Chunk> entry = it.next();
+            Chunk chunk = other.chunks.get(entry.getKey());
+            if (chunk != null) {
+                Chunk remaining = entry.getValue().andNot(chunk);
+                if (remaining == null) {
+                    it.remove();
+                } else {
+                    entry.setValue(remaining);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the bitmap holds no value.
+     *
+     * @return true if the bitmap is empty
+     */
+    boolean isEmpty() {
+        return chunks.isEmpty();
+    }
+
+    /**
+     * Returns the number of values in the bitmap.
+     *
+     * @return number of values
+     */
+    int size() {
+        return chunks.values().stream().mapToInt(Chunk::cardinality).sum();
+    }
+
+    /**
+     * Returns the smallest value of the bitmap.
+     *
+     * @return smallest value
+     * @throws NoSuchElementException if the bitmap is empty
+     */
+    int first() {
+        Map.Entry<Integer, Chunk> entry = chunks.firstEntry();
+        if (entry == null) {
+            throw new NoSuchElementException();
+        }
+        return (int) valueOf(entry.getKey(), entry.getValue().next(0));
+    }
+
+    /**
+     * Returns the smallest value of the bitmap greater than or equal to the
+     * given value.
+     *
+     * @param value lower bound
+     * @return smallest value not lower than the bound, if any
+     */
+    OptionalInt ceiling(int value) {
+        int high = high(value);
+        for (Map.Entry<Integer, Chunk> entry : chunks.tailMap(high, true).entrySet()) {
+            int low = entry.getValue().next(entry.getKey() == high ? low(value) : 0);
+            if (low >= 0) {
+                return OptionalInt.of((int) valueOf(entry.getKey(), low));
+            }
+        }
+        return OptionalInt.empty();
+    }
+
+    /**
+     * Returns the values of the bitmap in ascending order. Values are looked
+     * up as the stream is consumed, so a short-circuiting stream only visits
+     * the bitmap up to the last value it takes.
+     *
+     * @return values
+     */
+    IntStream stream() {
+        PrimitiveIterator.OfInt values = new PrimitiveIterator.OfInt() {
+            private OptionalInt next = chunks.isEmpty() ? OptionalInt.empty() : OptionalInt.of(first());
+
+            @Override
+            public boolean hasNext() {
+                return next.isPresent();
+            }
+
+            @Override
+            public int nextInt() {
+                int value = next.orElseThrow(NoSuchElementException::new);
+                next = value == Integer.MAX_VALUE ? OptionalInt.empty() : ceiling(value + 1);
+                return value;
+            }
+        };
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(
+                values, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Returns the values of the bitmap as ranges of consecutive values, in
+     * ascending order.
+     *
+     * @return ranges
+     */
+    List<ClosedOpenRange> ranges() {
+        List<ClosedOpenRange> ranges = new ArrayList<>();
+        boolean open = false;
+        long lower = 0;
+        long upper = 0;
+        for (Map.Entry<Integer, Chunk> entry : chunks.entrySet()) {
+            int[] runs = entry.getValue().runs();
+            for (int i = 0; i < runs.length; i += 2) {
+                long start = valueOf(entry.getKey(), runs[i]);
+                long end = valueOf(entry.getKey(), runs[i + 1]);
+                // runs continuing across chunks are merged
+                if (open && start == upper) {
+                    upper = end;
+                    continue;
+                }
+                if (open) {
+                    ranges.add(ClosedOpenRange.of((int) lower, (int) upper));
+                }
+                open = true;
+                lower = start;
+                upper = end;
+            }
+        }
+        if (open) {
+            ranges.add(ClosedOpenRange.of((int) lower, (int) upper));
+        }
+        return ranges;
+    }
+
+    @Override
+    public int hashCode() {
+        return chunks.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        return chunks.equals(((IntBitmap) obj).chunks);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("ranges", ranges())
+                .toString();
+    }
+
+    /**
+     * Immutable set of the lower 16 bits of the values of a chunk, held as
+     * runs of consecutive values while there are at most {@link #MAX_RUNS}
+     * runs, and as a bitmap otherwise. The form only depends on the values,
+     * so that equal chunks have equal forms.
+     */
+    private static final class Chunk {
+        // as many runs as fit in the 8KB a bitmap of a whole chunk takes
+        private static final int MAX_RUNS = CHUNK_SIZE / Integer.SIZE / 2;
+
+        // first value and value following the last of each run, in ascending
+        // order; null when the values are held in bits
+        private final int[] runs;
+        private final BitSet bits;
+        private final int cardinality;
+
+        private Chunk(int[] runs, BitSet bits, int cardinality) {
+            this.runs = runs;
+            this.bits = bits;
+            this.cardinality = cardinality;
+        }
+
+        static Chunk range(int from, int to) {
+            return new Chunk(new int[] {from, to}, null, to - from);
+        }
+
+        // returns null if there are no runs
+        static Chunk ofRuns(int[] runs, int length) {
+            if (length == 0) {
+                return null;
+            }
+            int cardinality = 0;
+            for (int i = 0; i < length; i += 2) {
+                cardinality += runs[i + 1] - runs[i];
+            }
+            if (length / 2 <= MAX_RUNS) {
+                return new Chunk(Arrays.copyOf(runs, length), null, cardinality);
+            }
+            BitSet bits = new BitSet(CHUNK_SIZE);
+            for (int i = 0; i < length; i += 2) {
+                bits.set(runs[i], runs[i + 1]);
+            }
+            return new Chunk(null, bits, cardinality);
+        }
+
+        // returns null if no bit is set; the bits must not be modified afterwards
+        static Chunk ofBits(BitSet bits) {
+            Runs runs = new Runs();
+            int from = bits.nextSetBit(0);
+            while (from >= 0) {
+                int to = bits.nextClearBit(from);
+                runs.append(from, to);
+                if (runs.count() > MAX_RUNS) {
+                    return new Chunk(null, bits, bits.cardinality());
+                }
+                from = bits.nextSetBit(to);
+            }
+            return runs.build();
+        }
+
+        int cardinality() {
+            return cardinality;
+        }
+
+        boolean contains(int low) {
+            return bits != null ? bits.get(low) : next(low) == low;
+        }
+
+        // smallest value not lower than the given one, or -1 if none
+        int next(int from) {
+            if (bits != null) {
+                return bits.nextSetBit(from);
+            }
+            // first run ending after the value
+            int lower = 0;
+            int upper = runs.length / 2;
+            while (lower < upper) {
+                int mid = (lower + upper) >>> 1;
+                if (runs[2 * mid + 1] <= from) {
+                    lower = mid + 1;
+                } else {
+                    upper = mid;
+                }
+            }
+            return lower == runs.length / 2 ? -1 : Math.max(from, runs[2 * lower]);
+        }
+
+        int[] runs() {
+            if (runs != null) {
+                return runs;
+            }
+            Runs result = new Runs();
+            for (int from = bits.nextSetBit(0); from >= 0; from = bits.nextSetBit(result.last())) {
+                result.append(from, bits.nextClearBit(from));
+            }
+            return Arrays.copyOf(result.runs, result.length);
+        }
+
+        private BitSet toBits() {
+            if (bits != null) {
+                return (BitSet) bits.clone();
+            }
+            BitSet copy = new BitSet(CHUNK_SIZE);
+            for (int i = 0; i < runs.length; i += 2) {
+                copy.set(runs[i], runs[i + 1]);
+            }
+            return copy;
+        }
+
+        Chunk or(Chunk other) {
+            if (runs == null || other.runs == null) {
+                BitSet union = toBits();
+                union.or(other.bits != null ? other.bits : other.toBits());
+                return ofBits(union);
+            }
+            Runs union = new Runs();
+            int i = 0;
+            int j = 0;
+            while (i < runs.length || j < other.runs.length) {
+                if (j == other.runs.length || (i < runs.length && runs[i] <= other.runs[j])) {
+                    union.append(runs[i], runs[i + 1]);
+                    i += 2;
+                } else {
+                    union.append(other.runs[j], other.runs[j + 1]);
+                    j += 2;
+                }
+            }
+            return union.build();
+        }
+
+        // returns null if no value remains
+        Chunk andNot(Chunk other) {
+            if (runs == null || other.runs == null) {
+                BitSet difference = toBits();
+                difference.andNot(other.bits != null ? other.bits : other.toBits());
+                return ofBits(difference);
+            }
+            Runs difference = new Runs();
+            int j = 0;
+            for (int i = 0; i < runs.length; i += 2) {
+                int from = runs[i];
+                int to = runs[i + 1];
+                // runs of the other chunk ending before this run are passed
+                while (j < other.runs.length && other.runs[j + 1] <= from) {
+                    j += 2;
+                }
+                for (int k = j; from < to && k < other.runs.length && other.runs[k] < to; k += 2) {
+                    difference.append(from, other.runs[k]);
+                    from = Math.max(from, other.runs[k + 1]);
+                }
+                difference.append(from, to);
+            }
+            return difference.build();
+        }
+
+        @Override
+        public int hashCode() {
+            return runs != null ? Arrays.hashCode(runs) : bits.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Chunk)) {
+                return false;
+            }
+            Chunk other = (Chunk) obj;
+            return Arrays.equals(runs, other.runs) && Objects.equals(bits, other.bits);
+        }
+    }
+
+    /**
+     * Runs of values appended in ascending order of their first value, with
+     * overlapping and adjacent runs merged.
+     */
+    private static final class Runs {
+        private int[] runs = new int[4];
+        private int length = 0;
+
+        void append(int from, int to) {
+            if (from >= to) {
+                return;
+            }
+            if (length > 0 && from <= runs[length - 1]) {
+                runs[length - 1] = Math.max(runs[length - 1], to);
+                return;
+            }
+            if (length == runs.length) {
+                runs = Arrays.copyOf(runs, length * 2);
+            }
+            runs[length++] = from;
+            runs[length++] = to;
+        }
+
+        int count() {
+            return length / 2;
+        }
+
+        int last() {
+            return runs[length - 1];
+        }
+
+        Chunk build() {
+            return Chunk.ofRuns(runs, length);
+        }
+    }
+}
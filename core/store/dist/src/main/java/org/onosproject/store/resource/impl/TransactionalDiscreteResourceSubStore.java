@@ -90,6 +90,11 @@ class TransactionalDiscreteResourceSubStore {
             return false;
         }
 
+        // resources leased by a node but not handed out yet don't prevent unregistration
+        resources.stream()
+                .filter(x -> isLeased(x.id()))
+                .forEach(x -> consumers.remove(x.id()));
+
         DiscreteResources oldValues = childMap.putIfAbsent(parent, DiscreteResources.empty());
         if (oldValues == null) {
             log.trace("No-Op removing values. key {} did not exist", parent);
@@ -108,7 +113,13 @@ class TransactionalDiscreteResourceSubStore {
     }
 
     private boolean isAllocated(DiscreteResourceId id) {
-        return consumers.get(id) != null;
+        ResourceConsumerId consumerId = consumers.get(id);
+        return consumerId != null && !consumerId.isClassOf(DiscreteResourceLeases.LeaseHolder.class);
+    }
+
+    private boolean isLeased(DiscreteResourceId id) {
+        ResourceConsumerId consumerId = consumers.get(id);
+        return consumerId != null && consumerId.isClassOf(DiscreteResourceLeases.LeaseHolder.class);
     }
 
     boolean allocate(ResourceConsumerId consumerId, DiscreteResource resource) {
@@ -116,6 +116,19 @@ final class UnifiedDiscreteResources implements DiscreteResources {
                 .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
+    @Override
+    public <T> Stream<DiscreteResource> valuesExcept(Class<T> cls, DiscreteResources excluded) {
+        if (excluded instanceof UnifiedDiscreteResources) {
+            UnifiedDiscreteResources cast = (UnifiedDiscreteResources) excluded;
+            return Stream.concat(encodables.valuesExcept(cls, cast.encodables),
+                                 generics.valuesExcept(cls, cast.generics));
+        } else if (excluded instanceof EmptyDiscreteResources) {
+            return Stream.concat(encodables.valuesExcept(cls, excluded),
+                                 generics.valuesExcept(cls, excluded));
+        }
+        return DiscreteResources.super.valuesExcept(cls, excluded);
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(generics, encodables);
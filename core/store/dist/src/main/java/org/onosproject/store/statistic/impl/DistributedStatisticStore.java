@@ -15,6 +15,7 @@
  */
 package org.onosproject.store.statistic.impl;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Sets;
 
 import org.apache.felix.scr.annotations.Activate;
@@ -37,6 +38,8 @@ import org.onosproject.net.flow.FlowEntry;
 import org.onosproject.net.flow.FlowRule;
 import org.onosproject.net.flow.instructions.Instruction;
 import org.onosproject.net.flow.instructions.Instructions;
+import org.onosproject.net.statistic.DefaultLoad;
+import org.onosproject.net.statistic.Load;
 import org.onosproject.net.statistic.StatisticStore;
 import org.onosproject.store.cluster.messaging.ClusterCommunicationService;
 import org.onosproject.store.cluster.messaging.MessageSubject;
@@ -45,9 +48,12 @@ import org.onosproject.store.serializers.StoreSerializer;
 import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Dictionary;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -91,6 +97,14 @@ public class DistributedStatisticStore implements StatisticStore {
 
     public static final MessageSubject GET_CURRENT = new MessageSubject("peer-return-current");
     public static final MessageSubject GET_PREVIOUS = new MessageSubject("peer-return-previous");
+    public static final MessageSubject GET_LOAD = new MessageSubject("peer-return-load");
+    public static final MessageSubject GET_LOAD_HISTORY = new MessageSubject("peer-return-load-history");
+
+    // number of published observations kept in the load history of a port
+    static final int LOAD_HISTORY_SIZE = 12;
+    // a load is sent to peers as its current and previous values, interval and time
+    private static final int LOAD_FIELDS = 4;
+    private static final long[] NO_LOAD = new long[0];
 
     private Map<ConnectPoint, InternalStatisticRepresentation> representations =
             new ConcurrentHashMap<>();
@@ -101,6 +115,11 @@ public class DistributedStatisticStore implements StatisticStore {
     private Map<ConnectPoint, Set<FlowEntry>> current =
             new ConcurrentHashMap<>();
 
+    // byte counts aggregated from the current and previous sets, kept up to
+    // date as statistics are published so that loads are not recomputed
+    private Map<ConnectPoint, InternalLoad> loads =
+            new ConcurrentHashMap<>();
+
     protected static final StoreSerializer SERIALIZER = StoreSerializer.using(KryoNamespaces.API);
 
     private ExecutorService messageHandlingExecutor;
@@ -134,12 +153,26 @@ public class DistributedStatisticStore implements StatisticStore {
                 SERIALIZER::encode,
                 messageHandlingExecutor);
 
+        clusterCommunicator.<ConnectPoint, long[]>addSubscriber(GET_LOAD,
+                SERIALIZER::decode,
+                this::encodeLoadInternal,
+                SERIALIZER::encode,
+                messageHandlingExecutor);
+
+        clusterCommunicator.<ConnectPoint, long[]>addSubscriber(GET_LOAD_HISTORY,
+                SERIALIZER::decode,
+                this::encodeLoadHistoryInternal,
+                SERIALIZER::encode,
+                messageHandlingExecutor);
+
         log.info("Started");
     }
 
     @Deactivate
     public void deactivate() {
         cfgService.unregisterProperties(getClass(), false);
+        clusterCommunicator.removeSubscriber(GET_LOAD_HISTORY);
+        clusterCommunicator.removeSubscriber(GET_LOAD);
         clusterCommunicator.removeSubscriber(GET_PREVIOUS);
         clusterCommunicator.removeSubscriber(GET_CURRENT);
         messageHandlingExecutor.shutdown();
@@ -204,7 +237,11 @@ public class DistributedStatisticStore implements StatisticStore {
         if (values != null) {
             values.remove(rule);
         }
-
+        InternalLoad load = loads.get(cp);
+        if (load != null) {
+            load.adjust(aggregate(current.get(cp)), aggregate(previous.get(cp)),
+                        isValid(current.get(cp), previous.get(cp)));
+        }
     }
 
     @Override
@@ -227,7 +264,8 @@ public class DistributedStatisticStore implements StatisticStore {
         }
         previous.put(cp, curr);
         current.put(cp, flowEntries);
-
+        loads.computeIfAbsent(cp, k -> new InternalLoad())
+                .publish(aggregate(flowEntries), isValid(flowEntries, curr));
     }
 
     @Override
@@ -285,6 +323,110 @@ public class DistributedStatisticStore implements StatisticStore {
         return previous.get(connectPoint);
     }
 
+    @Override
+    public Load getLoad(ConnectPoint connectPoint) {
+        final DeviceId deviceId = connectPoint.deviceId();
+        NodeId master = mastershipService.getMasterFor(deviceId);
+        if (master == null) {
+            log.warn("No master for {}", deviceId);
+            return new DefaultLoad();
+        }
+        if (master.equals(clusterService.getLocalNode().id())) {
+            return getLoadInternal(connectPoint);
+        } else {
+            long[] load = Tools.futureGetOrElse(clusterCommunicator.sendAndReceive(
+                                        connectPoint,
+                                        GET_LOAD,
+                                        SERIALIZER::encode,
+                                        SERIALIZER::decode,
+                                        master),
+                                   STATISTIC_STORE_TIMEOUT_MILLIS,
+                                   TimeUnit.MILLISECONDS,
+                                   NO_LOAD);
+            return load.length < LOAD_FIELDS ? new DefaultLoad() : decodeLoad(load, 0);
+        }
+    }
+
+    @Override
+    public List<Load> getLoadHistory(ConnectPoint connectPoint) {
+        final DeviceId deviceId = connectPoint.deviceId();
+        NodeId master = mastershipService.getMasterFor(deviceId);
+        if (master == null) {
+            log.warn("No master for {}", deviceId);
+            return ImmutableList.of();
+        }
+        if (master.equals(clusterService.getLocalNode().id())) {
+            return getLoadHistoryInternal(connectPoint);
+        } else {
+            long[] history = Tools.futureGetOrElse(clusterCommunicator.sendAndReceive(
+                                        connectPoint,
+                                        GET_LOAD_HISTORY,
+                                        SERIALIZER::encode,
+                                        SERIALIZER::decode,
+                                        master),
+                                   STATISTIC_STORE_TIMEOUT_MILLIS,
+                                   TimeUnit.MILLISECONDS,
+                                   NO_LOAD);
+            ImmutableList.Builder<Load> loads = ImmutableList.builder();
+            for (int i = 0; i + LOAD_FIELDS <= history.length; i += LOAD_FIELDS) {
+                loads.add(decodeLoad(history, i));
+            }
+            return loads.build();
+        }
+    }
+
+    private synchronized Load getLoadInternal(ConnectPoint connectPoint) {
+        InternalLoad load = loads.get(connectPoint);
+        return load == null ? new DefaultLoad() : load.get();
+    }
+
+    private synchronized List<Load> getLoadHistoryInternal(ConnectPoint connectPoint) {
+        InternalLoad load = loads.get(connectPoint);
+        return load == null ? ImmutableList.of() : ImmutableList.copyOf(load.history);
+    }
+
+    private long[] encodeLoadInternal(ConnectPoint connectPoint) {
+        Load load = getLoadInternal(connectPoint);
+        return load.isValid() ? encodeLoads(ImmutableList.of(load)) : NO_LOAD;
+    }
+
+    private long[] encodeLoadHistoryInternal(ConnectPoint connectPoint) {
+        return encodeLoads(getLoadHistoryInternal(connectPoint));
+    }
+
+    private static long[] encodeLoads(List<Load> loads) {
+        long[] encoded = new long[loads.size() * LOAD_FIELDS];
+        int i = 0;
+        for (Load load : loads) {
+            DefaultLoad value = (DefaultLoad) load;
+            encoded[i++] = value.latest();
+            encoded[i++] = value.previous();
+            encoded[i++] = value.interval();
+            encoded[i++] = value.time();
+        }
+        return encoded;
+    }
+
+    private static Load decodeLoad(long[] encoded, int offset) {
+        return new DefaultLoad(encoded[offset], encoded[offset + 1],
+                               encoded[offset + 2], encoded[offset + 3]);
+    }
+
+    private static long aggregate(Set<FlowEntry> values) {
+        if (values == null) {
+            return 0;
+        }
+        long sum = 0;
+        for (FlowEntry f : values) {
+            sum += f.bytes();
+        }
+        return sum;
+    }
+
+    private static boolean isValid(Set<FlowEntry> curr, Set<FlowEntry> prev) {
+        return curr != null && prev != null && !curr.isEmpty() && !prev.isEmpty();
+    }
+
     private InternalStatisticRepresentation getOrCreateRepresentation(ConnectPoint cp) {
 
         if (representations.containsKey(cp)) {
@@ -351,6 +493,45 @@ public class DistributedStatisticStore implements StatisticStore {
 
     }
 
+    /**
+     * Byte counts of the published statistics of a port, with the loads of
+     * its latest observations.
+     */
+    private static class InternalLoad {
+        private long current;
+        private long previous;
+        private boolean valid;
+        // poll interval and time of the latest publication
+        private long interval;
+        private long time;
+        private final Deque<DefaultLoad> history = new ArrayDeque<>();
+
+        void publish(long bytes, boolean valid) {
+            previous = current;
+            current = bytes;
+            this.valid = valid;
+            DefaultLoad load = new DefaultLoad(current, previous);
+            interval = load.interval();
+            time = load.time();
+            if (valid) {
+                history.addLast(load);
+                if (history.size() > LOAD_HISTORY_SIZE) {
+                    history.removeFirst();
+                }
+            }
+        }
+
+        void adjust(long current, long previous, boolean valid) {
+            this.current = current;
+            this.previous = previous;
+            this.valid = valid;
+        }
+
+        Load get() {
+            return valid ? new DefaultLoad(current, previous, interval, time) : new DefaultLoad();
+        }
+    }
+
     /**
      * Sets thread pool size of message handler.
      *
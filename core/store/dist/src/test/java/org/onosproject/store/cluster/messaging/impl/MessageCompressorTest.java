@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.cluster.messaging.impl;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.zip.DataFormatException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link MessageCompressor}.
+ */
+public class MessageCompressorTest {
+
+    private final MessageCompressor compressor =
+            new MessageCompressor(ImmutableList.of("peer-flow-table-backup", "ecm-"), 1024);
+
+    @Test
+    public void testShouldCompress() {
+        assertTrue(compressor.shouldCompress("peer-flow-table-backup", 1024));
+        assertTrue(compressor.shouldCompress("ecm-intent-anti-entropy", 4096));
+        assertFalse(compressor.shouldCompress("ecm-intent-anti-entropy", 1023));
+        assertFalse(compressor.shouldCompress("onos-cluster-heartbeat", 4096));
+        assertFalse(MessageCompressor.DISABLED.shouldCompress("ecm-intent-anti-entropy", 4096));
+    }
+
+    @Test
+    public void testRoundTrip() throws DataFormatException {
+        assertEquals(1, compressor.compressionRatio(), 0);
+
+        byte[] repetitive = new byte[100_000];
+        for (int i = 0; i < repetitive.length; i++) {
+            repetitive[i] = (byte) (i % 7);
+        }
+        byte[] compressed = compressor.compress(repetitive);
+        assertTrue(compressed.length < repetitive.length / 10);
+        assertArrayEquals(repetitive, compressor.decompress(compressed));
+        assertTrue(compressor.compressionRatio() > 10);
+        assertTrue(compressor.savedBytes() > 0);
+
+        // incompressible payloads grow the output buffer while deflating
+        byte[] random = new byte[10_000];
+        new Random(0).nextBytes(random);
+        assertArrayEquals(random, compressor.decompress(compressor.compress(random)));
+    }
+
+    @Test(expected = DataFormatException.class)
+    public void testTruncated() throws DataFormatException {
+        byte[] payload = new byte[10_000];
+        new Random(0).nextBytes(payload);
+        byte[] compressed = compressor.compress(payload);
+        byte[] truncated = new byte[compressed.length / 2];
+        System.arraycopy(compressed, 0, truncated, 0, truncated.length);
+        compressor.decompress(truncated);
+    }
+}
@@ -22,6 +22,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.onlab.metrics.MetricsManager;
 import org.onlab.packet.IpAddress;
 import org.onosproject.cluster.ClusterMetadata;
 import org.onosproject.cluster.ClusterMetadataEventListener;
@@ -33,18 +34,26 @@ import org.onosproject.core.HybridLogicalTime;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.store.cluster.messaging.Endpoint;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -80,16 +89,21 @@ public class NettyMessagingManagerTest {
 
     @Before
     public void setUp() throws Exception {
+        System.setProperty("onos.messaging.compressedSubjects", "compressed-");
+        System.setProperty("onos.messaging.compressionThreshold", "1024");
+
         ep1 = new Endpoint(IpAddress.valueOf("127.0.0.1"), findAvailablePort(5001));
         netty1 = new NettyMessagingManager();
         netty1.clusterMetadataService = dummyMetadataService(DUMMY_NAME, IP_STRING, ep1);
         netty1.clockService = testClockService;
+        netty1.metricsService = new MetricsManager();
         netty1.activate();
 
         ep2 = new Endpoint(IpAddress.valueOf("127.0.0.1"), findAvailablePort(5003));
         netty2 = new NettyMessagingManager();
         netty2.clusterMetadataService = dummyMetadataService(DUMMY_NAME, IP_STRING, ep2);
         netty2.clockService = testClockService;
+        netty2.metricsService = new MetricsManager();
         netty2.activate();
     }
 
@@ -110,6 +124,9 @@ public class NettyMessagingManagerTest {
         if (netty2 != null) {
             netty2.deactivate();
         }
+
+        System.clearProperty("onos.messaging.compressedSubjects");
+        System.clearProperty("onos.messaging.compressionThreshold");
     }
 
     @Test
@@ -132,6 +149,85 @@ public class NettyMessagingManagerTest {
         Uninterruptibles.awaitUninterruptibly(latch2);
     }
 
+    @Test
+    public void testBulkSubjects() {
+        assertTrue(netty1.isBulk("peer-flow-table-backup"));
+        assertTrue(netty1.isBulk("ecm-intent-current-update"));
+        assertFalse(netty1.isBulk("onos-cluster-heartbeat"));
+    }
+
+    /*
+     * Sends many messages at once on both the control and the bulk connections and
+     * verifies that all of them arrive even though they are flushed together.
+     */
+    @Test
+    public void testSendAsyncBatched() {
+        int count = 1000;
+        String subject = nextSubject();
+        String bulkSubject = "ecm-" + subject;
+        CountDownLatch latch = new CountDownLatch(2 * count);
+        BiConsumer<Endpoint, byte[]> handler = (ep, data) -> latch.countDown();
+        netty2.registerHandler(subject, handler, MoreExecutors.directExecutor());
+        netty2.registerHandler(bulkSubject, handler, MoreExecutors.directExecutor());
+
+        for (int i = 0; i < count; i++) {
+            netty1.sendAsync(ep2, subject, ("control " + i).getBytes());
+            netty1.sendAsync(ep2, bulkSubject, ("bulk " + i).getBytes());
+        }
+        assertTrue(Uninterruptibles.awaitUninterruptibly(latch, 10, TimeUnit.SECONDS));
+    }
+
+    /*
+     * Sends a small and a large message of a compressed subject and verifies that both
+     * arrive intact.
+     */
+    @Test
+    public void testCompression() {
+        String subject = "compressed-" + nextSubject();
+        byte[] small = "hello world".getBytes();
+        byte[] large = new byte[64 * 1024];
+        for (int i = 0; i < large.length; i++) {
+            large[i] = (byte) (i % 16);
+        }
+        List<byte[]> received = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(2);
+        BiConsumer<Endpoint, byte[]> handler = (ep, data) -> {
+            received.add(data);
+            latch.countDown();
+        };
+        netty2.registerHandler(subject, handler, MoreExecutors.directExecutor());
+
+        netty1.sendAsync(ep2, subject, small);
+        netty1.sendAsync(ep2, subject, large);
+        assertTrue(Uninterruptibles.awaitUninterruptibly(latch, 10, TimeUnit.SECONDS));
+        assertTrue(received.stream().anyMatch(data -> Arrays.equals(small, data)));
+        assertTrue(received.stream().anyMatch(data -> Arrays.equals(large, data)));
+    }
+
+    /*
+     * Verifies that a request whose reply never arrives fails after its own timeout and that
+     * the timeout is counted for its subject.
+     */
+    @Test
+    public void testSendAndReceiveTimeout() {
+        String subject = nextSubject();
+        BiFunction<Endpoint, byte[], CompletableFuture<byte[]>> handler = (ep, data) -> new CompletableFuture<>();
+        netty2.registerHandler(subject, handler);
+
+        CompletableFuture<byte[]> response =
+                netty1.sendAndReceive(ep2, subject, "hello world".getBytes(), Duration.ofMillis(50));
+        try {
+            response.get(10, TimeUnit.SECONDS);
+            fail("reply should have timed out");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        } catch (InterruptedException | TimeoutException e) {
+            fail("timeout was not detected");
+        }
+        assertEquals(1, netty1.metricsService.getCounters((name, metric) -> name.endsWith(subject))
+                .values().iterator().next().getCount());
+    }
+
     @Test
     @Ignore // FIXME disabled on 9/29/16 due to random failures
     public void testSendAndReceive() {
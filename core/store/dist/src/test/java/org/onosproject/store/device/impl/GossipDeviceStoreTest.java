@@ -15,6 +15,7 @@
  */
 package org.onosproject.store.device.impl;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
 import org.easymock.Capture;
@@ -27,6 +28,7 @@ import org.junit.Test;
 import org.onlab.packet.ChassisId;
 import org.onlab.packet.IpAddress;
 import org.onlab.util.KryoNamespace;
+import org.onosproject.cfg.ComponentConfigAdapter;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.DefaultControllerNode;
@@ -42,6 +44,7 @@ import org.onosproject.net.PortNumber;
 import org.onosproject.net.SparseAnnotations;
 import org.onosproject.net.device.DefaultDeviceDescription;
 import org.onosproject.net.device.DefaultPortDescription;
+import org.onosproject.net.device.DefaultPortStatistics;
 import org.onosproject.net.device.DeviceClockService;
 import org.onosproject.net.device.DeviceClockServiceAdapter;
 import org.onosproject.net.device.DeviceDescription;
@@ -49,6 +52,7 @@ import org.onosproject.net.device.DeviceEvent;
 import org.onosproject.net.device.DeviceStore;
 import org.onosproject.net.device.DeviceStoreDelegate;
 import org.onosproject.net.device.PortDescription;
+import org.onosproject.net.device.PortStatistics;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.store.Timestamp;
 import org.onosproject.store.cluster.StaticClusterService;
@@ -59,11 +63,14 @@ import org.onosproject.store.impl.MastershipBasedTimestamp;
 import org.onosproject.store.service.EventuallyConsistentMap;
 import org.onosproject.store.service.EventuallyConsistentMapBuilder;
 import org.onosproject.store.service.StorageService;
+import org.osgi.service.component.ComponentContext;
 
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Dictionary;
 import java.util.HashMap;
+import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -78,6 +85,7 @@ import static java.util.Arrays.asList;
 import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.capture;
 import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.eq;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.replay;
@@ -100,6 +108,7 @@ import static org.onosproject.net.device.DeviceEvent.Type.DEVICE_UPDATED;
 import static org.onosproject.net.device.DeviceEvent.Type.PORT_ADDED;
 import static org.onosproject.net.device.DeviceEvent.Type.PORT_REMOVED;
 import static org.onosproject.net.device.DeviceEvent.Type.PORT_UPDATED;
+import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.PORT_STATS_REQUEST;
 
 
 // TODO add tests for remote replication
@@ -178,6 +187,7 @@ public class GossipDeviceStoreTest {
 
         testGossipDeviceStore = new TestGossipDeviceStore(deviceClockService, clusterService, clusterCommunicator);
         testGossipDeviceStore.mastershipService = new TestMastershipService();
+        testGossipDeviceStore.cfgService = new ComponentConfigAdapter();
 
         ecMapBuilder = createNiceMock(EventuallyConsistentMapBuilder.class);
         expect(ecMapBuilder.withName(anyObject(String.class))).andReturn(ecMapBuilder).anyTimes();
@@ -197,7 +207,7 @@ public class GossipDeviceStoreTest {
         testGossipDeviceStore.deviceClockService = deviceClockService;
 
         gossipDeviceStore = testGossipDeviceStore;
-        gossipDeviceStore.activate();
+        gossipDeviceStore.activate(null);
         deviceStore = gossipDeviceStore;
         verify(clusterCommunicator);
         reset(clusterCommunicator);
@@ -872,7 +882,63 @@ public class GossipDeviceStoreTest {
         assertTrue("Remove event fired", removeLatch.await(1, TimeUnit.SECONDS));
     }
 
-    private final class TestMastershipService extends MastershipServiceAdapter {
+    @Test
+    public final void testPortStatsSettingsAppliedAtActivation() {
+        gossipDeviceStore.deactivate();
+        Dictionary<String, Object> properties = new Hashtable<>();
+        properties.put("localPortStatsEnabled", "true");
+        ComponentContext context = createNiceMock(ComponentContext.class);
+        expect(context.getProperties()).andReturn(properties).anyTimes();
+        replay(context);
+        gossipDeviceStore.activate(context);
+
+        putDevice(DID1, SW1);
+        PortStatistics stats = DefaultPortStatistics.builder()
+                .setDeviceId(DID1)
+                .setPort(1)
+                .setBytesReceived(100)
+                .build();
+        DeviceEvent event = deviceStore.updatePortStatistics(PID, DID1, ImmutableList.of(stats));
+
+        // kept in the local history of the master rather than in the replicated map
+        assertEquals(DeviceEvent.Type.PORT_STATS_UPDATED, event.type());
+        assertEquals(1, deviceStore.getPortStatistics(DID1).size());
+        assertEquals(100, deviceStore.getStatisticsForPort(DID1, P1).bytesReceived());
+    }
+
+    @Test
+    public final void testRemotePortStatsFetchedOncePerDevice() {
+        gossipDeviceStore.deactivate();
+        Dictionary<String, Object> properties = new Hashtable<>();
+        properties.put("localPortStatsEnabled", "true");
+        ComponentContext context = createNiceMock(ComponentContext.class);
+        expect(context.getProperties()).andReturn(properties).anyTimes();
+        replay(context);
+        gossipDeviceStore.mastershipService = new TestMastershipService() {
+            @Override
+            public NodeId getMasterFor(DeviceId deviceId) {
+                return NID2;
+            }
+        };
+        gossipDeviceStore.activate(context);
+
+        List<PortStatistics> stats = ImmutableList.of(
+                DefaultPortStatistics.builder().setDeviceId(DID1).setPort(1).setBytesReceived(100).build(),
+                DefaultPortStatistics.builder().setDeviceId(DID1).setPort(2).setBytesReceived(200).build());
+        reset(clusterCommunicator);
+        expect(clusterCommunicator.<PortStatisticsRequest, List<PortStatistics>>sendAndReceive(
+                anyObject(PortStatisticsRequest.class), eq(PORT_STATS_REQUEST),
+                anyObject(), anyObject(), eq(NID2)))
+                .andReturn(CompletableFuture.completedFuture(stats)).once();
+        replay(clusterCommunicator);
+
+        // reading the ports one at a time makes a single request to the master
+        assertEquals(100, deviceStore.getStatisticsForPort(DID1, P1).bytesReceived());
+        assertEquals(200, deviceStore.getStatisticsForPort(DID1, P2).bytesReceived());
+        verify(clusterCommunicator);
+    }
+
+    private class TestMastershipService extends MastershipServiceAdapter {
         @Override
         public NodeId getMasterFor(DeviceId deviceId) {
             return NID1;
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.device.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.onosproject.net.DeviceId.deviceId;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.device.DefaultPortStatistics;
+import org.onosproject.net.device.PortStatistics;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Unit tests for {@link PortStatisticsHistory}.
+ */
+public class PortStatisticsHistoryTest {
+
+    private static final DeviceId DID1 = deviceId("of:foo");
+
+    private static PortStatistics stats(int port, long bytes, long durationSec) {
+        return DefaultPortStatistics.builder()
+                .setDeviceId(DID1)
+                .setPort(port)
+                .setBytesReceived(bytes)
+                .setDurationSec(durationSec)
+                .build();
+    }
+
+    @Test
+    public void testLatestAndDelta() {
+        PortStatisticsHistory history = new PortStatisticsHistory(3);
+        assertTrue(history.latest(DID1).isEmpty());
+
+        history.record(DID1, ImmutableList.of(stats(1, 100, 5)), 5000);
+        assertEquals(100, history.latest(DID1).get(0).bytesReceived());
+        assertTrue("a single sample has no delta", history.delta(DID1, 0).isEmpty());
+
+        history.record(DID1, ImmutableList.of(stats(1, 300, 10)), 10000);
+        List<PortStatistics> delta = history.delta(DID1, 0);
+        assertEquals(1, delta.size());
+        assertEquals(200, delta.get(0).bytesReceived());
+        assertEquals(5, delta.get(0).durationSec());
+    }
+
+    @Test
+    public void testWindow() {
+        PortStatisticsHistory history = new PortStatisticsHistory(3);
+        history.record(DID1, ImmutableList.of(stats(1, 100, 5)), 5000);
+        history.record(DID1, ImmutableList.of(stats(1, 300, 10)), 10000);
+        history.record(DID1, ImmutableList.of(stats(1, 600, 15)), 15000);
+
+        assertEquals(300, history.delta(DID1, 0).get(0).bytesReceived());
+        assertEquals(500, history.delta(DID1, 10000).get(0).bytesReceived());
+        assertEquals(10, history.delta(DID1, 10000).get(0).durationSec());
+
+        // the oldest sample is overwritten once the buffer is full
+        history.record(DID1, ImmutableList.of(stats(1, 1000, 20)), 20000);
+        assertEquals(700, history.delta(DID1, 60000).get(0).bytesReceived());
+
+        history.remove(DID1);
+        assertTrue(history.latest(DID1).isEmpty());
+    }
+}
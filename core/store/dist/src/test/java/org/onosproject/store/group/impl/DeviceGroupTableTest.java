@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.group.impl;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.onosproject.core.DefaultGroupId;
+import org.onosproject.core.GroupId;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.group.DefaultGroup;
+import org.onosproject.net.group.DefaultGroupDescription;
+import org.onosproject.net.group.DefaultGroupKey;
+import org.onosproject.net.group.GroupBuckets;
+import org.onosproject.net.group.GroupDescription;
+import org.onosproject.net.group.GroupKey;
+import org.onosproject.net.group.StoredGroupEntry;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class DeviceGroupTableTest {
+    private static final DeviceId DID = DeviceId.deviceId("of:1");
+    private static final GroupId ID1 = new DefaultGroupId(1);
+    private static final GroupId ID2 = new DefaultGroupId(2);
+    private static final GroupKey KEY1 = new DefaultGroupKey("abc".getBytes());
+    private static final GroupKey KEY2 = new DefaultGroupKey("def".getBytes());
+
+    private final DeviceGroupTable table = new DeviceGroupTable();
+
+    private static StoredGroupEntry group(GroupId id, GroupKey key) {
+        return group(id, key, GroupDescription.Type.SELECT);
+    }
+
+    private static StoredGroupEntry group(GroupId id, GroupKey key, GroupDescription.Type type) {
+        GroupDescription description = new DefaultGroupDescription(
+                DID, type, new GroupBuckets(ImmutableList.of()), key, null, null);
+        return new DefaultGroup(id, description);
+    }
+
+    @Test
+    public void testPutAndGet() {
+        StoredGroupEntry group1 = group(ID1, KEY1);
+        StoredGroupEntry group2 = group(ID2, KEY2);
+        table.put(group1);
+        table.put(group2);
+
+        assertThat(table.get(ID1), is(group1));
+        assertThat(table.get(KEY2), is(group2));
+        assertThat(table.contains(ID2), is(true));
+        assertThat(table.size(), is(2));
+    }
+
+    @Test
+    public void testKeyChange() {
+        table.put(group(ID1, KEY1));
+        StoredGroupEntry updated = group(ID1, KEY2);
+        table.put(updated);
+
+        assertThat(table.get(KEY1), is(nullValue()));
+        assertThat(table.get(KEY2), is(updated));
+        assertThat(table.values(), contains(updated));
+    }
+
+    @Test
+    public void testRemove() {
+        StoredGroupEntry group1 = group(ID1, KEY1);
+        table.put(group1);
+
+        // a stale entry does not remove the current one
+        assertThat(table.remove(group(ID1, KEY1, GroupDescription.Type.ALL)), is(false));
+        assertThat(table.get(ID1), is(group1));
+
+        // entries are equal regardless of their key
+        assertThat(table.remove(group(ID1, KEY2)), is(true));
+        assertThat(table.get(ID1), is(nullValue()));
+        assertThat(table.get(KEY1), is(nullValue()));
+        assertThat(table.size(), is(0));
+    }
+}
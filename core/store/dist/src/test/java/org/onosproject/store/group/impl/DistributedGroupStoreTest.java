@@ -48,6 +48,7 @@ import org.onosproject.net.group.GroupStore;
 import org.onosproject.net.group.GroupStoreDelegate;
 import org.onosproject.store.cluster.messaging.ClusterCommunicationServiceAdapter;
 import org.onosproject.store.service.ConsistentMap;
+import org.onosproject.store.service.MapEventListener;
 import org.onosproject.store.service.TestStorageService;
 
 import com.google.common.collect.ImmutableList;
@@ -55,6 +56,7 @@ import com.google.common.collect.Lists;
 import com.google.common.testing.EqualsTester;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
@@ -260,6 +262,40 @@ public class DistributedGroupStoreTest {
 
     }
 
+    /**
+     * Tests that the group table of a device is updated by the store
+     * operations themselves, not only by the events of the group key map.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGroupTableUpdatedWithoutMapEvents() throws Exception {
+        ConsistentMap groupStoreEntriesByKey = TestUtils.getField(groupStoreImpl, "groupStoreEntriesByKey");
+        MapEventListener mapListener = TestUtils.getField(groupStoreImpl, "mapListener");
+        groupStoreEntriesByKey.removeListener(mapListener);
+
+        groupStore.deviceInitialAuditCompleted(deviceId1, true);
+        groupStore.storeGroupDescription(groupDescription1);
+        assertThat(groupStore.getGroupCount(deviceId1), is(1));
+
+        GroupBuckets buckets = new GroupBuckets(ImmutableList.of(failoverGroupBucket, selectGroupBucket));
+        groupStore.updateGroupDescription(deviceId1, groupKey1, ADD, buckets, groupKey1);
+        Group updated = groupStore.getGroup(deviceId1, groupId1);
+        assertThat(updated.state(), is(Group.GroupState.PENDING_UPDATE));
+        assertThat(updated.buckets().buckets(), hasSize(2));
+        assertThat(groupStore.getGroups(deviceId1), contains(updated));
+
+        groupStore.deleteGroupDescription(deviceId1, groupKey1);
+        assertThat(groupStore.getGroup(deviceId1, groupId1).state(), is(Group.GroupState.PENDING_DELETE));
+
+        groupStore.removeGroupEntry(updated);
+        assertThat(groupStore.getGroupCount(deviceId1), is(0));
+        assertThat(groupStore.getGroup(deviceId1, groupId1), nullValue());
+
+        groupStore.storeGroupDescription(groupDescription2);
+        groupStore.purgeGroupEntry(deviceId2);
+        assertThat(groupStore.getGroupCount(deviceId2), is(0));
+    }
+
     /**
      * Tests pushing group metrics.
      */
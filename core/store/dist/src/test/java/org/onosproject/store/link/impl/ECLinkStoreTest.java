@@ -24,6 +24,7 @@ import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.onlab.packet.IpAddress;
+import org.onosproject.cfg.ComponentConfigAdapter;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.DefaultControllerNode;
 import org.onosproject.cluster.NodeId;
@@ -142,7 +143,8 @@ public class ECLinkStoreTest {
         linkStoreImpl.clusterService = new TestClusterService();
         linkStoreImpl.deviceClockService = new TestDeviceClockService();
         linkStoreImpl.mastershipService = new TestMastershipService();
-        linkStoreImpl.activate();
+        linkStoreImpl.cfgService = new ComponentConfigAdapter();
+        linkStoreImpl.activate(null);
         linkStore = linkStoreImpl;
 
         verify(clusterCommunicator);
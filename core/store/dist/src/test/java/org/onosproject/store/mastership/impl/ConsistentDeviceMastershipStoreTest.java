@@ -0,0 +1,221 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.mastership.impl;
+
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.cfg.ComponentConfigAdapter;
+import org.onosproject.cluster.ClusterServiceAdapter;
+import org.onosproject.cluster.Leader;
+import org.onosproject.cluster.Leadership;
+import org.onosproject.cluster.LeadershipAdminService;
+import org.onosproject.cluster.LeadershipEvent;
+import org.onosproject.cluster.LeadershipEventListener;
+import org.onosproject.cluster.LeadershipServiceAdapter;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.mastership.MastershipEvent;
+import org.onosproject.net.DeviceId;
+import org.onosproject.store.cluster.messaging.ClusterCommunicationServiceAdapter;
+import org.onosproject.store.service.AsyncConsistentMap;
+import org.onosproject.store.service.ConsistentMap;
+import org.onosproject.store.service.ConsistentMapBuilder;
+import org.onosproject.store.service.TestConsistentMap;
+import org.onosproject.store.service.TestStorageService;
+import org.osgi.service.component.ComponentContext;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for bucket-based mastership in the consistent device mastership store.
+ */
+public class ConsistentDeviceMastershipStoreTest {
+
+    private static final NodeId LOCAL = new NodeId("local");
+    private static final NodeId REMOTE = new NodeId("remote");
+    private static final DeviceId DID1 = DeviceId.deviceId("of:0000000000000001");
+
+    private ConsistentDeviceMastershipStore store;
+    private ConsistentMap<DeviceId, Set<NodeId>> bucketDevices;
+    private TestLeadershipService leadershipService;
+
+    @Before
+    public void setUp() {
+        TestConsistentMap.Builder<DeviceId, Set<NodeId>> mapBuilder = TestConsistentMap.builder();
+        mapBuilder.withName("onos-mastership-bucket-devices");
+        bucketDevices = mapBuilder.build();
+        leadershipService = new TestLeadershipService();
+
+        store = new ConsistentDeviceMastershipStore();
+        store.leadershipService = leadershipService;
+        store.leadershipAdminService = new TestLeadershipAdminService();
+        store.clusterService = new ClusterServiceAdapter();
+        store.clusterCommunicator = new ClusterCommunicationServiceAdapter();
+        store.configService = new ComponentConfigAdapter();
+        store.storageService = new TestStorageService() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> ConsistentMapBuilder<K, V> consistentMapBuilder() {
+                return new ConsistentMapBuilder<K, V>() {
+                    @Override
+                    public ConsistentMap<K, V> build() {
+                        return (ConsistentMap<K, V>) bucketDevices;
+                    }
+
+                    @Override
+                    public AsyncConsistentMap<K, V> buildAsyncMap() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+
+        Dictionary<String, Object> properties = new Hashtable<>();
+        properties.put("useMastershipBuckets", "true");
+        properties.put("mastershipBucketCount", "8");
+        ComponentContext context = createMock(ComponentContext.class);
+        expect(context.getProperties()).andReturn(properties).anyTimes();
+        replay(context);
+        store.activate(context);
+    }
+
+    @After
+    public void tearDown() {
+        store.deactivate();
+    }
+
+    /**
+     * Tests that devices registered by other nodes are reported as owned by
+     * the leader of their bucket.
+     */
+    @Test
+    public void testDevicesRegisteredByPeers() {
+        // the device was registered for mastership on another node only
+        bucketDevices.put(DID1, ImmutableSet.of(REMOTE));
+        leadershipService.owned = ImmutableSet.of(bucketTopic(DID1));
+
+        assertThat(store.getDevices(REMOTE), is(ImmutableSet.of(DID1)));
+    }
+
+    /**
+     * Tests that leadership changes of a bucket are reported for devices
+     * registered by other nodes.
+     */
+    @Test
+    public void testBucketEventsForPeerDevices() throws InterruptedException {
+        bucketDevices.put(DID1, ImmutableSet.of(REMOTE));
+        Set<DeviceId> changed = Sets.newConcurrentHashSet();
+        CountDownLatch latch = new CountDownLatch(1);
+        store.setDelegate(event -> {
+            if (event.type() == MastershipEvent.Type.MASTER_CHANGED) {
+                changed.add(event.subject());
+                latch.countDown();
+            }
+        });
+
+        Leadership leadership = new Leadership(bucketTopic(DID1), new Leader(REMOTE, 1, 0),
+                                               ImmutableList.of(REMOTE));
+        leadershipService.listener.event(new LeadershipEvent(LeadershipEvent.Type.LEADER_CHANGED, leadership));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertThat(changed, hasItem(DID1));
+    }
+
+    /**
+     * Tests that a device stays in its bucket until the last node that
+     * registered it relinquishes it.
+     */
+    @Test
+    public void testDeviceRemovedWhenLastNodeRelinquishes() {
+        leadershipService.owned = ImmutableSet.of(bucketTopic(DID1));
+        bucketDevices.put(DID1, ImmutableSet.of(REMOTE));
+        store.requestRole(DID1);
+        assertThat(bucketDevices.get(DID1).value(), is(ImmutableSet.of(REMOTE, LOCAL)));
+
+        store.relinquishRole(LOCAL, DID1);
+        assertThat(bucketDevices.get(DID1).value(), is(ImmutableSet.of(REMOTE)));
+        assertThat(store.getDevices(REMOTE), is(ImmutableSet.of(DID1)));
+
+        // the remote node relinquishes the device as well
+        bucketDevices.put(DID1, ImmutableSet.of(LOCAL));
+        store.relinquishRole(LOCAL, DID1);
+        assertFalse(bucketDevices.containsKey(DID1));
+        assertTrue(store.getDevices(REMOTE).isEmpty());
+    }
+
+    private String bucketTopic(DeviceId deviceId) {
+        return new MastershipBuckets(8).topicOf(deviceId);
+    }
+
+    private static class TestLeadershipService extends LeadershipServiceAdapter {
+        private Set<String> owned = ImmutableSet.of();
+        private LeadershipEventListener listener;
+
+        @Override
+        public Set<String> ownedTopics(NodeId nodeId) {
+            return REMOTE.equals(nodeId) ? owned : ImmutableSet.of();
+        }
+
+        @Override
+        public Leadership runForLeadership(String path) {
+            return new Leadership(path, new Leader(REMOTE, 1, 0), ImmutableList.of(REMOTE, LOCAL));
+        }
+
+        @Override
+        public List<NodeId> getCandidates(String path) {
+            return ImmutableList.of();
+        }
+
+        @Override
+        public void addListener(LeadershipEventListener listener) {
+            this.listener = listener;
+        }
+    }
+
+    private static class TestLeadershipAdminService implements LeadershipAdminService {
+        @Override
+        public boolean transferLeadership(String topic, NodeId nodeId) {
+            return false;
+        }
+
+        @Override
+        public boolean promoteToTopOfCandidateList(String topic, NodeId nodeId) {
+            return false;
+        }
+
+        @Override
+        public void unregister(NodeId nodeId) {
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.mastership.impl;
+
+import org.junit.Test;
+import org.onosproject.net.DeviceId;
+
+import static org.hamcrest.Matchers.both;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the mastership bucket assignment.
+ */
+public class MastershipBucketsTest {
+
+    private static final DeviceId DID1 = DeviceId.deviceId("of:0000000000000001");
+
+    @Test
+    public void testBucketAssignment() {
+        MastershipBuckets buckets = new MastershipBuckets(16);
+        MastershipBuckets other = new MastershipBuckets(16);
+        for (int i = 0; i < 100; i++) {
+            DeviceId deviceId = DeviceId.deviceId("of:" + i);
+            int bucket = buckets.bucketOf(deviceId);
+            assertThat(bucket, is(both(greaterThanOrEqualTo(0)).and(lessThan(16))));
+            assertThat(other.bucketOf(deviceId), is(bucket));
+        }
+    }
+
+    @Test
+    public void testTopics() {
+        MastershipBuckets buckets = new MastershipBuckets(8);
+        String topic = buckets.topicOf(DID1);
+        assertTrue(buckets.isBucketTopic(topic));
+        assertFalse(buckets.isBucketTopic("device:" + DID1));
+        assertThat(buckets.bucketOfTopic(topic), is(buckets.bucketOf(DID1)));
+    }
+
+    @Test
+    public void testDeviceMembership() {
+        MastershipBuckets buckets = new MastershipBuckets(8);
+        assertTrue(buckets.devicesOf(buckets.topicOf(DID1)).isEmpty());
+        int bucket = buckets.addDevice(DID1);
+        assertThat(buckets.devicesOf(bucket), hasItem(DID1));
+        assertThat(buckets.devicesOf(buckets.topicOf(DID1)), hasItem(DID1));
+        assertTrue(buckets.contains(DID1));
+
+        buckets.removeDevice(DID1);
+        assertFalse(buckets.contains(DID1));
+        assertTrue(buckets.devicesOf(bucket).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTopic() {
+        new MastershipBuckets(8).bucketOfTopic("device:" + DID1);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.resource.impl;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.onlab.packet.MplsLabel;
+import org.onlab.packet.VlanId;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.intent.IntentId;
+import org.onosproject.net.resource.DiscreteResource;
+import org.onosproject.net.resource.DiscreteResourceId;
+import org.onosproject.net.resource.ResourceConsumerId;
+import org.onosproject.net.resource.Resources;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class DiscreteResourceLeasesTest {
+    private static final DeviceId DID = DeviceId.deviceId("a");
+    private static final PortNumber PN = PortNumber.portNumber(1);
+    private static final DiscreteResourceId PARENT = Resources.discrete(DID, PN).id();
+    private static final DiscreteResource VLAN1 = Resources.discrete(DID, PN, VlanId.vlanId((short) 1)).resource();
+    private static final DiscreteResource VLAN2 = Resources.discrete(DID, PN, VlanId.vlanId((short) 2)).resource();
+    private static final DiscreteResource MPLS1 = Resources.discrete(DID, PN, MplsLabel.mplsLabel(1)).resource();
+    private static final ResourceConsumerId CONSUMER1 = IntentId.valueOf(1).consumerId();
+    private static final ResourceConsumerId CONSUMER2 = IntentId.valueOf(2).consumerId();
+
+    private final DiscreteResourceLeases leases =
+            new DiscreteResourceLeases(DiscreteResourceLeases.holderOf(NodeId.nodeId("node1")));
+
+    @Test
+    public void testHolder() {
+        assertThat(leases.holder(), is(DiscreteResourceLeases.holderOf(NodeId.nodeId("node1"))));
+        assertThat(leases.holder(), is(not(DiscreteResourceLeases.holderOf(NodeId.nodeId("node2")))));
+        assertThat(leases.holder().isClassOf(DiscreteResourceLeases.LeaseHolder.class), is(true));
+    }
+
+    @Test
+    public void testAssign() {
+        leases.add(ImmutableList.of(VLAN1, VLAN2, MPLS1));
+        assertThat(leases.freeCount(PARENT, VlanId.class), is(2));
+        assertThat(leases.freeCount(PARENT, MplsLabel.class), is(1));
+
+        assertThat(leases.assign(ImmutableList.of(VLAN1, MPLS1), CONSUMER1), is(true));
+        assertThat(leases.isFree(VLAN1), is(false));
+        assertThat(leases.isAssigned(VLAN1, CONSUMER1), is(true));
+        assertThat(leases.isAssigned(VLAN1, CONSUMER2), is(false));
+        assertThat(leases.freeCount(PARENT, VlanId.class), is(1));
+
+        // all or nothing
+        assertThat(leases.assign(ImmutableList.of(VLAN2, VLAN1), CONSUMER2), is(false));
+        assertThat(leases.isFree(VLAN2), is(true));
+
+        leases.unassign(ImmutableList.of(VLAN1));
+        assertThat(leases.isFree(VLAN1), is(true));
+        assertThat(leases.isAssigned(VLAN1, CONSUMER1), is(false));
+        assertThat(leases.freeCount(PARENT, VlanId.class), is(2));
+    }
+
+    @Test
+    public void testRemove() {
+        leases.add(ImmutableList.of(VLAN1, VLAN2, MPLS1));
+        leases.assign(ImmutableList.of(VLAN1), CONSUMER1);
+
+        leases.remove(ImmutableList.of(VLAN1, MPLS1));
+        assertThat(leases.isAssigned(VLAN1, CONSUMER1), is(false));
+        assertThat(leases.isFree(MPLS1), is(false));
+
+        assertThat(leases.removeFree(), containsInAnyOrder(VLAN2));
+        assertThat(leases.freeCount(PARENT, VlanId.class), is(0));
+        assertThat(leases.isFree(Resources.discrete(DID).resource()), is(false));
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.onosproject.store.resource.impl;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import org.junit.Test;
 import org.onlab.packet.VlanId;
@@ -213,4 +214,22 @@ public class EncodableDiscreteResourcesTest {
 
         assertThat(sut.values(), is(ImmutableSet.of(res1, res2)));
     }
+
+    @Test
+    public void testValuesExcept() {
+        DiscreteResource port = Resources.discrete(DeviceId.deviceId("a"), PortNumber.portNumber(1)).resource();
+        List<DiscreteResource> vlans = IntStream.range(1, 4095)
+                .mapToObj(x -> port.child(VlanId.vlanId((short) x)))
+                .collect(Collectors.toList());
+
+        DiscreteResources sut = EncodableDiscreteResources.of(ImmutableSet.copyOf(vlans));
+        DiscreteResources allocated = EncodableDiscreteResources.of(ImmutableSet.of(vlans.get(0), vlans.get(2)));
+
+        assertThat(sut.valuesExcept(VlanId.class, allocated).limit(2).collect(Collectors.toList()),
+                is(ImmutableList.of(vlans.get(1), vlans.get(3))));
+        assertThat(sut.valuesExcept(VlanId.class, allocated).count(), is(4094L - 2));
+        assertThat(sut.valuesExcept(VlanId.class, DiscreteResources.empty()).findFirst(),
+                is(Optional.of(vlans.get(0))));
+        assertThat(sut.valuesExcept(PortNumber.class, allocated).count(), is(0L));
+    }
 }
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.resource.impl;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.onlab.util.ClosedOpenRange;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.OptionalInt;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class IntBitmapTest {
+
+    @Test
+    public void testAddAndContains() {
+        IntBitmap sut = new IntBitmap();
+        sut.add(-1);
+        sut.add(5);
+        sut.add(70000, 70003);
+
+        assertThat(sut.contains(-1), is(true));
+        assertThat(sut.contains(5), is(true));
+        assertThat(sut.contains(70002), is(true));
+        assertThat(sut.contains(70003), is(false));
+        assertThat(sut.contains(6), is(false));
+        assertThat(sut.size(), is(5));
+        assertThat(sut.first(), is(-1));
+        assertThat(sut.stream().boxed().collect(Collectors.toList()),
+                is(ImmutableList.of(-1, 5, 70000, 70001, 70002)));
+    }
+
+    @Test
+    public void testRanges() {
+        IntBitmap sut = new IntBitmap();
+        // spans three chunks
+        sut.add(65000, 140000);
+        sut.add(1);
+        sut.add(Integer.MIN_VALUE);
+
+        assertThat(sut.ranges(), is(ImmutableList.of(
+                ClosedOpenRange.of(Integer.MIN_VALUE, Integer.MIN_VALUE + 1),
+                ClosedOpenRange.of(1, 2),
+                ClosedOpenRange.of(65000, 140000))));
+        assertThat(sut.size(), is(140000 - 65000 + 2));
+    }
+
+    @Test
+    public void testSetOperations() {
+        IntBitmap sut = new IntBitmap();
+        sut.add(1, 10);
+        IntBitmap other = new IntBitmap();
+        other.add(5, 100000);
+
+        IntBitmap union = IntBitmap.copyOf(sut);
+        union.or(other);
+        assertThat(union.ranges(), is(ImmutableList.of(ClosedOpenRange.of(1, 100000))));
+        // the copied bitmap is not modified
+        assertThat(sut.ranges(), is(ImmutableList.of(ClosedOpenRange.of(1, 10))));
+
+        IntBitmap difference = IntBitmap.copyOf(union);
+        difference.andNot(other);
+        assertThat(difference.ranges(), is(ImmutableList.of(ClosedOpenRange.of(1, 5))));
+        difference.andNot(sut);
+        assertThat(difference.isEmpty(), is(true));
+        assertThat(difference, is(new IntBitmap()));
+    }
+
+    @Test
+    public void testCeiling() {
+        IntBitmap sut = new IntBitmap();
+        sut.add(-5);
+        sut.add(3, 5);
+        sut.add(200000);
+
+        assertThat(sut.ceiling(Integer.MIN_VALUE), is(OptionalInt.of(-5)));
+        assertThat(sut.ceiling(-4), is(OptionalInt.of(3)));
+        assertThat(sut.ceiling(4), is(OptionalInt.of(4)));
+        assertThat(sut.ceiling(5), is(OptionalInt.of(200000)));
+        assertThat(sut.ceiling(200001), is(OptionalInt.empty()));
+        assertThat(new IntBitmap().ceiling(0), is(OptionalInt.empty()));
+    }
+
+    @Test
+    public void testFirstFreeValue() {
+        IntBitmap registered = new IntBitmap();
+        registered.add(1, 4095);
+        registered.add(Integer.MAX_VALUE);
+        IntBitmap allocated = new IntBitmap();
+        allocated.add(1, 100);
+
+        IntBitmap free = IntBitmap.copyOf(registered);
+        free.andNot(allocated);
+        assertThat(free.stream().findFirst(), is(OptionalInt.of(100)));
+        assertThat(free.stream().limit(2).boxed().collect(Collectors.toList()), is(ImmutableList.of(100, 101)));
+        assertThat(free.stream().max(), is(OptionalInt.of(Integer.MAX_VALUE)));
+        assertThat(free.stream().count(), is((long) free.size()));
+    }
+
+    @Test
+    public void testLabelSpace() {
+        int labels = 1 << 20;
+        IntBitmap registered = new IntBitmap();
+        registered.add(0, labels);
+        IntBitmap allocated = IntBitmap.of(100, 101, 65536);
+
+        IntBitmap free = IntBitmap.copyOf(registered);
+        free.andNot(allocated);
+        assertThat(free.size(), is(labels - 3));
+        assertThat(free.contains(100), is(false));
+        assertThat(free.contains(102), is(true));
+        assertThat(free.ranges(), is(ImmutableList.of(
+                ClosedOpenRange.of(0, 100),
+                ClosedOpenRange.of(102, 65536),
+                ClosedOpenRange.of(65537, labels))));
+        assertThat(registered.size(), is(labels));
+
+        free.or(allocated);
+        assertThat(free, is(registered));
+        assertThat(free.hashCode(), is(registered.hashCode()));
+    }
+
+    @Test
+    public void testManyRuns() {
+        // every other value, more runs than a chunk holds before using bits
+        int[] even = IntStream.range(0, 40000).map(x -> x * 2).toArray();
+        IntBitmap sut = IntBitmap.of(even);
+        assertThat(sut.size(), is(even.length));
+        assertThat(sut.contains(4), is(true));
+        assertThat(sut.contains(5), is(false));
+        assertThat(sut.ceiling(5), is(OptionalInt.of(6)));
+        assertThat(sut.ranges().size(), is(even.length));
+
+        // bitmaps holding the same values are equal whatever built them
+        IntBitmap added = IntBitmap.of(Arrays.copyOfRange(even, even.length / 2, even.length));
+        added.or(IntBitmap.of(Arrays.copyOf(even, even.length / 2)));
+        added.add(even[0]);
+        assertThat(added, is(sut));
+        assertThat(added.hashCode(), is(sut.hashCode()));
+
+        // back to runs once the values are contiguous again
+        IntBitmap odd = IntBitmap.of(IntStream.of(even).map(x -> x + 1).toArray());
+        sut.or(odd);
+        assertThat(sut.ranges(), is(ImmutableList.of(ClosedOpenRange.of(0, 80000))));
+        sut.andNot(odd);
+        assertThat(sut, is(added));
+    }
+
+    @Test
+    public void testMatchesBitSet() {
+        Random random = new Random(1);
+        int bound = 3 * 65536;
+        for (int round = 0; round < 10; round++) {
+            BitSet left = randomBits(random, bound);
+            BitSet right = randomBits(random, bound);
+            IntBitmap sut = IntBitmap.of(left.stream().toArray());
+            IntBitmap other = IntBitmap.of(right.stream().toArray());
+
+            IntBitmap union = IntBitmap.copyOf(sut);
+            union.or(other);
+            BitSet expected = (BitSet) left.clone();
+            expected.or(right);
+            assertThat(union, is(IntBitmap.of(expected.stream().toArray())));
+            assertThat(union.stream().toArray(), is(expected.stream().toArray()));
+            assertThat(union.size(), is(expected.cardinality()));
+
+            IntBitmap difference = IntBitmap.copyOf(sut);
+            difference.andNot(other);
+            expected = (BitSet) left.clone();
+            expected.andNot(right);
+            assertThat(difference, is(IntBitmap.of(expected.stream().toArray())));
+            assertThat(difference.stream().toArray(), is(expected.stream().toArray()));
+
+            assertThat(sut.stream().toArray(), is(left.stream().toArray()));
+        }
+    }
+
+    // ranges of random lengths, some chunks dense with short runs
+    private static BitSet randomBits(Random random, int bound) {
+        BitSet bits = new BitSet(bound);
+        int maxRun = 1 + random.nextInt(random.nextBoolean() ? 4 : 5000);
+        for (int from = random.nextInt(maxRun); from < bound; from += 1 + random.nextInt(maxRun)) {
+            int to = Math.min(bound, from + 1 + random.nextInt(maxRun));
+            bits.set(from, to);
+            from = to;
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.statistic.impl;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.cfg.ComponentConfigAdapter;
+import org.onosproject.cluster.ClusterServiceAdapter;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.mastership.MastershipServiceAdapter;
+import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.statistic.DefaultLoad;
+import org.onosproject.net.statistic.Load;
+import org.onosproject.store.cluster.messaging.ClusterCommunicationServiceAdapter;
+import org.onosproject.store.cluster.messaging.MessageSubject;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.onosproject.store.statistic.impl.DistributedStatisticStore.LOAD_HISTORY_SIZE;
+
+/**
+ * Unit tests for the load aggregates of {@link DistributedStatisticStore}.
+ */
+public class DistributedStatisticStoreTest {
+
+    private static final DeviceId DID = DeviceId.deviceId("of:1");
+    private static final PortNumber P1 = PortNumber.portNumber(1);
+    private static final ConnectPoint CP = new ConnectPoint(DID, P1);
+    private static final NodeId LOCAL = new NodeId("local");
+    private static final NodeId REMOTE = new NodeId("remote");
+
+    private static final FlowRule R1 = rule(2);
+    private static final FlowRule R2 = rule(3);
+
+    private DistributedStatisticStore store;
+    private NodeId master = LOCAL;
+
+    @Before
+    public void setUp() {
+        store = new DistributedStatisticStore();
+        store.cfgService = new ComponentConfigAdapter();
+        store.clusterService = new ClusterServiceAdapter();
+        store.clusterCommunicator = new LoopbackCommunicator();
+        store.mastershipService = new MastershipServiceAdapter() {
+            @Override
+            public NodeId getMasterFor(DeviceId deviceId) {
+                return master;
+            }
+        };
+        store.activate(null);
+    }
+
+    @After
+    public void tearDown() {
+        store.deactivate();
+    }
+
+    // a rule forwarding traffic received on the given port to P1
+    private static FlowRule rule(int inPort) {
+        return DefaultFlowRule.builder()
+                .forDevice(DID)
+                .withSelector(DefaultTrafficSelector.builder()
+                                      .matchInPort(PortNumber.portNumber(inPort)).build())
+                .withTreatment(DefaultTrafficTreatment.builder().setOutput(P1).build())
+                .withPriority(1)
+                .fromApp(new DefaultApplicationId(1, "test"))
+                .makePermanent()
+                .build();
+    }
+
+    private static FlowEntry entry(FlowRule rule, long bytes) {
+        return new DefaultFlowEntry(rule, FlowEntry.FlowEntryState.ADDED, 0, bytes / 100, bytes);
+    }
+
+    @Test
+    public void testPublishRotatesLoad() {
+        store.prepareForStatistics(R1);
+        store.prepareForStatistics(R2);
+        assertFalse(store.getLoad(CP).isValid());
+
+        // the statistics of a port are published once all its rules reported
+        store.addOrUpdateStatistic(entry(R1, 100));
+        assertFalse(store.getLoad(CP).isValid());
+        store.addOrUpdateStatistic(entry(R2, 200));
+        // no previous statistics to compute a rate from yet
+        assertFalse(store.getLoad(CP).isValid());
+
+        store.addOrUpdateStatistic(entry(R1, 1100));
+        store.addOrUpdateStatistic(entry(R2, 1200));
+        Load load = store.getLoad(CP);
+        assertTrue(load.isValid());
+        assertEquals(2300, load.latest());
+        assertEquals(2000 / 10, load.rate());
+        assertEquals(1, store.getLoadHistory(CP).size());
+    }
+
+    @Test
+    public void testRuleRemovalAdjustsLoad() {
+        store.prepareForStatistics(R1);
+        store.prepareForStatistics(R2);
+        store.addOrUpdateStatistic(entry(R1, 100));
+        store.addOrUpdateStatistic(entry(R2, 200));
+        store.addOrUpdateStatistic(entry(R1, 1100));
+        store.addOrUpdateStatistic(entry(R2, 1200));
+
+        store.removeFromStatistics(R2);
+        Load load = store.getLoad(CP);
+        assertTrue(load.isValid());
+        assertEquals(1100, load.latest());
+        assertEquals(1000 / 10, load.rate());
+        // the history records published observations only
+        assertEquals(2300, store.getLoadHistory(CP).get(0).latest());
+    }
+
+    @Test
+    public void testHistoryBounded() {
+        store.prepareForStatistics(R1);
+        int observations = LOAD_HISTORY_SIZE + 3;
+        for (int i = 0; i < observations; i++) {
+            store.addOrUpdateStatistic(entry(R1, i * 1000));
+        }
+
+        List<Load> history = store.getLoadHistory(CP);
+        assertEquals(LOAD_HISTORY_SIZE, history.size());
+        assertEquals((observations - LOAD_HISTORY_SIZE) * 1000, history.get(0).latest());
+        assertEquals((observations - 1) * 1000, history.get(LOAD_HISTORY_SIZE - 1).latest());
+        assertEquals(store.getLoad(CP).latest(), history.get(LOAD_HISTORY_SIZE - 1).latest());
+    }
+
+    @Test
+    public void testRemoteLoadRoundTrip() {
+        store.prepareForStatistics(R1);
+        for (int i = 0; i < 3; i++) {
+            store.addOrUpdateStatistic(entry(R1, i * 1000));
+        }
+        DefaultLoad local = (DefaultLoad) store.getLoad(CP);
+        List<Load> localHistory = store.getLoadHistory(CP);
+
+        // loads of devices mastered elsewhere are fetched as long arrays
+        master = REMOTE;
+        assertLoadEquals(local, store.getLoad(CP));
+        List<Load> history = store.getLoadHistory(CP);
+        assertEquals(localHistory.size(), history.size());
+        for (int i = 0; i < history.size(); i++) {
+            assertLoadEquals((DefaultLoad) localHistory.get(i), history.get(i));
+        }
+
+        // an invalid load is sent as no load at all
+        assertFalse(store.getLoad(new ConnectPoint(DID, PortNumber.portNumber(9))).isValid());
+        assertTrue(store.getLoadHistory(new ConnectPoint(DID, PortNumber.portNumber(9))).isEmpty());
+    }
+
+    private static void assertLoadEquals(DefaultLoad expected, Load actual) {
+        assertTrue(actual.isValid());
+        assertEquals(expected.latest(), actual.latest());
+        assertEquals(expected.previous(), ((DefaultLoad) actual).previous());
+        assertEquals(expected.interval(), ((DefaultLoad) actual).interval());
+        assertEquals(expected.time(), actual.time());
+    }
+
+    /**
+     * Communicator delivering requests to the handlers registered by the
+     * store itself, through their encoders and decoders.
+     */
+    private static class LoopbackCommunicator extends ClusterCommunicationServiceAdapter {
+        private final Map<MessageSubject, Function<byte[], byte[]>> handlers = new ConcurrentHashMap<>();
+
+        @Override
+        public <M, R> void addSubscriber(MessageSubject subject,
+                                         Function<byte[], M> decoder, Function<M, R> handler,
+                                         Function<R, byte[]> encoder, Executor executor) {
+            handlers.put(subject, bytes -> encoder.apply(handler.apply(decoder.apply(bytes))));
+        }
+
+        @Override
+        public void removeSubscriber(MessageSubject subject) {
+            handlers.remove(subject);
+        }
+
+        @Override
+        public <M, R> CompletableFuture<R> sendAndReceive(M message,
+                                                          MessageSubject subject, Function<M, byte[]> encoder,
+                                                          Function<byte[], R> decoder, NodeId toNodeId) {
+            byte[] reply = handlers.get(subject).apply(encoder.apply(message));
+            return CompletableFuture.completedFuture(decoder.apply(reply));
+        }
+    }
+}
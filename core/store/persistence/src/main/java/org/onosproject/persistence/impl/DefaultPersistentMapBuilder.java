@@ -21,17 +21,21 @@ import org.onosproject.persistence.PersistentMapBuilder;
 import org.onosproject.store.service.Serializer;
 
 import java.util.Map;
+import java.util.function.Function;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
- * Default builder for persistent maps stored in the mapDB local database via the persistence service.
+ * Default builder for persistent maps stored in the local log-structured store, or in a mapDB local database,
+ * via the persistence service.
  */
 public class DefaultPersistentMapBuilder<K, V> implements PersistentMapBuilder<K, V> {
 
     private final DB localDB;
 
+    private final Function<String, Map<byte[], byte[]>> items;
+
     private String name = null;
 
     private Serializer serializer = null;
@@ -39,9 +43,16 @@ public class DefaultPersistentMapBuilder<K, V> implements PersistentMapBuilder<K
 
     public DefaultPersistentMapBuilder(DB localDB) {
         checkNotNull(localDB, "The local database cannot be null.");
+        this.items = null;
         this.localDB = localDB;
     }
 
+    DefaultPersistentMapBuilder(LogStructuredStore store) {
+        checkNotNull(store, "The local store cannot be null.");
+        this.items = store::map;
+        this.localDB = null;
+    }
+
     public PersistentMapBuilder<K, V> withName(String name) {
         this.name = PersistenceManager.MAP_PREFIX + checkNotNull(name);
         return this;
@@ -58,6 +69,9 @@ public class DefaultPersistentMapBuilder<K, V> implements PersistentMapBuilder<K
         checkNotNull(name, "The name must be assigned.");
         checkNotNull(serializer, "The key serializer must be assigned.");
 
+        if (items != null) {
+            return new PersistentMap<K, V>(serializer, items.apply(name), name);
+        }
         return new PersistentMap<K, V>(serializer, localDB, name);
     }
 }
\ No newline at end of file
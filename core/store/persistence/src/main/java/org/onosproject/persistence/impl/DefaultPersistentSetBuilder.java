@@ -20,24 +20,36 @@ import org.mapdb.DB;
 import org.onosproject.persistence.PersistentSetBuilder;
 import org.onosproject.store.service.Serializer;
 
+import java.util.Set;
+import java.util.function.Function;
+
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
- * Default builder for persistent sets stored in the mapDB local database via the persistence service..
+ * Default builder for persistent sets stored in the local log-structured store, or in a mapDB local database,
+ * via the persistence service.
  */
 public class DefaultPersistentSetBuilder<E> implements PersistentSetBuilder<E> {
 
     private final DB localDB;
 
+    private final Function<String, Set<byte[]>> items;
+
     private String name = null;
 
     private Serializer serializer = null;
 
     public DefaultPersistentSetBuilder(DB localDB) {
+        this.items = null;
         this.localDB = checkNotNull(localDB, "The local database cannot be null.");
     }
 
+    DefaultPersistentSetBuilder(LogStructuredStore store) {
+        this.items = checkNotNull(store, "The local store cannot be null.")::set;
+        this.localDB = null;
+    }
+
     public PersistentSetBuilder<E> withName(String name) {
         this.name = PersistenceManager.SET_PREFIX + checkNotNull(name);
         return this;
@@ -54,6 +66,9 @@ public class DefaultPersistentSetBuilder<E> implements PersistentSetBuilder<E> {
         checkNotNull(name, "The name must be assigned.");
         checkNotNull(serializer, "The serializer must be assigned.");
 
+        if (items != null) {
+            return new PersistentSet<E>(serializer, items.apply(name), name);
+        }
         return new PersistentSet<E>(serializer, localDB, name);
     }
 }
\ No newline at end of file
@@ -0,0 +1,805 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.persistence.impl;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Local store of named byte array maps and sets, persisted in an append-only
+ * log of memory-mapped segment files.
+ * <p>
+ * Every update is appended to the current segment; segments are forced to disk
+ * in batches by {@link #flush()}. Only the keys are kept in memory, each with the
+ * location of its latest value in the log, from which values are read when
+ * accessed. Each segment defines the collection names it refers to in records of
+ * their own, which map a name to a two byte identifier used by the records that
+ * follow in the segment.
+ * <p>
+ * When most of the log consists of overwritten or removed entries, {@link #compact()}
+ * rewrites the live entries into new segments and deletes the old ones. On
+ * {@link #open()} the segments are parsed in parallel and replayed in order; a torn
+ * record at the end of a segment ends its replay, and appending resumes in the last
+ * segment right after its last valid record.
+ * <p>
+ * Compacted segments are named after the last segment they replace, with a
+ * part number, so that they replay after the segments they replace and before
+ * the updates appended while compaction was running.
+ */
+final class LogStructuredStore {
+
+    private static final String SEGMENT_FORMAT = "%010d.log";
+    private static final String COMPACTED_SEGMENT_FORMAT = "%010d.%06d.log";
+    private static final Pattern SEGMENT_PATTERN = Pattern.compile("(\\d{10})(?:\\.(\\d{6}))?\\.log");
+    private static final Comparator<Path> SEGMENT_ORDER =
+            Comparator.comparingLong(LogStructuredStore::segmentId)
+                    .thenComparingInt(LogStructuredStore::segmentPart);
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte CLEAR = 3;
+    // defines the identifier of a collection name within a segment
+    private static final byte NAME = 4;
+
+    // record length and checksum
+    private static final int RECORD_HEADER_SIZE = 8;
+    // type, name identifier, key length and value length
+    private static final int RECORD_BODY_OVERHEAD = 1 + 2 + 4 + 4;
+    private static final int MAX_NAMES_PER_SEGMENT = 0x10000;
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final Logger log = getLogger(getClass());
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ConcurrentMap<String, ConcurrentMap<Key, Location>> collections = Maps.newConcurrentMap();
+    private final List<Segment> segments = Lists.newArrayList();
+    private final Object compactionLock = new Object();
+
+    private long nextSegmentId;
+    private Segment current;
+    private boolean dirty;
+    private long totalBytes;
+    private long garbageBytes;
+    private boolean open;
+
+    /**
+     * Creates a store kept in the given directory.
+     *
+     * @param directory directory of the segment files
+     * @param segmentSize size of a segment file in bytes
+     */
+    LogStructuredStore(Path directory, int segmentSize) {
+        checkArgument(segmentSize > RECORD_HEADER_SIZE, "Segment size too small");
+        this.directory = checkNotNull(directory);
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the store, recovering its contents from existing segments.
+     *
+     * @throws IOException if the segments cannot be read or created
+     */
+    synchronized void open() throws IOException {
+        checkState(!open, "Store is already open");
+        Files.createDirectories(directory);
+        List<Path> existing = Lists.newArrayList();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (SEGMENT_PATTERN.matcher(file.getFileName().toString()).matches()) {
+                    existing.add(file);
+                }
+            }
+        }
+        existing.sort(SEGMENT_ORDER);
+
+        Path tail = existing.isEmpty() ? null : existing.get(existing.size() - 1);
+        List<RecoveredSegment> recovered = existing.parallelStream()
+                .map(segment -> readSegment(segment, segment.equals(tail)))
+                .collect(Collectors.toList());
+        recovered.forEach(segment -> segment.records.forEach(record -> apply(segment.segment, record)));
+        recovered.forEach(segment -> segments.add(segment.segment));
+        log.info("Recovered {} collections from {} segments", collections.size(), existing.size());
+
+        if (tail == null) {
+            nextSegmentId = 0;
+            startSegment(segmentSize);
+        } else {
+            nextSegmentId = segmentId(tail) + 1;
+            RecoveredSegment last = recovered.get(recovered.size() - 1);
+            resumeSegment(last.segment, last.end);
+        }
+        open = true;
+    }
+
+    /**
+     * Returns a persistent view of a named map.
+     *
+     * @param name map name
+     * @return map of byte arrays, with keys compared by content
+     */
+    Map<byte[], byte[]> map(String name) {
+        return new LoggedMap(checkNotNull(name));
+    }
+
+    /**
+     * Returns a persistent view of a named set.
+     *
+     * @param name set name
+     * @return set of byte arrays, compared by content
+     */
+    Set<byte[]> set(String name) {
+        return new LoggedSet(checkNotNull(name));
+    }
+
+    /**
+     * Forces appended updates to disk.
+     */
+    synchronized void flush() {
+        if (dirty && current != null) {
+            current.buffer.force();
+            dirty = false;
+        }
+    }
+
+    /**
+     * Returns whether compaction would reclaim at least half of the log.
+     *
+     * @return true if the store should be compacted
+     */
+    synchronized boolean needsCompaction() {
+        return totalBytes > segmentSize && garbageBytes * 2 > totalBytes;
+    }
+
+    /**
+     * Rewrites the live entries into new segments and deletes the old ones.
+     * <p>
+     * The store lock is only held to seal the current segment and to swap in
+     * the compacted segments; the live entries are written in between while
+     * updates keep being appended to a new segment. An entry is only moved to
+     * its compacted location if it was not updated meanwhile, as the update
+     * replays after it anyway.
+     *
+     * @throws IOException if the new segments cannot be written
+     */
+    void compact() throws IOException {
+        synchronized (compactionLock) {
+            List<Segment> obsolete;
+            long sealedBytes;
+            synchronized (this) {
+                checkState(open, "Store is not open");
+                flush();
+                obsolete = Lists.newArrayList(segments);
+                sealedBytes = totalBytes;
+                startSegment(segmentSize);
+            }
+
+            CompactedSegments compacted =
+                    new CompactedSegments(segmentId(obsolete.get(obsolete.size() - 1).path));
+            for (Map.Entry<String, ConcurrentMap<Key, Location>> collection : collections.entrySet()) {
+                for (Map.Entry<Key, Location> entry : collection.getValue().entrySet()) {
+                    Location location = entry.getValue();
+                    Location moved = compacted.append(collection.getKey(), entry.getKey().bytes, location.read());
+                    collection.getValue().replace(entry.getKey(), location, moved);
+                }
+            }
+            compacted.force();
+
+            synchronized (this) {
+                if (!open) {
+                    return;
+                }
+                long liveBytes = totalBytes - garbageBytes;
+                totalBytes = compacted.bytes + totalBytes - sealedBytes;
+                garbageBytes = Math.max(0, totalBytes - liveBytes);
+                segments.removeAll(obsolete);
+                segments.addAll(0, compacted.segments);
+            }
+            // oldest first, so that an interrupted compaction still replays correctly;
+            // values still being read from a deleted segment stay mapped until then
+            for (Segment segment : obsolete) {
+                Files.deleteIfExists(segment.path);
+            }
+            log.debug("Compacted {} segments into {}", obsolete.size(), compacted.segments.size());
+        }
+    }
+
+    /**
+     * Flushes and closes the store.
+     */
+    synchronized void close() {
+        flush();
+        current = null;
+        segments.clear();
+        collections.clear();
+        open = false;
+    }
+
+    /**
+     * Returns the number of segment files in use.
+     *
+     * @return segment count
+     */
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    private static Matcher segmentName(Path segment) {
+        Matcher matcher = SEGMENT_PATTERN.matcher(segment.getFileName().toString());
+        checkState(matcher.matches());
+        return matcher;
+    }
+
+    private static long segmentId(Path segment) {
+        return Long.parseLong(segmentName(segment).group(1));
+    }
+
+    private static int segmentPart(Path segment) {
+        String part = segmentName(segment).group(2);
+        return part == null ? 0 : Integer.parseInt(part);
+    }
+
+    private static Segment createSegment(Path segment, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment,
+                                                    StandardOpenOption.CREATE_NEW,
+                                                    StandardOpenOption.READ,
+                                                    StandardOpenOption.WRITE)) {
+            return new Segment(segment, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    private void startSegment(int size) throws IOException {
+        if (current != null) {
+            current.buffer.force();
+        }
+        Path segment = directory.resolve(String.format(SEGMENT_FORMAT, nextSegmentId++));
+        current = createSegment(segment, size);
+        segments.add(current);
+        dirty = false;
+    }
+
+    private void resumeSegment(Segment segment, int end) {
+        current = segment;
+        MappedByteBuffer buffer = segment.buffer;
+        // wipe what follows the last valid record, so that the remains of a
+        // torn write can never be mistaken for records appended from now on
+        int last = buffer.limit() - 1;
+        while (last >= end && buffer.get(last) == 0) {
+            last--;
+        }
+        for (int i = end; i <= last; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.position(end);
+        buffer.force();
+        dirty = false;
+    }
+
+    private RecoveredSegment readSegment(Path path, boolean writable) {
+        List<Record> records = Lists.newArrayList();
+        int end = 0;
+        Segment segment;
+        StandardOpenOption[] options = writable ?
+                new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE} :
+                new StandardOpenOption[]{StandardOpenOption.READ};
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            segment = new Segment(path, channel.map(writable ? FileChannel.MapMode.READ_WRITE :
+                                                            FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            ByteBuffer buffer = segment.buffer.duplicate();
+            Map<Integer, String> names = Maps.newHashMap();
+            CRC32 crc = new CRC32();
+            while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length < RECORD_BODY_OVERHEAD || length > buffer.remaining()) {
+                    break;
+                }
+                ByteBuffer body = buffer.slice();
+                body.limit(length);
+                crc.reset();
+                crc.update(body);
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("Ignoring torn record at the end of {}", path);
+                    break;
+                }
+                int start = buffer.position();
+                byte type = buffer.get();
+                int nameId = buffer.getShort() & 0xffff;
+                byte[] key = new byte[buffer.getInt()];
+                buffer.get(key);
+                int valueLength = buffer.getInt();
+                int valueOffset = buffer.position();
+                checkState(valueOffset + valueLength == start + length, "Inconsistent record length");
+                buffer.position(start + length);
+                if (type == NAME) {
+                    String name = new String(key, UTF_8);
+                    names.put(nameId, name);
+                    segment.nameIds.put(name, nameId);
+                    records.add(new Record(type, name, key, valueOffset, valueLength));
+                } else {
+                    String name = names.get(nameId);
+                    if (name == null) {
+                        throw new PersistenceException("Undefined collection " + nameId + " in " + path);
+                    }
+                    records.add(new Record(type, name, key, valueOffset, valueLength));
+                }
+                end = buffer.position();
+            }
+        } catch (IOException | RuntimeException e) {
+            throw new PersistenceException("Unable to read segment " + path, e);
+        }
+        return new RecoveredSegment(segment, records, end);
+    }
+
+    private void apply(Segment segment, Record record) {
+        int size = recordSize(record.key.length, record.valueLength);
+        totalBytes += size;
+        switch (record.type) {
+            case NAME:
+                break;
+            case PUT:
+                Location location = new Location(segment, record.valueOffset, record.valueLength);
+                updateGarbage(collection(record.name).put(new Key(record.key), location), record.key);
+                break;
+            case REMOVE:
+                garbageBytes += size;
+                updateGarbage(collection(record.name).remove(new Key(record.key)), record.key);
+                break;
+            case CLEAR:
+                garbageBytes += size;
+                clearCollection(record.name);
+                break;
+            default:
+                throw new PersistenceException("Unknown record type " + record.type);
+        }
+    }
+
+    private ConcurrentMap<Key, Location> collection(String name) {
+        return collections.computeIfAbsent(name, n -> Maps.newConcurrentMap());
+    }
+
+    private void updateGarbage(Location previous, byte[] key) {
+        if (previous != null) {
+            garbageBytes += recordSize(key.length, previous.length);
+        }
+    }
+
+    private void clearCollection(String name) {
+        Map<Key, Location> collection = collections.remove(name);
+        if (collection != null) {
+            collection.forEach((k, v) -> garbageBytes += recordSize(k.bytes.length, v.length));
+        }
+    }
+
+    private static int recordSize(int keyLength, int valueLength) {
+        return RECORD_HEADER_SIZE + RECORD_BODY_OVERHEAD + keyLength + valueLength;
+    }
+
+    private synchronized byte[] put(String name, byte[] key, byte[] value) {
+        Location location = log(PUT, name, key, value);
+        Location previous = collection(name).put(new Key(key), location);
+        updateGarbage(previous, key);
+        return previous == null ? null : previous.read();
+    }
+
+    private synchronized byte[] remove(String name, byte[] key) {
+        Map<Key, Location> collection = collections.get(name);
+        if (collection == null || !collection.containsKey(new Key(key))) {
+            return null;
+        }
+        garbageBytes += recordSize(key.length, 0);
+        log(REMOVE, name, key, EMPTY);
+        Location previous = collection.remove(new Key(key));
+        updateGarbage(previous, key);
+        return previous == null ? null : previous.read();
+    }
+
+    private synchronized void clear(String name) {
+        if (collections.containsKey(name)) {
+            garbageBytes += recordSize(0, 0);
+            log(CLEAR, name, EMPTY, EMPTY);
+            clearCollection(name);
+        }
+    }
+
+    private Location log(byte type, String name, byte[] key, byte[] value) {
+        checkState(open, "Store is not open");
+        try {
+            int size = recordSize(key.length, value.length);
+            if (!current.fits(name, size)) {
+                startSegment(Math.max(segmentSize, Segment.sizeWithName(name, size)));
+            }
+            totalBytes += current.sizeOf(name, size);
+            dirty = true;
+            return current.append(type, name, key, value);
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to append to the log", e);
+        }
+    }
+
+    /**
+     * Records recovered from a segment, and the offset following the last one.
+     */
+    private static final class RecoveredSegment {
+        private final Segment segment;
+        private final List<Record> records;
+        private final int end;
+
+        private RecoveredSegment(Segment segment, List<Record> records, int end) {
+            this.segment = segment;
+            this.records = records;
+            this.end = end;
+        }
+    }
+
+    /**
+     * Segments being written by a compaction, outside of the store lock.
+     */
+    private final class CompactedSegments {
+        private final long replacedId;
+        private final List<Segment> segments = Lists.newArrayList();
+        private Segment segment;
+        private long bytes;
+
+        private CompactedSegments(long replacedId) {
+            this.replacedId = replacedId;
+        }
+
+        private Location append(String name, byte[] key, byte[] value) throws IOException {
+            int size = recordSize(key.length, value.length);
+            if (segment == null || !segment.fits(name, size)) {
+                force();
+                Path path = directory.resolve(
+                        String.format(COMPACTED_SEGMENT_FORMAT, replacedId, segments.size() + 1));
+                segment = createSegment(path, Math.max(segmentSize, Segment.sizeWithName(name, size)));
+                segments.add(segment);
+            }
+            bytes += segment.sizeOf(name, size);
+            return segment.append(PUT, name, key, value);
+        }
+
+        private void force() {
+            if (segment != null) {
+                segment.buffer.force();
+            }
+        }
+    }
+
+    /**
+     * Segment file mapped in memory, along with the identifiers of the
+     * collection names defined in it.
+     */
+    private static final class Segment {
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        // only changed by the appending thread, or while the segment is recovered
+        private final Map<String, Integer> nameIds = Maps.newHashMap();
+
+        private Segment(Path path, MappedByteBuffer buffer) {
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        // Returns the size of a record preceded by the definition of its collection name.
+        private static int sizeWithName(String name, int size) {
+            return size + recordSize(name.getBytes(UTF_8).length, 0);
+        }
+
+        // Returns the size a record takes in this segment, along with the
+        // definition of its collection name if needed.
+        private int sizeOf(String name, int size) {
+            return nameIds.containsKey(name) ? size : sizeWithName(name, size);
+        }
+
+        private boolean fits(String name, int size) {
+            return (nameIds.containsKey(name) || nameIds.size() < MAX_NAMES_PER_SEGMENT)
+                    && buffer.remaining() >= sizeOf(name, size);
+        }
+
+        // Appends a record, and returns the location of its value.
+        private Location append(byte type, String name, byte[] key, byte[] value) {
+            Integer nameId = nameIds.get(name);
+            if (nameId == null) {
+                nameId = nameIds.size();
+                write(NAME, nameId, name.getBytes(UTF_8), EMPTY);
+                nameIds.put(name, nameId);
+            }
+            return new Location(this, write(type, nameId, key, value), value.length);
+        }
+
+        // Writes a record, and returns the offset of its value.
+        private int write(byte type, int nameId, byte[] key, byte[] value) {
+            ByteBuffer body = ByteBuffer.allocate(RECORD_BODY_OVERHEAD + key.length + value.length);
+            body.put(type)
+                    .putShort((short) nameId)
+                    .putInt(key.length)
+                    .put(key)
+                    .putInt(value.length)
+                    .put(value);
+            CRC32 crc = new CRC32();
+            crc.update(body.array(), 0, body.capacity());
+            buffer.putInt(body.capacity());
+            buffer.putInt((int) crc.getValue());
+            int valueOffset = buffer.position() + RECORD_BODY_OVERHEAD + key.length;
+            buffer.put(body.array());
+            return valueOffset;
+        }
+
+        private byte[] read(int offset, int length) {
+            byte[] bytes = new byte[length];
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset);
+            view.get(bytes);
+            return bytes;
+        }
+    }
+
+    /**
+     * Location of a value in the log.
+     */
+    private static final class Location {
+        private final Segment segment;
+        private final int offset;
+        private final int length;
+
+        private Location(Segment segment, int offset, int length) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        private byte[] read() {
+            return segment.read(offset, length);
+        }
+    }
+
+    /**
+     * Byte array wrapper compared by content.
+     */
+    private static final class Key {
+        private final byte[] bytes;
+        private final int hash;
+
+        private Key(byte[] bytes) {
+            this.bytes = checkNotNull(bytes);
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && Arrays.equals(bytes, ((Key) other).bytes);
+        }
+    }
+
+    /**
+     * Single update of a collection recovered from a segment, with the
+     * location of its value in the segment.
+     */
+    private static final class Record {
+        private final byte type;
+        private final String name;
+        private final byte[] key;
+        private final int valueOffset;
+        private final int valueLength;
+
+        private Record(byte type, String name, byte[] key, int valueOffset, int valueLength) {
+            this.type = type;
+            this.name = name;
+            this.key = key;
+            this.valueOffset = valueOffset;
+            this.valueLength = valueLength;
+        }
+    }
+
+    /**
+     * Map view of a collection; updates are appended to the log.
+     */
+    private final class LoggedMap extends AbstractMap<byte[], byte[]> {
+        private final String name;
+
+        private LoggedMap(String name) {
+            this.name = name;
+        }
+
+        private Map<Key, Location> items() {
+            Map<Key, Location> items = collections.get(name);
+            return items == null ? Collections.emptyMap() : items;
+        }
+
+        @Override
+        public int size() {
+            return items().size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof byte[] && items().containsKey(new Key((byte[]) key));
+        }
+
+        @Override
+        public byte[] get(Object key) {
+            Location location = key instanceof byte[] ? items().get(new Key((byte[]) key)) : null;
+            return location == null ? null : location.read();
+        }
+
+        @Override
+        public byte[] put(byte[] key, byte[] value) {
+            return LogStructuredStore.this.put(name, checkNotNull(key), checkNotNull(value));
+        }
+
+        @Override
+        public byte[] remove(Object key) {
+            return key instanceof byte[] ? LogStructuredStore.this.remove(name, (byte[]) key) : null;
+        }
+
+        @Override
+        public void clear() {
+            LogStructuredStore.this.clear(name);
+        }
+
+        @Override
+        public Set<byte[]> keySet() {
+            return new AbstractSet<byte[]>() {
+                @Override
+                public Iterator<byte[]> iterator() {
+                    Iterator<Key> keys = items().keySet().iterator();
+                    return new Iterator<byte[]>() {
+                        private byte[] last;
+
+                        @Override
+                        public boolean hasNext() {
+                            return keys.hasNext();
+                        }
+
+                        @Override
+                        public byte[] next() {
+                            last = keys.next().bytes;
+                            return last;
+                        }
+
+                        @Override
+                        public void remove() {
+                            checkState(last != null);
+                            LoggedMap.this.remove(last);
+                            last = null;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return LoggedMap.this.size();
+                }
+            };
+        }
+
+        @Override
+        public Set<Entry<byte[], byte[]>> entrySet() {
+            return new AbstractSet<Entry<byte[], byte[]>>() {
+                @Override
+                public Iterator<Entry<byte[], byte[]>> iterator() {
+                    Iterator<Entry<byte[], byte[]>> entries = Iterators.transform(
+                            items().entrySet().iterator(),
+                            e -> Maps.immutableEntry(e.getKey().bytes, e.getValue().read()));
+                    return new Iterator<Entry<byte[], byte[]>>() {
+                        private Entry<byte[], byte[]> last;
+
+                        @Override
+                        public boolean hasNext() {
+                            return entries.hasNext();
+                        }
+
+                        @Override
+                        public Entry<byte[], byte[]> next() {
+                            last = entries.next();
+                            return last;
+                        }
+
+                        @Override
+                        public void remove() {
+                            checkState(last != null);
+                            LoggedMap.this.remove(last.getKey());
+                            last = null;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return LoggedMap.this.size();
+                }
+            };
+        }
+    }
+
+    /**
+     * Set view of a collection; updates are appended to the log.
+     */
+    private final class LoggedSet extends AbstractSet<byte[]> {
+        private final LoggedMap map;
+
+        private LoggedSet(String name) {
+            this.map = new LoggedMap(name);
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean contains(Object item) {
+            return map.containsKey(item);
+        }
+
+        @Override
+        public boolean add(byte[] item) {
+            return !map.containsKey(item) && map.put(item, EMPTY) == null;
+        }
+
+        @Override
+        public boolean remove(Object item) {
+            return map.remove(item) != null;
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public Iterator<byte[]> iterator() {
+            return map.keySet().iterator();
+        }
+    }
+}
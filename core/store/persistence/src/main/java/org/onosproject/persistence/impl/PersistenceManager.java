@@ -30,6 +30,7 @@ import org.slf4j.Logger;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Map;
@@ -42,8 +43,9 @@ import static org.onosproject.security.AppPermission.Type.PERSISTENCE_WRITE;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
- * Service that maintains local disk backed maps and sets.  This implementation automatically deletes empty structures
- * on shutdown.
+ * Service that maintains local disk backed maps and sets.  The structures are kept in a log-structured store that
+ * appends updates to memory-mapped segment files, forces them to disk in batches and compacts them in the background.
+ * Structures held in a database of a previous release are migrated to the store on activation.
  */
 @Component(immediate = true)
 @Service
@@ -51,13 +53,17 @@ public class PersistenceManager implements PersistenceService {
 
     private static final String DATABASE_PATH = "localDB";
 
+    private static final String LOG_PATH = "localLog";
+
+    private static final int SEGMENT_SIZE = 32 * 1024 * 1024;
+
     static final String MAP_PREFIX = "map:";
 
     static final String SET_PREFIX = "set:";
 
     private final Logger log = getLogger(getClass());
 
-    private DB localDB = null;
+    private LogStructuredStore localStore = null;
 
     private static final int FLUSH_FREQUENCY_MILLIS = 3000;
 
@@ -70,31 +76,17 @@ public class PersistenceManager implements PersistenceService {
         timer = new Timer();
         // bundle's persistent storage area directory
         File dbFolderPath = context.getBundleContext().getDataFile("");
-        Path dbPath = dbFolderPath.toPath().resolve(DATABASE_PATH);
-        log.debug("dbPath: {}", dbPath);
-
-        //Make sure the directory exists, if it does not, make it.
-        if (!dbFolderPath.isDirectory()) {
-            log.info("The specified folder location for the database did not exist and will be created.");
-            try {
-                Files.createDirectories(dbFolderPath.toPath());
-            } catch (IOException e) {
-                log.error("Could not create the required folder for the database.");
-                throw new PersistenceException("Database folder could not be created.");
-            }
-        }
-        //Notify if the database file does not exist.
-        boolean dbFound = Files.exists(dbPath);
-        if (!dbFound) {
-            log.info("The database file could not be located, a new database will be constructed.");
-
-        } else {
-            log.info("A previous database file has been found.");
+        Path logPath = dbFolderPath.toPath().resolve(LOG_PATH);
+        log.debug("logPath: {}", logPath);
+
+        localStore = new LogStructuredStore(logPath, SEGMENT_SIZE);
+        try {
+            localStore.open();
+        } catch (IOException e) {
+            log.error("Could not open the local store.");
+            throw new PersistenceException("Local store could not be opened.", e);
         }
-        localDB = DBMaker.newFileDB(dbPath.toFile())
-                .asyncWriteEnable()
-                .closeOnJvmShutdown()
-                .make();
+        migrate(dbFolderPath.toPath());
         timer.schedule(commitTask, FLUSH_FREQUENCY_MILLIS, FLUSH_FREQUENCY_MILLIS);
         log.info("Started");
     }
@@ -102,47 +94,70 @@ public class PersistenceManager implements PersistenceService {
     @Deactivate
     public void deactivate() {
         timer.cancel();
-        for (Map.Entry<String, Object> entry : localDB.getAll().entrySet()) {
-            String key = entry.getKey();
-            Object value = entry.getValue();
-                //This is a map implementation to be handled as such
-            if (value instanceof Map) {
-                Map asMap = (Map) value;
-                if (asMap.isEmpty()) {
-                    //the map is empty and may be deleted
-                    localDB.delete(key);
-                }
-                //This is a set implementation and can be handled as such
-            } else if (value instanceof Set) {
-                Set asSet = (Set) value;
-                if (asSet.isEmpty()) {
-                    //the set is empty and may be deleted
-                    localDB.delete(key);
-                }
-            }
-        }
-        localDB.commit();
-        localDB.close();
+        localStore.close();
         log.info("Stopped");
     }
 
     @Override
     public <K, V> PersistentMapBuilder<K, V> persistentMapBuilder() {
         checkPermission(PERSISTENCE_WRITE);
-        return new DefaultPersistentMapBuilder<>(localDB);
+        return new DefaultPersistentMapBuilder<>(localStore);
     }
 
     @Override
     public <E> PersistentSetBuilder<E> persistentSetBuilder() {
         checkPermission(PERSISTENCE_WRITE);
-        return new DefaultPersistentSetBuilder<>(localDB);
+        return new DefaultPersistentSetBuilder<>(localStore);
+    }
+
+    /**
+     * Copies the maps and sets of a database left by a previous release into the local store and deletes the
+     * database files.
+     *
+     * @param dbFolderPath folder of the database
+     */
+    @SuppressWarnings("unchecked")
+    private void migrate(Path dbFolderPath) {
+        Path dbPath = dbFolderPath.resolve(DATABASE_PATH);
+        if (!Files.exists(dbPath)) {
+            return;
+        }
+        log.info("A previous database file has been found and will be migrated.");
+        DB localDB = DBMaker.newFileDB(dbPath.toFile()).make();
+        try {
+            for (Map.Entry<String, Object> entry : localDB.getAll().entrySet()) {
+                Object value = entry.getValue();
+                if (value instanceof Map) {
+                    localStore.map(entry.getKey()).putAll((Map<byte[], byte[]>) value);
+                } else if (value instanceof Set) {
+                    localStore.set(entry.getKey()).addAll((Set<byte[]>) value);
+                }
+            }
+        } finally {
+            localDB.close();
+        }
+        localStore.flush();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dbFolderPath, DATABASE_PATH + "*")) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete the migrated database files.", e);
+        }
     }
 
     private class CommitTask extends TimerTask {
 
         @Override
         public void run() {
-            localDB.commit();
+            localStore.flush();
+            if (localStore.needsCompaction()) {
+                try {
+                    localStore.compact();
+                } catch (IOException e) {
+                    log.warn("Could not compact the local store.", e);
+                }
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -36,18 +36,29 @@ public class PersistentMap<K, V> implements Map<K, V> {
 
     private final Serializer serializer;
 
-    private final org.mapdb.DB database;
-
     private final Map<byte[], byte[]> items;
 
     private final String name;
 
     public PersistentMap(Serializer serializer, DB database, String name) {
+        this(serializer, createItems(checkNotNull(database), checkNotNull(name)), name);
+    }
+
+    /**
+     * Creates a persistent map over the given map of serialized entries.
+     *
+     * @param serializer serializer of keys and values
+     * @param items backing map of serialized entries, comparing keys by content
+     * @param name map name
+     */
+    public PersistentMap(Serializer serializer, Map<byte[], byte[]> items, String name) {
         this.serializer = checkNotNull(serializer);
-        this.database = checkNotNull(database);
+        this.items = checkNotNull(items);
         this.name = checkNotNull(name);
+    }
 
-        items = database
+    private static Map<byte[], byte[]> createItems(DB database, String name) {
+        return database
                 .createHashMap(name)
                 .keySerializer(org.mapdb.Serializer.BYTE_ARRAY)
                 .valueSerializer(org.mapdb.Serializer.BYTE_ARRAY)
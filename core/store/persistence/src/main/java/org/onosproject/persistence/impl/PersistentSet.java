@@ -35,18 +35,29 @@ public class PersistentSet<E> implements Set<E> {
 
     private final org.onosproject.store.service.Serializer serializer;
 
-    private final org.mapdb.DB database;
-
     private final Set<byte[]> items;
 
     private final String name;
 
     public PersistentSet(org.onosproject.store.service.Serializer serializer, DB database, String name) {
+        this(serializer, createItems(checkNotNull(database), checkNotNull(name)), name);
+    }
+
+    /**
+     * Creates a persistent set over the given set of serialized items.
+     *
+     * @param serializer serializer of the items
+     * @param items backing set of serialized items, compared by content
+     * @param name set name
+     */
+    public PersistentSet(org.onosproject.store.service.Serializer serializer, Set<byte[]> items, String name) {
         this.serializer = checkNotNull(serializer);
-        this.database = checkNotNull(database);
+        this.items = checkNotNull(items);
         this.name = checkNotNull(name);
+    }
 
-        items = database
+    private static Set<byte[]> createItems(DB database, String name) {
+        return database
                 .createHashSet(name)
                 .serializer(Serializer.BYTE_ARRAY)
                 .hasher(Hasher.BYTE_ARRAY)
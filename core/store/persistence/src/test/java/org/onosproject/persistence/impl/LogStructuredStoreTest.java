@@ -0,0 +1,237 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.persistence.impl;
+
+import com.google.common.collect.Maps;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.util.Tools;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test suite for the log-structured local store.
+ */
+public class LogStructuredStoreTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    private Path directory;
+    private LogStructuredStore store;
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(UTF_8);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("logStore");
+        store = new LogStructuredStore(directory, SEGMENT_SIZE);
+        store.open();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        store.close();
+        Tools.removeDirectory(directory.toFile());
+    }
+
+    private void reopen() throws Exception {
+        store.close();
+        store = new LogStructuredStore(directory, SEGMENT_SIZE);
+        store.open();
+    }
+
+    /**
+     * Tests that maps and sets are recovered from the log.
+     */
+    @Test
+    public void testRecovery() throws Exception {
+        Map<byte[], byte[]> map = store.map("map");
+        Set<byte[]> set = store.set("set");
+        map.put(bytes("a"), bytes("1"));
+        map.put(bytes("b"), bytes("2"));
+        map.put(bytes("a"), bytes("3"));
+        map.remove(bytes("b"));
+        set.add(bytes("x"));
+        set.add(bytes("y"));
+        set.remove(bytes("y"));
+        store.map("cleared").put(bytes("c"), bytes("4"));
+        store.map("cleared").clear();
+
+        reopen();
+        map = store.map("map");
+        assertEquals(1, map.size());
+        assertArrayEquals(bytes("3"), map.get(bytes("a")));
+        assertNull(map.get(bytes("b")));
+        set = store.set("set");
+        assertEquals(1, set.size());
+        assertTrue(set.contains(bytes("x")));
+        assertTrue(store.map("cleared").isEmpty());
+    }
+
+    /**
+     * Tests that compaction keeps only the live entries.
+     */
+    @Test
+    public void testCompaction() throws Exception {
+        Map<byte[], byte[]> map = store.map("map");
+        for (int i = 0; i < 500; i++) {
+            map.put(bytes("key"), bytes("value" + i));
+        }
+        map.put(bytes("other"), bytes("value"));
+        assertTrue(store.needsCompaction());
+        int segments = store.segmentCount();
+
+        store.compact();
+        assertFalse(store.needsCompaction());
+        assertTrue(store.segmentCount() < segments);
+        assertArrayEquals(bytes("value499"), map.get(bytes("key")));
+
+        reopen();
+        map = store.map("map");
+        assertEquals(2, map.size());
+        assertArrayEquals(bytes("value499"), map.get(bytes("key")));
+        assertArrayEquals(bytes("value"), map.get(bytes("other")));
+    }
+
+    /**
+     * Tests that a torn record at the end of a segment is ignored on recovery.
+     */
+    @Test
+    public void testTornRecord() throws Exception {
+        Map<byte[], byte[]> map = store.map("map");
+        map.put(bytes("a"), bytes("1"));
+        map.put(bytes("b"), bytes("2"));
+        store.close();
+
+        // corrupt the value, which is the last byte, of the second record
+        // following the definition of the map name
+        int nameSize = 8 + 11 + "map".length();
+        int recordSize = 8 + 11 + 1 + 1;
+        Path segment = directory.resolve(String.format("%010d.log", 0));
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(nameSize + 2 * recordSize - 1);
+            file.write('X');
+        }
+
+        store = new LogStructuredStore(directory, SEGMENT_SIZE);
+        store.open();
+        map = store.map("map");
+        assertEquals(1, map.size());
+        assertArrayEquals(bytes("1"), map.get(bytes("a")));
+        map.put(bytes("c"), bytes("3"));
+
+        reopen();
+        assertEquals(2, store.map("map").size());
+    }
+
+    /**
+     * Tests that restarting the store keeps appending to the last segment.
+     */
+    @Test
+    public void testRestartReusesTailSegment() throws Exception {
+        Map<byte[], byte[]> map = store.map("map");
+        for (int i = 0; i < 5; i++) {
+            map.put(bytes("key" + i), bytes("value" + i));
+            reopen();
+            map = store.map("map");
+        }
+        assertEquals(1, store.segmentCount());
+        assertEquals(5, map.size());
+        assertArrayEquals(bytes("value4"), map.get(bytes("key4")));
+    }
+
+    /**
+     * Tests that values are read back from the log, and that collection names
+     * are defined once per segment.
+     */
+    @Test
+    public void testValuesReadFromLog() throws Exception {
+        Map<byte[], byte[]> map = store.map("a-rather-long-collection-name");
+        for (int i = 0; i < 10; i++) {
+            map.put(bytes("key" + i), bytes("value" + i));
+        }
+        assertArrayEquals(bytes("value3"), map.put(bytes("key3"), bytes("other")));
+        assertArrayEquals(bytes("other"), map.get(bytes("key3")));
+        assertArrayEquals(bytes("value4"), map.remove(bytes("key4")));
+        store.flush();
+
+        String name = "a-rather-long-collection-name";
+        Path segment = directory.resolve(String.format("%010d.log", 0));
+        String contents = new String(Files.readAllBytes(segment), UTF_8);
+        assertEquals(contents.indexOf(name), contents.lastIndexOf(name));
+
+        reopen();
+        map = store.map(name);
+        assertEquals(9, map.size());
+        assertArrayEquals(bytes("other"), map.get(bytes("key3")));
+        assertArrayEquals(bytes("value9"), map.get(bytes("key9")));
+    }
+
+    /**
+     * Tests that updates made while the store is compacted are preserved.
+     */
+    @Test
+    public void testUpdatesDuringCompaction() throws Exception {
+        Map<byte[], byte[]> map = store.map("map");
+        for (int i = 0; i < 500; i++) {
+            map.put(bytes("key" + (i % 50)), bytes("value" + i));
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        Thread compactor = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    store.compact();
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        compactor.start();
+        for (int i = 500; i < 2000; i++) {
+            map.put(bytes("key" + (i % 50)), bytes("value" + i));
+            if (i % 7 == 0) {
+                map.remove(bytes("key" + (i % 50)));
+            }
+        }
+        done.set(true);
+        compactor.join();
+        store.compact();
+
+        Map<String, String> expected = Maps.newHashMap();
+        map.forEach((k, v) -> expected.put(new String(k, UTF_8), new String(v, UTF_8)));
+        reopen();
+        Map<String, String> recovered = Maps.newHashMap();
+        store.map("map").forEach((k, v) -> recovered.put(new String(k, UTF_8), new String(v, UTF_8)));
+        assertEquals(expected, recovered);
+        assertEquals(2, store.segmentCount());
+    }
+}
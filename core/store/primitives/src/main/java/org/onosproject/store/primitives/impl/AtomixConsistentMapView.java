@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentMap;
+import org.onosproject.store.service.Versioned;
+
+import io.atomix.copycat.Query.ConsistencyLevel;
+
+/**
+ * View of a shared {@link AtomixConsistentMap} resource that carries its own
+ * name and evaluates its reads at its own consistency level.
+ */
+class AtomixConsistentMapView extends DelegatingAsyncConsistentMap<String, byte[]> {
+
+    private final String name;
+    private final AtomixConsistentMap map;
+    private final ConsistencyLevel readConsistency;
+
+    /**
+     * Creates a view of a map resource.
+     *
+     * @param name            name of the map
+     * @param map             shared map resource
+     * @param readConsistency read consistency level; null for the default of the resource
+     */
+    AtomixConsistentMapView(String name, AtomixConsistentMap map, ConsistencyLevel readConsistency) {
+        super(map);
+        this.name = name;
+        this.map = map;
+        this.readConsistency = readConsistency;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public CompletableFuture<Boolean> isEmpty() {
+        return map.isEmpty(readConsistency);
+    }
+
+    @Override
+    public CompletableFuture<Integer> size() {
+        return map.size(readConsistency);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> containsKey(String key) {
+        return map.containsKey(key, readConsistency);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> containsValue(byte[] value) {
+        return map.containsValue(value, readConsistency);
+    }
+
+    @Override
+    public CompletableFuture<Versioned<byte[]>> get(String key) {
+        return map.get(key, readConsistency);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Versioned<byte[]>>> getAll(Collection<String> keys) {
+        return map.getAll(keys, readConsistency);
+    }
+
+    @Override
+    public CompletableFuture<Set<String>> keySet() {
+        return map.keySet(readConsistency);
+    }
+
+    @Override
+    public CompletableFuture<Collection<Versioned<byte[]>>> values() {
+        return map.values(readConsistency);
+    }
+
+    @Override
+    public CompletableFuture<Set<Entry<String, Versioned<byte[]>>>> entrySet() {
+        return map.entrySet(readConsistency);
+    }
+}
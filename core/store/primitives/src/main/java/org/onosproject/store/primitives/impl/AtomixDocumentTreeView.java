@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.onosproject.store.primitives.resources.impl.AtomixDocumentTree;
+import org.onosproject.store.service.AsyncDocumentTree;
+import org.onosproject.store.service.DocumentPath;
+import org.onosproject.store.service.DocumentTreeListener;
+import org.onosproject.store.service.Versioned;
+
+import io.atomix.copycat.Query.ConsistencyLevel;
+
+/**
+ * View of a shared {@link AtomixDocumentTree} resource that evaluates its
+ * reads at its own consistency level.
+ */
+class AtomixDocumentTreeView implements AsyncDocumentTree<byte[]> {
+
+    private final AtomixDocumentTree tree;
+    private final ConsistencyLevel readConsistency;
+
+    /**
+     * Creates a view of a document tree resource.
+     *
+     * @param tree            shared document tree resource
+     * @param readConsistency read consistency level; null for the default of the resource
+     */
+    AtomixDocumentTreeView(AtomixDocumentTree tree, ConsistencyLevel readConsistency) {
+        this.tree = tree;
+        this.readConsistency = readConsistency;
+    }
+
+    @Override
+    public String name() {
+        return tree.name();
+    }
+
+    @Override
+    public Type primitiveType() {
+        return tree.primitiveType();
+    }
+
+    @Override
+    public CompletableFuture<Void> destroy() {
+        return tree.destroy();
+    }
+
+    @Override
+    public DocumentPath root() {
+        return tree.root();
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Versioned<byte[]>>> getChildren(DocumentPath path) {
+        return tree.getChildren(path, readConsistency);
+    }
+
+    @Override
+    public CompletableFuture<Versioned<byte[]>> get(DocumentPath path) {
+        return tree.get(path, readConsistency);
+    }
+
+    @Override
+    public CompletableFuture<Versioned<byte[]>> set(DocumentPath path, byte[] value) {
+        return tree.set(path, value);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> create(DocumentPath path, byte[] value) {
+        return tree.create(path, value);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> createRecursive(DocumentPath path, byte[] value) {
+        return tree.createRecursive(path, value);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> replace(DocumentPath path, byte[] newValue, long version) {
+        return tree.replace(path, newValue, version);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> replace(DocumentPath path, byte[] newValue, byte[] currentValue) {
+        return tree.replace(path, newValue, currentValue);
+    }
+
+    @Override
+    public CompletableFuture<Versioned<byte[]>> removeNode(DocumentPath path) {
+        return tree.removeNode(path);
+    }
+
+    @Override
+    public CompletableFuture<Void> addListener(DocumentPath path, DocumentTreeListener<byte[]> listener) {
+        return tree.addListener(path, listener);
+    }
+
+    @Override
+    public CompletableFuture<Void> removeListener(DocumentTreeListener<byte[]> listener) {
+        return tree.removeListener(listener);
+    }
+}
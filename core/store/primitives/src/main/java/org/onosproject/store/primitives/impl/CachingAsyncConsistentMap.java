@@ -17,19 +17,30 @@ package org.onosproject.store.primitives.impl;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onosproject.store.service.AsyncConsistentMap;
+import org.onosproject.store.service.MapEvent;
 import org.onosproject.store.service.MapEventListener;
 import org.onosproject.store.service.Versioned;
 import org.slf4j.Logger;
 
+import com.codahale.metrics.Gauge;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Sets;
 
 import static org.onosproject.store.service.DistributedPrimitive.Status.INACTIVE;
 import static org.onosproject.store.service.DistributedPrimitive.Status.SUSPENDED;
@@ -38,7 +49,11 @@ import static org.onosproject.store.service.DistributedPrimitive.Status.SUSPENDE
  * {@code AsyncConsistentMap} that caches entries on read.
  * <p>
  * The cache entries are automatically invalidated when updates are detected either locally or
- * remotely.
+ * remotely. Updates pushed by the backing map are only applied if they carry a newer version
+ * than the cached entry, so that reordered notifications never replace a fresher value.
+ * <p>
+ * The cache is bounded in size, evicting the least recently used entries first, and entries may
+ * optionally expire a fixed time after they were written.
  * <p> This implementation only attempts to serve cached entries for {@link AsyncConsistentMap#get get}
  * calls. All other calls skip the cache and directly go the backing map.
  *
@@ -46,10 +61,22 @@ import static org.onosproject.store.service.DistributedPrimitive.Status.SUSPENDE
  * @param <V> value type
  */
 public class CachingAsyncConsistentMap<K, V> extends DelegatingAsyncConsistentMap<K, V> {
-    private static final int DEFAULT_CACHE_SIZE = 10000;
+    public static final int DEFAULT_CACHE_SIZE = 10000;
+    private static final String METRICS_COMPONENT = "consistentMapCache";
+    private static final String HIT_RATE = "hitRate";
+    private static final String HIT_COUNT = "hitCount";
+    private static final String MISS_COUNT = "missCount";
+    private static final String EVICTION_COUNT = "evictionCount";
+    private static final String STALE_UPDATE_COUNT = "staleUpdateCount";
+    private static final String SIZE = "size";
     private final Logger log = getLogger(getClass());
 
     private final LoadingCache<K, CompletableFuture<Versioned<V>>> cache;
+    private final AtomicLong staleUpdates = new AtomicLong();
+    private MetricsService metricsService;
+    private MetricsComponent metricsComponent;
+    private MetricsFeature metricsFeature;
+    private final Set<Gauge<?>> gauges = Sets.newConcurrentHashSet();
 
     private final MapEventListener<K, V> cacheUpdater;
     private final Consumer<Status> statusListener;
@@ -70,18 +97,27 @@ public class CachingAsyncConsistentMap<K, V> extends DelegatingAsyncConsistentMa
      * @param cacheSize the maximum size of the cache
      */
     public CachingAsyncConsistentMap(AsyncConsistentMap<K, V> backingMap, int cacheSize) {
+        this(backingMap, cacheSize, 0);
+    }
+
+    /**
+     * Constructor to configure cache size and entry expiration.
+     *
+     * @param backingMap a distributed, strongly consistent map for backing
+     * @param cacheSize the maximum size of the cache
+     * @param expirationMillis time after which a cached entry expires once written;
+     *                         {@code 0} if entries do not expire
+     */
+    public CachingAsyncConsistentMap(AsyncConsistentMap<K, V> backingMap, int cacheSize, long expirationMillis) {
         super(backingMap);
-        cache = CacheBuilder.newBuilder()
-                            .maximumSize(cacheSize)
-                            .build(CacheLoader.from(CachingAsyncConsistentMap.super::get));
-        cacheUpdater = event -> {
-            Versioned<V> newValue = event.newValue();
-            if (newValue == null) {
-                cache.invalidate(event.key());
-            } else {
-                cache.put(event.key(), CompletableFuture.completedFuture(newValue));
-            }
-        };
+        CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats();
+        if (expirationMillis > 0) {
+            cacheBuilder.expireAfterWrite(expirationMillis, TimeUnit.MILLISECONDS);
+        }
+        cache = cacheBuilder.build(CacheLoader.from(CachingAsyncConsistentMap.super::get));
+        cacheUpdater = this::applyUpdate;
         statusListener = status -> {
             log.debug("{} status changed to {}", this.name(), status);
             // If the status of the underlying map is SUSPENDED or INACTIVE
@@ -97,9 +133,84 @@ public class CachingAsyncConsistentMap<K, V> extends DelegatingAsyncConsistentMa
     @Override
     public CompletableFuture<Void> destroy() {
         super.removeStatusChangeListener(statusListener);
+        unregisterMetrics();
         return super.destroy().thenCompose(v -> removeListener(cacheUpdater));
     }
 
+    /**
+     * Applies an update notification from the backing map to the cache.
+     *
+     * @param event map event
+     */
+    private void applyUpdate(MapEvent<K, V> event) {
+        Versioned<V> newValue = event.newValue();
+        if (newValue == null) {
+            cache.invalidate(event.key());
+            return;
+        }
+        CompletableFuture<Versioned<V>> cached = cache.asMap().get(event.key());
+        if (cached != null && cached.isDone() && !cached.isCompletedExceptionally()) {
+            Versioned<V> cachedValue = cached.join();
+            if (cachedValue != null && cachedValue.version() >= newValue.version()) {
+                staleUpdates.incrementAndGet();
+                return;
+            }
+        }
+        cache.put(event.key(), CompletableFuture.completedFuture(newValue));
+    }
+
+    /**
+     * Returns the statistics of the cache.
+     *
+     * @return cache statistics
+     */
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    /**
+     * Returns the number of update notifications that were discarded because the
+     * cache already held the same or a newer version of the entry.
+     *
+     * @return number of stale updates
+     */
+    public long staleUpdateCount() {
+        return staleUpdates.get();
+    }
+
+    /**
+     * Publishes the cache statistics of this map through the given metrics service.
+     *
+     * @param metricsService metrics service
+     */
+    void registerMetrics(MetricsService metricsService) {
+        this.metricsService = metricsService;
+        metricsComponent = metricsService.registerComponent(METRICS_COMPONENT);
+        metricsFeature = metricsComponent.registerFeature(name());
+        registerGauge(HIT_RATE, () -> cache.stats().hitRate());
+        registerGauge(HIT_COUNT, () -> cache.stats().hitCount());
+        registerGauge(MISS_COUNT, () -> cache.stats().missCount());
+        registerGauge(EVICTION_COUNT, () -> cache.stats().evictionCount());
+        registerGauge(STALE_UPDATE_COUNT, this::staleUpdateCount);
+        registerGauge(SIZE, cache::size);
+    }
+
+    // A map rebuilt under the same name takes over the gauges of its predecessor.
+    private <T> void registerGauge(String metricName, Gauge<T> gauge) {
+        metricsService.removeMetric(metricsComponent, metricsFeature, metricName);
+        metricsService.registerMetric(metricsComponent, metricsFeature, metricName, gauge);
+        gauges.add(gauge);
+    }
+
+    // Removes the gauges of this map only, leaving those of a successor in place.
+    private void unregisterMetrics() {
+        if (metricsService != null) {
+            metricsService.removeMatching((metricName, metric) -> gauges.contains(metric));
+            gauges.clear();
+            metricsService = null;
+        }
+    }
+
     @Override
     public CompletableFuture<Versioned<V>> get(K key) {
         return cache.getUnchecked(key)
@@ -130,6 +241,12 @@ public class CachingAsyncConsistentMap<K, V> extends DelegatingAsyncConsistentMa
                 .whenComplete((r, e) -> cache.invalidate(key));
     }
 
+    @Override
+    public CompletableFuture<Void> putAll(Map<K, V> entries) {
+        return super.putAll(entries)
+                .whenComplete((r, e) -> cache.invalidateAll(entries.keySet()));
+    }
+
     @Override
     public CompletableFuture<Versioned<V>> remove(K key) {
         return super.remove(key)
@@ -36,7 +36,8 @@ public class DefaultConsistentTreeMapBuilder<V> extends ConsistentTreeMapBuilder
     @Override
     public AsyncConsistentTreeMap<V> buildTreeMap() {
         return primitiveCreator.newAsyncConsistentTreeMap(name(),
-                                                          serializer());
+                                                          serializer(),
+                                                          readConsistency());
     }
 
     @Override
@@ -34,7 +34,7 @@ public class DefaultDocumentTreeBuilder<V> extends DocumentTreeBuilder<V> {
 
     @Override
     public AsyncDocumentTree<V> buildDocumentTree() {
-        return primitiveCreator.newAsyncDocumentTree(name(), serializer());
+        return primitiveCreator.newAsyncDocumentTree(name(), serializer(), readConsistency());
     }
 
     //TODO
@@ -47,6 +47,6 @@ public class DefaultDocumentTreeBuilder<V> extends DocumentTreeBuilder<V> {
     @Deprecated
     @Override
     public AsyncDocumentTree<V> build() {
-        return primitiveCreator.newAsyncDocumentTree(name(), serializer());
+        return primitiveCreator.newAsyncDocumentTree(name(), serializer(), readConsistency());
     }
 }
\ No newline at end of file
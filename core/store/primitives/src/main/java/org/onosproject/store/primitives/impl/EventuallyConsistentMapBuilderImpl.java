@@ -32,6 +32,7 @@ import java.util.function.BiFunction;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 /**
  * Eventually consistent map builder.
@@ -55,7 +56,10 @@ public class EventuallyConsistentMapBuilderImpl<K, V>
     private boolean convergeFaster = false;
     private boolean persistent = false;
     private boolean persistentMap = false;
+    private long snapshotPeriod = 0;
+    private TimeUnit snapshotTimeUnit = TimeUnit.SECONDS;
     private final PersistenceService persistenceService;
+    private final EventuallyConsistentMapRuntime runtime;
 
     /**
      * Creates a new eventually consistent map builder.
@@ -67,9 +71,26 @@ public class EventuallyConsistentMapBuilderImpl<K, V>
     public EventuallyConsistentMapBuilderImpl(ClusterService clusterService,
                                               ClusterCommunicationService clusterCommunicator,
                                               PersistenceService persistenceService) {
+        this(clusterService, clusterCommunicator, persistenceService, null);
+    }
+
+    /**
+     * Creates a new eventually consistent map builder whose maps run on a shared runtime
+     * unless given dedicated executors.
+     *
+     * @param clusterService cluster service
+     * @param clusterCommunicator cluster communication service
+     * @param persistenceService persistence service
+     * @param runtime shared executor runtime; if null, each map creates its own executors
+     */
+    EventuallyConsistentMapBuilderImpl(ClusterService clusterService,
+                                       ClusterCommunicationService clusterCommunicator,
+                                       PersistenceService persistenceService,
+                                       EventuallyConsistentMapRuntime runtime) {
         this.persistenceService = persistenceService;
         this.clusterService = checkNotNull(clusterService);
         this.clusterCommunicator = checkNotNull(clusterCommunicator);
+        this.runtime = runtime;
     }
 
     @Override
@@ -151,6 +172,18 @@ public class EventuallyConsistentMapBuilderImpl<K, V>
         return this;
     }
 
+    @Override
+    public EventuallyConsistentMapBuilder<K, V> withSnapshots(long period, TimeUnit unit) {
+        checkNotNull(this.persistenceService);
+        checkNotNull(unit);
+        checkArgument(period > 0, "snapshot period must be greater than 0");
+        // snapshots are scheduled in milliseconds, so a shorter period would disable them
+        checkArgument(unit.toMillis(period) > 0, "snapshot period must be at least 1 millisecond");
+        snapshotPeriod = period;
+        snapshotTimeUnit = unit;
+        return this;
+    }
+
     @Override
     public EventuallyConsistentMap<K, V> build() {
         checkNotNull(name, "name is a mandatory parameter");
@@ -159,6 +192,15 @@ public class EventuallyConsistentMapBuilderImpl<K, V>
             serializer = serializerBuilder.build(name);
         }
         checkNotNull(serializer, "serializer is a mandatory parameter");
+        MapPersistence persistence = null;
+        if (snapshotPeriod > 0) {
+            // without tombstones, peers could not tell a restored entry from one they never had,
+            // and entries removed while this node was down would come back
+            checkState(!tombstonesDisabled, "snapshots require tombstones");
+            persistence = MapPersistence.snapshots(persistenceService, snapshotPeriod, snapshotTimeUnit);
+        } else if (persistent) {
+            persistence = MapPersistence.writeThrough(persistenceService);
+        }
 
         return new EventuallyConsistentMapImpl<>(name,
                                                  clusterService,
@@ -169,11 +211,11 @@ public class EventuallyConsistentMapBuilderImpl<K, V>
                                                  eventExecutor,
                                                  communicationExecutor,
                                                  backgroundExecutor,
+                                                 runtime,
                                                  tombstonesDisabled,
                                                  antiEntropyPeriod,
                                                  antiEntropyTimeUnit,
                                                  convergeFaster,
-                                                 persistent,
-                                                 persistenceService);
+                                                 persistence);
     }
 }
@@ -45,6 +45,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -52,6 +53,8 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.Timer;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -84,7 +87,8 @@ public class EventuallyConsistentMapImpl<K, V>
     private final ClusterCommunicationService clusterCommunicator;
     private final StoreSerializer serializer;
     private final NodeId localNodeId;
-    private final PersistenceService persistenceService;
+    private final Map<K, MapValue<V>> snapshot;
+    private final Set<K> dirtyKeys;
 
     private final BiFunction<K, V, Timestamp> timestampProvider;
 
@@ -95,11 +99,14 @@ public class EventuallyConsistentMapImpl<K, V>
     private final Set<EventuallyConsistentMapListener<K, V>> listeners
             = Sets.newCopyOnWriteArraySet();
 
-    private final ExecutorService executor;
-    private final ScheduledExecutorService backgroundExecutor;
+    private final Executor executor;
+    private final Executor backgroundExecutor;
+    private final ScheduledExecutorService backgroundScheduler;
     private final BiFunction<K, V, Collection<NodeId>> peerUpdateFunction;
 
-    private final ExecutorService communicationExecutor;
+    private final Executor communicationExecutor;
+    private final EventuallyConsistentMapRuntime.MapExecutors runtimeExecutors;
+    private final List<ExecutorService> dedicatedExecutors = Lists.newArrayList();
     private final Map<NodeId, EventAccumulator> senderPending;
 
     private long previousTombstonePurgeTime;
@@ -123,8 +130,6 @@ public class EventuallyConsistentMapImpl<K, V>
     private static final int LOAD_WINDOW = 2;
     private SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_SIZE);
 
-    private final boolean persistent;
-
     /**
      * Creates a new eventually consistent map shared amongst multiple instances.
      * <p>
@@ -145,13 +150,16 @@ public class EventuallyConsistentMapImpl<K, V>
      * @param communicationExecutor executor to use for sending events to peers
      * @param backgroundExecutor    executor to use for background anti-entropy
      *                              tasks
+     * @param runtime               shared runtime providing the executors that
+     *                              are not supplied; if null, dedicated
+     *                              executors are created for this map
      * @param tombstonesDisabled    true if this map should not maintain
      *                              tombstones
      * @param antiEntropyPeriod     period that the anti-entropy task should run
      * @param antiEntropyTimeUnit   time unit for anti-entropy period
      * @param convergeFaster        make anti-entropy try to converge faster
-     * @param persistent            persist data to disk
-     * @param persistenceService    persistence service
+     * @param persistence           how data is persisted to disk; null if the
+     *                              map is not persistent
      */
     EventuallyConsistentMapImpl(String mapName,
                                 ClusterService clusterService,
@@ -162,23 +170,27 @@ public class EventuallyConsistentMapImpl<K, V>
                                 ExecutorService eventExecutor,
                                 ExecutorService communicationExecutor,
                                 ScheduledExecutorService backgroundExecutor,
+                                EventuallyConsistentMapRuntime runtime,
                                 boolean tombstonesDisabled,
                                 long antiEntropyPeriod,
                                 TimeUnit antiEntropyTimeUnit,
                                 boolean convergeFaster,
-                                boolean persistent,
-                                PersistenceService persistenceService) {
+                                MapPersistence persistence) {
         this.mapName = mapName;
         this.serializer = createSerializer(ns);
-        this.persistenceService = persistenceService;
-        this.persistent =
-                persistent;
-        if (persistent) {
-            items = this.persistenceService.<K, MapValue<V>>persistentMapBuilder()
-                    .withName(mapName)
-                    .withSerializer(this.serializer)
-                    .build();
+        if (persistence != null && persistence.isSnapshot()) {
+            // entries live in memory and are checkpointed to disk periodically
+            snapshot = persistentItems(persistence.persistenceService());
+            dirtyKeys = Sets.newConcurrentHashSet();
+            items = new ConcurrentHashMap<>(snapshot);
+            log.info("Restored {} entries of {} from local snapshot", items.size(), mapName);
+        } else if (persistence != null) {
+            snapshot = null;
+            dirtyKeys = null;
+            items = persistentItems(persistence.persistenceService());
         } else {
+            snapshot = null;
+            dirtyKeys = null;
             items = Maps.newConcurrentMap();
         }
         senderPending = Maps.newConcurrentMap();
@@ -199,35 +211,66 @@ public class EventuallyConsistentMapImpl<K, V>
                     .collect(Collectors.toList());
         }
 
+        if (runtime != null
+                && (eventExecutor == null || communicationExecutor == null || backgroundExecutor == null)) {
+            this.runtimeExecutors = runtime.executorsFor(mapName);
+        } else {
+            this.runtimeExecutors = null;
+        }
+
         if (eventExecutor != null) {
             this.executor = eventExecutor;
+            dedicatedExecutors.add(eventExecutor);
+        } else if (runtimeExecutors != null) {
+            this.executor = runtimeExecutors.eventExecutor();
         } else {
             // should be a normal executor; it's used for receiving messages
-            this.executor =
+            ExecutorService fgExecutor =
                     Executors.newFixedThreadPool(8, groupedThreads("onos/ecm", mapName + "-fg-%d", log));
+            this.executor = fgExecutor;
+            dedicatedExecutors.add(fgExecutor);
         }
 
         if (communicationExecutor != null) {
             this.communicationExecutor = communicationExecutor;
+            dedicatedExecutors.add(communicationExecutor);
+        } else if (runtimeExecutors != null) {
+            this.communicationExecutor = runtimeExecutors.communicationExecutor();
         } else {
             // sending executor; should be capped
             //TODO this probably doesn't need to be bounded anymore
-            this.communicationExecutor =
+            ExecutorService publishExecutor =
                     newFixedThreadPool(8, groupedThreads("onos/ecm", mapName + "-publish-%d", log));
+            this.communicationExecutor = publishExecutor;
+            dedicatedExecutors.add(publishExecutor);
         }
 
-
         if (backgroundExecutor != null) {
-            this.backgroundExecutor = backgroundExecutor;
+            this.backgroundScheduler = backgroundExecutor;
+        } else if (runtimeExecutors != null) {
+            // periodic tasks are scheduled through the shared runtime
+            this.backgroundScheduler = null;
         } else {
-            this.backgroundExecutor =
+            this.backgroundScheduler =
                     newSingleThreadScheduledExecutor(groupedThreads("onos/ecm", mapName + "-bg-%d", log));
         }
+        if (backgroundScheduler != null) {
+            this.backgroundExecutor = backgroundScheduler;
+            dedicatedExecutors.add(backgroundScheduler);
+        } else {
+            this.backgroundExecutor = runtimeExecutors.backgroundExecutor();
+        }
 
         // start anti-entropy thread
-        this.backgroundExecutor.scheduleAtFixedRate(this::sendAdvertisement,
+        if (backgroundScheduler != null) {
+            backgroundScheduler.scheduleAtFixedRate(this::sendAdvertisement,
                                                     initialDelaySec, antiEntropyPeriod,
                                                     antiEntropyTimeUnit);
+        } else {
+            runtimeExecutors.schedule(this::sendAdvertisement,
+                                      initialDelaySec, antiEntropyPeriod,
+                                      antiEntropyTimeUnit);
+        }
 
         updateMessageSubject = new MessageSubject("ecm-" + mapName + "-update");
         clusterCommunicator.addSubscriber(updateMessageSubject,
@@ -248,12 +291,29 @@ public class EventuallyConsistentMapImpl<K, V>
                                           this::handleUpdateRequests,
                                           this.backgroundExecutor);
 
+        if (snapshot != null) {
+            long period = persistence.snapshotPeriodMillis();
+            if (backgroundScheduler != null) {
+                backgroundScheduler.scheduleWithFixedDelay(this::writeSnapshot, period, period,
+                                                           TimeUnit.MILLISECONDS);
+            } else {
+                runtimeExecutors.schedule(this::writeSnapshot, period, period, TimeUnit.MILLISECONDS);
+            }
+        }
+
         if (!tombstonesDisabled) {
             previousTombstonePurgeTime = 0;
-            this.backgroundExecutor.scheduleWithFixedDelay(this::purgeTombstones,
+            if (backgroundScheduler != null) {
+                backgroundScheduler.scheduleWithFixedDelay(this::purgeTombstones,
                                                            initialDelaySec,
                                                            antiEntropyPeriod,
                                                            TimeUnit.SECONDS);
+            } else {
+                runtimeExecutors.schedule(this::purgeTombstones,
+                                          initialDelaySec,
+                                          antiEntropyPeriod,
+                                          TimeUnit.SECONDS);
+            }
         }
 
         this.tombstonesDisabled = tombstonesDisabled;
@@ -263,6 +323,13 @@ public class EventuallyConsistentMapImpl<K, V>
         this.bootstrap();
     }
 
+    private Map<K, MapValue<V>> persistentItems(PersistenceService persistenceService) {
+        return persistenceService.<K, MapValue<V>>persistentMapBuilder()
+                .withName(mapName)
+                .withSerializer(this.serializer)
+                .build();
+    }
+
     private StoreSerializer createSerializer(KryoNamespace ns) {
         return StoreSerializer.using(KryoNamespace.newBuilder()
                          .register(ns)
@@ -399,6 +466,7 @@ public class EventuallyConsistentMapImpl<K, V>
                 return existing;
             }
         });
+        markDirty(key);
         return previousValue.get();
     }
 
@@ -427,6 +495,7 @@ public class EventuallyConsistentMapImpl<K, V>
                 return mv;
             }
         });
+        markDirty(key);
         if (updated.get()) {
             notifyPeers(new UpdateEntry<>(key, computedValue), peerUpdateFunction.apply(key, computedValue.get()));
             EventuallyConsistentMapEvent.Type updateType = computedValue.isTombstone() ? REMOVE : PUT;
@@ -497,6 +566,7 @@ public class EventuallyConsistentMapImpl<K, V>
             }
             return existing;
         });
+        markDirty(key);
         return updated.get();
     }
 
@@ -517,10 +587,14 @@ public class EventuallyConsistentMapImpl<K, V>
     @Override
     public CompletableFuture<Void> destroy() {
         destroyed = true;
+        if (snapshot != null) {
+            writeSnapshot();
+        }
 
-        executor.shutdown();
-        backgroundExecutor.shutdown();
-        communicationExecutor.shutdown();
+        dedicatedExecutors.forEach(ExecutorService::shutdown);
+        if (runtimeExecutors != null) {
+            runtimeExecutors.close();
+        }
 
         listeners.clear();
 
@@ -706,7 +780,43 @@ public class EventuallyConsistentMapImpl<K, V>
                                           .filter(e -> e.getValue().creationTime() <= currentSafeTombstonePurgeTime)
                                           .collect(Collectors.toList());
         previousTombstonePurgeTime = currentSafeTombstonePurgeTime;
-        tombStonesToDelete.forEach(entry -> items.remove(entry.getKey(), entry.getValue()));
+        tombStonesToDelete.forEach(entry -> {
+            items.remove(entry.getKey(), entry.getValue());
+            markDirty(entry.getKey());
+        });
+    }
+
+    private void markDirty(K key) {
+        if (dirtyKeys != null) {
+            dirtyKeys.add(key);
+        }
+    }
+
+    /**
+     * Checkpoints the entries updated since the previous snapshot to disk.
+     */
+    private void writeSnapshot() {
+        try {
+            Iterator<K> keys = dirtyKeys.iterator();
+            int written = 0;
+            while (keys.hasNext()) {
+                K key = keys.next();
+                keys.remove();
+                MapValue<V> value = items.get(key);
+                if (value != null) {
+                    snapshot.put(key, value);
+                } else {
+                    snapshot.remove(key);
+                }
+                written++;
+            }
+            if (written > 0) {
+                log.trace("Wrote {} entries of {} to local snapshot", written, mapName);
+            }
+        } catch (Exception e) {
+            // Catch all exceptions to avoid scheduled task being suppressed.
+            log.error("Exception thrown while writing snapshot of {}", mapName, e);
+        }
     }
 
     private void processUpdates(Collection<UpdateEntry<K, V>> updates) {
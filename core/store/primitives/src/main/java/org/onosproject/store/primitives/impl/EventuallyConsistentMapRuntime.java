@@ -0,0 +1,288 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static org.onlab.util.Tools.groupedThreads;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
+import org.slf4j.Logger;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Timer;
+import com.google.common.collect.Lists;
+
+/**
+ * Executor runtime shared by all eventually consistent maps.
+ * <p>
+ * Maps that are not given dedicated executors run their event processing, peer
+ * updates and background anti-entropy tasks on a fixed set of pools sized by the
+ * number of available processors, instead of each map owning its own threads.
+ * Background tasks of a single map are still executed one at a time, as they were
+ * on a per-map single threaded executor.
+ */
+class EventuallyConsistentMapRuntime {
+
+    private static final String METRICS_COMPONENT = "eventuallyConsistentMap";
+    private static final String QUEUE_DEPTH = "queueDepth";
+    private static final String TASK_LATENCY = "taskLatency";
+
+    private final Logger log = getLogger(getClass());
+
+    private final ExecutorService eventExecutor;
+    private final ExecutorService communicationExecutor;
+    private final ScheduledExecutorService backgroundExecutor;
+    private final MetricsService metricsService;
+    private final MetricsComponent metricsComponent;
+
+    /**
+     * Creates a runtime sized by the number of available processors.
+     *
+     * @param metricsService metrics service used to publish per-map metrics; may be null
+     */
+    EventuallyConsistentMapRuntime(MetricsService metricsService) {
+        this(Math.max(4, Runtime.getRuntime().availableProcessors()),
+             Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
+             metricsService);
+    }
+
+    /**
+     * Creates a runtime with the given pool sizes.
+     *
+     * @param eventThreads number of threads processing events received from peers
+     * @param backgroundThreads number of threads sending updates to peers and
+     *                          running background tasks
+     * @param metricsService metrics service used to publish per-map metrics; may be null
+     */
+    EventuallyConsistentMapRuntime(int eventThreads, int backgroundThreads, MetricsService metricsService) {
+        this.eventExecutor = newFixedThreadPool(eventThreads, groupedThreads("onos/ecm", "fg-%d", log));
+        this.communicationExecutor =
+                newFixedThreadPool(backgroundThreads, groupedThreads("onos/ecm", "publish-%d", log));
+        this.backgroundExecutor =
+                newScheduledThreadPool(backgroundThreads, groupedThreads("onos/ecm", "bg-%d", log));
+        this.metricsService = metricsService;
+        this.metricsComponent = metricsService == null ? null : metricsService.registerComponent(METRICS_COMPONENT);
+    }
+
+    /**
+     * Returns the executors to be used by a map.
+     *
+     * @param mapName map name
+     * @return executors of the map
+     */
+    MapExecutors executorsFor(String mapName) {
+        return new MapExecutors(mapName);
+    }
+
+    /**
+     * Shuts down the runtime.
+     */
+    void shutdown() {
+        eventExecutor.shutdown();
+        communicationExecutor.shutdown();
+        backgroundExecutor.shutdown();
+    }
+
+    /**
+     * Executors of a single map, backed by the shared pools.
+     * <p>
+     * Tracks the number of tasks of the map waiting to run and the time they spend
+     * waiting, and publishes both through the metrics service if one is available.
+     */
+    final class MapExecutors {
+        private final AtomicInteger queueDepth = new AtomicInteger();
+        private final Gauge<Integer> queueDepthGauge = queueDepth::get;
+        private final List<ScheduledFuture<?>> periodicTasks = Lists.newCopyOnWriteArrayList();
+        private final MetricsFeature metricsFeature;
+        private final Timer latency;
+        private final Executor eventExecutor;
+        private final Executor communicationExecutor;
+        private final Executor backgroundExecutor;
+
+        private MapExecutors(String mapName) {
+            if (metricsService != null) {
+                metricsFeature = metricsComponent.registerFeature(mapName);
+                latency = metricsService.createTimer(metricsComponent, metricsFeature, TASK_LATENCY);
+                // a map rebuilt under the same name takes over the metrics of its predecessor
+                metricsService.removeMetric(metricsComponent, metricsFeature, QUEUE_DEPTH);
+                metricsService.registerMetric(metricsComponent, metricsFeature, QUEUE_DEPTH, queueDepthGauge);
+            } else {
+                metricsFeature = null;
+                latency = null;
+            }
+            this.eventExecutor = instrument(EventuallyConsistentMapRuntime.this.eventExecutor);
+            this.communicationExecutor = instrument(EventuallyConsistentMapRuntime.this.communicationExecutor);
+            this.backgroundExecutor =
+                    instrument(new SerialExecutor(EventuallyConsistentMapRuntime.this.backgroundExecutor));
+        }
+
+        /**
+         * Returns the executor for processing events received from peers.
+         *
+         * @return event executor
+         */
+        Executor eventExecutor() {
+            return eventExecutor;
+        }
+
+        /**
+         * Returns the executor for sending updates to peers.
+         *
+         * @return communication executor
+         */
+        Executor communicationExecutor() {
+            return communicationExecutor;
+        }
+
+        /**
+         * Returns the executor for background tasks; tasks submitted to it are
+         * executed one at a time in submission order.
+         *
+         * @return background executor
+         */
+        Executor backgroundExecutor() {
+            return backgroundExecutor;
+        }
+
+        /**
+         * Periodically runs a task on the background executor. A run is skipped if
+         * the previous one has not started yet.
+         *
+         * @param task task to run
+         * @param initialDelay delay before the first run
+         * @param period period between runs
+         * @param unit time unit of the delay and period
+         */
+        void schedule(Runnable task, long initialDelay, long period, TimeUnit unit) {
+            AtomicBoolean pending = new AtomicBoolean();
+            Runnable run = () -> {
+                pending.set(false);
+                task.run();
+            };
+            periodicTasks.add(EventuallyConsistentMapRuntime.this.backgroundExecutor.scheduleAtFixedRate(() -> {
+                if (pending.compareAndSet(false, true)) {
+                    backgroundExecutor.execute(run);
+                }
+            }, initialDelay, period, unit));
+        }
+
+        /**
+         * Returns the number of tasks of the map waiting to run.
+         *
+         * @return queue depth
+         */
+        int queueDepth() {
+            return queueDepth.get();
+        }
+
+        /**
+         * Cancels the periodic tasks of the map and removes its metrics.
+         */
+        void close() {
+            periodicTasks.forEach(f -> f.cancel(false));
+            periodicTasks.clear();
+            // leave the metrics alone once a successor has taken them over
+            if (metricsFeature != null &&
+                    !metricsService.getGauges((name, metric) -> metric == queueDepthGauge).isEmpty()) {
+                metricsService.removeMetric(metricsComponent, metricsFeature, QUEUE_DEPTH);
+                metricsService.removeMetric(metricsComponent, metricsFeature, TASK_LATENCY);
+            }
+        }
+
+        private Executor instrument(Executor executor) {
+            return task -> {
+                long queuedAt = System.nanoTime();
+                queueDepth.incrementAndGet();
+                try {
+                    executor.execute(() -> {
+                        queueDepth.decrementAndGet();
+                        if (latency != null) {
+                            latency.update(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                        }
+                        task.run();
+                    });
+                } catch (RejectedExecutionException e) {
+                    queueDepth.decrementAndGet();
+                    throw e;
+                }
+            };
+        }
+    }
+
+    /**
+     * Executor that runs tasks one at a time, in submission order, on a backing executor.
+     * Only one task is handed to the backing executor at a time so that maps with many
+     * queued tasks do not starve others sharing the same threads.
+     */
+    static final class SerialExecutor implements Executor {
+        private final Logger log = getLogger(getClass());
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final Executor executor;
+
+        SerialExecutor(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            tasks.add(task);
+            runNext();
+        }
+
+        private void runNext() {
+            if (!tasks.isEmpty() && running.compareAndSet(false, true)) {
+                Runnable task = tasks.poll();
+                if (task == null) {
+                    running.set(false);
+                    return;
+                }
+                try {
+                    executor.execute(() -> {
+                        try {
+                            task.run();
+                        } catch (Exception e) {
+                            log.warn("Uncaught exception in background task", e);
+                        } finally {
+                            running.set(false);
+                            runNext();
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    // the task is dropped; later tasks must still be able to run
+                    running.set(false);
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import com.google.common.hash.Hashing;
+import org.onlab.util.HexString;
 import org.onosproject.cluster.PartitionId;
 import org.onosproject.store.primitives.DistributedPrimitiveCreator;
 import org.onosproject.store.service.AsyncAtomicCounter;
@@ -32,6 +33,7 @@ import org.onosproject.store.service.AsyncConsistentTreeMap;
 import org.onosproject.store.service.AsyncDistributedSet;
 import org.onosproject.store.service.AsyncDocumentTree;
 import org.onosproject.store.service.AsyncLeaderElector;
+import org.onosproject.store.service.ReadConsistency;
 import org.onosproject.store.service.Serializer;
 import org.onosproject.store.service.WorkQueue;
 
@@ -39,6 +41,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.function.Function;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -49,25 +52,56 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public class FederatedDistributedPrimitiveCreator implements DistributedPrimitiveCreator {
     private final TreeMap<PartitionId, DistributedPrimitiveCreator> members;
     private final List<PartitionId> sortedMemberPartitionIds;
+    private final PartitionHashing partitionHashing;
 
     public FederatedDistributedPrimitiveCreator(Map<PartitionId, DistributedPrimitiveCreator> members) {
+        this(members, PartitionHashing.SHA256);
+    }
+
+    /**
+     * Creates a federated primitive creator.
+     *
+     * @param members partition primitive creators
+     * @param partitionHashing hash function for mapping map keys and leadership topics to partitions
+     */
+    FederatedDistributedPrimitiveCreator(Map<PartitionId, DistributedPrimitiveCreator> members,
+                                         PartitionHashing partitionHashing) {
         this.members = Maps.newTreeMap();
         this.members.putAll(checkNotNull(members));
         this.sortedMemberPartitionIds = Lists.newArrayList(members.keySet());
+        this.partitionHashing = checkNotNull(partitionHashing);
     }
 
     @Override
     public <K, V> AsyncConsistentMap<K, V> newAsyncConsistentMap(String name, Serializer serializer) {
+        return newAsyncConsistentMap(name, serializer, null);
+    }
+
+    @Override
+    public <K, V> AsyncConsistentMap<K, V> newAsyncConsistentMap(String name,
+                                                                 Serializer serializer,
+                                                                 ReadConsistency readConsistency) {
         checkNotNull(name);
         checkNotNull(serializer);
-        Map<PartitionId, AsyncConsistentMap<K, V>> maps =
+        // Keys are serialized once, above the partitioning, and the same bytes are
+        // used both for picking the partition and for the partition requests.
+        Map<PartitionId, AsyncConsistentMap<byte[], byte[]>> maps =
                 Maps.transformValues(members,
-                                     partition -> partition.newAsyncConsistentMap(name, serializer));
-        Hasher<K> hasher = key -> {
-            int hashCode = Hashing.sha256().hashBytes(serializer.encode(key)).asInt();
-            return sortedMemberPartitionIds.get(Math.abs(hashCode) % members.size());
-        };
-        return new PartitionedAsyncConsistentMap<>(name, maps, hasher);
+                                     partition -> DistributedPrimitives.newTranscodingMap(
+                                             partition.<String, byte[]>newAsyncConsistentMap(name,
+                                                                                             null,
+                                                                                             readConsistency),
+                                             HexString::toHexString,
+                                             HexString::fromHexString,
+                                             Function.identity(),
+                                             Function.identity()));
+        Hasher<byte[]> hasher = key -> partitionOf(partitionHashing.hash(key));
+        AsyncConsistentMap<byte[], byte[]> partitionedMap = new PartitionedAsyncConsistentMap<>(name, maps, hasher);
+        return DistributedPrimitives.newTranscodingMap(partitionedMap,
+                key -> serializer.encode(key),
+                bytes -> serializer.decode(bytes),
+                value -> value == null ? null : serializer.encode(value),
+                bytes -> serializer.decode(bytes));
     }
 
     @Override
@@ -76,6 +110,13 @@ public class FederatedDistributedPrimitiveCreator implements DistributedPrimitiv
         return getCreator(name).newAsyncConsistentTreeMap(name, serializer);
     }
 
+    @Override
+    public <V> AsyncConsistentTreeMap<V> newAsyncConsistentTreeMap(String name,
+                                                                   Serializer serializer,
+                                                                   ReadConsistency readConsistency) {
+        return getCreator(name).newAsyncConsistentTreeMap(name, serializer, readConsistency);
+    }
+
     @Override
     public <K, V> AsyncConsistentMultimap<K, V> newAsyncConsistentSetMultimap(
             String name, Serializer serializer) {
@@ -109,10 +150,7 @@ public class FederatedDistributedPrimitiveCreator implements DistributedPrimitiv
         Map<PartitionId, AsyncLeaderElector> leaderElectors =
                 Maps.transformValues(members,
                                      partition -> partition.newAsyncLeaderElector(name));
-        Hasher<String> hasher = topic -> {
-            int hashCode = Hashing.sha256().hashString(topic, Charsets.UTF_8).asInt();
-            return sortedMemberPartitionIds.get(Math.abs(hashCode) % members.size());
-        };
+        Hasher<String> hasher = topic -> partitionOf(partitionHashing.hash(topic));
         return new PartitionedAsyncLeaderElector(name, leaderElectors, hasher);
     }
 
@@ -126,6 +164,13 @@ public class FederatedDistributedPrimitiveCreator implements DistributedPrimitiv
         return getCreator(name).newAsyncDocumentTree(name, serializer);
     }
 
+    @Override
+    public <V> AsyncDocumentTree<V> newAsyncDocumentTree(String name,
+                                                         Serializer serializer,
+                                                         ReadConsistency readConsistency) {
+        return getCreator(name).newAsyncDocumentTree(name, serializer, readConsistency);
+    }
+
     @Override
     public Set<String> getAsyncConsistentMapNames() {
         return members.values()
@@ -153,6 +198,15 @@ public class FederatedDistributedPrimitiveCreator implements DistributedPrimitiv
                       .orElse(ImmutableSet.of());
     }
 
+    /**
+     * Returns the partition a hash code maps to.
+     * @param hashCode hash code
+     * @return partition identifier
+     */
+    private PartitionId partitionOf(int hashCode) {
+        return sortedMemberPartitionIds.get(Math.abs(hashCode % members.size()));
+    }
+
     /**
      * Returns the {@code DistributedPrimitiveCreator} to use for hosting a primitive.
      * @param name primitive name
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import org.onosproject.persistence.PersistenceService;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * How an eventually consistent map keeps its entries on local disk.
+ */
+final class MapPersistence {
+
+    private final PersistenceService persistenceService;
+    private final long snapshotPeriodMillis;
+
+    private MapPersistence(PersistenceService persistenceService, long snapshotPeriodMillis) {
+        this.persistenceService = checkNotNull(persistenceService);
+        this.snapshotPeriodMillis = snapshotPeriodMillis;
+    }
+
+    /**
+     * Returns persistence that writes every update through to disk.
+     *
+     * @param persistenceService persistence service
+     * @return map persistence
+     */
+    static MapPersistence writeThrough(PersistenceService persistenceService) {
+        return new MapPersistence(persistenceService, 0);
+    }
+
+    /**
+     * Returns persistence that checkpoints the updated entries to disk periodically.
+     *
+     * @param persistenceService persistence service
+     * @param period checkpoint period
+     * @param unit time unit of the period
+     * @return map persistence
+     */
+    static MapPersistence snapshots(PersistenceService persistenceService, long period, TimeUnit unit) {
+        long periodMillis = unit.toMillis(period);
+        checkArgument(periodMillis > 0, "snapshot period must be at least 1 millisecond");
+        return new MapPersistence(persistenceService, periodMillis);
+    }
+
+    /**
+     * Returns the persistence service.
+     *
+     * @return persistence service
+     */
+    PersistenceService persistenceService() {
+        return persistenceService;
+    }
+
+    /**
+     * Returns whether entries are checkpointed periodically rather than written through.
+     *
+     * @return true for periodic snapshots
+     */
+    boolean isSnapshot() {
+        return snapshotPeriodMillis > 0;
+    }
+
+    /**
+     * Returns the snapshot period.
+     *
+     * @return snapshot period in milliseconds; 0 if updates are written through
+     */
+    long snapshotPeriodMillis() {
+        return snapshotPeriodMillis;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("snapshotPeriodMillis", snapshotPeriodMillis)
+                .toString();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Hash functions used to map map keys and leadership topics to partitions.
+ * <p>
+ * All nodes of a cluster must use the same function, and it may only be changed
+ * on a cluster that holds no data yet: entries placed using one function are not
+ * found using another.
+ */
+enum PartitionHashing {
+    /**
+     * SHA-256; the original key placement.
+     */
+    SHA256,
+
+    /**
+     * 32 bit MurmurHash3; stable across nodes and versions and considerably cheaper.
+     */
+    MURMUR3;
+
+    private HashFunction function() {
+        return this == MURMUR3 ? Hashing.murmur3_32() : Hashing.sha256();
+    }
+
+    /**
+     * Returns the hash of the given bytes.
+     *
+     * @param bytes bytes to hash
+     * @return hash code
+     */
+    int hash(byte[] bytes) {
+        return function().hashBytes(bytes).asInt();
+    }
+
+    /**
+     * Returns the hash of the given string.
+     *
+     * @param string string to hash
+     * @return hash code
+     */
+    int hash(String string) {
+        return function().hashString(string, UTF_8).asInt();
+    }
+}
@@ -32,6 +32,7 @@ import org.apache.felix.scr.annotations.Deactivate;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.Tools;
 import org.onosproject.cluster.ClusterMetadata;
 import org.onosproject.cluster.ClusterMetadataDiff;
@@ -40,6 +41,7 @@ import org.onosproject.cluster.ClusterMetadataEventListener;
 import org.onosproject.cluster.ClusterMetadataService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.NodeId;
+import org.onosproject.cluster.Partition;
 import org.onosproject.cluster.PartitionDiff;
 import org.onosproject.cluster.PartitionId;
 import org.onosproject.event.AbstractListenerManager;
@@ -78,6 +80,9 @@ public class PartitionManager extends AbstractListenerManager<PartitionEvent, Pa
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected ClusterService clusterService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected MetricsService metricsService;
+
     private final Map<PartitionId, StoragePartition> partitions = Maps.newConcurrentMap();
     private final AtomicReference<ClusterMetadata> currentClusterMetadata = new AtomicReference<>();
     private final InternalClusterMetadataListener metadataListener = new InternalClusterMetadataListener();
@@ -89,11 +94,7 @@ public class PartitionManager extends AbstractListenerManager<PartitionEvent, Pa
         metadataService.addListener(metadataListener);
         currentClusterMetadata.get()
                        .getPartitions()
-                       .forEach(partition -> partitions.put(partition.getId(), new StoragePartition(partition,
-                               messagingService,
-                               clusterService,
-                               CatalystSerializers.getSerializer(),
-                               new File(System.getProperty("karaf.data") + "/partitions/" + partition.getId()))));
+                       .forEach(partition -> partitions.put(partition.getId(), createPartition(partition)));
 
         CompletableFuture<Void> openFuture = CompletableFuture.allOf(partitions.values()
                                                                                .stream()
@@ -103,6 +104,19 @@ public class PartitionManager extends AbstractListenerManager<PartitionEvent, Pa
         log.info("Started");
     }
 
+    private StoragePartition createPartition(Partition partition) {
+        StoragePartitionConfig config = StoragePartitionConfig.forPartition(partition.getId(),
+                                                                            System.getProperties());
+        log.info("Partition {} log storage: {}", partition.getId(), config);
+        return new StoragePartition(partition,
+                messagingService,
+                clusterService,
+                CatalystSerializers.getSerializer(),
+                new File(System.getProperty("karaf.data") + "/partitions/" + partition.getId()),
+                config,
+                metricsService);
+    }
+
     @Deactivate
     public void deactivate() {
         metadataService.removeListener(metadataListener);
@@ -99,6 +99,21 @@ public class PartitionedAsyncConsistentMap<K, V> implements AsyncConsistentMap<K
         return getMap(key).get(key);
     }
 
+    @Override
+    public CompletableFuture<Map<K, Versioned<V>>> getAll(Collection<K> keys) {
+        Map<AsyncConsistentMap<K, V>, List<K>> keysByMap = Maps.newIdentityHashMap();
+        keys.forEach(key -> keysByMap.computeIfAbsent(getMap(key), m -> Lists.newArrayList()).add(key));
+        return Tools.allOf(keysByMap.entrySet()
+                                    .stream()
+                                    .map(e -> e.getKey().getAll(e.getValue()))
+                                    .collect(Collectors.toList()))
+                    .thenApply(results -> {
+                        Map<K, Versioned<V>> values = Maps.newHashMap();
+                        results.forEach(values::putAll);
+                        return values;
+                    });
+    }
+
     @Override
     public CompletableFuture<Versioned<V>> computeIf(K key,
             Predicate<? super V> condition,
@@ -116,6 +131,17 @@ public class PartitionedAsyncConsistentMap<K, V> implements AsyncConsistentMap<K
         return getMap(key).putAndGet(key, value);
     }
 
+    @Override
+    public CompletableFuture<Void> putAll(Map<K, V> entries) {
+        Map<AsyncConsistentMap<K, V>, Map<K, V>> entriesByMap = Maps.newIdentityHashMap();
+        entries.forEach((key, value) ->
+                entriesByMap.computeIfAbsent(getMap(key), m -> Maps.newHashMap()).put(key, value));
+        return CompletableFuture.allOf(entriesByMap.entrySet()
+                                                   .stream()
+                                                   .map(e -> e.getKey().putAll(e.getValue()))
+                                                   .toArray(CompletableFuture[]::new));
+    }
+
     @Override
     public CompletableFuture<Versioned<V>> remove(K key) {
         return getMap(key).remove(key);
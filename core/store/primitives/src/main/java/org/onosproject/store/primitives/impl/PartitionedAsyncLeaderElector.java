@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
@@ -29,6 +30,7 @@ import org.onosproject.cluster.PartitionId;
 import org.onosproject.event.Change;
 import org.onosproject.store.service.AsyncLeaderElector;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 /**
  * {@link AsyncLeaderElector} that has its topics partitioned horizontally across
@@ -73,6 +75,42 @@ public class PartitionedAsyncLeaderElector implements AsyncLeaderElector {
         return getLeaderElector(topic).promote(topic, nodeId);
     }
 
+    @Override
+    public CompletableFuture<Map<String, Leadership>> runAll(Set<String> topics, NodeId nodeId) {
+        Map<String, Leadership> leaderships = Maps.newConcurrentMap();
+        return CompletableFuture.allOf(groupByPartition(topics).entrySet()
+                        .stream()
+                        .map(e -> partitions.get(e.getKey())
+                                            .runAll(e.getValue(), nodeId)
+                                            .thenAccept(leaderships::putAll))
+                        .toArray(CompletableFuture[]::new))
+                .thenApply(v -> leaderships);
+    }
+
+    @Override
+    public CompletableFuture<Void> withdrawAll(Set<String> topics) {
+        return CompletableFuture.allOf(groupByPartition(topics).entrySet()
+                        .stream()
+                        .map(e -> partitions.get(e.getKey()).withdrawAll(e.getValue()))
+                        .toArray(CompletableFuture[]::new));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Boolean>> anointAll(Map<String, NodeId> transfers) {
+        Map<PartitionId, Map<String, NodeId>> partitionTransfers = Maps.newHashMap();
+        transfers.forEach((topic, nodeId) -> partitionTransfers
+                .computeIfAbsent(topicHasher.hash(topic), k -> Maps.newHashMap())
+                .put(topic, nodeId));
+        Map<String, Boolean> results = Maps.newConcurrentMap();
+        return CompletableFuture.allOf(partitionTransfers.entrySet()
+                        .stream()
+                        .map(e -> partitions.get(e.getKey())
+                                            .anointAll(e.getValue())
+                                            .thenAccept(results::putAll))
+                        .toArray(CompletableFuture[]::new))
+                .thenApply(v -> results);
+    }
+
     @Override
     public CompletableFuture<Void> evict(NodeId nodeId) {
         return CompletableFuture.allOf(getLeaderElectors().stream()
@@ -118,6 +156,18 @@ public class PartitionedAsyncLeaderElector implements AsyncLeaderElector {
         return partitions.get(topicHasher.hash(topic));
     }
 
+    /**
+     * Groups topics by the partition they map to.
+     * @param topics topic names
+     * @return mapping from partition to the topics it owns
+     */
+    private Map<PartitionId, Set<String>> groupByPartition(Set<String> topics) {
+        Map<PartitionId, Set<String>> partitionTopics = Maps.newHashMap();
+        topics.forEach(topic -> partitionTopics.computeIfAbsent(topicHasher.hash(topic), k -> Sets.newHashSet())
+                                               .add(topic));
+        return partitionTopics;
+    }
+
     /**
      * Returns all the constituent leader electors.
      * @return collection of leader electors.
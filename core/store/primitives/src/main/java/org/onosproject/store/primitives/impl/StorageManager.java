@@ -32,6 +32,7 @@ import org.apache.felix.scr.annotations.Deactivate;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
+import org.onlab.metrics.MetricsService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.PartitionId;
 import org.onosproject.persistence.PersistenceService;
@@ -80,6 +81,8 @@ public class StorageManager implements StorageService, StorageAdminService {
 
     private final Logger log = getLogger(getClass());
 
+    private static final String PARTITION_HASHING_PROPERTY = "onos.store.partitionHashing";
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected ClusterService clusterService;
 
@@ -95,19 +98,24 @@ public class StorageManager implements StorageService, StorageAdminService {
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected PartitionAdminService partitionAdminService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected MetricsService metricsService;
+
     private final Supplier<TransactionId> transactionIdGenerator =
             () -> TransactionId.from(UUID.randomUUID().toString());
     private DistributedPrimitiveCreator federatedPrimitiveCreator;
     private AsyncConsistentMap<TransactionId, Transaction.State> transactions;
     private TransactionCoordinator transactionCoordinator;
+    private EventuallyConsistentMapRuntime eventuallyConsistentMapRuntime;
 
     @Activate
     public void activate() {
+        eventuallyConsistentMapRuntime = new EventuallyConsistentMapRuntime(metricsService);
         Map<PartitionId, DistributedPrimitiveCreator> partitionMap = Maps.newHashMap();
         partitionService.getAllPartitionIds().stream()
             .filter(id -> !id.equals(PartitionId.from(0)))
             .forEach(id -> partitionMap.put(id, partitionService.getDistributedPrimitiveCreator(id)));
-        federatedPrimitiveCreator = new FederatedDistributedPrimitiveCreator(partitionMap);
+        federatedPrimitiveCreator = new FederatedDistributedPrimitiveCreator(partitionMap, partitionHashing());
         transactions = this.<TransactionId, Transaction.State>consistentMapBuilder()
                     .withName("onos-transactions")
                     .withSerializer(Serializer.using(KryoNamespaces.API,
@@ -118,8 +126,25 @@ public class StorageManager implements StorageService, StorageAdminService {
         log.info("Started");
     }
 
+    /**
+     * Returns the hash function used for mapping keys to partitions. It must be the
+     * same on all nodes and defaults to the original SHA-256 placement.
+     *
+     * @return partition hashing
+     */
+    private PartitionHashing partitionHashing() {
+        String hashing = System.getProperty(PARTITION_HASHING_PROPERTY, PartitionHashing.SHA256.name());
+        try {
+            return PartitionHashing.valueOf(hashing.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown partition hashing {}; using {}", hashing, PartitionHashing.SHA256);
+            return PartitionHashing.SHA256;
+        }
+    }
+
     @Deactivate
     public void deactivate() {
+        eventuallyConsistentMapRuntime.shutdown();
         log.info("Stopped");
     }
 
@@ -128,7 +153,8 @@ public class StorageManager implements StorageService, StorageAdminService {
         checkPermission(STORAGE_WRITE);
         return new EventuallyConsistentMapBuilderImpl<>(clusterService,
                 clusterCommunicator,
-                persistenceService);
+                persistenceService,
+                eventuallyConsistentMapRuntime);
     }
 
     @Override
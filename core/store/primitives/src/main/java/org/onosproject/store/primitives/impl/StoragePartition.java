@@ -27,6 +27,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
+import org.onlab.metrics.MetricsService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.NodeId;
@@ -50,6 +51,8 @@ public class StoragePartition implements Managed<StoragePartition> {
     private final MessagingService messagingService;
     private final ClusterService clusterService;
     private final File logFolder;
+    private final StoragePartitionConfig config;
+    private final MetricsService metricsService;
     private Partition partition;
     private NodeId localNodeId;
     private StoragePartitionServer server;
@@ -64,12 +67,35 @@ public class StoragePartition implements Managed<StoragePartition> {
             ClusterService clusterService,
             Serializer serializer,
             File logFolder) {
+        this(partition, messagingService, clusterService, serializer, logFolder, StoragePartitionConfig.DEFAULT, null);
+    }
+
+    /**
+     * Creates a storage partition whose server uses the given log storage settings.
+     *
+     * @param partition partition
+     * @param messagingService messaging service
+     * @param clusterService cluster service
+     * @param serializer serializer
+     * @param logFolder folder of the Raft log
+     * @param config log storage settings
+     * @param metricsService metrics service used to publish log metrics; may be null
+     */
+    StoragePartition(Partition partition,
+            MessagingService messagingService,
+            ClusterService clusterService,
+            Serializer serializer,
+            File logFolder,
+            StoragePartitionConfig config,
+            MetricsService metricsService) {
         this.partition = partition;
         this.messagingService = messagingService;
         this.clusterService = clusterService;
         this.localNodeId = clusterService.getLocalNode().id();
         this.serializer = serializer;
         this.logFolder = logFolder;
+        this.config = config;
+        this.metricsService = metricsService;
     }
 
     /**
@@ -120,6 +146,14 @@ public class StoragePartition implements Managed<StoragePartition> {
         return Collections2.transform(partition.getMembers(), this::toAddress);
     }
 
+    /**
+     * Returns the {@link Address address} of the local node if it is a member of this partition.
+     * @return local member address, or empty if the local node is not a partition member
+     */
+    public Optional<Address> getLocalMemberAddress() {
+        return partition.getMembers().contains(localNodeId) ? Optional.of(toAddress(localNodeId)) : Optional.empty();
+    }
+
     /**
      * Attempts to rejoin the partition.
      * @return future that is completed after the operation is complete
@@ -134,7 +168,9 @@ public class StoragePartition implements Managed<StoragePartition> {
                 () -> new CopycatTransport(CopycatTransport.Mode.SERVER,
                                      partition.getId(),
                                      messagingService),
-                logFolder);
+                logFolder,
+                config,
+                metricsService);
         return server.open().thenRun(() -> this.server = server);
     }
 
@@ -153,7 +189,9 @@ public class StoragePartition implements Managed<StoragePartition> {
                 () -> new CopycatTransport(CopycatTransport.Mode.SERVER,
                                      partition.getId(),
                                      messagingService),
-                logFolder);
+                logFolder,
+                config,
+                metricsService);
         return server.join(Collections2.transform(otherMembers, this::toAddress)).thenRun(() -> this.server = server);
     }
 
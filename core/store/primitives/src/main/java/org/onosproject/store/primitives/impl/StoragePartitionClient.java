@@ -18,7 +18,9 @@ package org.onosproject.store.primitives.impl;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
 import io.atomix.AtomixClient;
+import io.atomix.catalyst.transport.Address;
 import io.atomix.catalyst.transport.Transport;
+import io.atomix.copycat.Query.ConsistencyLevel;
 import io.atomix.copycat.client.ConnectionStrategies;
 import io.atomix.copycat.client.CopycatClient;
 import io.atomix.copycat.client.CopycatClient.State;
@@ -52,11 +54,13 @@ import org.onosproject.store.service.AsyncDocumentTree;
 import org.onosproject.store.service.AsyncLeaderElector;
 import org.onosproject.store.service.DistributedPrimitive.Status;
 import org.onosproject.store.service.PartitionClientInfo;
+import org.onosproject.store.service.ReadConsistency;
 import org.onosproject.store.service.Serializer;
 import org.onosproject.store.service.WorkQueue;
 import org.slf4j.Logger;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
@@ -127,19 +131,27 @@ public class StoragePartitionClient implements DistributedPrimitiveCreator, Mana
 
     @Override
     public <K, V> AsyncConsistentMap<K, V> newAsyncConsistentMap(String name, Serializer serializer) {
+        return newAsyncConsistentMap(name, serializer, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> AsyncConsistentMap<K, V> newAsyncConsistentMap(String name,
+                                                                 Serializer serializer,
+                                                                 ReadConsistency readConsistency) {
         AtomixConsistentMap atomixConsistentMap = client.getResource(name, AtomixConsistentMap.class).join();
         Consumer<State> statusListener = state -> {
             atomixConsistentMap.statusChangeListeners()
                                .forEach(listener -> listener.accept(mapper.apply(state)));
         };
         resourceClient.client().onStateChange(statusListener);
+        // the resource is shared by every map of this name; the read level stays with this view
         AsyncConsistentMap<String, byte[]> rawMap =
-                new DelegatingAsyncConsistentMap<String, byte[]>(atomixConsistentMap) {
-                    @Override
-                    public String name() {
-                        return name;
-                    }
-                };
+                new AtomixConsistentMapView(name, atomixConsistentMap, toConsistencyLevel(readConsistency));
+        if (serializer == null) {
+            // raw map; keys and values are transcoded by the caller
+            return (AsyncConsistentMap<K, V>) rawMap;
+        }
         AsyncConsistentMap<K, V> transcodedMap = DistributedPrimitives.<K, V, String, byte[]>newTranscodingMap(rawMap,
             key -> HexString.toHexString(serializer.encode(key)),
             string -> serializer.decode(HexString.fromHexString(string)),
@@ -151,6 +163,13 @@ public class StoragePartitionClient implements DistributedPrimitiveCreator, Mana
 
     @Override
     public <V> AsyncConsistentTreeMap<V> newAsyncConsistentTreeMap(String name, Serializer serializer) {
+        return newAsyncConsistentTreeMap(name, serializer, null);
+    }
+
+    @Override
+    public <V> AsyncConsistentTreeMap<V> newAsyncConsistentTreeMap(String name,
+                                                                   Serializer serializer,
+                                                                   ReadConsistency readConsistency) {
         AtomixConsistentTreeMap atomixConsistentTreeMap =
                 client.getResource(name, AtomixConsistentTreeMap.class).join();
         Consumer<State> statusListener = state -> {
@@ -159,12 +178,7 @@ public class StoragePartitionClient implements DistributedPrimitiveCreator, Mana
         };
         resourceClient.client().onStateChange(statusListener);
         AsyncConsistentTreeMap<byte[]> rawMap =
-                new DelegatingAsyncConsistentTreeMap<byte[]>(atomixConsistentTreeMap) {
-                    @Override
-                    public String name() {
-                        return name;
-                    }
-                };
+                new AtomixConsistentTreeMapView(name, atomixConsistentTreeMap, toConsistencyLevel(readConsistency));
         AsyncConsistentTreeMap<V> transcodedMap =
                 DistributedPrimitives.<V, byte[]>newTranscodingTreeMap(
                     rawMap,
@@ -240,8 +254,17 @@ public class StoragePartitionClient implements DistributedPrimitiveCreator, Mana
 
     @Override
     public <V> AsyncDocumentTree<V> newAsyncDocumentTree(String name, Serializer serializer) {
+        return newAsyncDocumentTree(name, serializer, null);
+    }
+
+    @Override
+    public <V> AsyncDocumentTree<V> newAsyncDocumentTree(String name,
+                                                         Serializer serializer,
+                                                         ReadConsistency readConsistency) {
         AtomixDocumentTree atomixDocumentTree = client.getResource(name, AtomixDocumentTree.class).join();
-        return new DefaultDistributedDocumentTree<>(name, atomixDocumentTree, serializer);
+        return new DefaultDistributedDocumentTree<>(name,
+                new AtomixDocumentTreeView(atomixDocumentTree, toConsistencyLevel(readConsistency)),
+                serializer);
     }
 
     @Override
@@ -288,13 +311,39 @@ public class StoragePartitionClient implements DistributedPrimitiveCreator, Mana
                 mapper.apply(resourceClient.client().state()));
     }
 
+    /**
+     * Orders the servers to connect to, preferring the local replica when this node is a
+     * member of the partition so that sequential reads are served without a network hop.
+     */
+    private List<Address> selectConnections(Address leader, List<Address> servers) {
+        List<Address> connections = ServerSelectionStrategies.ANY.selectConnections(leader, servers);
+        partition.getLocalMemberAddress()
+                 .filter(connections::remove)
+                 .ifPresent(local -> connections.add(0, local));
+        return connections;
+    }
+
+    private static ConsistencyLevel toConsistencyLevel(ReadConsistency readConsistency) {
+        if (readConsistency == null) {
+            return null;
+        }
+        switch (readConsistency) {
+        case LINEARIZABLE:
+            return ConsistencyLevel.LINEARIZABLE_LEASE;
+        case SEQUENTIAL:
+            return ConsistencyLevel.SEQUENTIAL;
+        default:
+            throw new IllegalArgumentException("Unknown read consistency " + readConsistency);
+        }
+    }
+
     private ResourceClient newResourceClient(Transport transport,
                                            io.atomix.catalyst.serializer.Serializer serializer,
                                            Collection<ResourceType> resourceTypes) {
         ResourceRegistry registry = new ResourceRegistry();
         resourceTypes.forEach(registry::register);
         CopycatClient copycatClient = CopycatClient.builder()
-                .withServerSelectionStrategy(ServerSelectionStrategies.ANY)
+                .withServerSelectionStrategy(this::selectConnections)
                 .withConnectionStrategy(ConnectionStrategies.FIBONACCI_BACKOFF)
                 .withRecoveryStrategy(RecoveryStrategies.RECOVER)
                 .withTransport(transport)
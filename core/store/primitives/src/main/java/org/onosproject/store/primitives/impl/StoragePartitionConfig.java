@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import io.atomix.copycat.server.storage.StorageLevel;
+import org.onosproject.cluster.PartitionId;
+import org.slf4j.Logger;
+
+import java.util.Properties;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Raft log storage settings of a {@link StoragePartitionServer}.
+ * <p>
+ * Settings are read from the {@code onos.store.partition.<setting>} properties and
+ * may be overridden for a single partition by {@code onos.store.partition.<id>.<setting>}.
+ */
+final class StoragePartitionConfig {
+
+    private static final Logger log = getLogger(StoragePartitionConfig.class);
+
+    private static final String PROPERTY_PREFIX = "onos.store.partition.";
+    static final String STORAGE_LEVEL = "storageLevel";
+    static final String MAX_SEGMENT_SIZE = "maxSegmentSize";
+    static final String MAX_ENTRIES_PER_SEGMENT = "maxEntriesPerSegment";
+    static final String COMPACTION_THREADS = "compactionThreads";
+
+    private static final StorageLevel DEFAULT_STORAGE_LEVEL = StorageLevel.DISK;
+    private static final int DEFAULT_MAX_SEGMENT_SIZE = 1024 * 1024 * 32;
+    private static final int DEFAULT_MAX_ENTRIES_PER_SEGMENT = 32768;
+    private static final int DEFAULT_COMPACTION_THREADS = 1;
+
+    /**
+     * Default storage settings.
+     */
+    static final StoragePartitionConfig DEFAULT = new StoragePartitionConfig(DEFAULT_STORAGE_LEVEL,
+                                                                             DEFAULT_MAX_SEGMENT_SIZE,
+                                                                             DEFAULT_MAX_ENTRIES_PER_SEGMENT,
+                                                                             DEFAULT_COMPACTION_THREADS);
+
+    private final StorageLevel storageLevel;
+    private final int maxSegmentSize;
+    private final int maxEntriesPerSegment;
+    private final int compactionThreads;
+
+    StoragePartitionConfig(StorageLevel storageLevel,
+                           int maxSegmentSize,
+                           int maxEntriesPerSegment,
+                           int compactionThreads) {
+        checkArgument(maxSegmentSize > 0, "maxSegmentSize must be positive");
+        checkArgument(maxEntriesPerSegment > 0, "maxEntriesPerSegment must be positive");
+        checkArgument(compactionThreads > 0, "compactionThreads must be positive");
+        this.storageLevel = checkNotNull(storageLevel);
+        this.maxSegmentSize = maxSegmentSize;
+        this.maxEntriesPerSegment = maxEntriesPerSegment;
+        this.compactionThreads = compactionThreads;
+    }
+
+    /**
+     * Returns the storage settings of a partition from the given properties.
+     * Invalid values are logged and replaced by their defaults.
+     *
+     * @param partitionId partition identifier
+     * @param properties properties to read, usually the system properties
+     * @return storage settings
+     */
+    static StoragePartitionConfig forPartition(PartitionId partitionId, Properties properties) {
+        String level = property(partitionId, properties, STORAGE_LEVEL);
+        StorageLevel storageLevel = DEFAULT_STORAGE_LEVEL;
+        if (level != null) {
+            try {
+                storageLevel = StorageLevel.valueOf(level.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                log.warn("Unknown storage level {} for partition {}; using {}",
+                         level, partitionId, DEFAULT_STORAGE_LEVEL);
+            }
+        }
+        return new StoragePartitionConfig(
+                storageLevel,
+                intProperty(partitionId, properties, MAX_SEGMENT_SIZE, DEFAULT_MAX_SEGMENT_SIZE),
+                intProperty(partitionId, properties, MAX_ENTRIES_PER_SEGMENT, DEFAULT_MAX_ENTRIES_PER_SEGMENT),
+                intProperty(partitionId, properties, COMPACTION_THREADS, DEFAULT_COMPACTION_THREADS));
+    }
+
+    private static String property(PartitionId partitionId, Properties properties, String name) {
+        String value = properties.getProperty(PROPERTY_PREFIX + partitionId.id() + "." + name);
+        return value != null ? value : properties.getProperty(PROPERTY_PREFIX + name);
+    }
+
+    private static int intProperty(PartitionId partitionId, Properties properties, String name, int defaultValue) {
+        String value = property(partitionId, properties, name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException e) {
+            log.debug("Invalid {} {}", name, value, e);
+        }
+        log.warn("Invalid {} {} for partition {}; using {}", name, value, partitionId, defaultValue);
+        return defaultValue;
+    }
+
+    /**
+     * Returns the level at which the log is stored.
+     *
+     * @return storage level
+     */
+    StorageLevel storageLevel() {
+        return storageLevel;
+    }
+
+    /**
+     * Returns the maximum size of a log segment.
+     *
+     * @return maximum segment size in bytes
+     */
+    int maxSegmentSize() {
+        return maxSegmentSize;
+    }
+
+    /**
+     * Returns the maximum number of entries in a log segment.
+     *
+     * @return maximum number of entries
+     */
+    int maxEntriesPerSegment() {
+        return maxEntriesPerSegment;
+    }
+
+    /**
+     * Returns the number of threads compacting the log.
+     *
+     * @return compaction thread count
+     */
+    int compactionThreads() {
+        return compactionThreads;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add(STORAGE_LEVEL, storageLevel)
+                .add(MAX_SEGMENT_SIZE, maxSegmentSize)
+                .add(MAX_ENTRIES_PER_SEGMENT, maxEntriesPerSegment)
+                .add(COMPACTION_THREADS, compactionThreads)
+                .toString();
+    }
+}
@@ -21,15 +21,19 @@ import io.atomix.catalyst.transport.Address;
 import io.atomix.catalyst.transport.Transport;
 import io.atomix.copycat.server.CopycatServer;
 import io.atomix.copycat.server.storage.Storage;
-import io.atomix.copycat.server.storage.StorageLevel;
 import io.atomix.manager.internal.ResourceManagerState;
 import io.atomix.manager.util.ResourceManagerTypeResolver;
 
+import com.codahale.metrics.Gauge;
+
 import java.io.File;
 import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Supplier;
 
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onosproject.store.service.PartitionInfo;
 import org.slf4j.Logger;
 
@@ -40,12 +44,22 @@ public class StoragePartitionServer implements Managed<StoragePartitionServer> {
 
     private final Logger log = getLogger(getClass());
 
-    private static final int MAX_ENTRIES_PER_LOG_SEGMENT = 32768;
+    private static final String METRICS_COMPONENT = "storagePartition";
+    private static final String LOG_SIZE = "logSize";
+    private static final String LOG_SEGMENTS = "logSegments";
+    private static final String SNAPSHOT_SIZE = "snapshotSize";
+    private static final String LOG_SUFFIX = ".log";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
     private final StoragePartition partition;
     private final Address localAddress;
     private final Supplier<Transport> transport;
     private final Serializer serializer;
     private final File dataFolder;
+    private final StoragePartitionConfig config;
+    private final MetricsService metricsService;
+    private MetricsComponent metricsComponent;
+    private MetricsFeature metricsFeature;
     private CopycatServer server;
 
     public StoragePartitionServer(Address localAddress,
@@ -53,11 +67,34 @@ public class StoragePartitionServer implements Managed<StoragePartitionServer> {
             Serializer serializer,
             Supplier<Transport> transport,
             File dataFolder) {
+        this(localAddress, partition, serializer, transport, dataFolder, StoragePartitionConfig.DEFAULT, null);
+    }
+
+    /**
+     * Creates a partition server with the given log storage settings.
+     *
+     * @param localAddress local address
+     * @param partition partition served
+     * @param serializer serializer
+     * @param transport transport supplier
+     * @param dataFolder folder of the Raft log
+     * @param config log storage settings
+     * @param metricsService metrics service used to publish log metrics; may be null
+     */
+    StoragePartitionServer(Address localAddress,
+            StoragePartition partition,
+            Serializer serializer,
+            Supplier<Transport> transport,
+            File dataFolder,
+            StoragePartitionConfig config,
+            MetricsService metricsService) {
         this.partition = partition;
         this.localAddress = localAddress;
         this.serializer = serializer;
         this.transport = transport;
         this.dataFolder = dataFolder;
+        this.config = config;
+        this.metricsService = metricsService;
     }
 
     @Override
@@ -85,6 +122,7 @@ public class StoragePartitionServer implements Managed<StoragePartitionServer> {
 
     @Override
     public CompletableFuture<Void> close() {
+        unregisterMetrics();
         return server.shutdown();
     }
 
@@ -93,26 +131,67 @@ public class StoragePartitionServer implements Managed<StoragePartitionServer> {
      * @return future that is completed when the operation is complete
      */
     public CompletableFuture<Void> closeAndExit() {
+        unregisterMetrics();
         return server.leave();
     }
 
     private CopycatServer buildServer() {
+        log.debug("Building server for partition {} with {}", partition.getId(), config);
         CopycatServer server = CopycatServer.builder(localAddress)
                 .withName("partition-" + partition.getId())
                 .withSerializer(serializer.clone())
                 .withTransport(transport.get())
                 .withStateMachine(ResourceManagerState::new)
                 .withStorage(Storage.builder()
-                        .withStorageLevel(StorageLevel.DISK)
-                        .withCompactionThreads(1)
+                        .withStorageLevel(config.storageLevel())
+                        .withCompactionThreads(config.compactionThreads())
                         .withDirectory(dataFolder)
-                        .withMaxEntriesPerSegment(MAX_ENTRIES_PER_LOG_SEGMENT)
+                        .withMaxSegmentSize(config.maxSegmentSize())
+                        .withMaxEntriesPerSegment(config.maxEntriesPerSegment())
                         .build())
                 .build();
         server.serializer().resolve(new ResourceManagerTypeResolver());
+        registerMetrics();
         return server;
     }
 
+    private synchronized void registerMetrics() {
+        if (metricsService == null || metricsComponent != null) {
+            return;
+        }
+        metricsComponent = metricsService.registerComponent(METRICS_COMPONENT);
+        metricsFeature = metricsComponent.registerFeature("partition-" + partition.getId());
+        metricsService.registerMetric(metricsComponent, metricsFeature, LOG_SIZE,
+                                      (Gauge<Long>) () -> fileSize(LOG_SUFFIX));
+        metricsService.registerMetric(metricsComponent, metricsFeature, LOG_SEGMENTS,
+                                      (Gauge<Integer>) () -> files(LOG_SUFFIX).length);
+        metricsService.registerMetric(metricsComponent, metricsFeature, SNAPSHOT_SIZE,
+                                      (Gauge<Long>) () -> fileSize(SNAPSHOT_SUFFIX));
+    }
+
+    private synchronized void unregisterMetrics() {
+        if (metricsComponent == null) {
+            return;
+        }
+        metricsService.removeMetric(metricsComponent, metricsFeature, LOG_SIZE);
+        metricsService.removeMetric(metricsComponent, metricsFeature, LOG_SEGMENTS);
+        metricsService.removeMetric(metricsComponent, metricsFeature, SNAPSHOT_SIZE);
+        metricsComponent = null;
+    }
+
+    private File[] files(String suffix) {
+        File[] files = dataFolder.listFiles((dir, name) -> name.endsWith(suffix));
+        return files != null ? files : new File[0];
+    }
+
+    private long fileSize(String suffix) {
+        long size = 0;
+        for (File file : files(suffix)) {
+            size += file.length();
+        }
+        return size;
+    }
+
     public CompletableFuture<Void> join(Collection<Address> otherMembers) {
         server = buildServer();
         return server.join(otherMembers).whenComplete((r, e) -> {
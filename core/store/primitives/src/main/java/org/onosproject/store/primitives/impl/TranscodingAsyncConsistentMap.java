@@ -108,6 +108,20 @@ public class TranscodingAsyncConsistentMap<K1, V1, K2, V2> implements AsyncConsi
         }
     }
 
+    @Override
+    public CompletableFuture<Map<K1, Versioned<V1>>> getAll(Collection<K1> keys) {
+        try {
+            return backingMap.getAll(keys.stream().map(keyEncoder).collect(Collectors.toList()))
+                             .thenApply(m -> {
+                                 Map<K1, Versioned<V1>> values = Maps.newHashMapWithExpectedSize(m.size());
+                                 m.forEach((k, v) -> values.put(keyDecoder.apply(k), versionedValueTransform.apply(v)));
+                                 return values;
+                             });
+        } catch (Exception e) {
+            return Tools.exceptionalFuture(e);
+        }
+    }
+
     @Override
     public CompletableFuture<Versioned<V1>> computeIf(K1 key,
             Predicate<? super V1> condition,
@@ -143,6 +157,17 @@ public class TranscodingAsyncConsistentMap<K1, V1, K2, V2> implements AsyncConsi
         }
     }
 
+    @Override
+    public CompletableFuture<Void> putAll(Map<K1, V1> entries) {
+        try {
+            Map<K2, V2> encoded = Maps.newHashMapWithExpectedSize(entries.size());
+            entries.forEach((k, v) -> encoded.put(keyEncoder.apply(k), valueEncoder.apply(v)));
+            return backingMap.putAll(encoded);
+        } catch (Exception e) {
+            return Tools.exceptionalFuture(e);
+        }
+    }
+
     @Override
     public CompletableFuture<Versioned<V1>> remove(K1 key) {
         try {
@@ -15,6 +15,7 @@
  */
 package org.onosproject.store.primitives.resources.impl;
 
+import io.atomix.copycat.Query.ConsistencyLevel;
 import io.atomix.copycat.client.CopycatClient;
 import io.atomix.resource.AbstractResource;
 import io.atomix.resource.ResourceTypeInfo;
@@ -42,9 +43,12 @@ import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapComman
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.ContainsValue;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.EntrySet;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.Get;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.GetAll;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.IsEmpty;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.KeySet;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.Listen;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.MapQuery;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.PutAll;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.Size;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.TransactionCommit;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.TransactionPrepare;
@@ -60,7 +64,9 @@ import org.onosproject.store.service.MapEventListener;
 import org.onosproject.store.service.MapTransaction;
 import org.onosproject.store.service.Versioned;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 
 /**
@@ -79,6 +85,10 @@ public class AtomixConsistentMap extends AbstractResource<AtomixConsistentMap>
         super(client, properties);
     }
 
+    private <T> CompletableFuture<T> query(MapQuery<T> query, ConsistencyLevel consistency) {
+        return client.submit(consistency == null ? query : query.withConsistency(consistency));
+    }
+
     @Override
     public String name() {
         return null;
@@ -104,42 +114,145 @@ public class AtomixConsistentMap extends AbstractResource<AtomixConsistentMap>
 
     @Override
     public CompletableFuture<Boolean> isEmpty() {
-        return client.submit(new IsEmpty());
+        return isEmpty(null);
+    }
+
+    /**
+     * Evaluates {@link #isEmpty()} at the given read consistency level.
+     *
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Boolean> isEmpty(ConsistencyLevel consistency) {
+        return query(new IsEmpty(), consistency);
     }
 
     @Override
     public CompletableFuture<Integer> size() {
-        return client.submit(new Size());
+        return size(null);
+    }
+
+    /**
+     * Evaluates {@link #size()} at the given read consistency level.
+     *
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Integer> size(ConsistencyLevel consistency) {
+        return query(new Size(), consistency);
     }
 
     @Override
     public CompletableFuture<Boolean> containsKey(String key) {
-        return client.submit(new ContainsKey(key));
+        return containsKey(key, null);
+    }
+
+    /**
+     * Evaluates {@link #containsKey(String)} at the given read consistency level.
+     *
+     * @param key key
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Boolean> containsKey(String key, ConsistencyLevel consistency) {
+        return query(new ContainsKey(key), consistency);
     }
 
     @Override
     public CompletableFuture<Boolean> containsValue(byte[] value) {
-        return client.submit(new ContainsValue(value));
+        return containsValue(value, null);
+    }
+
+    /**
+     * Evaluates {@link #containsValue(byte[])} at the given read consistency level.
+     *
+     * @param value value
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Boolean> containsValue(byte[] value, ConsistencyLevel consistency) {
+        return query(new ContainsValue(value), consistency);
     }
 
     @Override
     public CompletableFuture<Versioned<byte[]>> get(String key) {
-        return client.submit(new Get(key));
+        return get(key, null);
+    }
+
+    /**
+     * Evaluates {@link #get(String)} at the given read consistency level.
+     *
+     * @param key key
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Versioned<byte[]>> get(String key, ConsistencyLevel consistency) {
+        return query(new Get(key), consistency);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Versioned<byte[]>>> getAll(Collection<String> keys) {
+        return getAll(keys, null);
+    }
+
+    /**
+     * Evaluates {@link #getAll(Collection)} at the given read consistency level.
+     *
+     * @param keys keys
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Map<String, Versioned<byte[]>>> getAll(
+            Collection<String> keys, ConsistencyLevel consistency) {
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(ImmutableMap.of());
+        }
+        return query(new GetAll(Sets.newHashSet(keys)), consistency);
     }
 
     @Override
     public CompletableFuture<Set<String>> keySet() {
-        return client.submit(new KeySet());
+        return keySet(null);
+    }
+
+    /**
+     * Evaluates {@link #keySet()} at the given read consistency level.
+     *
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Set<String>> keySet(ConsistencyLevel consistency) {
+        return query(new KeySet(), consistency);
     }
 
     @Override
     public CompletableFuture<Collection<Versioned<byte[]>>> values() {
-        return client.submit(new Values());
+        return values(null);
+    }
+
+    /**
+     * Evaluates {@link #values()} at the given read consistency level.
+     *
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Collection<Versioned<byte[]>>> values(ConsistencyLevel consistency) {
+        return query(new Values(), consistency);
     }
 
     @Override
     public CompletableFuture<Set<Entry<String, Versioned<byte[]>>>> entrySet() {
-        return client.submit(new EntrySet());
+        return entrySet(null);
+    }
+
+    /**
+     * Evaluates {@link #entrySet()} at the given read consistency level.
+     *
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Set<Entry<String, Versioned<byte[]>>>> entrySet(ConsistencyLevel consistency) {
+        return query(new EntrySet(), consistency);
     }
 
     @Override
@@ -158,6 +271,16 @@ public class AtomixConsistentMap extends AbstractResource<AtomixConsistentMap>
                 .thenApply(v -> v.newValue());
     }
 
+    @Override
+    public CompletableFuture<Void> putAll(Map<String, byte[]> entries) {
+        if (entries.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return client.submit(new PutAll(Maps.newHashMap(entries)))
+                .whenComplete((r, e) -> throwIfLocked(r))
+                .thenApply(v -> null);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public CompletableFuture<Versioned<byte[]>> putIfAbsent(String key, byte[] value) {
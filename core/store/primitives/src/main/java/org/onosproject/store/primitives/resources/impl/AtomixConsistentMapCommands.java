@@ -27,6 +27,7 @@ import io.atomix.copycat.Query;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 import org.onlab.util.Match;
@@ -70,10 +71,21 @@ public final class AtomixConsistentMapCommands {
      */
     @SuppressWarnings("serial")
     public abstract static class MapQuery<V> implements Query<V>, CatalystSerializable {
+        private ConsistencyLevel consistency = ConsistencyLevel.SEQUENTIAL;
+
+        /**
+         * Sets the consistency level at which the query is evaluated.
+         * @param consistency consistency level
+         * @return this query
+         */
+        public MapQuery<V> withConsistency(ConsistencyLevel consistency) {
+            this.consistency = consistency;
+            return this;
+        }
 
         @Override
         public ConsistencyLevel consistency() {
-          return ConsistencyLevel.SEQUENTIAL;
+          return consistency;
         }
 
         @Override
@@ -84,10 +96,12 @@ public final class AtomixConsistentMapCommands {
 
         @Override
         public void writeObject(BufferOutput<?> buffer, Serializer serializer) {
+            buffer.writeByte(consistency.ordinal());
         }
 
         @Override
         public void readObject(BufferInput<?> buffer, Serializer serializer) {
+            consistency = ConsistencyLevel.values()[buffer.readByte()];
         }
     }
 
@@ -453,6 +467,97 @@ public final class AtomixConsistentMapCommands {
         }
     }
 
+    /**
+     * Multi-key get query.
+     */
+    @SuppressWarnings("serial")
+    public static class GetAll extends MapQuery<Map<String, Versioned<byte[]>>> {
+        private Set<String> keys;
+
+        public GetAll() {
+        }
+
+        public GetAll(Set<String> keys) {
+            this.keys = Assert.notNull(keys, "keys");
+        }
+
+        /**
+         * Returns the keys.
+         * @return keys
+         */
+        public Set<String> keys() {
+            return keys;
+        }
+
+        @Override
+        public void writeObject(BufferOutput<?> buffer, Serializer serializer) {
+            super.writeObject(buffer, serializer);
+            serializer.writeObject(keys, buffer);
+        }
+
+        @Override
+        public void readObject(BufferInput<?> buffer, Serializer serializer) {
+            super.readObject(buffer, serializer);
+            keys = serializer.readObject(buffer);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(getClass())
+                    .add("keys", keys)
+                    .toString();
+        }
+    }
+
+    /**
+     * Multi-key put command.
+     */
+    @SuppressWarnings("serial")
+    public static class PutAll extends MapCommand<MapEntryUpdateResult.Status> {
+        private Map<String, byte[]> entries;
+
+        public PutAll() {
+        }
+
+        public PutAll(Map<String, byte[]> entries) {
+            this.entries = Assert.notNull(entries, "entries");
+        }
+
+        /**
+         * Returns the entries to put.
+         * @return entries
+         */
+        public Map<String, byte[]> entries() {
+            return entries;
+        }
+
+        @Override
+        public CompactionMode compaction() {
+            // a removal must outlive the entries it deletes in the log
+            return entries.values().stream().anyMatch(Objects::isNull)
+                    ? CompactionMode.TOMBSTONE : CompactionMode.QUORUM;
+        }
+
+        @Override
+        public void writeObject(BufferOutput<?> buffer, Serializer serializer) {
+            super.writeObject(buffer, serializer);
+            serializer.writeObject(entries, buffer);
+        }
+
+        @Override
+        public void readObject(BufferInput<?> buffer, Serializer serializer) {
+            super.readObject(buffer, serializer);
+            entries = serializer.readObject(buffer);
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(getClass())
+                    .add("keys", entries.keySet())
+                    .toString();
+        }
+    }
+
     /**
      * Is empty query.
      */
@@ -559,6 +664,8 @@ public final class AtomixConsistentMapCommands {
             registry.register(TransactionRollback.class, -774);
             registry.register(TransactionPrepareAndCommit.class, -775);
             registry.register(UpdateAndGet.class, -776);
+            registry.register(GetAll.class, -777);
+            registry.register(PutAll.class, -778);
         }
     }
 }
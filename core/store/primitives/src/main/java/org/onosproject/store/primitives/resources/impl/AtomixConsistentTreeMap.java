@@ -17,6 +17,7 @@
 package org.onosproject.store.primitives.resources.impl;
 
 import com.google.common.collect.Maps;
+import io.atomix.copycat.Query.ConsistencyLevel;
 import io.atomix.copycat.client.CopycatClient;
 import io.atomix.resource.AbstractResource;
 import io.atomix.resource.ResourceTypeInfo;
@@ -27,6 +28,7 @@ import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCo
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.HigherEntry;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.LastEntry;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.LowerEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.TreeQuery;
 import org.onosproject.store.service.AsyncConsistentTreeMap;
 import org.onosproject.store.service.MapEvent;
 import org.onosproject.store.service.MapEventListener;
@@ -85,6 +87,10 @@ public class AtomixConsistentTreeMap extends AbstractResource<AtomixConsistentTr
         super(client, options);
     }
 
+    private <T> CompletableFuture<T> query(TreeQuery<T> query, ConsistencyLevel consistency) {
+        return client.submit(consistency == null ? query : query.withConsistency(consistency));
+    }
+
     @Override
     public String name() {
         return null;
@@ -107,42 +113,125 @@ public class AtomixConsistentTreeMap extends AbstractResource<AtomixConsistentTr
 
     @Override
     public CompletableFuture<Boolean> isEmpty() {
-        return client.submit(new IsEmpty());
+        return isEmpty(null);
+    }
+
+    /**
+     * Evaluates {@link #isEmpty()} at the given read consistency level.
+     *
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Boolean> isEmpty(ConsistencyLevel consistency) {
+        return query(new IsEmpty(), consistency);
     }
 
     @Override
     public CompletableFuture<Integer> size() {
-        return client.submit(new Size());
+        return size(null);
+    }
+
+    /**
+     * Evaluates {@link #size()} at the given read consistency level.
+     *
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Integer> size(ConsistencyLevel consistency) {
+        return query(new Size(), consistency);
     }
 
     @Override
     public CompletableFuture<Boolean> containsKey(String key) {
-        return client.submit(new ContainsKey(key));
+        return containsKey(key, null);
+    }
+
+    /**
+     * Evaluates {@link #containsKey(String)} at the given read consistency level.
+     *
+     * @param key key
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Boolean> containsKey(String key, ConsistencyLevel consistency) {
+        return query(new ContainsKey(key), consistency);
     }
 
     @Override
     public CompletableFuture<Boolean> containsValue(byte[] value) {
-        return client.submit(new ContainsValue(value));
+        return containsValue(value, null);
+    }
+
+    /**
+     * Evaluates {@link #containsValue(byte[])} at the given read consistency level.
+     *
+     * @param value value
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Boolean> containsValue(byte[] value, ConsistencyLevel consistency) {
+        return query(new ContainsValue(value), consistency);
     }
 
     @Override
     public CompletableFuture<Versioned<byte[]>> get(String key) {
-        return client.submit(new Get(key));
+        return get(key, null);
+    }
+
+    /**
+     * Evaluates {@link #get(String)} at the given read consistency level.
+     *
+     * @param key key
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Versioned<byte[]>> get(String key, ConsistencyLevel consistency) {
+        return query(new Get(key), consistency);
     }
 
     @Override
     public CompletableFuture<Set<String>> keySet() {
-        return client.submit(new KeySet());
+        return keySet(null);
+    }
+
+    /**
+     * Evaluates {@link #keySet()} at the given read consistency level.
+     *
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Set<String>> keySet(ConsistencyLevel consistency) {
+        return query(new KeySet(), consistency);
     }
 
     @Override
     public CompletableFuture<Collection<Versioned<byte[]>>> values() {
-        return client.submit(new Values());
+        return values(null);
+    }
+
+    /**
+     * Evaluates {@link #values()} at the given read consistency level.
+     *
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Collection<Versioned<byte[]>>> values(ConsistencyLevel consistency) {
+        return query(new Values(), consistency);
     }
 
     @Override
     public CompletableFuture<Set<Map.Entry<String, Versioned<byte[]>>>> entrySet() {
-        return client.submit(new EntrySet());
+        return entrySet(null);
+    }
+
+    /**
+     * Evaluates {@link #entrySet()} at the given read consistency level.
+     *
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Set<Map.Entry<String, Versioned<byte[]>>>> entrySet(ConsistencyLevel consistency) {
+        return query(new EntrySet(), consistency);
     }
 
     @Override
@@ -290,44 +379,130 @@ public class AtomixConsistentTreeMap extends AbstractResource<AtomixConsistentTr
 
     @Override
     public CompletableFuture<String> firstKey() {
-        return client.submit(new FirstKey<String>());
+        return firstKey(null);
+    }
+
+    /**
+     * Evaluates {@link #firstKey()} at the given read consistency level.
+     *
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<String> firstKey(ConsistencyLevel consistency) {
+        return query(new FirstKey<String>(), consistency);
     }
 
     @Override
     public CompletableFuture<String> lastKey() {
-        return client.submit(new LastKey<String>());
+        return lastKey(null);
+    }
+
+    /**
+     * Evaluates {@link #lastKey()} at the given read consistency level.
+     *
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<String> lastKey(ConsistencyLevel consistency) {
+        return query(new LastKey<String>(), consistency);
     }
 
     @Override
     public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> ceilingEntry(String key) {
-        return client.submit(new CeilingEntry(key));
+        return ceilingEntry(key, null);
+    }
+
+    /**
+     * Evaluates {@link #ceilingEntry(String)} at the given read consistency level.
+     *
+     * @param key key
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> ceilingEntry(
+            String key, ConsistencyLevel consistency) {
+        return query(new CeilingEntry(key), consistency);
     }
 
     @Override
     public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> floorEntry(String key) {
-        return client.submit(new FloorEntry<String, Versioned<byte[]>>(key));
+        return floorEntry(key, null);
+    }
+
+    /**
+     * Evaluates {@link #floorEntry(String)} at the given read consistency level.
+     *
+     * @param key key
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> floorEntry(
+            String key, ConsistencyLevel consistency) {
+        return query(new FloorEntry<String, Versioned<byte[]>>(key), consistency);
     }
 
     @Override
+    public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> higherEntry(String key) {
+        return higherEntry(key, null);
+    }
+
+    /**
+     * Evaluates {@link #higherEntry(String)} at the given read consistency level.
+     *
+     * @param key key
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
     public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> higherEntry(
-            String key) {
-        return client.submit(new HigherEntry<String, Versioned<byte[]>>(key));
+            String key, ConsistencyLevel consistency) {
+        return query(new HigherEntry<String, Versioned<byte[]>>(key), consistency);
     }
 
     @Override
+    public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> lowerEntry(String key) {
+        return lowerEntry(key, null);
+    }
+
+    /**
+     * Evaluates {@link #lowerEntry(String)} at the given read consistency level.
+     *
+     * @param key key
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
     public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> lowerEntry(
-            String key) {
-        return client.submit(new LowerEntry<>(key));
+            String key, ConsistencyLevel consistency) {
+        return query(new LowerEntry<>(key), consistency);
     }
 
     @Override
     public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> firstEntry() {
-        return client.submit(new FirstEntry());
+        return firstEntry(null);
+    }
+
+    /**
+     * Evaluates {@link #firstEntry()} at the given read consistency level.
+     *
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> firstEntry(ConsistencyLevel consistency) {
+        return query(new FirstEntry(), consistency);
     }
 
     @Override
     public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> lastEntry() {
-        return client.submit(new LastEntry<String, Versioned<byte[]>>());
+        return lastEntry(null);
+    }
+
+    /**
+     * Evaluates {@link #lastEntry()} at the given read consistency level.
+     *
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> lastEntry(ConsistencyLevel consistency) {
+        return query(new LastEntry<String, Versioned<byte[]>>(), consistency);
     }
 
     @Override
@@ -342,22 +517,66 @@ public class AtomixConsistentTreeMap extends AbstractResource<AtomixConsistentTr
 
     @Override
     public CompletableFuture<String> lowerKey(String key) {
-        return client.submit(new LowerKey(key));
+        return lowerKey(key, null);
+    }
+
+    /**
+     * Evaluates {@link #lowerKey(String)} at the given read consistency level.
+     *
+     * @param key key
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<String> lowerKey(String key, ConsistencyLevel consistency) {
+        return query(new LowerKey(key), consistency);
     }
 
     @Override
     public CompletableFuture<String> floorKey(String key) {
-        return client.submit(new FloorKey(key));
+        return floorKey(key, null);
+    }
+
+    /**
+     * Evaluates {@link #floorKey(String)} at the given read consistency level.
+     *
+     * @param key key
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<String> floorKey(String key, ConsistencyLevel consistency) {
+        return query(new FloorKey(key), consistency);
     }
 
     @Override
     public CompletableFuture<String> ceilingKey(String key) {
-        return client.submit(new CeilingKey(key));
+        return ceilingKey(key, null);
+    }
+
+    /**
+     * Evaluates {@link #ceilingKey(String)} at the given read consistency level.
+     *
+     * @param key key
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<String> ceilingKey(String key, ConsistencyLevel consistency) {
+        return query(new CeilingKey(key), consistency);
     }
 
     @Override
     public CompletableFuture<String> higherKey(String key) {
-        return client.submit(new HigherKey(key));
+        return higherKey(key, null);
+    }
+
+    /**
+     * Evaluates {@link #higherKey(String)} at the given read consistency level.
+     *
+     * @param key key
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<String> higherKey(String key, ConsistencyLevel consistency) {
+        return query(new HigherKey(key), consistency);
     }
 
     @Override
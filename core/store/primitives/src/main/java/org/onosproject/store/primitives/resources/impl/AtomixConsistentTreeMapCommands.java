@@ -73,9 +73,21 @@ public final class AtomixConsistentTreeMapCommands {
     @SuppressWarnings("serial")
     public abstract static class TreeQuery<V>
             implements Query<V>, CatalystSerializable {
+        private ConsistencyLevel consistency = ConsistencyLevel.LINEARIZABLE_LEASE;
+
+        /**
+         * Sets the consistency level at which the query is evaluated.
+         * @param consistency consistency level
+         * @return this query
+         */
+        public TreeQuery<V> withConsistency(ConsistencyLevel consistency) {
+            this.consistency = consistency;
+            return this;
+        }
+
         @Override
         public ConsistencyLevel consistency() {
-            return ConsistencyLevel.LINEARIZABLE_LEASE;
+            return consistency;
         }
 
         @Override
@@ -87,13 +99,13 @@ public final class AtomixConsistentTreeMapCommands {
         @Override
         public void writeObject(BufferOutput<?> bufferOutput,
                                 Serializer serializer) {
-
+            bufferOutput.writeByte(consistency.ordinal());
         }
 
         @Override
         public void readObject(BufferInput<?> bufferInput,
                                Serializer serializer) {
-
+            consistency = ConsistencyLevel.values()[bufferInput.readByte()];
         }
     }
     /**
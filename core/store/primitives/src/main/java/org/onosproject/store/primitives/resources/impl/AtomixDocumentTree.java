@@ -20,6 +20,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static org.onosproject.store.primitives.resources.impl.DocumentTreeUpdateResult.Status.ILLEGAL_MODIFICATION;
 import static org.onosproject.store.primitives.resources.impl.DocumentTreeUpdateResult.Status.INVALID_PATH;
 import static org.onosproject.store.primitives.resources.impl.DocumentTreeUpdateResult.Status.OK;
+import io.atomix.copycat.Query.ConsistencyLevel;
 import io.atomix.copycat.client.CopycatClient;
 import io.atomix.resource.AbstractResource;
 import io.atomix.resource.ResourceTypeInfo;
@@ -35,6 +36,7 @@ import java.util.concurrent.Executor;
 import org.onlab.util.Match;
 import org.onlab.util.Tools;
 import org.onosproject.store.primitives.resources.impl.AtomixDocumentTreeCommands.Clear;
+import org.onosproject.store.primitives.resources.impl.AtomixDocumentTreeCommands.DocumentTreeQuery;
 import org.onosproject.store.primitives.resources.impl.AtomixDocumentTreeCommands.Get;
 import org.onosproject.store.primitives.resources.impl.AtomixDocumentTreeCommands.GetChildren;
 import org.onosproject.store.primitives.resources.impl.AtomixDocumentTreeCommands.Listen;
@@ -64,6 +66,10 @@ public class AtomixDocumentTree extends AbstractResource<AtomixDocumentTree>
         super(client, options);
     }
 
+    private <T> CompletableFuture<T> query(DocumentTreeQuery<T> query, ConsistencyLevel consistency) {
+        return client.submit(consistency == null ? query : query.withConsistency(consistency));
+    }
+
     @Override
     public CompletableFuture<AtomixDocumentTree> open() {
         return super.open().thenApply(result -> {
@@ -99,12 +105,35 @@ public class AtomixDocumentTree extends AbstractResource<AtomixDocumentTree>
 
     @Override
     public CompletableFuture<Map<String, Versioned<byte[]>>> getChildren(DocumentPath path) {
-        return client.submit(new GetChildren(checkNotNull(path)));
+        return getChildren(path, null);
+    }
+
+    /**
+     * Evaluates {@link #getChildren(DocumentPath)} at the given read consistency level.
+     *
+     * @param path document path
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Map<String, Versioned<byte[]>>> getChildren(
+            DocumentPath path, ConsistencyLevel consistency) {
+        return query(new GetChildren(checkNotNull(path)), consistency);
     }
 
     @Override
     public CompletableFuture<Versioned<byte[]>> get(DocumentPath path) {
-        return client.submit(new Get(checkNotNull(path)));
+        return get(path, null);
+    }
+
+    /**
+     * Evaluates {@link #get(DocumentPath)} at the given read consistency level.
+     *
+     * @param path document path
+     * @param consistency read consistency level; {@code null} for the default
+     * @return future for the result
+     */
+    public CompletableFuture<Versioned<byte[]>> get(DocumentPath path, ConsistencyLevel consistency) {
+        return query(new Get(checkNotNull(path)), consistency);
     }
 
     @Override
@@ -70,6 +70,17 @@ public class AtomixDocumentTreeCommands {
      */
     @SuppressWarnings("serial")
     public abstract static class DocumentTreeQuery<V> extends DocumentTreeOperation<V> implements Query<V> {
+        private ConsistencyLevel consistency = ConsistencyLevel.SEQUENTIAL;
+
+        /**
+         * Sets the consistency level at which the query is evaluated.
+         * @param consistency consistency level
+         * @return this query
+         */
+        public DocumentTreeQuery<V> withConsistency(ConsistencyLevel consistency) {
+            this.consistency = consistency;
+            return this;
+        }
 
          DocumentTreeQuery(DocumentPath path) {
              super(path);
@@ -77,8 +88,20 @@ public class AtomixDocumentTreeCommands {
 
          @Override
          public ConsistencyLevel consistency() {
-           return ConsistencyLevel.SEQUENTIAL;
+           return consistency;
          }
+
+        @Override
+        public void writeObject(BufferOutput<?> buffer, Serializer serializer) {
+            super.writeObject(buffer, serializer);
+            buffer.writeByte(consistency.ordinal());
+        }
+
+        @Override
+        public void readObject(BufferInput<?> buffer, Serializer serializer) {
+            super.readObject(buffer, serializer);
+            consistency = ConsistencyLevel.values()[buffer.readByte()];
+        }
     }
 
     /**
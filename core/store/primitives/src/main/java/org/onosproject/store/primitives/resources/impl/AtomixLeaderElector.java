@@ -32,16 +32,20 @@ import org.onosproject.cluster.Leadership;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.event.Change;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.Anoint;
+import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.AnointAll;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.GetAllLeaderships;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.GetElectedTopics;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.GetLeadership;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.Listen;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.Promote;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.Run;
+import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.RunAll;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.Unlisten;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.Withdraw;
+import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.WithdrawAll;
 import org.onosproject.store.service.AsyncLeaderElector;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
@@ -148,6 +152,31 @@ public class AtomixLeaderElector extends AbstractResource<AtomixLeaderElector>
         return client.submit(new Promote(topic, nodeId)).whenComplete((r, e) -> cache.invalidate(topic));
     }
 
+    @Override
+    public CompletableFuture<Map<String, Leadership>> runAll(Set<String> topics, NodeId nodeId) {
+        if (topics.isEmpty()) {
+            return CompletableFuture.completedFuture(ImmutableMap.of());
+        }
+        return client.submit(new RunAll(topics, nodeId)).whenComplete((r, e) -> cache.invalidateAll(topics));
+    }
+
+    @Override
+    public CompletableFuture<Void> withdrawAll(Set<String> topics) {
+        if (topics.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return client.submit(new WithdrawAll(topics)).whenComplete((r, e) -> cache.invalidateAll(topics));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Boolean>> anointAll(Map<String, NodeId> transfers) {
+        if (transfers.isEmpty()) {
+            return CompletableFuture.completedFuture(ImmutableMap.of());
+        }
+        return client.submit(new AnointAll(transfers))
+                     .whenComplete((r, e) -> cache.invalidateAll(transfers.keySet()));
+    }
+
     @Override
     public CompletableFuture<Void> evict(NodeId nodeId) {
         return client.submit(new AtomixLeaderElectorCommands.Evict(nodeId));
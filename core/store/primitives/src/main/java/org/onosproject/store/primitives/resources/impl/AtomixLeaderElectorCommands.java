@@ -15,6 +15,8 @@
  */
 package org.onosproject.store.primitives.resources.impl;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
@@ -304,6 +306,181 @@ public final class AtomixLeaderElectorCommands {
         }
     }
 
+    /**
+     * Enter and run for leadership of several topics.
+     */
+    @SuppressWarnings("serial")
+    public static class RunAll extends ElectionCommand<Map<String, Leadership>> {
+        private Set<String> topics;
+        private NodeId nodeId;
+
+        public RunAll() {
+        }
+
+        public RunAll(Set<String> topics, NodeId nodeId) {
+            this.topics = Assert.notNull(topics, "topics");
+            this.nodeId = Assert.argNot(nodeId, nodeId == null, "nodeId cannot be null");
+        }
+
+        /**
+         * Returns the topics.
+         *
+         * @return topics
+         */
+        public Set<String> topics() {
+            return topics;
+        }
+
+        /**
+         * Returns the nodeId.
+         *
+         * @return the nodeId
+         */
+        public NodeId nodeId() {
+            return nodeId;
+        }
+
+        @Override
+        public CompactionMode compaction() {
+            return CompactionMode.SNAPSHOT;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(getClass())
+                    .add("topics", topics)
+                    .add("nodeId", nodeId)
+                    .toString();
+        }
+
+        @Override
+        public void writeObject(BufferOutput<?> buffer, Serializer serializer) {
+            writeTopics(topics, buffer);
+            buffer.writeString(nodeId.toString());
+        }
+
+        @Override
+        public void readObject(BufferInput<?> buffer, Serializer serializer) {
+            topics = readTopics(buffer);
+            nodeId = new NodeId(buffer.readString());
+        }
+    }
+
+    /**
+     * Withdraw from several leadership contests.
+     */
+    @SuppressWarnings("serial")
+    public static class WithdrawAll extends ElectionCommand<Void> {
+        private Set<String> topics;
+
+        public WithdrawAll() {
+        }
+
+        public WithdrawAll(Set<String> topics) {
+            this.topics = Assert.notNull(topics, "topics");
+        }
+
+        /**
+         * Returns the topics.
+         *
+         * @return The topics
+         */
+        public Set<String> topics() {
+            return topics;
+        }
+
+        @Override
+        public CompactionMode compaction() {
+            return CompactionMode.SNAPSHOT;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(getClass())
+                    .add("topics", topics)
+                    .toString();
+        }
+
+        @Override
+        public void writeObject(BufferOutput<?> buffer, Serializer serializer) {
+            writeTopics(topics, buffer);
+        }
+
+        @Override
+        public void readObject(BufferInput<?> buffer, Serializer serializer) {
+            topics = readTopics(buffer);
+        }
+    }
+
+    /**
+     * Command for administratively anointing leaders for several topics.
+     */
+    @SuppressWarnings("serial")
+    public static class AnointAll extends ElectionCommand<Map<String, Boolean>> {
+        private Map<String, NodeId> transfers;
+
+        public AnointAll() {
+        }
+
+        public AnointAll(Map<String, NodeId> transfers) {
+            this.transfers = Assert.notNull(transfers, "transfers");
+        }
+
+        /**
+         * Returns the mapping from topic to the nodeId to make leader.
+         *
+         * @return The transfers
+         */
+        public Map<String, NodeId> transfers() {
+            return transfers;
+        }
+
+        @Override
+        public CompactionMode compaction() {
+            return CompactionMode.SNAPSHOT;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(getClass())
+                    .add("transfers", transfers)
+                    .toString();
+        }
+
+        @Override
+        public void writeObject(BufferOutput<?> buffer, Serializer serializer) {
+            buffer.writeInt(transfers.size());
+            transfers.forEach((topic, nodeId) -> {
+                buffer.writeString(topic);
+                buffer.writeString(nodeId.toString());
+            });
+        }
+
+        @Override
+        public void readObject(BufferInput<?> buffer, Serializer serializer) {
+            int size = buffer.readInt();
+            transfers = new LinkedHashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                String topic = buffer.readString();
+                transfers.put(topic, new NodeId(buffer.readString()));
+            }
+        }
+    }
+
+    private static void writeTopics(Set<String> topics, BufferOutput<?> buffer) {
+        buffer.writeInt(topics.size());
+        topics.forEach(buffer::writeString);
+    }
+
+    private static Set<String> readTopics(BufferInput<?> buffer) {
+        int size = buffer.readInt();
+        Set<String> topics = new LinkedHashSet<>(size);
+        for (int i = 0; i < size; i++) {
+            topics.add(buffer.readString());
+        }
+        return topics;
+    }
+
     /**
      * Command for administratively changing the leadership state for a node.
      */
@@ -456,6 +633,9 @@ public final class AtomixLeaderElectorCommands {
             registry.register(Unlisten.class, -868);
             registry.register(Promote.class, -869);
             registry.register(Evict.class, -870);
+            registry.register(RunAll.class, -871);
+            registry.register(WithdrawAll.class, -872);
+            registry.register(AnointAll.class, -873);
         }
     }
 }
@@ -45,6 +45,7 @@ import org.onosproject.cluster.Leadership;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.event.Change;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.Anoint;
+import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.AnointAll;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.Evict;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.GetAllLeaderships;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.GetElectedTopics;
@@ -52,8 +53,10 @@ import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorComman
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.Listen;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.Promote;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.Run;
+import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.RunAll;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.Unlisten;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.Withdraw;
+import org.onosproject.store.primitives.resources.impl.AtomixLeaderElectorCommands.WithdrawAll;
 import org.onosproject.store.serializers.KryoNamespaces;
 import org.onosproject.store.service.Serializer;
 import org.slf4j.Logger;
@@ -93,6 +96,9 @@ public class AtomixLeaderElectorState extends ResourceStateMachine
         executor.register(Anoint.class, this::anoint);
         executor.register(Promote.class, this::promote);
         executor.register(Evict.class, this::evict);
+        executor.register(RunAll.class, this::runAll);
+        executor.register(WithdrawAll.class, this::withdrawAll);
+        executor.register(AnointAll.class, this::anointAll);
         // Queries
         executor.register(GetLeadership.class, this::leadership);
         executor.register(GetAllLeaderships.class, this::allLeaderships);
@@ -168,17 +174,7 @@ public class AtomixLeaderElectorState extends ResourceStateMachine
             String topic = commit.operation().topic();
             Leadership oldLeadership = leadership(topic);
             Registration registration = new Registration(commit.operation().nodeId(), commit.session().id());
-            elections.compute(topic, (k, v) -> {
-                if (v == null) {
-                    return new ElectionState(registration, termCounter(topic)::incrementAndGet);
-                } else {
-                    if (!v.isDuplicate(registration)) {
-                        return new ElectionState(v).addRegistration(registration, termCounter(topic)::incrementAndGet);
-                    } else {
-                        return v;
-                    }
-                }
-            });
+            register(topic, registration);
             Leadership newLeadership = leadership(topic);
 
             if (!Objects.equal(oldLeadership, newLeadership)) {
@@ -201,8 +197,7 @@ public class AtomixLeaderElectorState extends ResourceStateMachine
         try {
             String topic = commit.operation().topic();
             Leadership oldLeadership = leadership(topic);
-            elections.computeIfPresent(topic, (k, v) -> v.cleanup(commit.session(),
-                                        termCounter(topic)::incrementAndGet));
+            unregister(topic, commit.session());
             Leadership newLeadership = leadership(topic);
             if (!Objects.equal(oldLeadership, newLeadership)) {
                 notifyLeadershipChange(oldLeadership, newLeadership);
@@ -225,15 +220,92 @@ public class AtomixLeaderElectorState extends ResourceStateMachine
             String topic = commit.operation().topic();
             NodeId nodeId = commit.operation().nodeId();
             Leadership oldLeadership = leadership(topic);
-            ElectionState electionState = elections.computeIfPresent(topic,
-                    (k, v) -> v.transferLeadership(nodeId, termCounter(topic)));
+            boolean transferred = transferLeadership(topic, nodeId);
             Leadership newLeadership = leadership(topic);
             if (!Objects.equal(oldLeadership, newLeadership)) {
                 notifyLeadershipChange(oldLeadership, newLeadership);
             }
-            return (electionState != null &&
-                    electionState.leader() != null &&
-                    commit.operation().nodeId().equals(electionState.leader().nodeId()));
+            return transferred;
+        } catch (Exception e) {
+            log.error("State machine operation failed", e);
+            throw Throwables.propagate(e);
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Applies an {@link AtomixLeaderElectorCommands.RunAll} commit.
+     * @param commit commit entry
+     * @return leadership of each topic after the registrations are applied
+     */
+    public Map<String, Leadership> runAll(Commit<? extends RunAll> commit) {
+        try {
+            Registration registration = new Registration(commit.operation().nodeId(), commit.session().id());
+            Map<String, Leadership> result = new HashMap<>();
+            List<Change<Leadership>> changes = Lists.newArrayList();
+            commit.operation().topics().forEach(topic -> {
+                Leadership oldLeadership = leadership(topic);
+                register(topic, registration);
+                Leadership newLeadership = leadership(topic);
+                if (!Objects.equal(oldLeadership, newLeadership)) {
+                    changes.add(new Change<>(oldLeadership, newLeadership));
+                }
+                result.put(topic, newLeadership);
+            });
+            notifyLeadershipChanges(changes);
+            return result;
+        } catch (Exception e) {
+            log.error("State machine operation failed", e);
+            throw Throwables.propagate(e);
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Applies an {@link AtomixLeaderElectorCommands.WithdrawAll} commit.
+     * @param commit withdraw commit
+     */
+    public void withdrawAll(Commit<? extends WithdrawAll> commit) {
+        try {
+            List<Change<Leadership>> changes = Lists.newArrayList();
+            commit.operation().topics().forEach(topic -> {
+                Leadership oldLeadership = leadership(topic);
+                unregister(topic, commit.session());
+                Leadership newLeadership = leadership(topic);
+                if (!Objects.equal(oldLeadership, newLeadership)) {
+                    changes.add(new Change<>(oldLeadership, newLeadership));
+                }
+            });
+            notifyLeadershipChanges(changes);
+        } catch (Exception e) {
+            log.error("State machine operation failed", e);
+            throw Throwables.propagate(e);
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Applies an {@link AtomixLeaderElectorCommands.AnointAll} commit.
+     * @param commit anoint commit
+     * @return mapping from topic to {@code true} if the transfer occurred; {@code false} if it did not.
+     */
+    public Map<String, Boolean> anointAll(Commit<? extends AnointAll> commit) {
+        try {
+            Map<String, Boolean> result = new HashMap<>();
+            List<Change<Leadership>> changes = Lists.newArrayList();
+            commit.operation().transfers().forEach((topic, nodeId) -> {
+                Leadership oldLeadership = leadership(topic);
+                result.put(topic, transferLeadership(topic, nodeId));
+                Leadership newLeadership = leadership(topic);
+                if (!Objects.equal(oldLeadership, newLeadership)) {
+                    changes.add(new Change<>(oldLeadership, newLeadership));
+                }
+            });
+            notifyLeadershipChanges(changes);
+            return result;
         } catch (Exception e) {
             log.error("State machine operation failed", e);
             throw Throwables.propagate(e);
@@ -350,6 +422,32 @@ public class AtomixLeaderElectorState extends ResourceStateMachine
         }
     }
 
+    private void register(String topic, Registration registration) {
+        elections.compute(topic, (k, v) -> {
+            if (v == null) {
+                return new ElectionState(registration, termCounter(topic)::incrementAndGet);
+            } else {
+                if (!v.isDuplicate(registration)) {
+                    return new ElectionState(v).addRegistration(registration, termCounter(topic)::incrementAndGet);
+                } else {
+                    return v;
+                }
+            }
+        });
+    }
+
+    private void unregister(String topic, ServerSession session) {
+        elections.computeIfPresent(topic, (k, v) -> v.cleanup(session, termCounter(topic)::incrementAndGet));
+    }
+
+    private boolean transferLeadership(String topic, NodeId nodeId) {
+        ElectionState electionState = elections.computeIfPresent(topic,
+                (k, v) -> v.transferLeadership(nodeId, termCounter(topic)));
+        return electionState != null &&
+                electionState.leader() != null &&
+                nodeId.equals(electionState.leader().nodeId());
+    }
+
     private Leadership leadership(String topic) {
         return new Leadership(topic,
                 leader(topic),
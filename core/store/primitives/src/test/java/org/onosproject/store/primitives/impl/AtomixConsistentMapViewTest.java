@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentMap;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+
+import io.atomix.catalyst.concurrent.Listener;
+import io.atomix.catalyst.serializer.Serializer;
+import io.atomix.copycat.Query;
+import io.atomix.copycat.Query.ConsistencyLevel;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link AtomixConsistentMapView}.
+ */
+public class AtomixConsistentMapViewTest {
+
+    /**
+     * Tests that views opened on the same map resource keep their own read
+     * consistency level.
+     */
+    @Test
+    public void testReadConsistencyPerView() {
+        RecordingCopycatClient client = new RecordingCopycatClient();
+        // Atomix hands out one resource per name, shared by every builder of that name
+        AtomixConsistentMap resource = new AtomixConsistentMap(client, new Properties());
+
+        AtomixConsistentMapView linearizable =
+                new AtomixConsistentMapView("test", resource, ConsistencyLevel.LINEARIZABLE_LEASE);
+        AtomixConsistentMapView sequential =
+                new AtomixConsistentMapView("test", resource, ConsistencyLevel.SEQUENTIAL);
+        AtomixConsistentMapView unspecified = new AtomixConsistentMapView("test", resource, null);
+
+        linearizable.get("foo");
+        sequential.get("foo");
+        linearizable.containsKey("foo");
+        unspecified.size();
+        sequential.keySet();
+        linearizable.getAll(ImmutableList.of("foo", "bar"));
+
+        assertEquals(ImmutableList.of(ConsistencyLevel.LINEARIZABLE_LEASE,
+                                      ConsistencyLevel.SEQUENTIAL,
+                                      ConsistencyLevel.LINEARIZABLE_LEASE,
+                                      ConsistencyLevel.SEQUENTIAL,
+                                      ConsistencyLevel.SEQUENTIAL,
+                                      ConsistencyLevel.LINEARIZABLE_LEASE),
+                     client.levels);
+        assertEquals("test", sequential.name());
+    }
+
+    /**
+     * Copycat client that records the consistency level of submitted queries.
+     */
+    private static class RecordingCopycatClient extends DelegatingCopycatClient {
+        private final Serializer serializer = new Serializer();
+        private final List<ConsistencyLevel> levels = Lists.newArrayList();
+
+        RecordingCopycatClient() {
+            super(null);
+        }
+
+        @Override
+        public Listener<State> onStateChange(Consumer<State> callback) {
+            return null;
+        }
+
+        @Override
+        public Serializer serializer() {
+            return serializer;
+        }
+
+        @Override
+        public <T> CompletableFuture<T> submit(Query<T> query) {
+            levels.add(query.consistency());
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
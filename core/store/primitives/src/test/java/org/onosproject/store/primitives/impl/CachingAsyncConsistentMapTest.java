@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import io.atomix.resource.ResourceType;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.onlab.metrics.MetricsManager;
+import org.onlab.util.Tools;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentMap;
+import org.onosproject.store.primitives.resources.impl.AtomixTestBase;
+import org.onosproject.store.service.AsyncConsistentMap;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.onlab.junit.TestTools.assertAfter;
+
+/**
+ * Unit tests for {@link CachingAsyncConsistentMap}.
+ */
+public class CachingAsyncConsistentMapTest extends AtomixTestBase {
+
+    private static final byte[] FOO = Tools.getBytesUtf8("foo");
+    private static final byte[] BAR = Tools.getBytesUtf8("bar");
+
+    @BeforeClass
+    public static void preTestSetup() throws Throwable {
+        createCopycatServers(3);
+    }
+
+    @AfterClass
+    public static void postTestCleanup() throws Exception {
+        clearTests();
+    }
+
+    @Override
+    protected ResourceType resourceType() {
+        return new ResourceType(AtomixConsistentMap.class);
+    }
+
+    /**
+     * Tests that reads are served from the cache and that statistics are recorded.
+     */
+    @Test
+    public void testCachedReads() throws Throwable {
+        AtomixConsistentMap backingMap = createAtomixClient().getResource("testCachedReadsMap",
+                                                                          AtomixConsistentMap.class).join();
+        CachingAsyncConsistentMap<String, byte[]> map = new CachingAsyncConsistentMap<>(backingMap, 2);
+
+        map.put("a", FOO).join();
+        assertArrayEquals(FOO, map.get("a").join().value());
+        assertArrayEquals(FOO, map.get("a").join().value());
+        // the update event of the put may already have populated the cache
+        assertEquals(2, map.cacheStats().requestCount());
+        assertTrue(map.cacheStats().hitCount() >= 1);
+
+        map.put("b", FOO).join();
+        map.put("c", FOO).join();
+        map.get("b").join();
+        map.get("c").join();
+        map.get("a").join();
+        assertTrue(map.cacheStats().evictionCount() > 0);
+    }
+
+    /**
+     * Tests that updates made through another client are pushed into the cache.
+     */
+    @Test
+    public void testRemoteUpdates() throws Throwable {
+        AtomixConsistentMap backingMap = createAtomixClient().getResource("testRemoteUpdatesMap",
+                                                                          AtomixConsistentMap.class).join();
+        AtomixConsistentMap remoteMap = createAtomixClient().getResource("testRemoteUpdatesMap",
+                                                                         AtomixConsistentMap.class).join();
+        CachingAsyncConsistentMap<String, byte[]> map = new CachingAsyncConsistentMap<>(backingMap, 100);
+
+        map.put("a", FOO).join();
+        long version = map.get("a").join().version();
+
+        remoteMap.put("a", BAR).join();
+        assertAfter(100, 5000, () -> {
+            assertArrayEquals(BAR, map.get("a").join().value());
+            assertTrue(map.get("a").join().version() > version);
+        });
+
+        remoteMap.remove("a").join();
+        assertAfter(100, 5000, () -> assertEquals(null, map.get("a").join()));
+    }
+
+    /**
+     * Tests that a map rebuilt under the name of a live map takes over its
+     * cache gauges, and keeps them when its predecessor is destroyed.
+     */
+    @Test
+    public void testMetricsOfRebuiltMap() throws Throwable {
+        MetricsManager metricsService = new MetricsManager();
+        AtomixConsistentMap backingMap = createAtomixClient().getResource("testMetricsMap",
+                                                                          AtomixConsistentMap.class).join();
+        CachingAsyncConsistentMap<String, byte[]> map =
+                new CachingAsyncConsistentMap<>(named(backingMap, "testMetricsMap"), 100);
+        map.registerMetrics(metricsService);
+
+        AtomixConsistentMap otherBackingMap = createAtomixClient().getResource("testMetricsMap",
+                                                                               AtomixConsistentMap.class).join();
+        CachingAsyncConsistentMap<String, byte[]> rebuilt =
+                new CachingAsyncConsistentMap<>(named(otherBackingMap, "testMetricsMap"), 100);
+        rebuilt.registerMetrics(metricsService);
+        assertEquals(6, metricsService.getGauges((name, metric) -> true).size());
+
+        map.destroy().join();
+        assertEquals(6, metricsService.getGauges((name, metric) -> true).size());
+
+        rebuilt.put("a", FOO).join();
+        rebuilt.get("a").join();
+        assertEquals(1L, metricsService.getGauges((name, metric) -> name.endsWith(".size"))
+                .values().iterator().next().getValue());
+
+        rebuilt.destroy().join();
+        assertFalse(metricsService.getGauges((name, metric) -> true).size() > 0);
+    }
+
+    private AsyncConsistentMap<String, byte[]> named(AtomixConsistentMap map, String name) {
+        return new DelegatingAsyncConsistentMap<String, byte[]>(map) {
+            @Override
+            public String name() {
+                return name;
+            }
+        };
+    }
+}
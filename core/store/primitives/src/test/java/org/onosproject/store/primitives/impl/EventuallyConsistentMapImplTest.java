@@ -57,15 +57,18 @@ import org.onosproject.cluster.DefaultControllerNode;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.event.AbstractEvent;
 import org.onosproject.persistence.PersistenceService;
+import org.onosproject.persistence.PersistentMapBuilder;
 import org.onosproject.store.Timestamp;
 import org.onosproject.store.cluster.messaging.ClusterCommunicationService;
 import org.onosproject.store.cluster.messaging.ClusterCommunicationServiceAdapter;
 import org.onosproject.store.cluster.messaging.MessageSubject;
+import org.onosproject.store.persistence.PersistenceServiceAdapter;
 import org.onosproject.store.persistence.TestPersistenceService;
 import org.onosproject.store.serializers.KryoNamespaces;
 import org.onosproject.store.service.EventuallyConsistentMap;
 import org.onosproject.store.service.EventuallyConsistentMapEvent;
 import org.onosproject.store.service.EventuallyConsistentMapListener;
+import org.onosproject.store.service.Serializer;
 import com.google.common.collect.ComparisonChain;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -614,6 +617,18 @@ public class EventuallyConsistentMapImplTest {
         assertTrue(entrySetsAreEqual(expectedValues, ecMap.entrySet()));
     }
 
+    @Test(expected = IllegalStateException.class)
+    public void testSnapshotsRequireTombstones() {
+        new EventuallyConsistentMapBuilderImpl<String, String>(
+                        clusterService, clusterCommunicator, persistenceService)
+                .withName(MAP_NAME)
+                .withSerializer(KryoNamespaces.API)
+                .withTimestampProvider((k, v) -> clockService.getTimestamp(k, v))
+                .withTombstonesDisabled()
+                .withSnapshots(1, TimeUnit.SECONDS)
+                .build();
+    }
+
     private static boolean entrySetsAreEqual(Map<String, String> expectedMap, Set<Map.Entry<String, String>> actual) {
         if (expectedMap.entrySet().size() != actual.size()) {
             return false;
@@ -690,6 +705,77 @@ public class EventuallyConsistentMapImplTest {
         return list;
     }
 
+    @Test
+    public void testSnapshots() throws Exception {
+        Map<String, Map<?, ?>> disk = new HashMap<>();
+        PersistenceService localDisk = new PersistenceServiceAdapter() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> PersistentMapBuilder<K, V> persistentMapBuilder() {
+                return new PersistentMapBuilder<K, V>() {
+                    private String name;
+
+                    @Override
+                    public PersistentMapBuilder<K, V> withName(String name) {
+                        this.name = name;
+                        return this;
+                    }
+
+                    @Override
+                    public PersistentMapBuilder<K, V> withSerializer(Serializer serializer) {
+                        return this;
+                    }
+
+                    @Override
+                    public Map<K, V> build() {
+                        return (Map<K, V>) disk.computeIfAbsent(name, n -> new HashMap<>());
+                    }
+                };
+            }
+        };
+        KryoNamespace.Builder serializer = KryoNamespace.newBuilder()
+                .register(KryoNamespaces.API)
+                .register(TestTimestamp.class);
+
+        EventuallyConsistentMap<String, String> snapshotMap = new EventuallyConsistentMapBuilderImpl<String, String>(
+                        clusterService, new ClusterCommunicationServiceAdapter(), localDisk)
+                .withName("snapshot")
+                .withSerializer(serializer)
+                .withTimestampProvider((k, v) -> clockService.getTimestamp(k, v))
+                .withSnapshots(1, TimeUnit.HOURS)
+                .build();
+        snapshotMap.put(KEY1, VALUE1);
+        snapshotMap.put(KEY2, VALUE2);
+        snapshotMap.remove(KEY2);
+        assertTrue("entries are only written with the snapshot", disk.get("snapshot").isEmpty());
+
+        // the final snapshot is written when the map is destroyed
+        snapshotMap.destroy();
+        assertEquals(2, disk.get("snapshot").size());
+
+        snapshotMap = new EventuallyConsistentMapBuilderImpl<String, String>(
+                        clusterService, new ClusterCommunicationServiceAdapter(), localDisk)
+                .withName("snapshot")
+                .withSerializer(serializer)
+                .withTimestampProvider((k, v) -> clockService.getTimestamp(k, v))
+                .withSnapshots(1, TimeUnit.HOURS)
+                .build();
+        assertEquals(1, snapshotMap.size());
+        assertEquals(VALUE1, snapshotMap.get(KEY1));
+        assertNull(snapshotMap.get(KEY2));
+        snapshotMap.destroy();
+    }
+
+    /**
+     * Tests that a snapshot period too short to be scheduled is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testSubMillisecondSnapshotPeriod() {
+        new EventuallyConsistentMapBuilderImpl<String, String>(
+                clusterService, new ClusterCommunicationServiceAdapter(), createMock(PersistenceService.class))
+                .withSnapshots(500, TimeUnit.MICROSECONDS);
+    }
+
     /**
      * Sets up a mock ClusterCommunicationService to expect a specific cluster
      * message to be broadcast to the cluster.
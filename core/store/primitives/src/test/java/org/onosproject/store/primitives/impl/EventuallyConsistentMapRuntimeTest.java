@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.metrics.MetricsManager;
+
+import com.google.common.collect.Lists;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for {@link EventuallyConsistentMapRuntime}.
+ */
+public class EventuallyConsistentMapRuntimeTest {
+
+    private EventuallyConsistentMapRuntime runtime;
+
+    @Before
+    public void setUp() {
+        runtime = new EventuallyConsistentMapRuntime(2, 2, null);
+    }
+
+    @After
+    public void tearDown() {
+        runtime.shutdown();
+    }
+
+    /**
+     * Tests that background tasks of a map run one at a time in submission order.
+     */
+    @Test
+    public void testSerialBackgroundTasks() throws Exception {
+        EventuallyConsistentMapRuntime.MapExecutors executors = runtime.executorsFor("test");
+        List<Integer> order = Lists.newCopyOnWriteArrayList();
+        AtomicInteger running = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(100);
+        for (int i = 0; i < 100; i++) {
+            int task = i;
+            executors.backgroundExecutor().execute(() -> {
+                assertEquals(1, running.incrementAndGet());
+                order.add(task);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, (int) order.get(i));
+        }
+        assertEquals(0, executors.queueDepth());
+    }
+
+    /**
+     * Tests that queued tasks are reflected in the queue depth of a map.
+     */
+    @Test
+    public void testQueueDepth() throws Exception {
+        EventuallyConsistentMapRuntime.MapExecutors executors = runtime.executorsFor("test");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        executors.backgroundExecutor().execute(() -> {
+            started.countDown();
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executors.backgroundExecutor().execute(done::countDown);
+        executors.backgroundExecutor().execute(done::countDown);
+        assertEquals(2, executors.queueDepth());
+        blocked.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, executors.queueDepth());
+    }
+
+    /**
+     * Tests that periodic tasks stop once the map executors are closed.
+     */
+    @Test
+    public void testPeriodicTasks() throws Exception {
+        EventuallyConsistentMapRuntime.MapExecutors executors = runtime.executorsFor("test");
+        CountDownLatch runs = new CountDownLatch(3);
+        executors.schedule(runs::countDown, 0, 10, TimeUnit.MILLISECONDS);
+        assertTrue(runs.await(5, TimeUnit.SECONDS));
+        executors.close();
+
+        AtomicInteger count = new AtomicInteger();
+        executors.schedule(count::incrementAndGet, 0, 10, TimeUnit.MILLISECONDS);
+        executors.close();
+        Thread.sleep(50);
+        assertTrue(count.get() <= 1);
+    }
+
+    /**
+     * Tests that a map rebuilt under the name of a live map takes over its
+     * metrics, and keeps them when its predecessor is closed.
+     */
+    @Test
+    public void testMetricsOfRebuiltMap() {
+        MetricsManager metricsService = new MetricsManager();
+        EventuallyConsistentMapRuntime metered = new EventuallyConsistentMapRuntime(1, 1, metricsService);
+        try {
+            EventuallyConsistentMapRuntime.MapExecutors executors = metered.executorsFor("test");
+            EventuallyConsistentMapRuntime.MapExecutors rebuilt = metered.executorsFor("test");
+            assertEquals(1, metricsService.getGauges((name, metric) -> true).size());
+
+            executors.close();
+            assertEquals(1, metricsService.getGauges((name, metric) -> true).size());
+            assertEquals(1, metricsService.getTimers((name, metric) -> true).size());
+
+            rebuilt.close();
+            assertTrue(metricsService.getGauges((name, metric) -> true).isEmpty());
+            assertTrue(metricsService.getTimers((name, metric) -> true).isEmpty());
+        } finally {
+            metered.shutdown();
+        }
+    }
+
+    /**
+     * Tests that a task rejected by the backing executor does not keep the
+     * following tasks from running.
+     */
+    @Test
+    public void testRejectedTask() {
+        AtomicBoolean reject = new AtomicBoolean(true);
+        EventuallyConsistentMapRuntime.SerialExecutor executor =
+                new EventuallyConsistentMapRuntime.SerialExecutor(task -> {
+                    if (reject.getAndSet(false)) {
+                        throw new RejectedExecutionException();
+                    }
+                    task.run();
+                });
+        try {
+            executor.execute(() -> { });
+            fail("task should have been rejected");
+        } catch (RejectedExecutionException e) {
+            // expected
+        }
+
+        AtomicBoolean ran = new AtomicBoolean();
+        executor.execute(() -> ran.set(true));
+        assertTrue(ran.get());
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import org.junit.Test;
+import org.onosproject.store.serializers.KryoNamespaces;
+import org.onosproject.store.service.Serializer;
+
+import com.google.common.hash.Hashing;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link PartitionHashing}.
+ */
+public class PartitionHashingTest {
+
+    /**
+     * Tests that SHA-256 hashing keeps the original key placement.
+     */
+    @Test
+    public void testSha256Placement() {
+        Serializer serializer = Serializer.using(KryoNamespaces.BASIC);
+        byte[] key = serializer.encode("foo");
+        assertEquals(Hashing.sha256().hashBytes(key).asInt(), PartitionHashing.SHA256.hash(key));
+        assertEquals(Hashing.sha256().hashString("foo", UTF_8).asInt(), PartitionHashing.SHA256.hash("foo"));
+    }
+
+    /**
+     * Tests that MurmurHash3 hashing yields the reference values, so placement is stable
+     * across nodes and library versions.
+     */
+    @Test
+    public void testMurmur3Placement() {
+        assertEquals(0xf6a5c420, PartitionHashing.MURMUR3.hash("foo"));
+        assertEquals(0xf6a5c420, PartitionHashing.MURMUR3.hash("foo".getBytes(UTF_8)));
+    }
+}
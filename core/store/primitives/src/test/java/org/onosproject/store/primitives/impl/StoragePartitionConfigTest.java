@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import io.atomix.copycat.server.storage.StorageLevel;
+import org.junit.Test;
+import org.onosproject.cluster.PartitionId;
+
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link StoragePartitionConfig}.
+ */
+public class StoragePartitionConfigTest {
+
+    private static final PartitionId P1 = PartitionId.from(1);
+    private static final PartitionId P2 = PartitionId.from(2);
+
+    @Test
+    public void testDefaults() {
+        StoragePartitionConfig config = StoragePartitionConfig.forPartition(P1, new Properties());
+        assertEquals(StoragePartitionConfig.DEFAULT.storageLevel(), config.storageLevel());
+        assertEquals(StoragePartitionConfig.DEFAULT.maxSegmentSize(), config.maxSegmentSize());
+        assertEquals(StoragePartitionConfig.DEFAULT.maxEntriesPerSegment(), config.maxEntriesPerSegment());
+        assertEquals(StoragePartitionConfig.DEFAULT.compactionThreads(), config.compactionThreads());
+    }
+
+    @Test
+    public void testPartitionOverride() {
+        Properties properties = new Properties();
+        properties.setProperty("onos.store.partition.storageLevel", "mapped");
+        properties.setProperty("onos.store.partition.compactionThreads", "2");
+        properties.setProperty("onos.store.partition.1.compactionThreads", "4");
+        properties.setProperty("onos.store.partition.1.maxSegmentSize", "1048576");
+
+        StoragePartitionConfig config = StoragePartitionConfig.forPartition(P1, properties);
+        assertEquals(StorageLevel.MAPPED, config.storageLevel());
+        assertEquals(4, config.compactionThreads());
+        assertEquals(1048576, config.maxSegmentSize());
+
+        config = StoragePartitionConfig.forPartition(P2, properties);
+        assertEquals(StorageLevel.MAPPED, config.storageLevel());
+        assertEquals(2, config.compactionThreads());
+        assertEquals(StoragePartitionConfig.DEFAULT.maxSegmentSize(), config.maxSegmentSize());
+    }
+
+    @Test
+    public void testInvalidValues() {
+        Properties properties = new Properties();
+        properties.setProperty("onos.store.partition.storageLevel", "tape");
+        properties.setProperty("onos.store.partition.maxEntriesPerSegment", "-1");
+        properties.setProperty("onos.store.partition.compactionThreads", "many");
+
+        StoragePartitionConfig config = StoragePartitionConfig.forPartition(P1, properties);
+        assertEquals(StoragePartitionConfig.DEFAULT.storageLevel(), config.storageLevel());
+        assertEquals(StoragePartitionConfig.DEFAULT.maxEntriesPerSegment(), config.maxEntriesPerSegment());
+        assertEquals(StoragePartitionConfig.DEFAULT.compactionThreads(), config.compactionThreads());
+    }
+}
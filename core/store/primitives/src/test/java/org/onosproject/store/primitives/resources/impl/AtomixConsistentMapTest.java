@@ -16,14 +16,21 @@
 package org.onosproject.store.primitives.resources.impl;
 
 import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
+import io.atomix.copycat.Command.CompactionMode;
+import io.atomix.copycat.server.CopycatServer;
+import io.atomix.copycat.server.state.ServerContext;
+import io.atomix.copycat.server.storage.compaction.Compaction;
 import io.atomix.resource.ResourceType;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.onlab.junit.TestUtils;
 import org.onlab.util.Tools;
 import org.onosproject.store.primitives.MapUpdate;
 import org.onosproject.store.primitives.TransactionId;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.PutAll;
 import org.onosproject.store.service.MapEvent;
 import org.onosproject.store.service.MapEventListener;
 import org.onosproject.store.service.MapTransaction;
@@ -31,7 +38,9 @@ import org.onosproject.store.service.Versioned;
 
 import java.util.Arrays;
 import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletionException;
@@ -82,6 +91,76 @@ public class AtomixConsistentMapTest extends AtomixTestBase {
         mapComputeOperationTests();
     }
 
+    /**
+     * Tests multi-key map operations.
+     */
+    @Test
+    public void testBulkMapOperations() throws Throwable {
+        final byte[] value1 = Tools.getBytesUtf8("value1");
+        final byte[] value2 = Tools.getBytesUtf8("value2");
+        final byte[] value3 = Tools.getBytesUtf8("value3");
+
+        AtomixConsistentMap map = createAtomixClient().getResource("testBulkMapOperationMap",
+                                                                   AtomixConsistentMap.class).join();
+        TestMapEventListener listener = new TestMapEventListener();
+        map.addListener(listener).join();
+
+        map.putAll(ImmutableMap.of("foo", value1, "bar", value2)).join();
+        assertEquals(MapEvent.Type.INSERT, listener.event().type());
+        assertEquals(MapEvent.Type.INSERT, listener.event().type());
+        assertFalse(listener.eventReceived());
+
+        Map<String, Versioned<byte[]>> values = map.getAll(Arrays.asList("foo", "bar", "baz")).join();
+        assertEquals(2, values.size());
+        assertArrayEquals(value1, values.get("foo").value());
+        assertArrayEquals(value2, values.get("bar").value());
+        assertFalse(values.containsKey("baz"));
+
+        map.putAll(ImmutableMap.of("foo", value3)).join();
+        MapEvent<String, byte[]> event = listener.event();
+        assertEquals(MapEvent.Type.UPDATE, event.type());
+        assertArrayEquals(value1, event.oldValue().value());
+        assertArrayEquals(value3, map.get("foo").join().value());
+        assertArrayEquals(value2, map.get("bar").join().value());
+        assertTrue(map.get("foo").join().version() > values.get("foo").version());
+
+        assertTrue(map.getAll(Arrays.asList()).join().isEmpty());
+        map.removeListener(listener).join();
+    }
+
+    /**
+     * Tests that entries removed by a multi-key put stay removed once the
+     * logs have been compacted.
+     */
+    @Test
+    public void testBulkRemovalCompaction() throws Throwable {
+        final byte[] value1 = Tools.getBytesUtf8("value1");
+        final byte[] value2 = Tools.getBytesUtf8("value2");
+
+        Map<String, byte[]> removal = new HashMap<>();
+        removal.put("foo", null);
+        removal.put("bar", value2);
+        assertEquals(CompactionMode.TOMBSTONE, new PutAll(removal).compaction());
+        assertEquals(CompactionMode.QUORUM, new PutAll(ImmutableMap.of("bar", value2)).compaction());
+
+        AtomixConsistentMap map = createAtomixClient().getResource("testBulkRemovalCompactionMap",
+                                                                   AtomixConsistentMap.class).join();
+        map.put("foo", value1).join();
+        map.putAll(removal).join();
+        assertNull(map.get("foo").join());
+
+        for (CopycatServer server : copycatServers) {
+            ServerContext context = TestUtils.getField(server, "context");
+            context.getLog().compactor().compact(Compaction.MINOR).join();
+            context.getLog().compactor().compact(Compaction.MAJOR).join();
+        }
+
+        assertNull(map.get("foo").join());
+        assertArrayEquals(value2, map.get("bar").join().value());
+        assertFalse(map.containsKey("foo").join());
+        assertEquals(1, map.size().join().intValue());
+    }
+
     /**
      * Tests map event notifications.
      */
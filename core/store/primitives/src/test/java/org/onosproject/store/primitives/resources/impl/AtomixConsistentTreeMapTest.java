@@ -17,6 +17,7 @@ package org.onosproject.store.primitives.resources.impl;
 
 import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
+import io.atomix.copycat.Query.ConsistencyLevel;
 import io.atomix.resource.ResourceType;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -500,6 +501,27 @@ public class AtomixConsistentTreeMapTest extends AtomixTestBase {
 
     }
 
+    /**
+     * Tests that reads evaluated at sequential consistency observe the
+     * client's own updates.
+     */
+    @Test
+    public void sequentialReadTest() {
+        final byte[] value1 = Tools.getBytesUtf8("value1");
+        final byte[] value2 = Tools.getBytesUtf8("value2");
+        AtomixConsistentTreeMap map = createResource("sequentialReadTestMap");
+        ConsistencyLevel sequential = ConsistencyLevel.SEQUENTIAL;
+
+        map.put("foo", value1).join();
+        assertArrayEquals(value1, map.get("foo", sequential).join().value());
+        map.put("foo", value2).join();
+        assertArrayEquals(value2, map.get("foo", sequential).join().value());
+        assertEquals("foo", map.firstKey(sequential).join());
+        map.remove("foo").join();
+        assertNull(map.get("foo", sequential).join());
+        map.delete().join();
+    }
+
     private AtomixConsistentTreeMap createResource(String mapName) {
         try {
             AtomixConsistentTreeMap map = createAtomixClient().
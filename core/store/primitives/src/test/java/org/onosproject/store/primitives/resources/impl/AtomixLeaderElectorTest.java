@@ -25,6 +25,9 @@ import org.onosproject.cluster.Leadership;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.event.Change;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
@@ -350,6 +353,50 @@ public class AtomixLeaderElectorTest extends AtomixTestBase {
         }).join();
     }
 
+    @Test
+    public void testBatchOperations() throws Throwable {
+        leaderElectorBatchTests();
+    }
+
+    private void leaderElectorBatchTests() throws Throwable {
+        Atomix client1 = createAtomixClient();
+        Atomix client2 = createAtomixClient();
+        AtomixLeaderElector elector1 = client1.getResource("test-elector-batch",
+                                                           AtomixLeaderElector.class).join();
+        AtomixLeaderElector elector2 = client2.getResource("test-elector-batch",
+                                                           AtomixLeaderElector.class).join();
+        elector1.runAll(ImmutableSet.of("foo", "bar"), node1).thenAccept(result -> {
+            assertEquals(2, result.size());
+            assertEquals(node1, result.get("foo").leaderNodeId());
+            assertEquals(node1, result.get("bar").leaderNodeId());
+        }).join();
+        elector2.runAll(ImmutableSet.of("foo", "bar"), node2).thenAccept(result -> {
+            assertEquals(node1, result.get("foo").leaderNodeId());
+            assertEquals(2, result.get("foo").candidates().size());
+            assertEquals(node2, result.get("bar").candidates().get(1));
+        }).join();
+
+        elector1.anointAll(ImmutableMap.of("foo", node2, "bar", node3)).thenAccept(result -> {
+            assertTrue(result.get("foo"));
+            assertFalse(result.get("bar"));
+        }).join();
+        elector1.getLeadership("foo").thenAccept(result -> assertEquals(node2, result.leaderNodeId())).join();
+        elector1.getLeadership("bar").thenAccept(result -> assertEquals(node1, result.leaderNodeId())).join();
+
+        LeaderEventListener listener = new LeaderEventListener();
+        elector2.addChangeListener(listener).join();
+        elector1.withdrawAll(ImmutableSet.of("foo", "bar")).join();
+        listener.nextEvent().thenAccept(result -> {
+            assertEquals(node2, result.newValue().leaderNodeId());
+            assertEquals(1, result.newValue().candidates().size());
+        }).join();
+        elector2.getLeaderships().thenAccept(result -> {
+            assertEquals(node2, result.get("foo").leaderNodeId());
+            assertEquals(node2, result.get("bar").leaderNodeId());
+            assertEquals(1, result.get("bar").candidates().size());
+        }).join();
+    }
+
     private static class LeaderEventListener implements Consumer<Change<Leadership>> {
         Queue<Change<Leadership>> eventQueue = new LinkedList<>();
         CompletableFuture<Change<Leadership>> pendingFuture;
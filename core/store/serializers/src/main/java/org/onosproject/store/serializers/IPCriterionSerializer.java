@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.serializers;
+
+import org.onlab.packet.IpPrefix;
+import org.onosproject.net.flow.criteria.Criteria;
+import org.onosproject.net.flow.criteria.Criterion;
+import org.onosproject.net.flow.criteria.IPCriterion;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Kryo Serializer for {@link IPCriterion}.
+ */
+public class IPCriterionSerializer extends Serializer<IPCriterion> {
+
+    /**
+     * Creates {@link IPCriterion} serializer instance.
+     */
+    public IPCriterionSerializer() {
+        // non-null, immutable
+        super(false, true);
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, IPCriterion object) {
+        output.writeVarInt(object.type().ordinal(), true);
+        kryo.writeClassAndObject(output, object.ip());
+    }
+
+    @Override
+    public IPCriterion read(Kryo kryo, Input input, Class<IPCriterion> type) {
+        Criterion.Type criterionType = Criterion.Type.values()[input.readVarInt(true)];
+        IpPrefix ip = (IpPrefix) kryo.readClassAndObject(input);
+        switch (criterionType) {
+            case IPV4_SRC:
+                return (IPCriterion) Criteria.matchIPSrc(ip);
+            case IPV4_DST:
+                return (IPCriterion) Criteria.matchIPDst(ip);
+            case IPV6_SRC:
+                return (IPCriterion) Criteria.matchIPv6Src(ip);
+            case IPV6_DST:
+                return (IPCriterion) Criteria.matchIPv6Dst(ip);
+            default:
+                throw new KryoException("Unexpected IP criterion type " + criterionType);
+        }
+    }
+}
@@ -317,6 +317,14 @@ public final class KryoNamespaces {
 
     /**
      * KryoNamespace which can serialize API bundle classes.
+     * <p>
+     * Upgrade note: since 1.10, traffic selectors, the most common criteria
+     * and output instructions are written with dedicated serializers under
+     * new registration ids. Values written by earlier versions, including
+     * Raft logs and snapshots, can still be read. Values written by this
+     * version cannot be read by earlier versions, so a cluster mixing this
+     * version with earlier ones must not be run, and a rolled back node has
+     * to start from an empty state.
      */
     public static final int API_MAX_SIZE = 499;
     public static final KryoNamespace API = KryoNamespace.newBuilder()
@@ -569,6 +577,18 @@ public final class KryoNamespaces {
             .register(ProtectionEndpointIntent.class)
             .register(ProtectedTransportIntent.class)
             .register(MarkerResource.class)
+            // Types below were registered above with the default serializer
+            // and are registered again with a dedicated one. Kryo writes a
+            // type with its last registration, and still reads the ids above,
+            // so values written before the dedicated serializers were added
+            // remain readable. Earlier versions cannot read the ids below.
+            .register(new DefaultTrafficSelectorSerializer(), DefaultTrafficSelector.class)
+            .register(new PortCriterionSerializer(), PortCriterion.class)
+            .register(new EthCriterionSerializer(), EthCriterion.class)
+            .register(new EthTypeCriterionSerializer(), EthTypeCriterion.class)
+            .register(new VlanIdCriterionSerializer(), VlanIdCriterion.class)
+            .register(new IPCriterionSerializer(), IPCriterion.class)
+            .register(new OutputInstructionSerializer(), Instructions.OutputInstruction.class)
             .build("API");
 
     /**
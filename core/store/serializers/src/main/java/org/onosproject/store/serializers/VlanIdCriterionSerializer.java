@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.serializers;
+
+import org.onlab.packet.VlanId;
+import org.onosproject.net.flow.criteria.Criteria;
+import org.onosproject.net.flow.criteria.Criterion;
+import org.onosproject.net.flow.criteria.VlanIdCriterion;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Kryo Serializer for {@link VlanIdCriterion}.
+ */
+public class VlanIdCriterionSerializer extends Serializer<VlanIdCriterion> {
+
+    /**
+     * Creates {@link VlanIdCriterion} serializer instance.
+     */
+    public VlanIdCriterionSerializer() {
+        // non-null, immutable
+        super(false, true);
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, VlanIdCriterion object) {
+        output.writeBoolean(object.type() == Criterion.Type.INNER_VLAN_VID);
+        output.writeShort(object.vlanId().toShort());
+    }
+
+    @Override
+    public VlanIdCriterion read(Kryo kryo, Input input, Class<VlanIdCriterion> type) {
+        boolean inner = input.readBoolean();
+        VlanId vlanId = VlanId.vlanId(input.readShort());
+        return (VlanIdCriterion) (inner ? Criteria.matchInnerVlanId(vlanId) : Criteria.matchVlanId(vlanId));
+    }
+}
@@ -20,6 +20,10 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.testing.EqualsTester;
 
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Registration;
+import com.esotericsoftware.kryo.io.Output;
+
 import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -27,10 +31,12 @@ import org.junit.Test;
 import org.onlab.packet.VlanId;
 import org.onlab.util.Bandwidth;
 import org.onlab.util.Frequency;
+import org.onlab.util.KryoNamespace;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.cluster.RoleInfo;
 import org.onosproject.core.DefaultApplicationId;
 import org.onosproject.core.DefaultGroupId;
+import org.onosproject.core.IdGenerator;
 import org.onosproject.mastership.MastershipTerm;
 import org.onosproject.net.Annotations;
 import org.onosproject.net.ChannelSpacing;
@@ -62,7 +68,12 @@ import org.onosproject.net.flow.DefaultTrafficTreatment;
 import org.onosproject.net.flow.FlowId;
 import org.onosproject.net.flow.FlowRule;
 import org.onosproject.net.flow.FlowRuleBatchEntry;
+import org.onosproject.net.flow.instructions.Instructions;
+import org.onosproject.net.intent.Intent;
+import org.onosproject.net.intent.IntentData;
 import org.onosproject.net.intent.IntentId;
+import org.onosproject.net.intent.IntentState;
+import org.onosproject.net.intent.PointToPointIntent;
 import org.onosproject.net.resource.ResourceAllocation;
 import org.onosproject.net.resource.ResourceConsumerId;
 import org.onosproject.net.resource.Resources;
@@ -73,6 +84,7 @@ import org.onosproject.net.intent.constraint.LatencyConstraint;
 import org.onosproject.net.intent.constraint.LinkTypeConstraint;
 import org.onosproject.net.intent.constraint.ObstacleConstraint;
 import org.onosproject.net.intent.constraint.WaypointConstraint;
+import org.onosproject.store.service.WallClockTimestamp;
 import org.onlab.packet.ChassisId;
 import org.onlab.packet.IpAddress;
 import org.onlab.packet.Ip4Address;
@@ -162,6 +174,109 @@ public class KryoSerializerTest {
         testSerializedEquals(new ConnectPoint(DID1, P1));
     }
 
+    @Test
+    public void testTrafficSelector() {
+        testSerializedEquals(DefaultTrafficSelector.emptySelector());
+        testSerializedEquals(DefaultTrafficSelector.builder()
+                                     .matchInPort(P1)
+                                     .matchEthType((short) 0x0800)
+                                     .matchEthDst(MacAddress.BROADCAST)
+                                     .matchEthSrcMasked(MacAddress.valueOf("00:00:00:00:00:01"),
+                                                        MacAddress.valueOf("ff:ff:ff:00:00:00"))
+                                     .matchVlanId(VlanId.vlanId((short) 100))
+                                     .matchInnerVlanId(VlanId.vlanId((short) 200))
+                                     .matchIPSrc(IpPrefix.valueOf("10.0.0.0/8"))
+                                     .matchIPDst(Ip4Prefix.valueOf("10.1.0.0/16"))
+                                     .matchIPv6Dst(IpPrefix.valueOf("1111::/64"))
+                                     .build());
+        testSerializedEquals(DefaultTrafficSelector.builder()
+                                     .matchInPhyPort(P1)
+                                     .matchEthSrc(MacAddress.BROADCAST)
+                                     .matchEthDstMasked(MacAddress.BROADCAST, MacAddress.BROADCAST)
+                                     .matchIPv6Src(IpPrefix.valueOf("2222::/64"))
+                                     .build());
+    }
+
+    @Test
+    public void testOutputInstruction() {
+        testSerializedEquals(Instructions.createOutput(P1));
+        testSerializedEquals(DefaultTrafficTreatment.builder().setOutput(P1).setOutput(PortNumber.CONTROLLER).build());
+    }
+
+    @Test
+    public void testLegacyEncodingReadable() {
+        DefaultTrafficSelector selector = (DefaultTrafficSelector) DefaultTrafficSelector.builder()
+                .matchInPort(P1)
+                .matchEthType((short) 0x0800)
+                .build();
+        Kryo kryo = KryoNamespaces.API.borrow();
+        try {
+            Registration current = kryo.getRegistration(DefaultTrafficSelector.class);
+            assertTrue(current.getSerializer() instanceof DefaultTrafficSelectorSerializer);
+            Registration legacy = null;
+            for (int id = KryoNamespace.INITIAL_ID; id < current.getId(); id++) {
+                Registration registration = kryo.getRegistration(id);
+                if (registration != null && registration.getType() == DefaultTrafficSelector.class) {
+                    legacy = registration;
+                }
+            }
+            assertNotNull(legacy);
+
+            // encode as earlier versions did, with the default serializer and the original id
+            Output output = new Output(1024);
+            output.writeVarInt(legacy.getId() + 2, true);
+            kryo.writeObject(output, selector, legacy.getSerializer());
+            assertEquals(selector, serializer.decode(output.toBytes()));
+        } finally {
+            KryoNamespaces.API.release(kryo);
+        }
+    }
+
+    @Test
+    public void testIntentData() {
+        StoreSerializer intentSerializer = StoreSerializer.using(KryoNamespace.newBuilder()
+                .register(KryoNamespaces.API)
+                .register(WallClockTimestamp.class)
+                .register(new IntentDataSerializer(), IntentData.class)
+                .build());
+        IdGenerator idGenerator = () -> 1L;
+        Intent.bindIdGenerator(idGenerator);
+        PointToPointIntent intent;
+        try {
+            intent = PointToPointIntent.builder()
+                    .appId(new DefaultApplicationId(1, "test"))
+                    .selector(DefaultTrafficSelector.emptySelector())
+                    .treatment(DefaultTrafficTreatment.emptyTreatment())
+                    .ingressPoint(CP1)
+                    .egressPoint(CP2)
+                    .build();
+        } finally {
+            Intent.unbindIdGenerator(idGenerator);
+        }
+        WallClockTimestamp version = new WallClockTimestamp(1L);
+
+        IntentData submitted = new IntentData(intent, IntentState.INSTALL_REQ, version);
+        IntentData copy = intentSerializer.decode(intentSerializer.encode(submitted));
+        assertEquals(submitted, copy);
+        assertEquals(IntentState.INSTALL_REQ, copy.state());
+        assertEquals(IntentState.INSTALL_REQ, copy.request());
+        assertNull(copy.origin());
+        assertTrue(copy.installables().isEmpty());
+
+        IntentData installed = new IntentData(new IntentData(intent, IntentState.INSTALLED,
+                                                             IntentState.INSTALL_REQ, version,
+                                                             new NodeId("foo")),
+                                              ImmutableList.of(intent));
+        installed.setErrorCount(2);
+        copy = intentSerializer.decode(intentSerializer.encode(installed));
+        assertEquals(installed, copy);
+        assertEquals(IntentState.INSTALLED, copy.state());
+        assertEquals(IntentState.INSTALL_REQ, copy.request());
+        assertEquals(new NodeId("foo"), copy.origin());
+        assertEquals(2, copy.errorCount());
+        assertEquals(ImmutableList.of(intent), copy.installables());
+    }
+
     @Test
     public void testDefaultLink() {
         testSerializedEquals(DefaultLink.builder()
@@ -227,33 +227,91 @@ public class Ofdpa2Pipeline extends AbstractHandlerBehaviour implements Pipeline
 
     protected void sendForward(ForwardingObjective fwd, Collection<FlowRule> rules) {
         FlowRuleOperations.Builder flowOpsBuilder = FlowRuleOperations.builder();
+        addForward(fwd, rules, flowOpsBuilder);
+
+        flowRuleService.apply(flowOpsBuilder.build(new FlowRuleOperationsContext() {
+            @Override
+            public void onSuccess(FlowRuleOperations ops) {
+                pass(fwd);
+            }
+
+            @Override
+            public void onError(FlowRuleOperations ops) {
+                fail(fwd, ObjectiveError.FLOWINSTALLATIONFAILED);
+            }
+        }));
+    }
+
+    /**
+     * Adds the flow rules of a forwarding objective to a flow rule operation.
+     *
+     * @param fwd the forwarding objective
+     * @param rules the flow rules translated from the objective
+     * @param flowOpsBuilder builder of the flow rule operation
+     * @return false if the objective has an unknown operation
+     */
+    protected boolean addForward(ForwardingObjective fwd, Collection<FlowRule> rules,
+                                 FlowRuleOperations.Builder flowOpsBuilder) {
         switch (fwd.op()) {
         case ADD:
             rules.stream()
             .filter(Objects::nonNull)
             .forEach(flowOpsBuilder::add);
             log.debug("Applying a add fwd-obj {} to sw:{}", fwd.id(), deviceId);
-            break;
+            return true;
         case REMOVE:
             rules.stream()
             .filter(Objects::nonNull)
             .forEach(flowOpsBuilder::remove);
             log.debug("Deleting a flow rule to sw:{}", deviceId);
-            break;
+            return true;
         default:
             fail(fwd, ObjectiveError.UNKNOWN);
             log.warn("Unknown forwarding type {}", fwd.op());
+            return false;
         }
+    }
 
+    /**
+     * Installs a batch of objectives. The flow rules of all the forwarding
+     * objectives in the batch are installed by a single flow rule operation,
+     * applied after the filtering and next objectives of the batch have been
+     * processed.
+     *
+     * @param objectives filtering, forwarding and next objectives
+     */
+    @Override
+    public void apply(List<Objective> objectives) {
+        FlowRuleOperations.Builder flowOpsBuilder = FlowRuleOperations.builder();
+        List<ForwardingObjective> forwards = new ArrayList<>();
+        for (Objective objective : objectives) {
+            if (objective instanceof ForwardingObjective) {
+                ForwardingObjective fwd = (ForwardingObjective) objective;
+                Collection<FlowRule> rules = processForward(fwd);
+                // objectives without rules have already been failed
+                if (rules != null && !rules.isEmpty() && addForward(fwd, rules, flowOpsBuilder)) {
+                    forwards.add(fwd);
+                }
+            } else if (objective instanceof NextObjective) {
+                next((NextObjective) objective);
+            } else {
+                filter((FilteringObjective) objective);
+            }
+        }
+        if (forwards.isEmpty()) {
+            return;
+        }
+
+        log.debug("Applying {} fwd-objs in a single operation to sw:{}", forwards.size(), deviceId);
         flowRuleService.apply(flowOpsBuilder.build(new FlowRuleOperationsContext() {
             @Override
             public void onSuccess(FlowRuleOperations ops) {
-                pass(fwd);
+                forwards.forEach(Ofdpa2Pipeline::pass);
             }
 
             @Override
             public void onError(FlowRuleOperations ops) {
-                fail(fwd, ObjectiveError.FLOWINSTALLATIONFAILED);
+                forwards.forEach(fwd -> fail(fwd, ObjectiveError.FLOWINSTALLATIONFAILED));
             }
         }));
     }
@@ -238,6 +238,69 @@ public class SpringOpenTTP extends AbstractHandlerBehaviour
 
     }
 
+    /**
+     * Installs a batch of objectives. The flow rules of all the forwarding
+     * objectives in the batch are provisioned by a single flow rule operation,
+     * applied after the filtering and next objectives of the batch have been
+     * processed.
+     *
+     * @param objectives filtering, forwarding and next objectives
+     */
+    @Override
+    public void apply(List<Objective> objectives) {
+        FlowRuleOperations.Builder flowBuilder = FlowRuleOperations.builder();
+        List<ForwardingObjective> forwards = new ArrayList<>();
+        for (Objective objective : objectives) {
+            if (objective instanceof ForwardingObjective) {
+                ForwardingObjective fwd = (ForwardingObjective) objective;
+                Collection<FlowRule> rules = processForward(fwd);
+                if (rules.isEmpty()) {
+                    // objective has already been failed
+                    continue;
+                }
+                switch (fwd.op()) {
+                case ADD:
+                    rules.stream().filter(Objects::nonNull)
+                            .forEach(flowBuilder::add);
+                    forwards.add(fwd);
+                    break;
+                case REMOVE:
+                    rules.stream().filter(Objects::nonNull)
+                            .forEach(flowBuilder::remove);
+                    forwards.add(fwd);
+                    break;
+                default:
+                    fail(fwd, ObjectiveError.UNKNOWN);
+                    log.warn("Unknown forwarding type {}", fwd.op());
+                }
+            } else if (objective instanceof NextObjective) {
+                next((NextObjective) objective);
+            } else {
+                filter((FilteringObjective) objective);
+            }
+        }
+        if (forwards.isEmpty()) {
+            return;
+        }
+
+        flowRuleService.apply(flowBuilder
+                .build(new FlowRuleOperationsContext() {
+                    @Override
+                    public void onSuccess(FlowRuleOperations ops) {
+                        forwards.forEach(SpringOpenTTP.this::pass);
+                        log.debug("Provisioned tables in {} successfully with "
+                                + "{} forwarding objectives", deviceId, forwards.size());
+                    }
+
+                    @Override
+                    public void onError(FlowRuleOperations ops) {
+                        forwards.forEach(fwd -> fail(fwd, ObjectiveError.FLOWINSTALLATIONFAILED));
+                        log.warn("Failed to provision tables in {} with "
+                                + "{} forwarding objectives", deviceId, forwards.size());
+                    }
+                }));
+    }
+
     @Override
     public void next(NextObjective nextObjective) {
         NextGroup nextGroup = flowObjectiveStore.getNextGroup(nextObjective.id());
@@ -481,6 +544,7 @@ public class SpringOpenTTP extends AbstractHandlerBehaviour
         if (fwd.treatment() == null && fwd.nextId() == null) {
             log.error("VERSATILE forwarding objective needs next objective ID "
                     + "or treatment.");
+            fail(fwd, ObjectiveError.BADPARAMS);
             return Collections.emptySet();
         }
         // emulation of ACL table (for versatile fwd objective) requires
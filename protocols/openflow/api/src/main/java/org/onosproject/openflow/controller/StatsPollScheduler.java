@@ -0,0 +1,351 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.openflow.controller;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Timer;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
+import org.projectfloodlight.openflow.protocol.OFMessage;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static org.onlab.util.Tools.groupedThreads;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Schedules the statistics polls of all the OpenFlow switches.
+ * <p>
+ * Each switch is served by a single periodic task, started at a random offset
+ * so that switches are not polled in bursts. The task runs every poll of the
+ * switch that is due and sends the requests of all of them in one batch.
+ * Polls are spaced out when the scheduler falls behind or when the switch
+ * replies with many entries.
+ * <p>
+ * The threads of the shared scheduler are started by the first registration
+ * and stopped by {@link #shutdown()} when the OpenFlow controller is deactivated.
+ */
+public final class StatsPollScheduler {
+
+    private static final Logger log = getLogger(StatsPollScheduler.class);
+
+    private static final int POOL_SIZE = 4;
+    private static final long TICK_MILLIS = 1000;
+    private static final long INITIAL_DELAY_MILLIS = 1000;
+
+    // upper bound of the factor applied to poll intervals
+    static final double MAX_STRETCH = 4;
+    // number of reply entries for which a poll interval is doubled
+    static final int REPLY_ENTRIES_PER_STRETCH = 10000;
+    // weight of the latest lateness sample in the load estimate
+    private static final double LOAD_SMOOTHING = 0.2;
+
+    private static final String METRICS_COMPONENT = "OpenFlow";
+    private static final String METRICS_FEATURE = "StatsPoll";
+
+    private static final StatsPollScheduler SHARED_SCHEDULER = new StatsPollScheduler(null, TICK_MILLIS);
+
+    // created on demand if null
+    private ScheduledExecutorService executor;
+    private final long tickMillis;
+    private final Map<Long, SwitchPolls> switches = new ConcurrentHashMap<>();
+
+    // smoothed lateness of the switch tasks, in milliseconds
+    private volatile double lateness;
+
+    private volatile Timer pollLatency;
+    private volatile Histogram replySizes;
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param executor executor running the switch tasks; null to create one
+     *                 when the first poll is registered
+     * @param tickMillis period of the switch tasks in milliseconds
+     */
+    StatsPollScheduler(ScheduledExecutorService executor, long tickMillis) {
+        this.executor = executor;
+        this.tickMillis = tickMillis;
+    }
+
+    /**
+     * Returns the scheduler shared by the OpenFlow providers.
+     *
+     * @return shared scheduler
+     */
+    public static StatsPollScheduler getScheduler() {
+        return SHARED_SCHEDULER;
+    }
+
+    /**
+     * Enables or disables the poll latency and reply size metrics. If the
+     * metrics service is not null metric collection will be enabled;
+     * otherwise it will be disabled.
+     *
+     * @param metricsService optional metric service
+     */
+    public void setMetricsService(MetricsService metricsService) {
+        if (metricsService == null) {
+            pollLatency = null;
+            replySizes = null;
+            return;
+        }
+        MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+        MetricsFeature feature = component.registerFeature(METRICS_FEATURE);
+        pollLatency = metricsService.createTimer(component, feature, "pollLatency");
+        replySizes = metricsService.createHistogram(component, feature, "replyEntries");
+    }
+
+    /**
+     * Registers a periodic statistics poll of a switch.
+     *
+     * @param sw switch to poll
+     * @param intervalSeconds poll interval in seconds
+     * @param poll poll adding its requests to the batch sent to the switch
+     * @return registered poll
+     */
+    public Poll register(OpenFlowSwitch sw, int intervalSeconds, StatsPoll poll) {
+        checkNotNull(sw, "Null switch");
+        checkNotNull(poll, "Null poll");
+        checkArgument(intervalSeconds > 0, "Poll interval must be positive");
+        Poll registered = new Poll(sw.getId(), poll, TimeUnit.SECONDS.toMillis(intervalSeconds));
+        switches.compute(sw.getId(), (dpid, polls) -> {
+            SwitchPolls result = polls == null ? new SwitchPolls(executor()) : polls;
+            // a switch that reconnected is polled through its new connection
+            result.sw = sw;
+            result.add(registered);
+            return result;
+        });
+        return registered;
+    }
+
+    /**
+     * Cancels all the polls and stops the threads of the scheduler. The
+     * threads are started again when another poll is registered.
+     */
+    public void shutdown() {
+        ScheduledExecutorService stopped;
+        synchronized (this) {
+            stopped = executor;
+            executor = null;
+        }
+        switches.clear();
+        if (stopped != null) {
+            stopped.shutdownNow();
+        }
+    }
+
+    private synchronized ScheduledExecutorService executor() {
+        if (executor == null) {
+            executor = newScheduledThreadPool(POOL_SIZE, groupedThreads("onos/of", "stats-poll-%d", log));
+        }
+        return executor;
+    }
+
+    /**
+     * Returns the factor currently applied to poll intervals because of the
+     * load of the scheduler.
+     *
+     * @return load factor, at least 1
+     */
+    public double loadFactor() {
+        return Math.min(MAX_STRETCH, 1 + lateness / tickMillis);
+    }
+
+    /**
+     * Returns the interval to the next run of a poll.
+     *
+     * @param intervalMillis configured poll interval in milliseconds
+     * @param loadFactor load factor of the scheduler
+     * @param entries number of entries of the last reply to the poll
+     * @return effective poll interval in milliseconds
+     */
+    static long effectiveInterval(long intervalMillis, double loadFactor, int entries) {
+        double replyFactor = 1 + (double) entries / REPLY_ENTRIES_PER_STRETCH;
+        double stretch = Math.min(MAX_STRETCH, Math.max(loadFactor, replyFactor));
+        return (long) (intervalMillis * stretch);
+    }
+
+    private void unregister(Poll poll) {
+        switches.computeIfPresent(poll.dpid, (dpid, polls) -> polls.remove(poll) ? null : polls);
+    }
+
+    private void recordLateness(long millis) {
+        lateness += LOAD_SMOOTHING * (millis - lateness);
+    }
+
+    /**
+     * Periodic poll of a switch, adding statistics requests to the batch
+     * sent to the switch.
+     */
+    @FunctionalInterface
+    public interface StatsPoll {
+
+        /**
+         * Polls the switch. Requests added to the batch are sent together
+         * with those of the other polls of the switch that are due.
+         *
+         * @param batch requests to send to the switch
+         */
+        void poll(List<OFMessage> batch);
+    }
+
+    /**
+     * Poll registered with the scheduler.
+     */
+    public final class Poll {
+        private final long dpid;
+        private final StatsPoll poll;
+
+        private volatile long intervalMillis;
+        private long nextRunMillis;
+        private volatile long sentNanos;
+        private volatile int entries;
+
+        private Poll(long dpid, StatsPoll poll, long intervalMillis) {
+            this.dpid = dpid;
+            this.poll = poll;
+            this.intervalMillis = intervalMillis;
+        }
+
+        /**
+         * Changes the poll interval, starting from the next run.
+         *
+         * @param intervalSeconds poll interval in seconds
+         */
+        public void setInterval(int intervalSeconds) {
+            checkArgument(intervalSeconds > 0, "Poll interval must be positive");
+            intervalMillis = TimeUnit.SECONDS.toMillis(intervalSeconds);
+        }
+
+        /**
+         * Records a reply to the poll. The latency of the poll is measured
+         * up to its first reply, and the number of entries of all the replies
+         * to one run of the poll paces the next runs.
+         *
+         * @param replyEntries number of entries in the reply
+         */
+        public void replied(int replyEntries) {
+            long sent = sentNanos;
+            Timer timer = pollLatency;
+            if (sent != 0 && timer != null) {
+                timer.update(System.nanoTime() - sent, TimeUnit.NANOSECONDS);
+            }
+            sentNanos = 0;
+            entries += replyEntries;
+            Histogram histogram = replySizes;
+            if (histogram != null) {
+                histogram.update(replyEntries);
+            }
+        }
+
+        /**
+         * Stops running the poll.
+         */
+        public void cancel() {
+            unregister(this);
+        }
+
+        private boolean isDue(long now) {
+            return nextRunMillis <= now;
+        }
+
+        private void run(List<OFMessage> batch, long now) {
+            int lastEntries = entries;
+            entries = 0;
+            sentNanos = System.nanoTime();
+            nextRunMillis = now + effectiveInterval(intervalMillis, loadFactor(), lastEntries);
+            poll.poll(batch);
+        }
+    }
+
+    /**
+     * Polls of one switch, run by a single periodic task.
+     */
+    private final class SwitchPolls implements Runnable {
+        private volatile OpenFlowSwitch sw;
+        private final List<Poll> polls = new CopyOnWriteArrayList<>();
+        // offset of the first runs of the polls, same for all polls of the
+        // switch so that polls with the same interval are batched together
+        private final long phase = ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+        private final ScheduledFuture<?> task;
+        private long nextTickMillis;
+
+        private SwitchPolls(ScheduledExecutorService executor) {
+            long offset = ThreadLocalRandom.current().nextLong(tickMillis);
+            nextTickMillis = System.currentTimeMillis() + offset;
+            task = executor.scheduleAtFixedRate(this, offset, tickMillis, TimeUnit.MILLISECONDS);
+        }
+
+        private void add(Poll poll) {
+            synchronized (poll) {
+                poll.nextRunMillis = System.currentTimeMillis() + INITIAL_DELAY_MILLIS
+                        + phase % poll.intervalMillis;
+            }
+            polls.add(poll);
+        }
+
+        // returns true if no poll is left
+        private boolean remove(Poll poll) {
+            polls.remove(poll);
+            if (polls.isEmpty()) {
+                task.cancel(false);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            try {
+                long now = System.currentTimeMillis();
+                recordLateness(Math.max(0, now - nextTickMillis));
+                nextTickMillis += tickMillis;
+                if (nextTickMillis < now) {
+                    // skip the ticks already missed
+                    nextTickMillis = now + tickMillis;
+                }
+                List<OFMessage> batch = new ArrayList<>();
+                for (Poll poll : polls) {
+                    synchronized (poll) {
+                        if (poll.isDue(now)) {
+                            poll.run(batch, now);
+                        }
+                    }
+                }
+                OpenFlowSwitch target = sw;
+                if (!batch.isEmpty() && target.isConnected()) {
+                    target.sendMsg(batch);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to poll statistics of {}", sw.getStringId(), e);
+            }
+        }
+    }
+}
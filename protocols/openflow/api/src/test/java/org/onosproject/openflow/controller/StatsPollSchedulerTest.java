@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.openflow.controller;
+
+import org.junit.Test;
+import org.projectfloodlight.openflow.protocol.OFFactories;
+import org.projectfloodlight.openflow.protocol.OFMessage;
+import org.projectfloodlight.openflow.protocol.OFVersion;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.onosproject.openflow.controller.StatsPollScheduler.MAX_STRETCH;
+import static org.onosproject.openflow.controller.StatsPollScheduler.REPLY_ENTRIES_PER_STRETCH;
+import static org.onosproject.openflow.controller.StatsPollScheduler.effectiveInterval;
+
+public class StatsPollSchedulerTest {
+
+    @Test
+    public void testEffectiveInterval() {
+        // idle scheduler and small replies
+        assertThat(effectiveInterval(5000, 1, 0), is(5000L));
+        // large replies
+        assertThat(effectiveInterval(5000, 1, REPLY_ENTRIES_PER_STRETCH), is(10000L));
+        // loaded scheduler
+        assertThat(effectiveInterval(5000, 1.5, 0), is(7500L));
+        // the larger factor applies, up to the limit
+        assertThat(effectiveInterval(5000, 1.5, REPLY_ENTRIES_PER_STRETCH), is(10000L));
+        assertThat(effectiveInterval(5000, 1, REPLY_ENTRIES_PER_STRETCH * 100),
+                   is((long) (5000 * MAX_STRETCH)));
+    }
+
+    @Test
+    public void testLoadFactor() {
+        assertThat(StatsPollScheduler.getScheduler().loadFactor() >= 1, is(true));
+        assertThat(StatsPollScheduler.getScheduler().loadFactor() <= MAX_STRETCH, is(true));
+    }
+
+    @Test
+    public void testReconnectedSwitchIsPolled() throws Exception {
+        StatsPollScheduler scheduler = new StatsPollScheduler(null, 10);
+        OFMessage request = OFFactories.getFactory(OFVersion.OF_13).buildEchoRequest().build();
+        TestSwitch disconnected = new TestSwitch();
+        TestSwitch reconnected = new TestSwitch();
+        try {
+            scheduler.register(disconnected, 1, batch -> batch.add(request));
+            // the switch connects again before the poll of the previous connection is cancelled
+            scheduler.register(reconnected, 1, batch -> batch.add(request));
+            assertThat(reconnected.polled.await(5, TimeUnit.SECONDS), is(true));
+            assertThat(disconnected.sent.get(), is(0));
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+
+    private static class TestSwitch extends OpenFlowSwitchAdapter {
+        private final CountDownLatch polled = new CountDownLatch(1);
+        private final AtomicInteger sent = new AtomicInteger();
+
+        @Override
+        public long getId() {
+            return 1;
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public void sendMsg(List<OFMessage> msgs) {
+            sent.addAndGet(msgs.size());
+            polled.countDown();
+        }
+    }
+}
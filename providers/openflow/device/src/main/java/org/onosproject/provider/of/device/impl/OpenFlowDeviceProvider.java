@@ -39,7 +39,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
-import java.util.Timer;
 
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
@@ -90,6 +89,7 @@ import org.onosproject.openflow.controller.OpenFlowSwitch;
 import org.onosproject.openflow.controller.OpenFlowSwitchListener;
 import org.onosproject.openflow.controller.PortDescPropertyType;
 import org.onosproject.openflow.controller.RoleState;
+import org.onosproject.openflow.controller.StatsPollScheduler;
 import org.osgi.service.component.ComponentContext;
 import org.projectfloodlight.openflow.protocol.OFCalientPortDescProp;
 import org.projectfloodlight.openflow.protocol.OFCalientPortDescPropOptical;
@@ -167,7 +167,7 @@ public class OpenFlowDeviceProvider extends AbstractProvider implements DevicePr
     label = "Frequency (in seconds) for polling switch Port statistics")
     private int portStatsPollFrequency = POLL_INTERVAL;
 
-    private final Timer timer = new Timer("onos-openflow-portstats-collector");
+    private final StatsPollScheduler scheduler = StatsPollScheduler.getScheduler();
 
     private HashMap<Dpid, PortStatsCollector> collectors = Maps.newHashMap();
 
@@ -233,7 +233,7 @@ public class OpenFlowDeviceProvider extends AbstractProvider implements DevicePr
                 // disconnect to trigger switch-add later
                 sw.disconnectSwitch();
             }
-            PortStatsCollector psc = new PortStatsCollector(timer, sw, portStatsPollFrequency);
+            PortStatsCollector psc = new PortStatsCollector(scheduler, sw, portStatsPollFrequency);
             psc.start();
             collectors.put(new Dpid(sw.getId()), psc);
         }
@@ -404,7 +404,7 @@ public class OpenFlowDeviceProvider extends AbstractProvider implements DevicePr
             providerService.deviceConnected(did, description);
             providerService.updatePorts(did, buildPortDescriptions(sw));
 
-            PortStatsCollector psc = new PortStatsCollector(timer, sw, portStatsPollFrequency);
+            PortStatsCollector psc = new PortStatsCollector(scheduler, sw, portStatsPollFrequency);
             stopCollectorIfNeeded(collectors.put(dpid, psc));
             psc.start();
 
@@ -852,6 +852,10 @@ public class OpenFlowDeviceProvider extends AbstractProvider implements DevicePr
                     case STATS_REPLY:
                         if (((OFStatsReply) msg).getStatsType() == OFStatsType.PORT) {
                             OFPortStatsReply portStatsReply = (OFPortStatsReply) msg;
+                            PortStatsCollector collector = collectors.get(dpid);
+                            if (collector != null) {
+                                collector.replied(portStatsReply.getEntries().size());
+                            }
                             List<OFPortStatsEntry> portStatsReplyList = portStatsReplies.get(dpid);
                             if (portStatsReplyList == null) {
                                 portStatsReplyList = Lists.newCopyOnWriteArrayList();
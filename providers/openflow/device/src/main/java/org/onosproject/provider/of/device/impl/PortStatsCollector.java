@@ -18,12 +18,13 @@ package org.onosproject.provider.of.device.impl;
 
 import org.onosproject.openflow.controller.OpenFlowSwitch;
 import org.onosproject.openflow.controller.RoleState;
+import org.onosproject.openflow.controller.StatsPollScheduler;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFPortStatsRequest;
 import org.projectfloodlight.openflow.types.OFPort;
 import org.slf4j.Logger;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -36,11 +37,9 @@ public class PortStatsCollector {
 
     private final Logger log = getLogger(getClass());
 
-    private static final int SECONDS = 1000;
-
+    private final StatsPollScheduler scheduler;
     private OpenFlowSwitch sw;
-    private Timer timer;
-    private TimerTask task;
+    private volatile StatsPollScheduler.Poll poll;
 
     private int refreshInterval;
     private final AtomicLong xidAtomic = new AtomicLong(1);
@@ -48,32 +47,22 @@ public class PortStatsCollector {
     /**
      * Creates a port states collector object.
      *
-     * @param timer     timer to use for scheduling
+     * @param scheduler scheduler to use for polling
      * @param sw        switch to pull
      * @param interval  interval for collecting port statistic
      */
-    PortStatsCollector(Timer timer, OpenFlowSwitch sw, int interval) {
-        this.timer = timer;
+    PortStatsCollector(StatsPollScheduler scheduler, OpenFlowSwitch sw, int interval) {
+        this.scheduler = scheduler;
         this.sw = checkNotNull(sw, "Null switch");
         this.refreshInterval = interval;
     }
 
-    private class InternalTimerTask extends TimerTask {
-
-        @Override
-        public void run() {
-            sendPortStatistic();
-        }
-    }
-
     /**
      * Starts the port statistic collector.
      */
     public synchronized void start() {
         log.info("Starting Port Stats collection thread for {}", sw.getStringId());
-        task = new InternalTimerTask();
-        timer.scheduleAtFixedRate(task, 1 * SECONDS,
-                                  refreshInterval * SECONDS);
+        poll = scheduler.register(sw, refreshInterval, this::sendPortStatistic);
     }
 
     /**
@@ -81,8 +70,8 @@ public class PortStatsCollector {
      */
     public synchronized void stop() {
         log.info("Stopping Port Stats collection thread for {}", sw.getStringId());
-        task.cancel();
-        task = null;
+        poll.cancel();
+        poll = null;
     }
 
     /**
@@ -92,16 +81,27 @@ public class PortStatsCollector {
      */
     public synchronized void adjustPollInterval(int pollInterval) {
         this.refreshInterval = pollInterval;
-        task.cancel();
-        task = new InternalTimerTask();
-        timer.scheduleAtFixedRate(task, refreshInterval * SECONDS,
-                                  refreshInterval * SECONDS);
+        poll.setInterval(refreshInterval);
+    }
+
+    /**
+     * Records a port statistics reply from the switch.
+     *
+     * @param entries number of port statistics in the reply
+     */
+    public void replied(int entries) {
+        StatsPollScheduler.Poll current = poll;
+        if (current != null) {
+            current.replied(entries);
+        }
     }
 
     /**
      * Sends port statistic request to switch.
+     *
+     * @param batch requests to send to the switch
      */
-    private void sendPortStatistic() {
+    private void sendPortStatistic(List<OFMessage> batch) {
         if (sw.getRole() != RoleState.MASTER) {
             return;
         }
@@ -110,6 +110,6 @@ public class PortStatsCollector {
                 .setPortNo(OFPort.ANY)
                 .setXid(statsXid)
                 .build();
-        sw.sendMsg(statsRequest);
+        batch.add(statsRequest);
     }
-}
\ No newline at end of file
+}
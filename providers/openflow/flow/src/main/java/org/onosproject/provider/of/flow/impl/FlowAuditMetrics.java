@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.provider.of.flow.impl;
+
+import com.codahale.metrics.Counter;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
+
+/**
+ * Counts the full flow audits of the switches, and those skipped because
+ * the flow counts of the switch matched the store.
+ */
+final class FlowAuditMetrics {
+
+    private static final String METRICS_COMPONENT = "OpenFlow";
+    private static final String METRICS_FEATURE = "FlowAudit";
+
+    private final Counter fullAudits;
+    private final Counter skippedAudits;
+    private final Counter skippedEntries;
+
+    /**
+     * Creates the flow audit metrics.
+     *
+     * @param metricsService metrics service
+     */
+    FlowAuditMetrics(MetricsService metricsService) {
+        MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+        MetricsFeature feature = component.registerFeature(METRICS_FEATURE);
+        fullAudits = metricsService.createCounter(component, feature, "fullAudits");
+        skippedAudits = metricsService.createCounter(component, feature, "skippedAudits");
+        skippedEntries = metricsService.createCounter(component, feature, "skippedEntries");
+    }
+
+    /**
+     * Records a full flow audit.
+     */
+    void fullAudit() {
+        fullAudits.inc();
+    }
+
+    /**
+     * Records a skipped flow audit.
+     *
+     * @param entries number of flow entries the audit would have dumped
+     */
+    void skippedAudit(long entries) {
+        skippedAudits.inc();
+        skippedEntries.inc(entries);
+    }
+}
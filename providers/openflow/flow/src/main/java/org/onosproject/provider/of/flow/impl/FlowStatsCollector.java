@@ -18,13 +18,14 @@ package org.onosproject.provider.of.flow.impl;
 import static com.google.common.base.Preconditions.checkNotNull;
 import org.onosproject.openflow.controller.OpenFlowSwitch;
 import org.onosproject.openflow.controller.RoleState;
+import org.onosproject.openflow.controller.StatsPollScheduler;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsRequest;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.types.OFPort;
 import org.projectfloodlight.openflow.types.TableId;
 import org.slf4j.Logger;
 
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.List;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -35,25 +36,38 @@ class FlowStatsCollector implements SwitchDataCollector {
 
     private final Logger log = getLogger(getClass());
 
-    public static final int SECONDS = 1000;
+    // number of consecutive polls that may be skipped before a full audit
+    static final int MAX_SKIPPED_AUDITS = 11;
 
+    private final StatsPollScheduler scheduler;
     private final OpenFlowSwitch sw;
-    private Timer timer;
-    private TimerTask task;
+    private final FlowAuditMetrics metrics;
+    private volatile StatsPollScheduler.Poll poll;
 
     private int pollInterval;
 
+    private volatile boolean countBasedAudit;
+    // set by a flow count check that matched, cleared by the next poll
+    private volatile boolean countsMatch;
+    private volatile long matchedEntries;
+    private int skippedAudits;
+
     /**
      * Creates a new collector for the given switch and poll frequency.
      *
-     * @param timer        timer to use for scheduling
-     * @param sw           switch to pull
-     * @param pollInterval poll frequency in seconds
+     * @param scheduler       scheduler to use for polling
+     * @param sw              switch to pull
+     * @param pollInterval    poll frequency in seconds
+     * @param metrics         flow audit metrics
+     * @param countBasedAudit true to skip polls while flow counts match
      */
-    FlowStatsCollector(Timer timer, OpenFlowSwitch sw, int pollInterval) {
-        this.timer = timer;
+    FlowStatsCollector(StatsPollScheduler scheduler, OpenFlowSwitch sw, int pollInterval,
+                       FlowAuditMetrics metrics, boolean countBasedAudit) {
+        this.scheduler = scheduler;
         this.sw = checkNotNull(sw, "Null switch");
         this.pollInterval = pollInterval;
+        this.metrics = checkNotNull(metrics, "Null metrics");
+        this.countBasedAudit = countBasedAudit;
     }
 
     /**
@@ -63,38 +77,69 @@ class FlowStatsCollector implements SwitchDataCollector {
      */
     synchronized void adjustPollInterval(int pollInterval) {
         this.pollInterval = pollInterval;
-        task.cancel();
-        task = new InternalTimerTask();
-        timer.scheduleAtFixedRate(task, pollInterval * SECONDS, pollInterval * 1000);
+        poll.setInterval(pollInterval);
+    }
+
+    /**
+     * Enables or disables skipping polls while the flow counts of the
+     * switch match the store.
+     *
+     * @param countBasedAudit true to skip polls while flow counts match
+     */
+    void setCountBasedAudit(boolean countBasedAudit) {
+        this.countBasedAudit = countBasedAudit;
     }
 
-    private class InternalTimerTask extends TimerTask {
-        @Override
-        public void run() {
-            if (sw.getRole() == RoleState.MASTER) {
-                log.trace("Collecting stats for {}", sw.getStringId());
-                OFFlowStatsRequest request = sw.factory().buildFlowStatsRequest()
-                        .setMatch(sw.factory().matchWildcardAll())
-                        .setTableId(TableId.ALL)
-                        .setOutPort(OFPort.NO_MASK)
-                        .build();
-                sw.sendMsg(request);
+    /**
+     * Records the outcome of a check of the flow counts of the switch
+     * against the store. A match lets the next poll be skipped.
+     *
+     * @param match   true if the counts matched
+     * @param entries number of active flow entries of the switch
+     */
+    void flowCountsChecked(boolean match, long entries) {
+        matchedEntries = entries;
+        countsMatch = match;
+    }
+
+    private void collect(List<OFMessage> batch) {
+        if (sw.getRole() == RoleState.MASTER) {
+            boolean match = countsMatch;
+            countsMatch = false;
+            if (countBasedAudit && match && skippedAudits < MAX_SKIPPED_AUDITS) {
+                skippedAudits++;
+                metrics.skippedAudit(matchedEntries);
+                log.trace("Flow counts of {} match; skipping audit", sw.getStringId());
+                return;
             }
+            skippedAudits = 0;
+            metrics.fullAudit();
+            log.trace("Collecting stats for {}", sw.getStringId());
+            OFFlowStatsRequest request = sw.factory().buildFlowStatsRequest()
+                    .setMatch(sw.factory().matchWildcardAll())
+                    .setTableId(TableId.ALL)
+                    .setOutPort(OFPort.NO_MASK)
+                    .build();
+            batch.add(request);
         }
     }
 
     public synchronized void start() {
-        // Initially start polling quickly. Then drop down to configured value
         log.debug("Starting Stats collection thread for {}", sw.getStringId());
-        task = new InternalTimerTask();
-        timer.scheduleAtFixedRate(task, 1 * SECONDS,
-                                  pollInterval * SECONDS);
+        poll = scheduler.register(sw, pollInterval, this::collect);
     }
 
     public synchronized void stop() {
         log.debug("Stopping Stats collection thread for {}", sw.getStringId());
-        task.cancel();
-        task = null;
+        poll.cancel();
+        poll = null;
     }
 
+    @Override
+    public void replied(int entries) {
+        StatsPollScheduler.Poll current = poll;
+        if (current != null) {
+            current.replied(entries);
+        }
+    }
 }
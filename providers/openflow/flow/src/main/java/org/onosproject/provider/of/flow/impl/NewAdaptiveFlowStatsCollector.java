@@ -30,21 +30,18 @@ import org.onosproject.net.statistic.PollInterval;
 import org.onosproject.openflow.controller.Dpid;
 import org.onosproject.openflow.controller.OpenFlowSwitch;
 import org.onosproject.openflow.controller.RoleState;
+import org.onosproject.openflow.controller.StatsPollScheduler;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsRequest;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.match.Match;
 import org.projectfloodlight.openflow.types.OFPort;
 import org.projectfloodlight.openflow.types.TableId;
 import org.slf4j.Logger;
 
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-import static java.lang.Thread.sleep;
-import static org.onlab.util.Tools.groupedThreads;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -63,18 +60,17 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
                     + ", IMMEDIATE_FLOW_Count={}, SHORT_FLOW_Count={}"
                     + ", MID_FLOW_Count={}, LONG_FLOW_Count={}, UNKNOWN_FLOW_Count={}";
 
-    private static final int SLEEP_LOOP_COUNT = 10;
-    private static final int SLEEP_MS = 100;
+    // time given to the provider to process the reply of a FlowStatsRequestAll
+    private static final long FLOW_MISSING_TIMEOUT_MS = 1000;
 
     private final DriverService driverService;
     private final OpenFlowSwitch sw;
     private final DeviceId did;
 
-    private ScheduledExecutorService adaptiveFlowStatsScheduler =
-            Executors.newScheduledThreadPool(4, groupedThreads("onos/flow", "device-stats-collector-%d", log));
-    private ScheduledFuture<?> calAndShortFlowsThread;
-    private ScheduledFuture<?> midFlowsThread;
-    private ScheduledFuture<?> longFlowsThread;
+    private final StatsPollScheduler scheduler;
+    private volatile StatsPollScheduler.Poll calAndShortFlowsPoll;
+    private StatsPollScheduler.Poll midFlowsPoll;
+    private StatsPollScheduler.Poll longFlowsPoll;
 
     // Task that calculates all flowEntries' FlowLiveType and collects stats IMMEDIATE flows every calAndPollInterval
     private CalAndShortFlowsTask calAndShortFlowsTask;
@@ -109,18 +105,22 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
     private boolean isFirstTimeStart = true;
 
     public static final long NO_FLOW_MISSING_XID = (-1);
-    private long flowMissingXid = NO_FLOW_MISSING_XID;
+    private volatile long flowMissingXid = NO_FLOW_MISSING_XID;
+    private long flowMissingSentMillis;
 
     private FlowRuleService flowRuleService;
 
     /**
      * Creates a new adaptive collector for the given switch and default cal_and_poll frequency.
      *
+     * @param scheduler     scheduler to use for polling
      * @param driverService driver service reference
      * @param sw            switch to pull
      * @param pollInterval  cal and immediate poll frequency in seconds
      */
-    NewAdaptiveFlowStatsCollector(DriverService driverService, OpenFlowSwitch sw, int pollInterval) {
+    NewAdaptiveFlowStatsCollector(StatsPollScheduler scheduler, DriverService driverService,
+                                  OpenFlowSwitch sw, int pollInterval) {
+        this.scheduler = scheduler;
         this.driverService = driverService;
         this.sw = sw;
         this.did = DeviceId.deviceId(Dpid.uri(sw.getId()));
@@ -182,43 +182,41 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
     synchronized void adjustCalAndPollInterval(int pollInterval) {
         initMemberVars(pollInterval);
 
-        if (calAndShortFlowsThread != null) {
-            calAndShortFlowsThread.cancel(false);
-        }
-        if (midFlowsThread != null) {
-            midFlowsThread.cancel(false);
-        }
-        if (longFlowsThread != null) {
-            longFlowsThread.cancel(false);
-        }
+        cancelPolls();
+        schedulePolls();
+
+        log.debug("calAndPollInterval={} is adjusted", calAndPollInterval);
+    }
 
+    private void schedulePolls() {
         calAndShortFlowsTask = new CalAndShortFlowsTask();
-        calAndShortFlowsThread = adaptiveFlowStatsScheduler.scheduleWithFixedDelay(
-                calAndShortFlowsTask,
-                0,
-                calAndPollInterval,
-                TimeUnit.SECONDS);
+        calAndShortFlowsPoll = scheduler.register(sw, calAndPollInterval, calAndShortFlowsTask);
 
         midFlowsTask = new MidFlowsTask();
-        midFlowsThread = adaptiveFlowStatsScheduler.scheduleWithFixedDelay(
-                midFlowsTask,
-                0,
-                midPollInterval,
-                TimeUnit.SECONDS);
+        midFlowsPoll = scheduler.register(sw, midPollInterval, midFlowsTask);
 
         longFlowsTask = new LongFlowsTask();
-        longFlowsThread = adaptiveFlowStatsScheduler.scheduleWithFixedDelay(
-                longFlowsTask,
-                0,
-                longPollInterval,
-                TimeUnit.SECONDS);
+        longFlowsPoll = scheduler.register(sw, longPollInterval, longFlowsTask);
+    }
 
-        log.debug("calAndPollInterval={} is adjusted", calAndPollInterval);
+    private void cancelPolls() {
+        if (calAndShortFlowsPoll != null) {
+            calAndShortFlowsPoll.cancel();
+            calAndShortFlowsPoll = null;
+        }
+        if (midFlowsPoll != null) {
+            midFlowsPoll.cancel();
+            midFlowsPoll = null;
+        }
+        if (longFlowsPoll != null) {
+            longFlowsPoll.cancel();
+            longFlowsPoll = null;
+        }
     }
 
-    private class CalAndShortFlowsTask implements Runnable {
+    private class CalAndShortFlowsTask implements StatsPollScheduler.StatsPoll {
         @Override
-        public void run() {
+        public void poll(List<OFMessage> batch) {
             if (sw.getRole() == RoleState.MASTER) {
                 log.trace("CalAndShortFlowsTask Collecting AdaptiveStats for {}", sw.getStringId());
 
@@ -226,20 +224,20 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
                     // isFirstTimeStart, get entire flow stats from a given switch sw
                     log.trace("CalAndShortFlowsTask Collecting Entire AdaptiveStats at first time start for {}",
                             sw.getStringId());
-                    ofFlowStatsRequestAllSend();
+                    ofFlowStatsRequestAllSend(batch);
 
                     callCountCalAndShortFlowsTask += CAL_AND_POLL_TIMES;
                     isFirstTimeStart = false;
                 } else  if (callCountCalAndShortFlowsTask == ENTIRE_POLL_TIMES) {
                     // entire_poll_times, get entire flow stats from a given switch sw
                     log.trace("CalAndShortFlowsTask Collecting Entire AdaptiveStats for {}", sw.getStringId());
-                    ofFlowStatsRequestAllSend();
+                    ofFlowStatsRequestAllSend(batch);
 
                     callCountCalAndShortFlowsTask = CAL_AND_POLL_TIMES;
                     //TODO: check flows deleted in switch, but exist in controller flow table, then remove them
                     //
                 } else {
-                    calAndShortFlowsTaskInternal();
+                    calAndShortFlowsTaskInternal(batch);
                     callCountCalAndShortFlowsTask += CAL_AND_POLL_TIMES;
                 }
             }
@@ -247,7 +245,7 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
     }
 
     // send openflow flow stats request message with getting all flow entries to a given switch sw
-    private synchronized void ofFlowStatsRequestAllSend() {
+    private synchronized void ofFlowStatsRequestAllSend(List<OFMessage> batch) {
         OFFlowStatsRequest request = sw.factory().buildFlowStatsRequest()
                 .setMatch(sw.factory().matchWildcardAll())
                 .setTableId(TableId.ALL)
@@ -258,14 +256,15 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
         // After processing the reply of this request message,
         // this must be set to NO_FLOW_MISSING_XID(-1) by provider
         setFlowMissingXid(request.getXid());
+        flowMissingSentMillis = System.currentTimeMillis();
         log.debug("ofFlowStatsRequestAllSend: request={}, dpid={}",
                     request.toString(), sw.getStringId());
 
-        sw.sendMsg(request);
+        batch.add(request);
     }
 
     // send openflow flow stats request message with getting the specific flow entry(fe) to a given switch sw
-    private void ofFlowStatsRequestFlowSend(FlowEntry fe) {
+    private void ofFlowStatsRequestFlowSend(FlowEntry fe, List<OFMessage> batch) {
         // set find match
         Match match = FlowModBuilder.builder(fe, sw.factory(), Optional.empty(),
                 Optional.of(driverService)).buildMatch();
@@ -288,61 +287,55 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
                 .setOutPort(ofPort)
                 .build();
 
-        // Wait for 1 second until the FlowRuleProvider finishes to process FlowStatReply message
-        int loop = 0;
-        boolean interrupted = false;
-        while (!interrupted && getFlowMissingXid() != NO_FLOW_MISSING_XID) {
-            if (loop++ < SLEEP_LOOP_COUNT) {
-                log.debug("ofFlowStatsRequestFlowSend: previous FlowStatsRequestAll (xid={})" +
-                                  " does not be processed yet, do sleep for {} ms, for {}",
-                          getFlowMissingXid(),
-                          SLEEP_MS,
-                          sw.getStringId());
-                try {
-                    sleep(SLEEP_MS);
-                } catch (InterruptedException ie) {
-                    log.debug("ofFlowStatsRequestFlowSend: Interrupted Exception = {}, for {}",
-                              ie.toString(),
-                              sw.getStringId());
-                    // for exiting while loop gracefully
-                    interrupted = true;
-                }
-            } else {
-                log.debug("ofFlowStatsRequestFlowSend: previous FlowStatsRequestAll (xid={})" +
-                                  " does not be processed yet, for {} ms," +
-                                  " just set xid with NO_FLOW_MISSING_XID, for {}",
-                          getFlowMissingXid(),
-                          loop * SLEEP_MS,
-                          sw.getStringId());
-
-                setFlowMissingXid(NO_FLOW_MISSING_XID);
-                break;
-            }
-        }
-
-        sw.sendMsg(request);
+        batch.add(request);
+    }
 
+    // returns whether the reply of the previous FlowStatsRequestAll is still awaited;
+    // the polls skip their round rather than blocking the shared scheduler
+    private synchronized boolean isFlowMissingPending() {
+        if (getFlowMissingXid() == NO_FLOW_MISSING_XID) {
+            return false;
+        }
+        long waited = System.currentTimeMillis() - flowMissingSentMillis;
+        if (waited < FLOW_MISSING_TIMEOUT_MS) {
+            log.debug("ofFlowStatsRequestInternal: previous FlowStatsRequestAll (xid={})" +
+                              " does not be processed yet, skip polling for {}",
+                      getFlowMissingXid(),
+                      sw.getStringId());
+            return true;
+        }
+        log.debug("ofFlowStatsRequestInternal: previous FlowStatsRequestAll (xid={})" +
+                          " does not be processed yet, for {} ms," +
+                          " just set xid with NO_FLOW_MISSING_XID, for {}",
+                  getFlowMissingXid(),
+                  waited,
+                  sw.getStringId());
+        setFlowMissingXid(NO_FLOW_MISSING_XID);
+        return false;
     }
 
-    private void calAndShortFlowsTaskInternal() {
+    private void calAndShortFlowsTaskInternal(List<OFMessage> batch) {
         checkAndMoveLiveFlowAll();
 
-        ofFlowStatsRequestInternal(FlowEntry.FlowLiveType.SHORT);
+        ofFlowStatsRequestInternal(FlowEntry.FlowLiveType.SHORT, batch);
     }
 
-    private void ofFlowStatsRequestInternal(FlowEntry.FlowLiveType liveType) {
+    private void ofFlowStatsRequestInternal(FlowEntry.FlowLiveType liveType, List<OFMessage> batch) {
+        if (isFlowMissingPending()) {
+            return;
+        }
 
         Iterable<FlowEntry> flowEntries =
                 flowRuleService.getFlowEntriesByLiveType(did, liveType);
 
         flowEntries.forEach(fe -> {
-            ofFlowStatsRequestFlowSend(fe);
+            ofFlowStatsRequestFlowSend(fe, batch);
         });
     }
 
-    private class MidFlowsTask implements Runnable {
+    private class MidFlowsTask implements StatsPollScheduler.StatsPoll {
         @Override
-        public void run() {
+        public void poll(List<OFMessage> batch) {
             if (sw.getRole() == RoleState.MASTER) {
                 log.trace("MidFlowsTask Collecting AdaptiveStats for {}", sw.getStringId());
 
@@ -350,20 +343,20 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
                 if (callCountMidFlowsTask == ENTIRE_POLL_TIMES) {
                     callCountMidFlowsTask = MID_POLL_TIMES;
                 } else {
-                    midFlowsTaskInternal();
+                    midFlowsTaskInternal(batch);
                     callCountMidFlowsTask += MID_POLL_TIMES;
                 }
             }
         }
     }
 
-    private void midFlowsTaskInternal() {
-        ofFlowStatsRequestInternal(FlowEntry.FlowLiveType.MID);
+    private void midFlowsTaskInternal(List<OFMessage> batch) {
+        ofFlowStatsRequestInternal(FlowEntry.FlowLiveType.MID, batch);
     }
 
-    private class LongFlowsTask implements Runnable {
+    private class LongFlowsTask implements StatsPollScheduler.StatsPoll {
         @Override
-        public void run() {
+        public void poll(List<OFMessage> batch) {
             if (sw.getRole() == RoleState.MASTER) {
                 log.trace("LongFlowsTask Collecting AdaptiveStats for {}", sw.getStringId());
 
@@ -371,15 +364,15 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
                 if (callCountLongFlowsTask == ENTIRE_POLL_TIMES) {
                     callCountLongFlowsTask = LONG_POLL_TIMES;
                 } else {
-                    longFlowsTaskInternal();
+                    longFlowsTaskInternal(batch);
                     callCountLongFlowsTask += LONG_POLL_TIMES;
                 }
             }
         }
     }
 
-    private void longFlowsTaskInternal() {
-        ofFlowStatsRequestInternal(FlowEntry.FlowLiveType.LONG);
+    private void longFlowsTaskInternal(List<OFMessage> batch) {
+        ofFlowStatsRequestInternal(FlowEntry.FlowLiveType.LONG, batch);
     }
 
     /**
@@ -393,27 +386,7 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
 
         isFirstTimeStart = true;
 
-        // Initially start polling quickly. Then drop down to configured value
-        calAndShortFlowsTask = new CalAndShortFlowsTask();
-        calAndShortFlowsThread = adaptiveFlowStatsScheduler.scheduleWithFixedDelay(
-                calAndShortFlowsTask,
-                1,
-                calAndPollInterval,
-                TimeUnit.SECONDS);
-
-        midFlowsTask = new MidFlowsTask();
-        midFlowsThread = adaptiveFlowStatsScheduler.scheduleWithFixedDelay(
-                midFlowsTask,
-                1,
-                midPollInterval,
-                TimeUnit.SECONDS);
-
-        longFlowsTask = new LongFlowsTask();
-        longFlowsThread = adaptiveFlowStatsScheduler.scheduleWithFixedDelay(
-                longFlowsTask,
-                1,
-                longPollInterval,
-                TimeUnit.SECONDS);
+        schedulePolls();
 
         log.info("Started");
     }
@@ -423,23 +396,21 @@ public class NewAdaptiveFlowStatsCollector implements SwitchDataCollector {
      */
     public synchronized void stop() {
         log.debug("Stopping AdaptiveStats collection thread for {}", sw.getStringId());
-        if (calAndShortFlowsThread != null) {
-            calAndShortFlowsThread.cancel(true);
-        }
-        if (midFlowsThread != null) {
-            midFlowsThread.cancel(true);
-        }
-        if (longFlowsThread != null) {
-            longFlowsThread.cancel(true);
-        }
-
-        adaptiveFlowStatsScheduler.shutdownNow();
+        cancelPolls();
 
         isFirstTimeStart = false;
 
         log.info("Stopped");
     }
 
+    @Override
+    public void replied(int entries) {
+        StatsPollScheduler.Poll current = calAndShortFlowsPoll;
+        if (current != null) {
+            current.replied(entries);
+        }
+    }
+
     /**
      * Returns flowMissingXid that indicates the execution of flowMissing process or not(NO_FLOW_MISSING_XID(-1)).
      *
@@ -33,6 +33,7 @@ import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
+import org.onlab.metrics.MetricsService;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.core.ApplicationId;
 import org.onosproject.net.DeviceId;
@@ -57,6 +58,7 @@ import org.onosproject.openflow.controller.OpenFlowEventListener;
 import org.onosproject.openflow.controller.OpenFlowSwitch;
 import org.onosproject.openflow.controller.OpenFlowSwitchListener;
 import org.onosproject.openflow.controller.RoleState;
+import org.onosproject.openflow.controller.StatsPollScheduler;
 import org.onosproject.openflow.controller.ThirdPartyMessage;
 import org.onosproject.provider.of.flow.util.FlowEntryBuilder;
 import org.osgi.service.component.ComponentContext;
@@ -90,7 +92,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.Timer;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -121,10 +122,14 @@ public class OpenFlowRuleProvider extends AbstractProvider
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected DriverService driverService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected MetricsService metricsService;
+
     private static final int DEFAULT_POLL_FREQUENCY = 5;
     private static final int MIN_EXPECTED_BYTE_LEN = 56;
     private static final int SKIP_BYTES = 4;
     private static final boolean DEFAULT_ADAPTIVE_FLOW_SAMPLING = false;
+    private static final boolean DEFAULT_COUNT_BASED_FLOW_AUDIT = false;
 
     @Property(name = "flowPollFrequency", intValue = DEFAULT_POLL_FREQUENCY,
             label = "Frequency (in seconds) for polling flow statistics")
@@ -134,13 +139,19 @@ public class OpenFlowRuleProvider extends AbstractProvider
             label = "Adaptive Flow Sampling is on or off")
     private boolean adaptiveFlowSampling = DEFAULT_ADAPTIVE_FLOW_SAMPLING;
 
+    @Property(name = "countBasedFlowAudit", boolValue = DEFAULT_COUNT_BASED_FLOW_AUDIT,
+            label = "Skip flow statistics polls while per-table flow counts match the store")
+    private boolean countBasedFlowAudit = DEFAULT_COUNT_BASED_FLOW_AUDIT;
+
     private FlowRuleProviderService providerService;
 
     private final InternalFlowProvider listener = new InternalFlowProvider();
 
     private Cache<Long, InternalCacheEntry> pendingBatches;
 
-    private final Timer timer = new Timer("onos-openflow-collector");
+    private final StatsPollScheduler scheduler = StatsPollScheduler.getScheduler();
+
+    private FlowAuditMetrics auditMetrics;
 
     // Old simple collector set
     private final Map<Dpid, FlowStatsCollector> simpleCollectors = Maps.newConcurrentMap();
@@ -160,6 +171,7 @@ public class OpenFlowRuleProvider extends AbstractProvider
     protected void activate(ComponentContext context) {
         cfgService.registerProperties(getClass());
         providerService = providerRegistry.register(this);
+        auditMetrics = new FlowAuditMetrics(metricsService);
         controller.addListener(listener);
         controller.addEventListener(listener);
 
@@ -215,6 +227,16 @@ public class OpenFlowRuleProvider extends AbstractProvider
         }
 
         log.info("Settings: adaptiveFlowSampling={}", adaptiveFlowSampling);
+
+        s = get(properties, "countBasedFlowAudit");
+        boolean newCountBasedFlowAudit =
+                isNullOrEmpty(s) ? countBasedFlowAudit : Boolean.parseBoolean(s.trim());
+        if (newCountBasedFlowAudit != countBasedFlowAudit) {
+            countBasedFlowAudit = newCountBasedFlowAudit;
+            simpleCollectors.values().forEach(fsc -> fsc.setCountBasedAudit(countBasedFlowAudit));
+        }
+
+        log.info("Settings: countBasedFlowAudit={}", countBasedFlowAudit);
     }
 
     private Cache<Long, InternalCacheEntry> createBatchCache() {
@@ -239,15 +261,16 @@ public class OpenFlowRuleProvider extends AbstractProvider
         if (adaptiveFlowSampling) {
             // NewAdaptiveFlowStatsCollector Constructor
             NewAdaptiveFlowStatsCollector fsc =
-                    new NewAdaptiveFlowStatsCollector(driverService, sw, flowPollFrequency);
+                    new NewAdaptiveFlowStatsCollector(scheduler, driverService, sw, flowPollFrequency);
             fsc.start();
             stopCollectorIfNeeded(afsCollectors.put(new Dpid(sw.getId()), fsc));
         } else {
-            FlowStatsCollector fsc = new FlowStatsCollector(timer, sw, flowPollFrequency);
+            FlowStatsCollector fsc = new FlowStatsCollector(scheduler, sw, flowPollFrequency,
+                                                            auditMetrics, countBasedFlowAudit);
             fsc.start();
             stopCollectorIfNeeded(simpleCollectors.put(new Dpid(sw.getId()), fsc));
         }
-        TableStatisticsCollector tsc = new TableStatisticsCollector(timer, sw, flowPollFrequency);
+        TableStatisticsCollector tsc = new TableStatisticsCollector(scheduler, sw, flowPollFrequency);
         tsc.start();
         stopCollectorIfNeeded(tableStatsCollectors.put(new Dpid(sw.getId()), tsc));
     }
@@ -438,9 +461,20 @@ public class OpenFlowRuleProvider extends AbstractProvider
                     break;
                 case STATS_REPLY:
                     if (((OFStatsReply) msg).getStatsType() == OFStatsType.FLOW) {
-                        pushFlowMetrics(dpid, (OFFlowStatsReply) msg);
+                        OFFlowStatsReply flowStatsReply = (OFFlowStatsReply) msg;
+                        SwitchDataCollector collector = adaptiveFlowSampling ?
+                                afsCollectors.get(dpid) : simpleCollectors.get(dpid);
+                        if (collector != null) {
+                            collector.replied(flowStatsReply.getEntries().size());
+                        }
+                        pushFlowMetrics(dpid, flowStatsReply);
                     } else if (((OFStatsReply) msg).getStatsType() == OFStatsType.TABLE) {
-                        pushTableStatistics(dpid, (OFTableStatsReply) msg);
+                        OFTableStatsReply tableStatsReply = (OFTableStatsReply) msg;
+                        TableStatisticsCollector collector = tableStatsCollectors.get(dpid);
+                        if (collector != null) {
+                            collector.replied(tableStatsReply.getEntries().size());
+                        }
+                        pushTableStatistics(dpid, tableStatsReply);
                     }
                     break;
                 case BARRIER_REPLY:
@@ -652,6 +686,14 @@ public class OpenFlowRuleProvider extends AbstractProvider
                     .filter(Objects::nonNull)
                     .collect(Collectors.toList());
             providerService.pushTableStatistics(did, tableStatsEntries);
+
+            FlowStatsCollector collector = simpleCollectors.get(dpid);
+            if (countBasedFlowAudit && collector != null) {
+                long entries = tableStatsEntries.stream()
+                        .mapToLong(TableStatisticsEntry::activeFlowEntries).sum();
+                collector.flowCountsChecked(
+                        providerService.checkFlowCounts(did, tableStatsEntries), entries);
+            }
         }
 
         private TableStatisticsEntry buildTableStatistics(DeviceId deviceId,
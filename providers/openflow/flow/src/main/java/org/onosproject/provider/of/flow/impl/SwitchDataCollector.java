@@ -30,4 +30,11 @@ interface SwitchDataCollector {
      * Stops the collector.
      */
     void stop();
+
+    /**
+     * Records a statistics reply to the requests of the collector.
+     *
+     * @param entries number of entries in the reply
+     */
+    void replied(int entries);
 }
\ No newline at end of file
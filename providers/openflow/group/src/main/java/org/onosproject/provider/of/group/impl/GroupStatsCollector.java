@@ -16,34 +16,30 @@
 
 package org.onosproject.provider.of.group.impl;
 
-import org.jboss.netty.util.HashedWheelTimer;
-import org.jboss.netty.util.Timeout;
-import org.jboss.netty.util.TimerTask;
-import org.onlab.util.Timer;
 import org.onosproject.openflow.controller.OpenFlowSwitch;
 import org.onosproject.openflow.controller.RoleState;
+import org.onosproject.openflow.controller.StatsPollScheduler;
 import org.projectfloodlight.openflow.protocol.OFGroupDescStatsRequest;
 import org.projectfloodlight.openflow.protocol.OFGroupStatsRequest;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.types.OFGroup;
 import org.slf4j.Logger;
 
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
 /*
  * Sends Group Stats Request and collect the group statistics with a time interval.
  */
-public class GroupStatsCollector implements TimerTask {
+public class GroupStatsCollector {
 
-    private final HashedWheelTimer timer = Timer.getTimer();
+    private final StatsPollScheduler scheduler = StatsPollScheduler.getScheduler();
     private final OpenFlowSwitch sw;
     private final Logger log = getLogger(getClass());
     private final int refreshInterval;
 
-    private Timeout timeout;
-
-    private boolean stopTimer = false;
+    private volatile StatsPollScheduler.Poll poll;
 
     /**
      * Creates a GroupStatsCollector object.
@@ -56,21 +52,7 @@ public class GroupStatsCollector implements TimerTask {
         this.refreshInterval = interval;
     }
 
-    @Override
-    public void run(Timeout timeout) throws Exception {
-        log.trace("Collecting stats for {}", sw.getStringId());
-
-        sendGroupStatistic();
-
-        if (!this.stopTimer) {
-            log.trace("Scheduling stats collection in {} seconds for {}",
-                    this.refreshInterval, this.sw.getStringId());
-            timeout.getTimer().newTimeout(this, refreshInterval,
-                    TimeUnit.SECONDS);
-        }
-    }
-
-    private void sendGroupStatistic() {
+    private void sendGroupStatistic(List<OFMessage> batch) {
         if (log.isTraceEnabled()) {
             log.trace("sendGroupStatistics {}:{}", sw.getStringId(), sw.getRole());
         }
@@ -85,14 +67,26 @@ public class GroupStatsCollector implements TimerTask {
                 .setGroup(OFGroup.ALL)
                 .setXid(statsXid)
                 .build();
-        sw.sendMsg(statsRequest);
+        batch.add(statsRequest);
 
         Long descXid = statsXid + 1;
         OFGroupDescStatsRequest descStatsRequest =
                 sw.factory().buildGroupDescStatsRequest()
                         .setXid(descXid)
                         .build();
-        sw.sendMsg(descStatsRequest);
+        batch.add(descStatsRequest);
+    }
+
+    /**
+     * Records a group statistics reply from the switch.
+     *
+     * @param entries number of entries in the reply
+     */
+    public void replied(int entries) {
+        StatsPollScheduler.Poll current = poll;
+        if (current != null) {
+            current.replied(entries);
+        }
     }
 
     /**
@@ -100,7 +94,7 @@ public class GroupStatsCollector implements TimerTask {
      */
     public void start() {
         log.info("Starting Group Stats collection thread for {}", sw.getStringId());
-        timeout = timer.newTimeout(this, 1, TimeUnit.SECONDS);
+        poll = scheduler.register(sw, refreshInterval, this::sendGroupStatistic);
     }
 
     /**
@@ -108,7 +102,6 @@ public class GroupStatsCollector implements TimerTask {
      */
     public void stop() {
         log.info("Stopping Group Stats collection thread for {}", sw.getStringId());
-        this.stopTimer = true;
-        timeout.cancel();
+        poll.cancel();
     }
 }
@@ -203,6 +203,11 @@ public class OpenFlowGroupProvider extends AbstractProvider implements GroupProv
         OFGroupStatsReply groupStatsReply = null;
         OFGroupDescStatsReply groupDescStatsReply = null;
 
+        GroupStatsCollector collector = collectors.get(dpid);
+        if (collector != null && statsReply.getStatsType() == OFStatsType.GROUP) {
+            collector.replied(((OFGroupStatsReply) statsReply).getEntries().size());
+        }
+
         synchronized (groupStats) {
             if (statsReply.getStatsType() == OFStatsType.GROUP) {
                 OFStatsReply reply = groupStats.get(statsReply.getXid() + 1);
@@ -16,32 +16,28 @@
 
 package org.onosproject.provider.of.meter.impl;
 
-import org.jboss.netty.util.HashedWheelTimer;
-import org.jboss.netty.util.Timeout;
-import org.jboss.netty.util.TimerTask;
-import org.onlab.util.Timer;
 import org.onosproject.openflow.controller.OpenFlowSwitch;
 import org.onosproject.openflow.controller.RoleState;
+import org.onosproject.openflow.controller.StatsPollScheduler;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFMeterStatsRequest;
 import org.slf4j.Logger;
 
-import java.util.concurrent.TimeUnit;
+import java.util.List;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
 /*
  * Sends Meter Stats Request and collect the Meter statistics with a time interval.
  */
-public class MeterStatsCollector implements TimerTask {
+public class MeterStatsCollector {
 
-    private final HashedWheelTimer timer = Timer.getTimer();
+    private final StatsPollScheduler scheduler = StatsPollScheduler.getScheduler();
     private final OpenFlowSwitch sw;
     private final Logger log = getLogger(getClass());
     private final int refreshInterval;
 
-    private Timeout timeout;
-
-    private boolean stopTimer = false;
+    private volatile StatsPollScheduler.Poll poll;
 
     /**
      * Creates a GroupStatsCollector object.
@@ -54,26 +50,7 @@ public class MeterStatsCollector implements TimerTask {
         this.refreshInterval = interval;
     }
 
-    @Override
-    public void run(Timeout timeout) throws Exception {
-        if (!sw.isConnected()) {
-            log.debug("Switch {} disconnected. Aborting meter stats collection", sw.getStringId());
-            return;
-        }
-
-        log.trace("Collecting stats for {}", sw.getStringId());
-
-        sendMeterStatistic();
-
-        if (!this.stopTimer) {
-            log.trace("Scheduling stats collection in {} seconds for {}",
-                    this.refreshInterval, this.sw.getStringId());
-            timeout.getTimer().newTimeout(this, refreshInterval,
-                    TimeUnit.SECONDS);
-        }
-    }
-
-    private void sendMeterStatistic() {
+    private void sendMeterStatistic(List<OFMessage> batch) {
         if (log.isTraceEnabled()) {
             log.trace("sendMeterStatistics {}:{}", sw.getStringId(), sw.getRole());
         }
@@ -85,8 +62,20 @@ public class MeterStatsCollector implements TimerTask {
                 sw.factory().buildMeterStatsRequest();
         builder.setXid(0).setMeterId(0xFFFFFFFF);
 
-        sw.sendMsg(builder.build());
+        batch.add(builder.build());
+
+    }
 
+    /**
+     * Records a meter statistics reply from the switch.
+     *
+     * @param entries number of entries in the reply
+     */
+    public void replied(int entries) {
+        StatsPollScheduler.Poll current = poll;
+        if (current != null) {
+            current.replied(entries);
+        }
     }
 
     /**
@@ -94,7 +83,7 @@ public class MeterStatsCollector implements TimerTask {
      */
     public void start() {
         log.info("Starting Meter Stats collection thread for {}", sw.getStringId());
-        timeout = timer.newTimeout(this, 1, TimeUnit.SECONDS);
+        poll = scheduler.register(sw, refreshInterval, this::sendMeterStatistic);
     }
 
     /**
@@ -102,7 +91,6 @@ public class MeterStatsCollector implements TimerTask {
      */
     public void stop() {
         log.info("Stopping Meter Stats collection thread for {}", sw.getStringId());
-        this.stopTimer = true;
-        timeout.cancel();
+        poll.cancel();
     }
 }
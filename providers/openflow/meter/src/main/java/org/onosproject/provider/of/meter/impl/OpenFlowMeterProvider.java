@@ -250,6 +250,10 @@ public class OpenFlowMeterProvider extends AbstractProvider implements MeterProv
 
         if (msg.getStatsType() == OFStatsType.METER) {
             OFMeterStatsReply reply = (OFMeterStatsReply) msg;
+            MeterStatsCollector collector = collectors.get(dpid);
+            if (collector != null) {
+                collector.replied(reply.getEntries().size());
+            }
             Collection<Meter> meters = buildMeters(deviceId, reply.getEntries());
             //TODO do meter accounting here.
             providerService.pushMeterMetrics(deviceId, meters);
@@ -65,6 +65,13 @@ public final class KryoNamespace implements KryoFactory, KryoPool {
      */
     public static final int INITIAL_ID = 16;
 
+    /**
+     * Largest output buffer retained by a thread between serializations.
+     */
+    private static final int MAX_CACHED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<Output> OUTPUT_BUFFER = new ThreadLocal<>();
+
     private static final String NO_NAME = "(no name)";
 
     private static final Logger log = getLogger(KryoNamespace.class);
@@ -272,12 +279,22 @@ public final class KryoNamespace implements KryoFactory, KryoPool {
      * @return serialized bytes
      */
     public byte[] serialize(final Object obj, final int bufferSize) {
-        Output out = new Output(bufferSize, MAX_BUFFER_SIZE);
-        return pool.run(kryo -> {
-            kryo.writeClassAndObject(out, obj);
-            out.flush();
-            return out.toBytes();
-        });
+        // take the output buffer of this thread so that a nested call allocates its own
+        Output cached = OUTPUT_BUFFER.get();
+        OUTPUT_BUFFER.remove();
+        Output out = cached != null ? cached : new Output(bufferSize, MAX_BUFFER_SIZE);
+        try {
+            return pool.run(kryo -> {
+                kryo.writeClassAndObject(out, obj);
+                out.flush();
+                return out.toBytes();
+            });
+        } finally {
+            if (out.getBuffer().length <= MAX_CACHED_BUFFER_SIZE) {
+                out.clear();
+                OUTPUT_BUFFER.set(out);
+            }
+        }
     }
 
     /**
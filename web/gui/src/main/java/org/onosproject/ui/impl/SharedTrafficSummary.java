@@ -0,0 +1,397 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.ui.impl;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.felix.scr.annotations.Activate;
+import org.apache.felix.scr.annotations.Component;
+import org.apache.felix.scr.annotations.Deactivate;
+import org.apache.felix.scr.annotations.Reference;
+import org.apache.felix.scr.annotations.ReferenceCardinality;
+import org.apache.felix.scr.annotations.Service;
+import org.onosproject.incubator.net.PortStatisticsService;
+import org.onosproject.mastership.MastershipService;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.ElementId;
+import org.onosproject.net.Link;
+import org.onosproject.net.LinkKey;
+import org.onosproject.net.device.DeviceEvent;
+import org.onosproject.net.device.DeviceListener;
+import org.onosproject.net.device.DeviceService;
+import org.onosproject.net.flow.FlowRuleEvent;
+import org.onosproject.net.flow.FlowRuleListener;
+import org.onosproject.net.flow.FlowRuleService;
+import org.onosproject.net.host.HostEvent;
+import org.onosproject.net.host.HostListener;
+import org.onosproject.net.host.HostService;
+import org.onosproject.net.link.LinkEvent;
+import org.onosproject.net.link.LinkListener;
+import org.onosproject.net.link.LinkService;
+import org.onosproject.net.statistic.Load;
+import org.onosproject.net.statistic.StatisticService;
+import org.onosproject.ui.impl.topo.util.TrafficLink;
+import org.onosproject.ui.impl.topo.util.TrafficLink.StatsType;
+import org.onosproject.ui.impl.topo.util.TrafficLinkMap;
+import org.onosproject.ui.topo.Highlights;
+import org.onosproject.ui.topo.LinkHighlight;
+import org.onosproject.ui.topo.TopoUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static java.util.concurrent.Executors.newScheduledThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static org.onlab.util.Tools.groupedThreads;
+import static org.onosproject.net.DefaultEdgeLink.createEdgeLink;
+
+/**
+ * Service that computes the link traffic summaries of the topology view
+ * once for all the GUI sessions showing them.
+ * <p>
+ * Summaries are refreshed periodically while they have subscribers, and
+ * subscribers are notified only when the highlights have changed. Links of
+ * locally mastered devices are recomputed only once their devices report new
+ * statistics. Those reports reach the master of a device only, so the links
+ * of the other devices are recomputed on every refresh.
+ */
+@Component(immediate = true, enabled = true)
+@Service(value = SharedTrafficSummary.class)
+public class SharedTrafficSummary {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(SharedTrafficSummary.class);
+
+    private static final long TRAFFIC_PERIOD = 5000;
+    private static final int SESSION_THREADS = 4;
+
+    // 4 Kilo Bytes as threshold
+    private static final double BPS_THRESHOLD = 4 * TopoUtils.KILO;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected LinkService linkService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected HostService hostService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected DeviceService deviceService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected FlowRuleService flowService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected StatisticService flowStatsService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected PortStatisticsService portStatsService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected MastershipService mastershipService;
+
+    private final LinkListener linkListener = new InternalLinkListener();
+    private final HostListener hostListener = new InternalHostListener();
+    private final DeviceListener deviceListener = new InternalDeviceListener();
+    private final FlowRuleListener flowListener = new InternalFlowListener();
+
+    private final Map<StatsType, Summary> summaries = ImmutableMap.of(
+            StatsType.FLOW_STATS, new Summary(StatsType.FLOW_STATS),
+            StatsType.PORT_STATS, new Summary(StatsType.PORT_STATS));
+
+    private ScheduledExecutorService executor;
+    private ScheduledExecutorService sessionExecutor;
+
+    @Activate
+    protected void activate() {
+        executor = newSingleThreadScheduledExecutor(
+                groupedThreads("onos/ui", "traffic-summary", log));
+        sessionExecutor = newScheduledThreadPool(SESSION_THREADS,
+                groupedThreads("onos/ui", "traffic-session-%d", log));
+        linkService.addListener(linkListener);
+        hostService.addListener(hostListener);
+        deviceService.addListener(deviceListener);
+        flowService.addListener(flowListener);
+        executor.scheduleAtFixedRate(this::refresh, TRAFFIC_PERIOD,
+                                     TRAFFIC_PERIOD, TimeUnit.MILLISECONDS);
+        log.info("Started");
+    }
+
+    @Deactivate
+    protected void deactivate() {
+        flowService.removeListener(flowListener);
+        deviceService.removeListener(deviceListener);
+        hostService.removeListener(hostListener);
+        linkService.removeListener(linkListener);
+        executor.shutdownNow();
+        sessionExecutor.shutdownNow();
+        summaries.values().forEach(Summary::clear);
+        log.info("Stopped");
+    }
+
+    /**
+     * Subscribes to the traffic summary of the given type. The subscriber
+     * is handed the current summary right away, and then every refreshed
+     * summary that differs from the previous one.
+     *
+     * @param type       {@link StatsType#FLOW_STATS FLOW_STATS} or
+     *                   {@link StatsType#PORT_STATS PORT_STATS}
+     * @param subscriber consumer of the highlights
+     * @return current summary
+     */
+    public Highlights subscribe(StatsType type, Consumer<Highlights> subscriber) {
+        Summary summary = summary(type);
+        summary.subscribers.add(subscriber);
+        return summary.current();
+    }
+
+    /**
+     * Unsubscribes from the traffic summary of the given type.
+     *
+     * @param type       {@link StatsType#FLOW_STATS FLOW_STATS} or
+     *                   {@link StatsType#PORT_STATS PORT_STATS}
+     * @param subscriber consumer of the highlights
+     */
+    public void unsubscribe(StatsType type, Consumer<Highlights> subscriber) {
+        summary(type).subscribers.remove(subscriber);
+    }
+
+    /**
+     * Schedules a periodic traffic task of a topology view session. The tasks
+     * of the sessions run on a small pool of their own, apart from the thread
+     * refreshing the summaries and from the timers shared with the rest of
+     * the system.
+     *
+     * @param task         task to run
+     * @param periodMillis period of the task in milliseconds
+     * @return future used to cancel the task
+     */
+    public ScheduledFuture<?> schedule(Runnable task, long periodMillis) {
+        return sessionExecutor.scheduleAtFixedRate(task, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private Summary summary(StatsType type) {
+        Summary summary = summaries.get(type);
+        if (summary == null) {
+            throw new IllegalArgumentException("No shared summary of " + type);
+        }
+        return summary;
+    }
+
+    // Refreshes the summaries; package private for unit tests.
+    void refresh() {
+        for (Summary summary : summaries.values()) {
+            try {
+                summary.refresh();
+            } catch (Exception e) {
+                log.warn("Unable to refresh {} summary", summary.type, e);
+            }
+        }
+    }
+
+    private Load getLinkFlowLoad(Link link) {
+        if (link != null && link.src().elementId() instanceof DeviceId) {
+            return flowStatsService.load(link);
+        }
+        return null;
+    }
+
+    private Load maxLoad(Load a, Load b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.rate() > b.rate() ? a : b;
+    }
+
+    // Returns true if the load of the link may have changed, given the
+    // devices that reported new statistics.
+    private boolean needsUpdate(Link link, Set<DeviceId> devices) {
+        return link != null && (needsUpdate(link.src().elementId(), devices)
+                || needsUpdate(link.dst().elementId(), devices));
+    }
+
+    private boolean needsUpdate(ElementId id, Set<DeviceId> devices) {
+        return id instanceof DeviceId && (devices.contains(id)
+                || !mastershipService.isLocalMaster((DeviceId) id));
+    }
+
+    /**
+     * Traffic summary of one type of statistics.
+     */
+    private final class Summary {
+        private final StatsType type;
+        private final Set<Consumer<Highlights>> subscribers = new CopyOnWriteArraySet<>();
+        private final Set<DeviceId> dirtyDevices = ConcurrentHashMap.newKeySet();
+
+        private volatile boolean stale = true;
+        private volatile Highlights highlights = new Highlights();
+
+        // links of the topology and their highlights, if they have traffic
+        private TrafficLinkMap linkMap = new TrafficLinkMap();
+        private final Map<LinkKey, LinkHighlight> linkHighlights = new HashMap<>();
+
+        private Summary(StatsType type) {
+            this.type = type;
+        }
+
+        private synchronized Highlights current() {
+            if (stale) {
+                // no refresh since the summary was last used
+                update();
+            }
+            return highlights;
+        }
+
+        private void refresh() {
+            Highlights latest;
+            synchronized (this) {
+                if (subscribers.isEmpty()) {
+                    stale = true;
+                    return;
+                }
+                latest = update() ? highlights : null;
+            }
+            // notify outside of the lock, subscribers hold their own
+            if (latest != null) {
+                subscribers.forEach(s -> s.accept(latest));
+            }
+        }
+
+        private synchronized void clear() {
+            subscribers.clear();
+            linkHighlights.clear();
+            linkMap = new TrafficLinkMap();
+            stale = true;
+        }
+
+        // returns true if the highlights have changed
+        private boolean update() {
+            boolean changed = false;
+            if (stale) {
+                stale = false;
+                dirtyDevices.clear();
+                linkMap = compileLinks();
+                Set<LinkKey> keys = new HashSet<>();
+                linkMap.biLinks().forEach(l -> keys.add(l.key()));
+                changed = linkHighlights.keySet().retainAll(keys);
+                for (TrafficLink tlink : linkMap.biLinks()) {
+                    changed |= updateLink(tlink);
+                }
+            } else {
+                Set<DeviceId> devices = new HashSet<>();
+                dirtyDevices.removeIf(devices::add);
+                for (TrafficLink tlink : linkMap.biLinks()) {
+                    if (needsUpdate(tlink.one(), devices) || needsUpdate(tlink.two(), devices)) {
+                        changed |= updateLink(tlink);
+                    }
+                }
+            }
+            if (changed) {
+                Highlights latest = new Highlights();
+                linkHighlights.values().forEach(latest::add);
+                highlights = latest;
+            }
+            return changed;
+        }
+
+        private TrafficLinkMap compileLinks() {
+            TrafficLinkMap map = new TrafficLinkMap();
+            linkService.getLinks().forEach(map::add);
+            hostService.getHosts().forEach(host -> {
+                map.add(createEdgeLink(host, true));
+                map.add(createEdgeLink(host, false));
+            });
+            return map;
+        }
+
+        // recomputes the highlight of a link; returns true if it has changed
+        private boolean updateLink(TrafficLink link) {
+            // traffic links accumulate loads, so compute on a fresh one
+            TrafficLink tlink = new TrafficLink(link.key(), link.one());
+            if (link.two() != null) {
+                tlink.setOther(link.two());
+            }
+            if (type == StatsType.FLOW_STATS) {
+                tlink.addLoad(getLinkFlowLoad(tlink.one()));
+                tlink.addLoad(getLinkFlowLoad(tlink.two()));
+            } else {
+                // For bi-directional traffic links, use
+                // the max link rate of either direction
+                Link one = tlink.one();
+                Load egressSrc = portStatsService.load(one.src());
+                Load egressDst = portStatsService.load(one.dst());
+                tlink.addLoad(maxLoad(egressSrc, egressDst), BPS_THRESHOLD);
+            }
+
+            LinkHighlight previous;
+            if (tlink.hasTraffic()) {
+                LinkHighlight highlight = tlink.highlight(type);
+                previous = linkHighlights.put(tlink.key(), highlight);
+                return previous == null || !previous.label().equals(highlight.label());
+            }
+            return linkHighlights.remove(tlink.key()) != null;
+        }
+    }
+
+    // =======================================================================
+    // === Event listeners
+
+    private void topologyChanged() {
+        summaries.values().forEach(s -> s.stale = true);
+    }
+
+    private class InternalLinkListener implements LinkListener {
+        @Override
+        public void event(LinkEvent event) {
+            topologyChanged();
+        }
+    }
+
+    private class InternalHostListener implements HostListener {
+        @Override
+        public void event(HostEvent event) {
+            topologyChanged();
+        }
+    }
+
+    private class InternalDeviceListener implements DeviceListener {
+        @Override
+        public void event(DeviceEvent event) {
+            if (event.type() == DeviceEvent.Type.PORT_STATS_UPDATED) {
+                summaries.get(StatsType.PORT_STATS).dirtyDevices.add(event.subject().id());
+            }
+        }
+    }
+
+    private class InternalFlowListener implements FlowRuleListener {
+        @Override
+        public void event(FlowRuleEvent event) {
+            summaries.get(StatsType.FLOW_STATS).dirtyDevices.add(event.subject().deviceId());
+        }
+    }
+}
@@ -202,7 +202,8 @@ public class TopologyViewMessageHandler extends TopologyViewMessageHandlerBase {
     public void init(UiConnection connection, ServiceDirectory directory) {
         super.init(connection, directory);
         appId = directory.get(CoreService.class).registerApplication(MY_APP_ID);
-        traffic = new TrafficMonitor(TRAFFIC_PERIOD, servicesBundle, this);
+        traffic = new TrafficMonitor(TRAFFIC_PERIOD, servicesBundle,
+                                     directory.get(SharedTrafficSummary.class), this);
         protectedIntentMonitor = new ProtectedIntentMonitor(TRAFFIC_PERIOD, servicesBundle, this);
     }
 
@@ -728,34 +729,36 @@ public class TopologyViewMessageHandler extends TopologyViewMessageHandlerBase {
     }
 
     // Sends all devices to the client as device-added messages.
+    // The connection batches them, so there is no need to page them here.
     private void sendAllDevices() {
         // Send optical first, others later for layered rendering
+        List<Device> others = new ArrayList<>();
         for (Device device : deviceService.getDevices()) {
             if ((device.type() == Device.Type.ROADM) ||
                     (device.type() == Device.Type.OTN)) {
                 sendMessage(deviceMessage(new DeviceEvent(DEVICE_ADDED, device)));
+            } else {
+                others.add(device);
             }
         }
-        for (Device device : deviceService.getDevices()) {
-            if ((device.type() != Device.Type.ROADM) &&
-                    (device.type() != Device.Type.OTN)) {
-                sendMessage(deviceMessage(new DeviceEvent(DEVICE_ADDED, device)));
-            }
+        for (Device device : others) {
+            sendMessage(deviceMessage(new DeviceEvent(DEVICE_ADDED, device)));
         }
     }
 
     // Sends all links to the client as link-added messages.
     private void sendAllLinks() {
         // Send optical first, others later for layered rendering
+        List<Link> others = new ArrayList<>();
         for (Link link : linkService.getLinks()) {
             if (link.type() == Link.Type.OPTICAL) {
                 sendMessage(composeLinkMessage(new LinkEvent(LINK_ADDED, link)));
+            } else {
+                others.add(link);
             }
         }
-        for (Link link : linkService.getLinks()) {
-            if (link.type() != Link.Type.OPTICAL) {
-                sendMessage(composeLinkMessage(new LinkEvent(LINK_ADDED, link)));
-            }
+        for (Link link : others) {
+            sendMessage(composeLinkMessage(new LinkEvent(LINK_ADDED, link)));
         }
     }
 
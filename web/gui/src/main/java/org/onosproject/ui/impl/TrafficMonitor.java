@@ -17,6 +17,7 @@
 
 package org.onosproject.ui.impl;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ImmutableList;
 import org.onosproject.net.Device;
 import org.onosproject.net.DeviceId;
@@ -52,7 +53,7 @@ import org.onosproject.ui.topo.HostHighlight;
 import org.onosproject.ui.topo.LinkHighlight.Flavor;
 import org.onosproject.ui.topo.NodeHighlight;
 import org.onosproject.ui.topo.NodeSelection;
-import org.onosproject.ui.topo.TopoUtils;
+import org.onosproject.ui.topo.TopoJson;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -64,8 +65,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
 
 import static org.onosproject.net.DefaultEdgeLink.createEdgeLink;
 import static org.onosproject.ui.impl.TrafficMonitor.Mode.IDLE;
@@ -77,9 +78,6 @@ import static org.onosproject.ui.impl.TrafficMonitor.Mode.SELECTED_INTENT;
  */
 public class TrafficMonitor extends AbstractTopoMonitor {
 
-    // 4 Kilo Bytes as threshold
-    private static final double BPS_THRESHOLD = 4 * TopoUtils.KILO;
-
     private static final Logger log =
             LoggerFactory.getLogger(TrafficMonitor.class);
 
@@ -99,13 +97,17 @@ public class TrafficMonitor extends AbstractTopoMonitor {
     private final ServicesBundle servicesBundle;
     private final TopologyViewMessageHandler msgHandler;
     private final TopoIntentFilter intentFilter;
+    private final SharedTrafficSummary trafficSummary;
+    private final Consumer<Highlights> summaryListener = this::summaryUpdated;
 
-    private final Timer timer = new Timer("topo-traffic");
-
-    private TimerTask trafficTask = null;
+    private ScheduledFuture<?> trafficTask = null;
     private Mode mode = IDLE;
     private NodeSelection selectedNodes = null;
     private IntentSelection selectedIntents = null;
+    private StatsType summaryType = null;
+
+    // last highlights sent by the background task
+    private ObjectNode lastHighlights = null;
 
 
     /**
@@ -113,12 +115,15 @@ public class TrafficMonitor extends AbstractTopoMonitor {
      *
      * @param trafficPeriod  traffic task period in ms
      * @param servicesBundle bundle of services
+     * @param trafficSummary traffic summaries shared by all sessions
      * @param msgHandler     our message handler
      */
     public TrafficMonitor(long trafficPeriod, ServicesBundle servicesBundle,
+                          SharedTrafficSummary trafficSummary,
                           TopologyViewMessageHandler msgHandler) {
         this.trafficPeriod = trafficPeriod;
         this.servicesBundle = servicesBundle;
+        this.trafficSummary = trafficSummary;
         this.msgHandler = msgHandler;
 
         intentFilter = new TopoIntentFilter(servicesBundle);
@@ -129,9 +134,9 @@ public class TrafficMonitor extends AbstractTopoMonitor {
 
     /**
      * Monitor for traffic data to be sent back to the web client, under
-     * the given mode. This causes a background traffic task to be
-     * scheduled to repeatedly compute and transmit the appropriate traffic
-     * data to the client.
+     * the given mode. This causes the appropriate traffic data to be
+     * repeatedly transmitted to the client; traffic summaries of all flows
+     * or all ports are computed once for all clients.
      * <p>
      * The monitoring mode is expected to be one of:
      * <ul>
@@ -149,17 +154,18 @@ public class TrafficMonitor extends AbstractTopoMonitor {
         switch (mode) {
             case ALL_FLOW_TRAFFIC:
                 clearSelection();
-                scheduleTask();
-                sendAllFlowTraffic();
+                cancelTask();
+                subscribeSummary(StatsType.FLOW_STATS);
                 break;
 
             case ALL_PORT_TRAFFIC:
                 clearSelection();
-                scheduleTask();
-                sendAllPortTraffic();
+                cancelTask();
+                subscribeSummary(StatsType.PORT_STATS);
                 break;
 
             case SELECTED_INTENT:
+                unsubscribeSummary();
                 scheduleTask();
                 sendSelectedIntentTraffic();
                 break;
@@ -192,6 +198,7 @@ public class TrafficMonitor extends AbstractTopoMonitor {
         log.debug("monitor: {} -- {}", mode, nodeSelection);
         this.mode = mode;
         this.selectedNodes = nodeSelection;
+        unsubscribeSummary();
 
         switch (mode) {
             case DEV_LINK_FLOWS:
@@ -237,6 +244,7 @@ public class TrafficMonitor extends AbstractTopoMonitor {
         selectedNodes = null;
         selectedIntents = new IntentSelection(intent);
         mode = SELECTED_INTENT;
+        unsubscribeSummary();
         scheduleTask();
         sendSelectedIntentTraffic();
     }
@@ -304,6 +312,7 @@ public class TrafficMonitor extends AbstractTopoMonitor {
         this.mode = IDLE;
         clearSelection();
         cancelTask();
+        unsubscribeSummary();
     }
 
     private void clearSelection() {
@@ -314,8 +323,7 @@ public class TrafficMonitor extends AbstractTopoMonitor {
     private synchronized void scheduleTask() {
         if (trafficTask == null) {
             log.debug("Starting up background traffic task...");
-            trafficTask = new TrafficUpdateTask();
-            timer.schedule(trafficTask, trafficPeriod, trafficPeriod);
+            trafficTask = trafficSummary.schedule(new TrafficUpdateTask(), trafficPeriod);
         } else {
             log.debug("(traffic task already running)");
         }
@@ -323,66 +331,67 @@ public class TrafficMonitor extends AbstractTopoMonitor {
 
     private synchronized void cancelTask() {
         if (trafficTask != null) {
-            trafficTask.cancel();
+            trafficTask.cancel(false);
             trafficTask = null;
         }
     }
 
-    private void sendAllFlowTraffic() {
-        log.debug("sendAllFlowTraffic");
-        msgHandler.sendHighlights(trafficSummary(StatsType.FLOW_STATS));
+    private void subscribeSummary(StatsType type) {
+        unsubscribeSummary();
+        summaryType = type;
+        log.debug("subscribeSummary: {}", type);
+        sendHighlights(trafficSummary.subscribe(type, summaryListener));
     }
 
-    private void sendAllPortTraffic() {
-        log.debug("sendAllPortTraffic");
-        msgHandler.sendHighlights(trafficSummary(StatsType.PORT_STATS));
+    private void unsubscribeSummary() {
+        if (summaryType != null) {
+            trafficSummary.unsubscribe(summaryType, summaryListener);
+            summaryType = null;
+        }
+    }
+
+    // Invoked by the shared traffic summary when its highlights change
+    private synchronized void summaryUpdated(Highlights highlights) {
+        if (summaryType != null) {
+            sendHighlights(highlights);
+        }
     }
 
     private void sendDeviceLinkFlows() {
         log.debug("sendDeviceLinkFlows: {}", selectedNodes);
-        msgHandler.sendHighlights(deviceLinkFlows());
+        sendHighlights(deviceLinkFlows());
     }
 
     private void sendSelectedIntents() {
         log.debug("sendSelectedIntents: {}", selectedIntents);
-        msgHandler.sendHighlights(intentGroup());
+        sendHighlights(intentGroup());
     }
 
     private void sendSelectedIntentTraffic() {
         log.debug("sendSelectedIntentTraffic: {}", selectedIntents);
-        msgHandler.sendHighlights(intentTraffic());
+        sendHighlights(intentTraffic());
     }
 
     private void sendClearHighlights() {
         log.debug("sendClearHighlights");
-        msgHandler.sendHighlights(new Highlights());
+        sendHighlights(new Highlights());
     }
 
-    // =======================================================================
-    // === Generate messages in JSON object node format
-
-    private Highlights trafficSummary(StatsType type) {
-        Highlights highlights = new Highlights();
-
-        TrafficLinkMap linkMap = new TrafficLinkMap();
-        compileLinks(linkMap);
-        addEdgeLinks(linkMap);
-
-        for (TrafficLink tlink : linkMap.biLinks()) {
-            if (type == StatsType.FLOW_STATS) {
-                attachFlowLoad(tlink);
-            } else if (type == StatsType.PORT_STATS) {
-                attachPortLoad(tlink);
-            }
+    private void sendHighlights(Highlights highlights) {
+        lastHighlights = TopoJson.json(highlights);
+        msgHandler.sendHighlights(highlights);
+    }
 
-            // we only want to report on links deemed to have traffic
-            if (tlink.hasTraffic()) {
-                highlights.add(tlink.highlight(type));
-            }
+    // Sends the highlights unless they are the same as the last ones sent
+    private void sendChangedHighlights(Highlights highlights) {
+        if (!TopoJson.json(highlights).equals(lastHighlights)) {
+            sendHighlights(highlights);
         }
-        return highlights;
     }
 
+    // =======================================================================
+    // === Generate messages in JSON object node format
+
     // create highlights for links, showing flows for selected devices.
     private Highlights deviceLinkFlows() {
         Highlights highlights = new Highlights();
@@ -460,17 +469,6 @@ public class TrafficMonitor extends AbstractTopoMonitor {
 
     // - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - - -
 
-    private void compileLinks(TrafficLinkMap linkMap) {
-        servicesBundle.linkService().getLinks().forEach(linkMap::add);
-    }
-
-    private void addEdgeLinks(TrafficLinkMap linkMap) {
-        servicesBundle.hostService().getHosts().forEach(host -> {
-            linkMap.add(createEdgeLink(host, true));
-            linkMap.add(createEdgeLink(host, false));
-        });
-    }
-
     private Load getLinkFlowLoad(Link link) {
         if (link != null && link.src().elementId() instanceof DeviceId) {
             return servicesBundle.flowStatsService().load(link);
@@ -478,32 +476,6 @@ public class TrafficMonitor extends AbstractTopoMonitor {
         return null;
     }
 
-    private void attachFlowLoad(TrafficLink link) {
-        link.addLoad(getLinkFlowLoad(link.one()));
-        link.addLoad(getLinkFlowLoad(link.two()));
-    }
-
-    private void attachPortLoad(TrafficLink link) {
-        // For bi-directional traffic links, use
-        // the max link rate of either direction
-        // (we choose 'one' since we know that is never null)
-        Link one = link.one();
-        Load egressSrc = servicesBundle.portStatsService().load(one.src());
-        Load egressDst = servicesBundle.portStatsService().load(one.dst());
-        link.addLoad(maxLoad(egressSrc, egressDst), BPS_THRESHOLD);
-//        link.addLoad(maxLoad(egressSrc, egressDst), 10);    // DEBUG ONLY!!
-    }
-
-    private Load maxLoad(Load a, Load b) {
-        if (a == null) {
-            return b;
-        }
-        if (b == null) {
-            return a;
-        }
-        return a.rate() > b.rate() ? a : b;
-    }
-
     // Counts all flow entries that egress on the links of the given device.
     private Map<Link, Integer> getLinkFlowCounts(DeviceId deviceId) {
         // get the flows for the device
@@ -661,29 +633,25 @@ public class TrafficMonitor extends AbstractTopoMonitor {
     // === Background Task
 
     // Provides periodic update of traffic information to the client
-    private class TrafficUpdateTask extends TimerTask {
+    private class TrafficUpdateTask implements Runnable {
         @Override
         public void run() {
             try {
-                switch (mode) {
-                    case ALL_FLOW_TRAFFIC:
-                        sendAllFlowTraffic();
-                        break;
-                    case ALL_PORT_TRAFFIC:
-                        sendAllPortTraffic();
-                        break;
-                    case DEV_LINK_FLOWS:
-                        sendDeviceLinkFlows();
-                        break;
-                    case SELECTED_INTENT:
-                        sendSelectedIntentTraffic();
-                        break;
-
-                    default:
-                        // RELATED_INTENTS and IDLE modes should never invoke
-                        // the background task, but if they do, they have
-                        // nothing to do
-                        break;
+                synchronized (TrafficMonitor.this) {
+                    switch (mode) {
+                        case DEV_LINK_FLOWS:
+                            sendChangedHighlights(deviceLinkFlows());
+                            break;
+                        case SELECTED_INTENT:
+                            sendChangedHighlights(intentTraffic());
+                            break;
+
+                        default:
+                            // summary, RELATED_INTENTS and IDLE modes should
+                            // never invoke the background task, but if they
+                            // do, they have nothing to do
+                            break;
+                    }
                 }
 
             } catch (Exception e) {
@@ -35,10 +35,13 @@ import com.google.common.collect.Maps;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
+import org.apache.felix.scr.annotations.Modified;
+import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
 import org.onlab.util.Tools;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.mastership.MastershipService;
 import org.onosproject.store.serializers.KryoNamespaces;
 import org.onosproject.store.service.ConsistentMap;
@@ -56,15 +59,18 @@ import org.onosproject.ui.UiTopoOverlayFactory;
 import org.onosproject.ui.UiView;
 import org.onosproject.ui.UiViewHidden;
 import org.onosproject.ui.impl.topo.Topo2ViewMessageHandler;
+import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Dictionary;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 import static com.google.common.collect.ImmutableList.of;
 import static java.util.stream.Collectors.toSet;
@@ -111,6 +117,15 @@ public class UiExtensionManager
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected StorageService storageService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected ComponentConfigService cfgService;
+
+    private static final int DEFAULT_FLUSH_INTERVAL = 50;
+    private static final int WEB_SOCKET_FLUSH_THREADS = 4;
+    @Property(name = "webSocketFlushInterval", intValue = DEFAULT_FLUSH_INTERVAL,
+            label = "Interval in millis at which GUI messages are batched; 0 to send right away")
+    private int webSocketFlushInterval = DEFAULT_FLUSH_INTERVAL;
+
     // User preferences
     private ConsistentMap<String, ObjectNode> prefsConsistentMap;
     private Map<String, ObjectNode> prefs;
@@ -123,6 +138,9 @@ public class UiExtensionManager
             Executors.newSingleThreadExecutor(
                     Tools.groupedThreads("onos/ui-ext-manager", "event-handler", log));
 
+    // sends the messages queued for the GUI clients
+    private ScheduledExecutorService webSocketFlushExecutor;
+
     // Creates core UI extension
     private UiExtension createCoreExtension() {
         List<UiView> coreViews = of(
@@ -204,7 +222,13 @@ public class UiExtensionManager
     }
 
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
+        cfgService.registerProperties(getClass());
+        webSocketFlushExecutor = Executors.newScheduledThreadPool(WEB_SOCKET_FLUSH_THREADS,
+                Tools.groupedThreads("onos/ui-ext-manager", "websocket-flush-%d", log));
+        UiWebSocket.setFlushExecutor(webSocketFlushExecutor);
+        modified(context);
+
         Serializer serializer = Serializer.using(KryoNamespaces.API,
                 ObjectNode.class, ArrayNode.class,
                 JsonNodeFactory.class, LinkedHashMap.class,
@@ -225,13 +249,33 @@ public class UiExtensionManager
 
     @Deactivate
     public void deactivate() {
+        cfgService.unregisterProperties(getClass(), false);
         prefsConsistentMap.removeListener(prefsListener);
         eventHandlingExecutor.shutdown();
+        UiWebSocket.setFlushExecutor(null);
         UiWebSocketServlet.closeAll();
+        webSocketFlushExecutor.shutdownNow();
         unregister(core);
         log.info("Stopped");
     }
 
+    @Modified
+    protected void modified(ComponentContext context) {
+        if (context == null) {
+            UiWebSocket.setFlushInterval(webSocketFlushInterval);
+            return;
+        }
+        Dictionary<?, ?> properties = context.getProperties();
+        Integer flushInterval = Tools.getIntegerProperty(properties, "webSocketFlushInterval");
+        if (flushInterval != null && flushInterval >= 0) {
+            webSocketFlushInterval = flushInterval;
+        } else if (flushInterval != null) {
+            log.warn("webSocketFlushInterval must be greater than or equal to 0");
+        }
+        UiWebSocket.setFlushInterval(webSocketFlushInterval);
+        log.info("Settings: webSocketFlushInterval={}", webSocketFlushInterval);
+    }
+
     @Override
     public synchronized void register(UiExtension extension) {
         checkPermission(UI_WRITE);
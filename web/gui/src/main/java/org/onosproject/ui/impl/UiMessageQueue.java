@@ -0,0 +1,202 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.ui.impl;
+
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Messages queued for a GUI client between two flushes. A queued update of
+ * an element is superseded by a later update of the same element, and the
+ * queue is drained in batches.
+ */
+final class UiMessageQueue {
+
+    // largest number of messages sent in one batch
+    static final int MAX_BATCH_SIZE = 500;
+
+    // largest number of messages, other than element additions, queued for a
+    // client still being flushed to
+    static final int MAX_PENDING = 20 * MAX_BATCH_SIZE;
+
+    private static final String EVENT = "event";
+    private static final String PAYLOAD = "payload";
+    private static final String ID = "id";
+    private static final String BATCH = "batch";
+    private static final String EVENTS = "events";
+
+    // element additions make up the snapshot a client loads a view with;
+    // they are bounded by the size of the topology rather than by the queue
+    private static final String ADDITION_PREFIX = "add";
+
+    // messages superseded by a later message of the same type and id
+    private static final Set<String> COALESCED_BY_ID = ImmutableSet.of(
+            "updateInstance", "updateDevice", "updateLink", "updateHost");
+
+    // messages superseded by any later message of the same type
+    private static final Set<String> COALESCED_BY_TYPE = ImmutableSet.of(
+            "showHighlights", "showSummary");
+
+    /**
+     * Outcome of queueing a message.
+     */
+    enum Result {
+        /**
+         * The message was queued for a flush already scheduled.
+         */
+        QUEUED,
+
+        /**
+         * The message was queued and a flush has to be scheduled.
+         */
+        FLUSH_NEEDED,
+
+        /**
+         * The messages other than element additions outgrew the bound while
+         * the previous flush was still in progress, and all queued messages
+         * were dropped.
+         */
+        OVERFLOW
+    }
+
+    private final JsonNodeFactory factory = JsonNodeFactory.instance;
+    private final int maxPending;
+
+    // messages waiting to be sent, in order, by coalescing key
+    private final Map<Object, ObjectNode> pending = new LinkedHashMap<>();
+    private boolean flushScheduled = false;
+    private boolean flushing = false;
+    private long sequence = 0;
+    // queued messages counted against the bound
+    private int bounded = 0;
+
+    /**
+     * Creates a message queue.
+     *
+     * @param maxPending largest number of messages other than element
+     *                   additions queued while a flush is in progress
+     */
+    UiMessageQueue(int maxPending) {
+        checkArgument(maxPending > 0, "maxPending must be positive");
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Queues a message, dropping the queued message it supersedes, if any.
+     *
+     * @param message message to queue
+     * @return outcome of queueing the message
+     */
+    synchronized Result add(ObjectNode message) {
+        Object key = coalescingKey(message);
+        // a superseded message is dropped, and its successor queued last
+        boolean superseded = pending.remove(key) != null;
+        if (!superseded && !isAddition(message)) {
+            if (flushing && bounded >= maxPending) {
+                pending.clear();
+                bounded = 0;
+                return Result.OVERFLOW;
+            }
+            bounded++;
+        }
+        pending.put(key, message);
+        if (flushScheduled) {
+            return Result.QUEUED;
+        }
+        flushScheduled = true;
+        return Result.FLUSH_NEEDED;
+    }
+
+    /**
+     * Starts a flush, taking the queued messages in batches of at most
+     * {@link #MAX_BATCH_SIZE} messages. A batch of a single message is the
+     * message itself.
+     *
+     * @return messages to send, in order
+     */
+    synchronized List<ObjectNode> drain() {
+        flushing = true;
+        List<ObjectNode> messages = ImmutableList.copyOf(pending.values());
+        pending.clear();
+        bounded = 0;
+        ImmutableList.Builder<ObjectNode> frames = ImmutableList.builder();
+        for (int i = 0; i < messages.size(); i += MAX_BATCH_SIZE) {
+            List<ObjectNode> batch =
+                    messages.subList(i, Math.min(messages.size(), i + MAX_BATCH_SIZE));
+            frames.add(batch.size() == 1 ? batch.get(0) : batchMessage(batch));
+        }
+        return frames.build();
+    }
+
+    /**
+     * Ends a flush.
+     *
+     * @return true if messages were queued during the flush, and another
+     * flush has to be scheduled
+     */
+    synchronized boolean flushed() {
+        flushing = false;
+        flushScheduled = !pending.isEmpty();
+        return flushScheduled;
+    }
+
+    /**
+     * Returns the number of queued messages.
+     *
+     * @return number of queued messages
+     */
+    synchronized int size() {
+        return pending.size();
+    }
+
+    private boolean isAddition(ObjectNode message) {
+        return message.path(EVENT).asText().startsWith(ADDITION_PREFIX);
+    }
+
+    // Returns the key under which a message supersedes the queued ones.
+    private Object coalescingKey(ObjectNode message) {
+        String type = message.path(EVENT).asText();
+        if (COALESCED_BY_TYPE.contains(type)) {
+            return type;
+        }
+        String id = message.path(PAYLOAD).path(ID).asText(null);
+        if (id != null && COALESCED_BY_ID.contains(type)) {
+            return type + ":" + id;
+        }
+        return sequence++;
+    }
+
+    private ObjectNode batchMessage(List<ObjectNode> messages) {
+        ArrayNode events = factory.arrayNode();
+        messages.forEach(events::add);
+        ObjectNode payload = factory.objectNode();
+        payload.set(EVENTS, events);
+        ObjectNode message = factory.objectNode();
+        message.put(EVENT, BATCH);
+        message.set(PAYLOAD, payload);
+        return message;
+    }
+}
@@ -40,6 +40,9 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Web socket capable of interacting with the Web UI.
@@ -64,6 +67,11 @@ public class UiWebSocket
 
     private static final long MAX_AGE_MS = 30_000;
 
+    private static final int DEFAULT_FLUSH_INTERVAL_MS = 50;
+
+    private static volatile int flushIntervalMs = DEFAULT_FLUSH_INTERVAL_MS;
+    private static volatile ScheduledExecutorService flushExecutor;
+
     private static final byte PING = 0x9;
     private static final byte PONG = 0xA;
     private static final byte[] PING_DATA = new byte[]{(byte) 0xde, (byte) 0xad};
@@ -82,6 +90,8 @@ public class UiWebSocket
     private Map<String, UiMessageHandler> handlers;
     private TopoOverlayCache overlayCache;
 
+    private final UiMessageQueue pending = new UiMessageQueue(UiMessageQueue.MAX_PENDING);
+
     /**
      * Creates a new web-socket for serving data to the Web UI.
      *
@@ -131,6 +141,28 @@ public class UiWebSocket
         topoSession.enableEvent(viewId.equals(TOPO));
     }
 
+    /**
+     * Sets the interval at which the messages queued for the clients are
+     * sent. Messages queued in the meantime are sent in batches, and updates
+     * of the same element are coalesced. An interval of 0 sends every
+     * message right away.
+     *
+     * @param intervalMs flush interval in milliseconds
+     */
+    static void setFlushInterval(int intervalMs) {
+        flushIntervalMs = intervalMs;
+    }
+
+    /**
+     * Sets the executor on which the queued messages are sent. Without an
+     * executor, every message is sent right away.
+     *
+     * @param executor flush executor; null to send every message right away
+     */
+    static void setFlushExecutor(ScheduledExecutorService executor) {
+        flushExecutor = executor;
+    }
+
     /**
      * Provides a reference to the topology session.
      *
@@ -223,26 +255,77 @@ public class UiWebSocket
     }
 
     @Override
-    public synchronized void sendMessage(ObjectNode message) {
-        try {
-            if (connection.isOpen()) {
-                connection.sendMessage(message.toString());
-                log.debug("TX message: {}", message);
-            }
-        } catch (IOException e) {
-            log.warn("Unable to send message {} to GUI due to {}", message, e);
-            log.debug("Boom!!!", e);
+    public void sendMessage(ObjectNode message) {
+        int interval = flushIntervalMs;
+        ScheduledExecutorService executor = flushExecutor;
+        if (interval <= 0 || executor == null) {
+            transmit(message);
+            return;
+        }
+        switch (pending.add(message)) {
+            case FLUSH_NEEDED:
+                scheduleFlush(executor, interval);
+                break;
+            case OVERFLOW:
+                // the client can no longer be brought up to date incrementally;
+                // it re-reads its views when it reconnects
+                log.warn("GUI client {} is not keeping up; closing its connection", userName);
+                try {
+                    executor.execute(this::close);
+                } catch (RejectedExecutionException e) {
+                    log.debug("Unable to close GUI connection", e);
+                }
+                break;
+            default:
+                break;
         }
     }
 
     @Override
-    public synchronized void sendMessage(String type, ObjectNode payload) {
+    public void sendMessage(String type, ObjectNode payload) {
         ObjectNode message = mapper.createObjectNode();
         message.put(EVENT, type);
         message.set(PAYLOAD, payload != null ? payload : mapper.createObjectNode());
         sendMessage(message);
     }
 
+    // Sends the queued messages, in batches. Messages queued while sending
+    // are coalesced and sent by the next flush, so that a slow client gets
+    // fewer, more recent updates rather than a growing backlog.
+    private void flush() {
+        try {
+            pending.drain().forEach(this::transmit);
+        } finally {
+            if (pending.flushed()) {
+                scheduleFlush(flushExecutor, flushIntervalMs);
+            }
+        }
+    }
+
+    private void scheduleFlush(ScheduledExecutorService executor, int interval) {
+        if (executor == null) {
+            return;
+        }
+        try {
+            executor.schedule(this::flush, interval, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // the GUI is shutting down and its connections are being closed
+            log.debug("Unable to schedule GUI message flush", e);
+        }
+    }
+
+    private synchronized void transmit(ObjectNode message) {
+        try {
+            if (connection != null && connection.isOpen()) {
+                connection.sendMessage(message.toString());
+                log.debug("TX message: {}", message);
+            }
+        } catch (IOException e) {
+            log.warn("Unable to send message {} to GUI due to {}", message, e);
+            log.debug("Boom!!!", e);
+        }
+    }
+
     // Creates new message handlers.
     private synchronized void createHandlersAndOverlays() {
         log.debug("Creating handlers and overlays...");
@@ -79,7 +79,7 @@
 
     // Handles the specified (incoming) message using handler bindings.
     function handleMessage(msgEvent) {
-        var ev, h;
+        var ev;
 
         try {
             ev = JSON.parse(msgEvent.data);
@@ -87,6 +87,19 @@
             $log.error('Message.data is not valid JSON', msgEvent.data, e);
             return null;
         }
+
+        // the server sends queued events in batches, in order
+        if (ev.event === 'batch') {
+            ev.payload.events.forEach(dispatch);
+        } else {
+            dispatch(ev);
+        }
+    }
+
+    // Dispatches the specified event to its bound handler.
+    function dispatch(ev) {
+        var h;
+
         if (fs.debugOn('txrx')) {
             $log.debug(' << *Rx* ', ev.event, ev.payload);
         }
@@ -96,12 +109,10 @@
                 h(ev.payload);
             } catch (e) {
                 $log.error('Problem handling event:', ev, e);
-                return null;
             }
         } else {
             $log.warn('Unhandled event:', ev);
         }
-
     }
 
     function handleClose() {
@@ -155,6 +155,31 @@ describe('factory: fw/remote/websocket.js', function () {
         expect(num).toBe(1);
     });
 
+    it('should handle batched messages in order, handleMessage', function () {
+        var seen = [],
+            fakeHandler = {
+                mockEvOne: function (p) { seen.push(p.n); },
+                mockEvTwo: function (p) { seen.push(p.n); }
+            },
+            data = JSON.stringify({
+                event: 'batch',
+                payload: {
+                    events: [
+                        { event: 'mockEvOne', payload: { n: 1 } },
+                        { event: 'mockEvTwo', payload: { n: 2 } },
+                        { event: 'mockEvOne', payload: { n: 3 } }
+                    ]
+                }
+            }),
+            event = {
+                data: data
+            };
+        wss.createWebSocket({ wsport: 1234 });
+        wss.bindHandlers(fakeHandler);
+        mockWebSocket.onmessage(event);
+        expect(seen).toEqual([1, 2, 3]);
+    });
+
     it('should warn if there is an unhandled event, handleMessage', function () {
         spyOn($log, 'warn');
         var data = { foo: 'bar', bar: 'baz'},
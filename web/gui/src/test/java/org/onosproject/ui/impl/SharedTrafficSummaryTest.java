@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.ui.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.mastership.MastershipServiceAdapter;
+import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.DefaultLink;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.Host;
+import org.onosproject.net.Link;
+import org.onosproject.net.MastershipRole;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.device.DeviceServiceAdapter;
+import org.onosproject.net.flow.FlowRuleServiceAdapter;
+import org.onosproject.net.host.HostServiceAdapter;
+import org.onosproject.net.link.LinkServiceAdapter;
+import org.onosproject.net.provider.ProviderId;
+import org.onosproject.net.statistic.DefaultLoad;
+import org.onosproject.net.statistic.Load;
+import org.onosproject.net.statistic.StatisticServiceAdapter;
+import org.onosproject.ui.topo.Highlights;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.onosproject.ui.impl.topo.util.TrafficLink.StatsType.FLOW_STATS;
+
+/**
+ * Unit tests for {@link SharedTrafficSummary}.
+ */
+public class SharedTrafficSummaryTest extends AbstractUiImplTest {
+
+    private static final ProviderId PID = new ProviderId("of", "foo");
+    private static final DeviceId D1 = DeviceId.deviceId("of:1");
+    private static final DeviceId D2 = DeviceId.deviceId("of:2");
+    private static final Link LINK = DefaultLink.builder()
+            .providerId(PID)
+            .src(new ConnectPoint(D1, PortNumber.portNumber(1)))
+            .dst(new ConnectPoint(D2, PortNumber.portNumber(1)))
+            .type(Link.Type.DIRECT)
+            .build();
+
+    private final SharedTrafficSummary summary = new SharedTrafficSummary();
+    private final List<Highlights> received = new CopyOnWriteArrayList<>();
+    private final Consumer<Highlights> subscriber = received::add;
+
+    private volatile Load load;
+    private volatile Set<DeviceId> mastered = ImmutableSet.of();
+
+    @Before
+    public void setUp() {
+        summary.linkService = new LinkServiceAdapter() {
+            @Override
+            public Iterable<Link> getLinks() {
+                return ImmutableList.of(LINK);
+            }
+        };
+        summary.hostService = new HostServiceAdapter() {
+            @Override
+            public Iterable<Host> getHosts() {
+                return ImmutableList.of();
+            }
+        };
+        summary.deviceService = new DeviceServiceAdapter();
+        summary.flowService = new FlowRuleServiceAdapter();
+        summary.flowStatsService = new StatisticServiceAdapter() {
+            @Override
+            public Load load(Link link) {
+                return load;
+            }
+        };
+        summary.portStatsService = connectPoint -> null;
+        summary.mastershipService = new MastershipServiceAdapter() {
+            @Override
+            public MastershipRole getLocalRole(DeviceId deviceId) {
+                return mastered.contains(deviceId) ? MastershipRole.MASTER : MastershipRole.STANDBY;
+            }
+        };
+        summary.activate();
+    }
+
+    @After
+    public void tearDown() {
+        summary.deactivate();
+    }
+
+    private static String label(Highlights highlights) {
+        return highlights.links().iterator().next().label();
+    }
+
+    /**
+     * Tests that links of devices mastered by other nodes are recomputed on
+     * every refresh, as their flow events are not seen locally.
+     */
+    @Test
+    public void remoteDevicesRecomputed() {
+        title("remoteDevicesRecomputed");
+        load = new DefaultLoad(10_000, 0, 1);
+        Highlights initial = summary.subscribe(FLOW_STATS, subscriber);
+        assertEquals(1, initial.links().size());
+
+        load = new DefaultLoad(20_000, 0, 1);
+        summary.refresh();
+        assertEquals(1, received.size());
+        assertEquals(1, received.get(0).links().size());
+        assertNotEquals(label(initial), label(received.get(0)));
+    }
+
+    /**
+     * Tests that links of locally mastered devices are recomputed only once
+     * their devices report new statistics.
+     */
+    @Test
+    public void localDevicesRecomputedOnEvents() {
+        title("localDevicesRecomputedOnEvents");
+        mastered = ImmutableSet.of(D1, D2);
+        load = new DefaultLoad(10_000, 0, 1);
+        summary.subscribe(FLOW_STATS, subscriber);
+
+        load = new DefaultLoad(20_000, 0, 1);
+        summary.refresh();
+        assertTrue(received.isEmpty());
+    }
+}
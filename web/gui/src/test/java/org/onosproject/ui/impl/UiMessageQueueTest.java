@@ -0,0 +1,209 @@
+/*
+ * Copyright 2017-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.ui.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.onosproject.ui.impl.UiMessageQueue.Result.FLUSH_NEEDED;
+import static org.onosproject.ui.impl.UiMessageQueue.Result.OVERFLOW;
+import static org.onosproject.ui.impl.UiMessageQueue.Result.QUEUED;
+
+/**
+ * Unit tests for {@link UiMessageQueue}.
+ */
+public class UiMessageQueueTest extends AbstractUiImplTest {
+
+    private static final JsonNodeFactory FACTORY = JsonNodeFactory.instance;
+
+    private final UiMessageQueue queue = new UiMessageQueue(3);
+
+    private static ObjectNode message(String type, String id, int n) {
+        ObjectNode payload = FACTORY.objectNode().put("n", n);
+        if (id != null) {
+            payload.put("id", id);
+        }
+        ObjectNode message = FACTORY.objectNode().put("event", type);
+        message.set("payload", payload);
+        return message;
+    }
+
+    private static int n(JsonNode message) {
+        return message.path("payload").path("n").asInt();
+    }
+
+    @Test
+    public void firstMessageNeedsFlush() {
+        title("firstMessageNeedsFlush");
+        assertEquals(FLUSH_NEEDED, queue.add(message("addDevice", "d1", 1)));
+        assertEquals(QUEUED, queue.add(message("addDevice", "d2", 2)));
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void updatesOfSameElementCoalesced() {
+        title("updatesOfSameElementCoalesced");
+        queue.add(message("updateDevice", "d1", 1));
+        queue.add(message("updateDevice", "d2", 2));
+        queue.add(message("updateDevice", "d1", 3));
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void updatesWithoutIdNotCoalesced() {
+        title("updatesWithoutIdNotCoalesced");
+        queue.add(message("updateDevice", null, 1));
+        queue.add(message("updateDevice", null, 2));
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void otherMessagesNotCoalesced() {
+        title("otherMessagesNotCoalesced");
+        queue.add(message("addDevice", "d1", 1));
+        queue.add(message("addDevice", "d1", 2));
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void messagesCoalescedByType() {
+        title("messagesCoalescedByType");
+        queue.add(message("showHighlights", "a", 1));
+        queue.add(message("showHighlights", "b", 2));
+        queue.add(message("showSummary", null, 3));
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void supersedingMessageQueuedLast() {
+        title("supersedingMessageQueuedLast");
+        queue.add(message("updateDevice", "d1", 1));
+        queue.add(message("removeLink", "l1", 2));
+        queue.add(message("updateDevice", "d1", 3));
+
+        // the update must not overtake the messages queued since the
+        // superseded update
+        ObjectNode batch = (ObjectNode) queue.drain().get(0);
+        assertEquals("batch", batch.path("event").asText());
+        JsonNode events = batch.path("payload").path("events");
+        assertEquals(2, events.size());
+        assertEquals(2, n(events.get(0)));
+        assertEquals(3, n(events.get(1)));
+    }
+
+    @Test
+    public void singleMessageNotBatched() {
+        title("singleMessageNotBatched");
+        ObjectNode message = message("addDevice", "d1", 1);
+        queue.add(message);
+        List<ObjectNode> frames = queue.drain();
+        assertEquals(1, frames.size());
+        assertEquals(message, frames.get(0));
+    }
+
+    @Test
+    public void largeBacklogSplitInBatches() {
+        title("largeBacklogSplitInBatches");
+        int count = UiMessageQueue.MAX_BATCH_SIZE + 1;
+        for (int i = 0; i < count; i++) {
+            queue.add(message("addHost", "h" + i, i));
+        }
+        List<ObjectNode> frames = queue.drain();
+        assertEquals(2, frames.size());
+        JsonNode events = frames.get(0).path("payload").path("events");
+        assertEquals(UiMessageQueue.MAX_BATCH_SIZE, events.size());
+        assertEquals(0, n(events.get(0)));
+        assertEquals(count - 1, n(frames.get(1)));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void flushRescheduledForMessagesQueuedMeanwhile() {
+        title("flushRescheduledForMessagesQueuedMeanwhile");
+        queue.add(message("addDevice", "d1", 1));
+        queue.drain();
+        assertEquals(QUEUED, queue.add(message("addDevice", "d2", 2)));
+        assertTrue(queue.flushed());
+        queue.drain();
+        assertFalse(queue.flushed());
+        assertEquals(FLUSH_NEEDED, queue.add(message("addDevice", "d3", 3)));
+    }
+
+    @Test
+    public void overflowWhileFlushing() {
+        title("overflowWhileFlushing");
+        queue.add(message("addDevice", "d0", 0));
+        queue.drain();
+        assertEquals(QUEUED, queue.add(message("removeDevice", "d1", 1)));
+        assertEquals(QUEUED, queue.add(message("removeDevice", "d2", 2)));
+        assertEquals(QUEUED, queue.add(message("showSummary", null, 3)));
+        // messages superseding queued ones do not grow the queue
+        assertEquals(QUEUED, queue.add(message("showSummary", null, 4)));
+        assertEquals(OVERFLOW, queue.add(message("removeDevice", "d5", 5)));
+        assertEquals(0, queue.size());
+        assertFalse(queue.flushed());
+    }
+
+    @Test
+    public void noBoundWhenNotFlushing() {
+        title("noBoundWhenNotFlushing");
+        for (int i = 0; i < 10; i++) {
+            assertTrue(queue.add(message("removeDevice", "d" + i, i)) != OVERFLOW);
+        }
+        assertEquals(10, queue.size());
+    }
+
+    @Test
+    public void snapshotLargerThanBoundWhileFlushing() {
+        title("snapshotLargerThanBoundWhileFlushing");
+        UiMessageQueue queue = new UiMessageQueue(UiMessageQueue.MAX_PENDING);
+        queue.add(message("topoStart", null, 0));
+        queue.drain();
+
+        int hosts = UiMessageQueue.MAX_PENDING * 2;
+        for (int i = 0; i < hosts; i++) {
+            assertEquals(QUEUED, queue.add(message("addHost", "h" + i, i)));
+        }
+        assertEquals(QUEUED, queue.add(message("topoStartDone", null, hosts)));
+        assertEquals(hosts + 1, queue.size());
+        assertTrue(queue.flushed());
+
+        List<ObjectNode> frames = queue.drain();
+        assertEquals(hosts / UiMessageQueue.MAX_BATCH_SIZE + 1, frames.size());
+        assertEquals(hosts, n(frames.get(frames.size() - 1)));
+    }
+
+    @Test
+    public void additionsNotCountedAgainstBound() {
+        title("additionsNotCountedAgainstBound");
+        queue.add(message("addDevice", "d0", 0));
+        queue.drain();
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(QUEUED, queue.add(message("addHost", "h" + i, i)));
+        }
+        for (int i = 1; i <= 3; i++) {
+            assertEquals(QUEUED, queue.add(message("removeHost", "h" + i, i)));
+        }
+        assertEquals(OVERFLOW, queue.add(message("removeHost", "h4", 4)));
+    }
+}